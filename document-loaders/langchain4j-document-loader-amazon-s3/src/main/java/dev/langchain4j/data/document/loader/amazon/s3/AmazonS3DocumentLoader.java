@@ -3,6 +3,7 @@ package dev.langchain4j.data.document.loader.amazon.s3;
 import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.DocumentLoader;
 import dev.langchain4j.data.document.DocumentParser;
+import dev.langchain4j.data.document.DocumentPrefetcher;
 import dev.langchain4j.data.document.source.amazon.s3.AmazonS3Source;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,9 +18,10 @@ import software.amazon.awssdk.services.s3.model.*;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.Utils.isNullOrBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
@@ -31,9 +33,20 @@ public class AmazonS3DocumentLoader {
     private static final Logger log = LoggerFactory.getLogger(AmazonS3DocumentLoader.class);
 
     private final S3Client s3Client;
+    private final DocumentPrefetcher prefetcher;
 
     public AmazonS3DocumentLoader(S3Client s3Client) {
+        this(s3Client, null);
+    }
+
+    /**
+     * @param s3Client   The S3 client.
+     * @param prefetcher Controls how many objects are downloaded and parsed concurrently
+     *                   when loading multiple documents. Default: sequential loading.
+     */
+    public AmazonS3DocumentLoader(S3Client s3Client, DocumentPrefetcher prefetcher) {
         this.s3Client = ensureNotNull(s3Client, "s3Client");
+        this.prefetcher = getOrDefault(prefetcher, DocumentPrefetcher::sequential);
     }
 
     /**
@@ -83,30 +96,43 @@ public class AmazonS3DocumentLoader {
      * @throws RuntimeException If {@link S3Exception} occurs.
      */
     public List<Document> loadDocuments(String bucket, String prefix, DocumentParser parser) {
-        List<Document> documents = new ArrayList<>();
+        try (Stream<Document> documents = streamDocuments(bucket, prefix, parser)) {
+            return documents.collect(toList());
+        }
+    }
 
+    /**
+     * Lazily loads all documents from an S3 bucket.
+     * The bucket listing is paginated on demand, and objects are downloaded and parsed
+     * ahead of the consumer according to the configured {@link DocumentPrefetcher}.
+     * Skips any documents that fail to load.
+     * <br>
+     * The returned stream should be closed if it is not fully consumed.
+     *
+     * @param bucket S3 bucket to load from.
+     * @param prefix Only keys with the specified prefix will be loaded.
+     * @param parser The parser to be used for parsing text from the object.
+     * @return A lazy stream of documents.
+     * @throws RuntimeException If {@link S3Exception} occurs.
+     */
+    public Stream<Document> streamDocuments(String bucket, String prefix, DocumentParser parser) {
         ListObjectsV2Request listObjectsV2Request = ListObjectsV2Request.builder()
                 .bucket(ensureNotBlank(bucket, "bucket"))
                 .prefix(prefix)
                 .build();
 
-        ListObjectsV2Response listObjectsV2Response = s3Client.listObjectsV2(listObjectsV2Request);
+        Stream<S3Object> s3Objects = s3Client.listObjectsV2Paginator(listObjectsV2Request).contents().stream()
+                .filter(s3Object -> !s3Object.key().endsWith("/") && s3Object.size() > 0);
 
-        List<S3Object> filteredS3Objects = listObjectsV2Response.contents().stream()
-                .filter(s3Object -> !s3Object.key().endsWith("/") && s3Object.size() > 0)
-                .collect(toList());
-
-        for (S3Object s3Object : filteredS3Objects) {
+        return prefetcher.load(s3Objects, S3Object::size, s3Object -> {
             String key = s3Object.key();
             try {
-                Document document = loadDocument(bucket, key, parser);
-                documents.add(document);
+                return loadDocument(bucket, key, parser);
             } catch (Exception e) {
                 log.warn("Failed to load an object with key '{}' from bucket '{}', skipping it.", key, bucket, e);
+                return null;
             }
-        }
-
-        return documents;
+        });
     }
 
     public static Builder builder() {
@@ -120,6 +146,8 @@ public class AmazonS3DocumentLoader {
         private String profile;
         private boolean forcePathStyle;
         private AwsCredentials awsCredentials;
+        private Integer parallelism;
+        private Long maxBytesInFlight;
 
         /**
          * Set the AWS region. Defaults to US_EAST_1
@@ -187,10 +215,38 @@ public class AmazonS3DocumentLoader {
             return this;
         }
 
+        /**
+         * Set the maximum number of objects downloaded and parsed concurrently
+         * when loading multiple documents. Defaults to 1 (sequential loading).
+         *
+         * @param parallelism The maximum number of concurrently loaded objects.
+         * @return The builder instance.
+         */
+        public Builder parallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Set the maximum total size of objects being loaded concurrently
+         * or awaiting consumption. Defaults to 64 MiB.
+         *
+         * @param maxBytesInFlight The maximum number of bytes in flight.
+         * @return The builder instance.
+         */
+        public Builder maxBytesInFlight(Long maxBytesInFlight) {
+            this.maxBytesInFlight = maxBytesInFlight;
+            return this;
+        }
+
         public AmazonS3DocumentLoader build() {
             AwsCredentialsProvider credentialsProvider = createCredentialsProvider();
             S3Client s3Client = createS3Client(credentialsProvider);
-            return new AmazonS3DocumentLoader(s3Client);
+            DocumentPrefetcher prefetcher = DocumentPrefetcher.builder()
+                    .parallelism(parallelism)
+                    .maxBytesInFlight(maxBytesInFlight)
+                    .build();
+            return new AmazonS3DocumentLoader(s3Client, prefetcher);
         }
 
         private AwsCredentialsProvider createCredentialsProvider() {
@@ -7,6 +7,8 @@ import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.DocumentParser;
 import dev.langchain4j.data.document.parser.TextDocumentParser;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.*;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 import org.testcontainers.utility.DockerImageName;
@@ -139,6 +141,73 @@ class AmazonS3DocumentLoaderIT {
         assertThat(documents.get(1).text()).isEqualTo(TEST_CONTENT);
     }
 
+    @Test
+    void should_load_multiple_documents_concurrently_across_pages() {
+
+        // given
+        int objectCount = 1_050; // more than a single ListObjectsV2 page
+        for (int i = 0; i < objectCount; i++) {
+            s3Client.putObject(
+                    PutObjectRequest.builder()
+                            .bucket(TEST_BUCKET)
+                            .key(String.format("file-%04d.txt", i))
+                            .build(),
+                    RequestBody.fromString("content " + i));
+        }
+
+        AmazonS3DocumentLoader concurrentLoader = AmazonS3DocumentLoader.builder()
+                .endpointUrl(s3Container.getEndpointOverride(S3).toString())
+                .parallelism(8)
+                .maxBytesInFlight(1024L)
+                .build();
+
+        // when
+        List<Document> documents = concurrentLoader.loadDocuments(TEST_BUCKET, parser);
+
+        // then
+        assertThat(documents).hasSize(objectCount);
+        for (int i = 0; i < objectCount; i++) {
+            assertThat(documents.get(i).text()).isEqualTo("content " + i);
+        }
+    }
+
+    @Test
+    void should_stream_documents_lazily() {
+
+        // given
+        for (int i = 0; i < 10; i++) {
+            s3Client.putObject(
+                    PutObjectRequest.builder()
+                            .bucket(TEST_BUCKET)
+                            .key(String.format("file-%02d.txt", i))
+                            .build(),
+                    RequestBody.fromString("content " + i));
+        }
+
+        AtomicInteger parsedDocuments = new AtomicInteger();
+        DocumentParser countingParser = inputStream -> {
+            parsedDocuments.incrementAndGet();
+            return parser.parse(inputStream);
+        };
+
+        AmazonS3DocumentLoader concurrentLoader = AmazonS3DocumentLoader.builder()
+                .endpointUrl(s3Container.getEndpointOverride(S3).toString())
+                .parallelism(2)
+                .build();
+
+        // when
+        try (Stream<Document> documents = concurrentLoader.streamDocuments(TEST_BUCKET, null, countingParser)) {
+
+            // then
+            assertThat(parsedDocuments).hasValue(0);
+            assertThat(documents.findFirst()).hasValueSatisfying(document ->
+                    assertThat(document.text()).isEqualTo("content 0"));
+        }
+
+        // only the first document and at most one prefetched document were loaded
+        assertThat(parsedDocuments.get()).isBetween(1, 2);
+    }
+
     @AfterEach
     void afterEach() {
         s3Container.stop();
@@ -8,23 +8,37 @@ import com.azure.storage.blob.specialized.BlobInputStream;
 import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.DocumentLoader;
 import dev.langchain4j.data.document.DocumentParser;
+import dev.langchain4j.data.document.DocumentPrefetcher;
 import dev.langchain4j.data.document.source.azure.storage.blob.AzureBlobStorageSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.stream.Collectors.toList;
 
 public class AzureBlobStorageDocumentLoader {
 
     private static final Logger log = LoggerFactory.getLogger(AzureBlobStorageDocumentLoader.class);
 
     private final BlobServiceClient blobServiceClient;
+    private final DocumentPrefetcher prefetcher;
 
     public AzureBlobStorageDocumentLoader(BlobServiceClient blobServiceClient) {
+        this(blobServiceClient, null);
+    }
+
+    /**
+     * @param blobServiceClient The Azure Blob Storage service client.
+     * @param prefetcher        Controls how many blobs are downloaded and parsed concurrently
+     *                          when loading multiple documents. Default: sequential loading.
+     */
+    public AzureBlobStorageDocumentLoader(BlobServiceClient blobServiceClient, DocumentPrefetcher prefetcher) {
         this.blobServiceClient = ensureNotNull(blobServiceClient, "blobServiceClient");
+        this.prefetcher = getOrDefault(prefetcher, DocumentPrefetcher::sequential);
     }
 
     public Document loadDocument(String containerName, String blobName, DocumentParser parser) {
@@ -36,13 +50,26 @@ public class AzureBlobStorageDocumentLoader {
     }
 
     public List<Document> loadDocuments(String containerName, DocumentParser parser) {
-        List<Document> documents = new ArrayList<>();
-
-        blobServiceClient.getBlobContainerClient(containerName)
-                .listBlobs()
-                .forEach(blob ->
-                        documents.add(loadDocument(containerName, blob.getName(), parser)));
+        try (Stream<Document> documents = streamDocuments(containerName, parser)) {
+            return documents.collect(toList());
+        }
+    }
 
-        return documents;
+    /**
+     * Lazily loads all documents from a container.
+     * The blob listing is paginated on demand, and blobs are downloaded and parsed
+     * ahead of the consumer according to the configured {@link DocumentPrefetcher}.
+     * <br>
+     * The returned stream should be closed if it is not fully consumed.
+     *
+     * @param containerName The container to load from.
+     * @param parser        The parser to be used for parsing text from the blobs.
+     * @return A lazy stream of documents.
+     */
+    public Stream<Document> streamDocuments(String containerName, DocumentParser parser) {
+        return prefetcher.load(
+                blobServiceClient.getBlobContainerClient(containerName).listBlobs().stream(),
+                blob -> blob.getProperties() == null ? 0 : getOrDefault(blob.getProperties().getContentLength(), 0L),
+                blob -> loadDocument(containerName, blob.getName(), parser));
     }
 }
@@ -1,21 +1,25 @@
 package dev.langchain4j.data.document.loader.gcs;
 
+import com.google.api.gax.paging.Page;
 import com.google.auth.Credentials;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
-import com.google.api.gax.paging.Page;
 
 import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.DocumentLoader;
 import dev.langchain4j.data.document.DocumentParser;
+import dev.langchain4j.data.document.DocumentPrefetcher;
 import dev.langchain4j.data.document.source.gcs.GcsSource;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Google Cloud Storage Document Loader to load documents from Google Cloud Storage buckets.
@@ -23,8 +27,9 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 public class GoogleCloudStorageDocumentLoader {
 
     private final Storage storage;
+    private final DocumentPrefetcher prefetcher;
 
-    private GoogleCloudStorageDocumentLoader(String project, Credentials credentials) {
+    private GoogleCloudStorageDocumentLoader(String project, Credentials credentials, DocumentPrefetcher prefetcher) {
         StorageOptions.Builder storageBuilder = StorageOptions.newBuilder();
 
         if (project != null) {
@@ -36,6 +41,7 @@ public class GoogleCloudStorageDocumentLoader {
         }
 
         this.storage = storageBuilder.build().getService();
+        this.prefetcher = getOrDefault(prefetcher, DocumentPrefetcher::sequential);
     }
 
     /**
@@ -65,18 +71,35 @@ public class GoogleCloudStorageDocumentLoader {
      * @return A list of documents from the bucket that match the glob pattern.
      */
     public List<Document> loadDocuments(String bucket, String globPattern, DocumentParser parser) {
+        try (Stream<Document> documents = streamDocuments(bucket, globPattern, parser)) {
+            return documents.collect(toList());
+        }
+    }
+
+    /**
+     * Lazily load documents from the specified bucket, filtered with a glob pattern.
+     * The bucket listing is paginated on demand, and objects are downloaded and parsed
+     * ahead of the consumer according to the configured parallelism.
+     * <br>
+     * The returned stream should be closed if it is not fully consumed.
+     *
+     * @param bucket the bucket to load files from
+     * @param globPattern filter only files matching the glob pattern, see https://cloud.google.com/storage/docs/json_api/v1/objects/list#list-object-glob
+     * @param parser the parser to use to parse the document
+     * @return A lazy stream of documents from the bucket that match the glob pattern.
+     */
+    public Stream<Document> streamDocuments(String bucket, String globPattern, DocumentParser parser) {
+        ensureNotNull(parser, "parser");
+
         Page<Blob> blobs = globPattern != null ?
             storage.list(bucket, Storage.BlobListOption.currentDirectory(), Storage.BlobListOption.matchGlob(globPattern)) :
             storage.list(bucket, Storage.BlobListOption.currentDirectory());
 
-        List<Document> documents = new ArrayList<>();
-
-        for (Blob blob : blobs.iterateAll()) {
-            GcsSource gcsSource = new GcsSource(blob);
-            documents.add(DocumentLoader.load(gcsSource, ensureNotNull(parser, "parser")));
-        }
-
-        return documents;
+        return prefetcher.load(
+            StreamSupport.stream(blobs.iterateAll().spliterator(), false),
+            blob -> getOrDefault(blob.getSize(), 0L),
+            blob -> DocumentLoader.load(new GcsSource(blob), parser)
+        );
     }
 
     /**
@@ -97,6 +120,8 @@ public class GoogleCloudStorageDocumentLoader {
     public static class Builder {
         private String project;
         private Credentials credentials;
+        private Integer parallelism;
+        private Long maxBytesInFlight;
 
         public Builder project(String project) {
             this.project = project;
@@ -108,8 +133,32 @@ public class GoogleCloudStorageDocumentLoader {
             return this;
         }
 
+        /**
+         * @param parallelism the maximum number of objects downloaded and parsed concurrently
+         *                    when loading multiple documents. Default: 1 (sequential loading)
+         * @return the builder
+         */
+        public Builder parallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @param maxBytesInFlight the maximum total size of objects being loaded concurrently
+         *                         or awaiting consumption. Default: 64 MiB
+         * @return the builder
+         */
+        public Builder maxBytesInFlight(Long maxBytesInFlight) {
+            this.maxBytesInFlight = maxBytesInFlight;
+            return this;
+        }
+
         public GoogleCloudStorageDocumentLoader build() {
-            return new GoogleCloudStorageDocumentLoader(project, credentials);
+            DocumentPrefetcher prefetcher = DocumentPrefetcher.builder()
+                .parallelism(parallelism)
+                .maxBytesInFlight(maxBytesInFlight)
+                .build();
+            return new GoogleCloudStorageDocumentLoader(project, credentials, prefetcher);
         }
     }
 }
@@ -8,13 +8,15 @@ import com.qcloud.cos.region.Region;
 import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.DocumentLoader;
 import dev.langchain4j.data.document.DocumentParser;
+import dev.langchain4j.data.document.DocumentPrefetcher;
 import dev.langchain4j.data.document.source.tencent.cos.TencentCosSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import static java.util.stream.Collectors.toList;
@@ -24,9 +26,20 @@ public class TencentCosDocumentLoader {
     private static final Logger log = LoggerFactory.getLogger(TencentCosDocumentLoader.class);
 
     private final COSClient cosClient;
+    private final DocumentPrefetcher prefetcher;
 
     public TencentCosDocumentLoader(COSClient s3Client) {
-        this.cosClient = ensureNotNull(s3Client, "cosClient");
+        this(s3Client, null);
+    }
+
+    /**
+     * @param cosClient  The COS client.
+     * @param prefetcher Controls how many objects are downloaded and parsed concurrently
+     *                   when loading multiple documents. Default: sequential loading.
+     */
+    public TencentCosDocumentLoader(COSClient cosClient, DocumentPrefetcher prefetcher) {
+        this.cosClient = ensureNotNull(cosClient, "cosClient");
+        this.prefetcher = getOrDefault(prefetcher, DocumentPrefetcher::sequential);
     }
 
     /**
@@ -67,29 +80,51 @@ public class TencentCosDocumentLoader {
      * @return A list of documents.
      */
     public List<Document> loadDocuments(String bucket, String prefix, DocumentParser parser) {
-        List<Document> documents = new ArrayList<>();
+        try (Stream<Document> documents = streamDocuments(bucket, prefix, parser)) {
+            return documents.collect(toList());
+        }
+    }
 
+    /**
+     * Lazily loads all documents from an COS bucket.
+     * The bucket listing is paginated on demand, and objects are downloaded and parsed
+     * ahead of the consumer according to the configured {@link DocumentPrefetcher}.
+     * Skips any documents that fail to load.
+     * <br>
+     * The returned stream should be closed if it is not fully consumed.
+     *
+     * @param bucket COS bucket to load from.
+     * @param prefix Only keys with the specified prefix will be loaded.
+     * @param parser The parser to be used for parsing text from the object.
+     * @return A lazy stream of documents.
+     */
+    public Stream<Document> streamDocuments(String bucket, String prefix, DocumentParser parser) {
         ListObjectsRequest listObjectsRequest = new ListObjectsRequest()
                 .withBucketName(ensureNotBlank(bucket, "bucket"))
                 .withPrefix(prefix);
 
-        ObjectListing objectListing = cosClient.listObjects(listObjectsRequest);
-
-        List<COSObjectSummary> filteredObjects = objectListing.getObjectSummaries().stream()
-                .filter(object -> !object.getKey().endsWith("/") && object.getSize() > 0)
-                .collect(toList());
-
-        for (COSObjectSummary object : filteredObjects) {
+        Stream<COSObjectSummary> objects = Stream.iterate(
+                        cosClient.listObjects(listObjectsRequest),
+                        listing -> listing != null,
+                        listing -> {
+                            if (!listing.isTruncated()) {
+                                return null;
+                            }
+                            listObjectsRequest.setMarker(listing.getNextMarker());
+                            return cosClient.listObjects(listObjectsRequest);
+                        })
+                .flatMap(listing -> listing.getObjectSummaries().stream())
+                .filter(object -> !object.getKey().endsWith("/") && object.getSize() > 0);
+
+        return prefetcher.load(objects, COSObjectSummary::getSize, object -> {
             String key = object.getKey();
             try {
-                Document document = loadDocument(bucket, key, parser);
-                documents.add(document);
+                return loadDocument(bucket, key, parser);
             } catch (Exception e) {
                 log.warn("Failed to load an object with key '{}' from bucket '{}', skipping it.", key, bucket, e);
+                return null;
             }
-        }
-
-        return documents;
+        });
     }
 
     public static Builder builder() {
@@ -100,6 +135,8 @@ public class TencentCosDocumentLoader {
 
         private Region region;
         private TencentCredentials tencentCredentials;
+        private Integer parallelism;
+        private Long maxBytesInFlight;
 
         /**
          * Set the Tencent region.
@@ -134,10 +171,38 @@ public class TencentCosDocumentLoader {
             return this;
         }
 
+        /**
+         * Set the maximum number of objects downloaded and parsed concurrently
+         * when loading multiple documents. Defaults to 1 (sequential loading).
+         *
+         * @param parallelism The maximum number of concurrently loaded objects.
+         * @return The builder instance.
+         */
+        public Builder parallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Set the maximum total size of objects being loaded concurrently
+         * or awaiting consumption. Defaults to 64 MiB.
+         *
+         * @param maxBytesInFlight The maximum number of bytes in flight.
+         * @return The builder instance.
+         */
+        public Builder maxBytesInFlight(Long maxBytesInFlight) {
+            this.maxBytesInFlight = maxBytesInFlight;
+            return this;
+        }
+
         public TencentCosDocumentLoader build() {
             COSCredentialsProvider credentialsProvider = createCredentialsProvider();
             COSClient cosClient = createCosClient(credentialsProvider);
-            return new TencentCosDocumentLoader(cosClient);
+            DocumentPrefetcher prefetcher = DocumentPrefetcher.builder()
+                    .parallelism(parallelism)
+                    .maxBytesInFlight(maxBytesInFlight)
+                    .build();
+            return new TencentCosDocumentLoader(cosClient, prefetcher);
         }
 
         private COSCredentialsProvider createCredentialsProvider() {
@@ -157,7 +157,7 @@ public class ApacheTikaDocumentParser implements DocumentParser {
      * @param tikaMetadata the {@code Metadata} object from the Tika library containing metadata information
      * @return a {@link dev.langchain4j.data.document.Metadata} object representing in langchain4j format.
      */
-    private dev.langchain4j.data.document.Metadata convert(Metadata tikaMetadata) {
+    static dev.langchain4j.data.document.Metadata convert(Metadata tikaMetadata) {
 
         final Map<String, String> tikaMetaData = new HashMap<>();
 
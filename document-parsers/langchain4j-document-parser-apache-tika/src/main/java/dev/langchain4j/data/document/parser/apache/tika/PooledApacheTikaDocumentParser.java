@@ -0,0 +1,354 @@
+package dev.langchain4j.data.document.parser.apache.tika;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.Utils.isNullOrBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+
+import dev.langchain4j.data.document.BlankDocumentException;
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.document.DocumentParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.tika.exception.ZeroByteFileException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+
+/**
+ * A high-throughput variant of {@link ApacheTikaDocumentParser} intended for parsing many files concurrently.
+ * <br>
+ * Unlike {@link ApacheTikaDocumentParser}, which creates new Tika components for every file,
+ * this parser keeps a bounded pool of {@link AutoDetectParser}s (which are expensive to create),
+ * together with their text buffers, and reuses them for subsequent files.
+ * The content handler, which keeps state while a file is parsed, is created anew for every file.
+ * A file parsed while all pooled parsers are in use gets a new parser,
+ * which is returned to the pool afterwards unless the pool already holds {@code maxPooledParsers} idle parsers.
+ * <br>
+ * The extracted text is streamed into a buffer bounded by {@code maxTextLength}.
+ * Once the limit is reached, parsing of the current file is stopped
+ * and the document contains the first {@code maxTextLength} characters only.
+ * <br>
+ * Parse latency and extracted text size are recorded and can be inspected via {@link #metrics()}.
+ * <br>
+ * This parser is thread-safe.
+ */
+public class PooledApacheTikaDocumentParser implements DocumentParser {
+
+    public static final int DEFAULT_MAX_TEXT_LENGTH = 10 * 1024 * 1024;
+    public static final int DEFAULT_MAX_POOLED_PARSERS = Runtime.getRuntime().availableProcessors();
+
+    private final Supplier<Parser> parserSupplier;
+    private final Supplier<ParseContext> parseContextSupplier;
+    private final int maxTextLength;
+    private final boolean includeMetadata;
+    private final BlockingQueue<PooledComponents> pooledComponents;
+
+    private final LongAdder parsedDocuments = new LongAdder();
+    private final LongAdder failedDocuments = new LongAdder();
+    private final LongAdder truncatedDocuments = new LongAdder();
+    private final LongAdder extractedCharacters = new LongAdder();
+    private final LongAdder totalParseNanos = new LongAdder();
+    private final LongAccumulator maxParseNanos = new LongAccumulator(Math::max, 0);
+
+    public PooledApacheTikaDocumentParser() {
+        this(builder());
+    }
+
+    private PooledApacheTikaDocumentParser(Builder builder) {
+        this.parserSupplier = getOrDefault(builder.parserSupplier, () -> AutoDetectParser::new);
+        this.parseContextSupplier =
+                getOrDefault(builder.parseContextSupplier, () -> ApacheTikaDocumentParser.DEFAULT_PARSE_CONTEXT_SUPPLIER);
+        this.maxTextLength = ensureGreaterThanZero(getOrDefault(builder.maxTextLength, DEFAULT_MAX_TEXT_LENGTH), "maxTextLength");
+        this.includeMetadata = getOrDefault(builder.includeMetadata, false);
+        int maxPooledParsers = ensureGreaterThanZero(
+                getOrDefault(builder.maxPooledParsers, DEFAULT_MAX_POOLED_PARSERS), "maxPooledParsers");
+        this.pooledComponents = new ArrayBlockingQueue<>(maxPooledParsers);
+    }
+
+    @Override
+    public Document parse(InputStream inputStream) {
+        PooledComponents components = pooledComponents.poll();
+        if (components == null) {
+            components = new PooledComponents(parserSupplier.get(), maxTextLength);
+        }
+        BoundedTextWriter writer = components.writer;
+        writer.reset();
+
+        long start = System.nanoTime();
+        try {
+            Metadata metadata = new Metadata();
+            try {
+                components.parser.parse(inputStream, new BodyContentHandler(writer), metadata, parseContextSupplier.get());
+            } catch (Exception e) {
+                if (!writer.truncated) {
+                    throw e;
+                }
+            }
+
+            String text = writer.toString();
+            if (isNullOrBlank(text)) {
+                throw new BlankDocumentException();
+            }
+
+            record(start, text.length(), writer.truncated);
+            return includeMetadata
+                    ? Document.from(text, ApacheTikaDocumentParser.convert(metadata))
+                    : Document.from(text);
+        } catch (BlankDocumentException e) {
+            failedDocuments.increment();
+            throw e;
+        } catch (ZeroByteFileException e) {
+            failedDocuments.increment();
+            throw new BlankDocumentException();
+        } catch (Exception e) {
+            failedDocuments.increment();
+            throw new RuntimeException(e);
+        } finally {
+            writer.release();
+            // discarded if the pool is full
+            pooledComponents.offer(components);
+        }
+    }
+
+    private void record(long startNanos, int length, boolean truncated) {
+        long elapsed = System.nanoTime() - startNanos;
+        parsedDocuments.increment();
+        extractedCharacters.add(length);
+        totalParseNanos.add(elapsed);
+        maxParseNanos.accumulate(elapsed);
+        if (truncated) {
+            truncatedDocuments.increment();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the parse metrics collected by this parser since its creation.
+     *
+     * @return the current {@link Metrics}.
+     */
+    public Metrics metrics() {
+        return new Metrics(
+                parsedDocuments.sum(),
+                failedDocuments.sum(),
+                truncatedDocuments.sum(),
+                extractedCharacters.sum(),
+                Duration.ofNanos(totalParseNanos.sum()),
+                Duration.ofNanos(maxParseNanos.get()));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Supplier<Parser> parserSupplier;
+        private Supplier<ParseContext> parseContextSupplier;
+        private Integer maxTextLength;
+        private Integer maxPooledParsers;
+        private Boolean includeMetadata;
+
+        /**
+         * @param parserSupplier Supplier for Tika parser. It is invoked whenever no pooled parser is available.
+         *                       Default: {@link AutoDetectParser}
+         * @return builder
+         */
+        public Builder parserSupplier(Supplier<Parser> parserSupplier) {
+            this.parserSupplier = parserSupplier;
+            return this;
+        }
+
+        /**
+         * @param parseContextSupplier Supplier for Tika parse context. It is invoked once per file.
+         *                             Default: empty {@link ParseContext}
+         * @return builder
+         */
+        public Builder parseContextSupplier(Supplier<ParseContext> parseContextSupplier) {
+            this.parseContextSupplier = parseContextSupplier;
+            return this;
+        }
+
+        /**
+         * @param maxTextLength The maximum number of characters extracted from a single file.
+         *                      Default: {@value PooledApacheTikaDocumentParser#DEFAULT_MAX_TEXT_LENGTH}
+         * @return builder
+         */
+        public Builder maxTextLength(Integer maxTextLength) {
+            this.maxTextLength = maxTextLength;
+            return this;
+        }
+
+        /**
+         * @param maxPooledParsers The maximum number of idle parsers kept for reuse.
+         *                         Default: the number of available processors
+         * @return builder
+         */
+        public Builder maxPooledParsers(Integer maxPooledParsers) {
+            this.maxPooledParsers = maxPooledParsers;
+            return this;
+        }
+
+        /**
+         * @param includeMetadata Whether to include metadata in the parsed document. Default: false
+         * @return builder
+         */
+        public Builder includeMetadata(Boolean includeMetadata) {
+            this.includeMetadata = includeMetadata;
+            return this;
+        }
+
+        public PooledApacheTikaDocumentParser build() {
+            return new PooledApacheTikaDocumentParser(this);
+        }
+    }
+
+    /**
+     * Parse metrics collected by {@link PooledApacheTikaDocumentParser}.
+     */
+    public static class Metrics {
+
+        private final long parsedDocuments;
+        private final long failedDocuments;
+        private final long truncatedDocuments;
+        private final long extractedCharacters;
+        private final Duration totalParseTime;
+        private final Duration maxParseTime;
+
+        Metrics(
+                long parsedDocuments,
+                long failedDocuments,
+                long truncatedDocuments,
+                long extractedCharacters,
+                Duration totalParseTime,
+                Duration maxParseTime) {
+            this.parsedDocuments = parsedDocuments;
+            this.failedDocuments = failedDocuments;
+            this.truncatedDocuments = truncatedDocuments;
+            this.extractedCharacters = extractedCharacters;
+            this.totalParseTime = totalParseTime;
+            this.maxParseTime = maxParseTime;
+        }
+
+        public long parsedDocuments() {
+            return parsedDocuments;
+        }
+
+        public long failedDocuments() {
+            return failedDocuments;
+        }
+
+        /**
+         * @return the number of documents whose text was cut at {@code maxTextLength}.
+         */
+        public long truncatedDocuments() {
+            return truncatedDocuments;
+        }
+
+        public long extractedCharacters() {
+            return extractedCharacters;
+        }
+
+        public Duration totalParseTime() {
+            return totalParseTime;
+        }
+
+        public Duration averageParseTime() {
+            return parsedDocuments == 0 ? Duration.ZERO : totalParseTime.dividedBy(parsedDocuments);
+        }
+
+        public Duration maxParseTime() {
+            return maxParseTime;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" + "parsedDocuments="
+                    + parsedDocuments + ", failedDocuments="
+                    + failedDocuments + ", truncatedDocuments="
+                    + truncatedDocuments + ", extractedCharacters="
+                    + extractedCharacters + ", totalParseTime="
+                    + totalParseTime + ", maxParseTime="
+                    + maxParseTime + '}';
+        }
+    }
+
+    private static class PooledComponents {
+
+        private final Parser parser;
+        private final BoundedTextWriter writer;
+
+        PooledComponents(Parser parser, int maxTextLength) {
+            this.parser = parser;
+            this.writer = new BoundedTextWriter(maxTextLength);
+        }
+    }
+
+    /**
+     * A reusable {@link Writer} that accumulates text up to a fixed limit
+     * and aborts the parsing once the limit is exceeded.
+     */
+    private static class BoundedTextWriter extends Writer {
+
+        private static final int INITIAL_CAPACITY = 8 * 1024;
+        private static final int RETAINED_CAPACITY = 1024 * 1024;
+
+        private final int maxLength;
+        private StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+        private boolean truncated;
+
+        BoundedTextWriter(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        void reset() {
+            buffer.setLength(0);
+            truncated = false;
+        }
+
+        void release() {
+            if (buffer.capacity() > RETAINED_CAPACITY) {
+                // do not keep very large buffers alive in idle pooled components
+                buffer = new StringBuilder(INITIAL_CAPACITY);
+            }
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            int remaining = maxLength - buffer.length();
+            if (length <= remaining) {
+                buffer.append(chars, offset, length);
+                return;
+            }
+            buffer.append(chars, offset, remaining);
+            truncated = true;
+            throw new LimitReachedException();
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+
+    private static class LimitReachedException extends IOException {
+
+        LimitReachedException() {
+            super("Text length limit reached", null);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package dev.langchain4j.data.document.parser.apache.tika;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.BlankDocumentException;
+import dev.langchain4j.data.document.Document;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.tika.parser.AutoDetectParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PooledApacheTikaDocumentParserTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"test-file.doc", "test-file.docx", "test-file.ppt", "test-file.pptx", "test-file.pdf"})
+    void should_parse_doc_ppt_and_pdf_files(String fileName) {
+
+        PooledApacheTikaDocumentParser parser = new PooledApacheTikaDocumentParser();
+
+        Document document = parser.parse(resource(fileName));
+
+        assertThat(document.text()).isEqualToIgnoringWhitespace("test content");
+        assertThat(document.metadata().toMap()).isEmpty();
+    }
+
+    @Test
+    void should_include_metadata() {
+
+        PooledApacheTikaDocumentParser parser =
+                PooledApacheTikaDocumentParser.builder().includeMetadata(true).build();
+
+        Document document = parser.parse(resource("test-file.docx"));
+
+        assertThat(document.text()).isEqualToIgnoringWhitespace("test content");
+        assertThat(document.metadata().toMap()).containsKey("X-TIKA:Parsed-By");
+    }
+
+    @Test
+    void should_reuse_components_across_files() {
+
+        PooledApacheTikaDocumentParser parser = new PooledApacheTikaDocumentParser();
+
+        Document document1 = parser.parse(resource("test-file.xls"));
+        Document document2 = parser.parse(resource("test-file.docx"));
+
+        assertThat(document1.text()).isEqualToIgnoringWhitespace("Sheet1\ntest content\nSheet2\ntest content");
+        assertThat(document2.text()).isEqualToIgnoringWhitespace("test content");
+    }
+
+    @Test
+    void should_create_parsers_only_when_no_pooled_parser_is_available() {
+
+        AtomicInteger createdParsers = new AtomicInteger();
+        PooledApacheTikaDocumentParser parser = PooledApacheTikaDocumentParser.builder()
+                .parserSupplier(() -> {
+                    createdParsers.incrementAndGet();
+                    return new AutoDetectParser();
+                })
+                .maxPooledParsers(1)
+                .build();
+
+        parser.parse(resource("test-file.docx"));
+        parser.parse(resource("test-file.pdf"));
+        parser.parse(resource("test-file.xls"));
+
+        assertThat(createdParsers).hasValue(1);
+    }
+
+    @Test
+    void should_parse_files_concurrently() throws Exception {
+
+        PooledApacheTikaDocumentParser parser = new PooledApacheTikaDocumentParser();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Document>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> parser.parse(resource("test-file.docx"))));
+            }
+
+            for (Future<Document> future : futures) {
+                assertThat(future.get().text()).isEqualToIgnoringWhitespace("test content");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(parser.metrics().parsedDocuments()).isEqualTo(20);
+        assertThat(parser.metrics().failedDocuments()).isZero();
+    }
+
+    @Test
+    void should_truncate_text_exceeding_max_length() {
+
+        PooledApacheTikaDocumentParser parser =
+                PooledApacheTikaDocumentParser.builder().maxTextLength(10).build();
+        InputStream inputStream = new ByteArrayInputStream("0123456789abcdefghij".repeat(100).getBytes());
+
+        Document document = parser.parse(inputStream);
+
+        assertThat(document.text()).isEqualTo("0123456789");
+        assertThat(parser.metrics().truncatedDocuments()).isEqualTo(1);
+        assertThat(parser.metrics().extractedCharacters()).isEqualTo(10);
+    }
+
+    @Test
+    void should_parse_file_after_truncated_file() {
+
+        PooledApacheTikaDocumentParser parser = PooledApacheTikaDocumentParser.builder()
+                .maxTextLength(20)
+                .maxPooledParsers(1)
+                .build();
+
+        Document truncated = parser.parse(resource("test-file.xls"));
+        Document document = parser.parse(resource("test-file.docx"));
+
+        assertThat(truncated.text()).hasSize(20);
+        assertThat(document.text()).isEqualToIgnoringWhitespace("test content");
+        assertThat(parser.metrics().truncatedDocuments()).isEqualTo(1);
+    }
+
+    @Test
+    void should_collect_metrics() {
+
+        PooledApacheTikaDocumentParser parser = new PooledApacheTikaDocumentParser();
+
+        parser.parse(resource("test-file.pdf"));
+        assertThatThrownBy(() -> parser.parse(resource("blank-file.txt")))
+                .isExactlyInstanceOf(BlankDocumentException.class);
+
+        PooledApacheTikaDocumentParser.Metrics metrics = parser.metrics();
+        assertThat(metrics.parsedDocuments()).isEqualTo(1);
+        assertThat(metrics.failedDocuments()).isEqualTo(1);
+        assertThat(metrics.extractedCharacters()).isPositive();
+        assertThat(metrics.totalParseTime()).isPositive();
+        assertThat(metrics.maxParseTime()).isLessThanOrEqualTo(metrics.totalParseTime());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"empty-file.txt", "blank-file.txt", "blank-file.docx", "blank-file.pptx"})
+    void should_throw_BlankDocumentException(String fileName) {
+
+        PooledApacheTikaDocumentParser parser = new PooledApacheTikaDocumentParser();
+
+        assertThatThrownBy(() -> parser.parse(resource(fileName)))
+                .isExactlyInstanceOf(BlankDocumentException.class);
+    }
+
+    private InputStream resource(String fileName) {
+        return getClass().getClassLoader().getResourceAsStream(fileName);
+    }
+}
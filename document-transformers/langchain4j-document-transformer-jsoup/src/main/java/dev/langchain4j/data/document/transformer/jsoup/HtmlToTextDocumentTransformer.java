@@ -7,15 +7,31 @@ import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 import org.jsoup.nodes.Node;
 import org.jsoup.nodes.TextNode;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
 import org.jsoup.select.NodeVisitor;
+import org.jsoup.select.QueryParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 
 import static dev.langchain4j.data.document.Document.URL;
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static org.jsoup.internal.StringUtil.in;
 import static org.jsoup.select.NodeTraversor.traverse;
 
@@ -23,14 +39,39 @@ import static org.jsoup.select.NodeTraversor.traverse;
  * Extracts plain text from a given HTML document.
  * A CSS selector can be specified to extract text only from desired HTML element(s).
  * Also, multiple CSS selectors can be specified to extract metadata from desired HTML elements.
+ * HTML elements matching one of the exclude CSS selectors (e.g. "nav", "footer", ".ads") are skipped.
+ * <br>
+ * By default, each HTML document is parsed into a full DOM tree before the text is extracted.
+ * When streaming is enabled (see {@link Builder#streaming(Boolean)}), the HTML is parsed with a
+ * {@link StreamParser} instead: text and metadata are extracted in a single pass as soon as each HTML element
+ * is complete, and processed elements are immediately detached, so only a small part of the tree is kept in memory.
+ * In streaming mode, CSS selectors are evaluated on the fly against the completed element and its ancestors,
+ * while its preceding siblings may already be detached and its following siblings are not parsed yet.
+ * Therefore, selectors depending on siblings or on the position of an element among its siblings
+ * (sibling combinators {@code +} and {@code ~}, and pseudo-classes such as {@code :first-child},
+ * {@code :last-child}, {@code :nth-child}, {@code :nth-of-type}, {@code :eq} or {@code :has})
+ * are rejected when streaming is enabled.
+ * Also, text of an element matching the CSS selector is extracted only once even if it is nested
+ * inside another matching element.
+ * <br>
+ * {@link #transformAll(List)} transforms documents in parallel.
  */
 public class HtmlToTextDocumentTransformer implements DocumentTransformer {
 
     private static final Logger log = LoggerFactory.getLogger(HtmlToTextDocumentTransformer.class);
 
-    private final String cssSelector;
-    private final Map<String, String> metadataCssSelectors;
+    private static final List<String> POSITIONAL_PSEUDO_CLASSES = List.of(
+            ":first-child", ":last-child", ":only-child", ":nth-child", ":nth-last-child",
+            ":first-of-type", ":last-of-type", ":only-of-type", ":nth-of-type", ":nth-last-of-type",
+            ":eq", ":lt", ":gt", ":has");
+
+    private static final List<String> SELECTOR_PSEUDO_CLASSES = List.of(":not", ":is", ":has", ":where");
+
+    private final Evaluator cssEvaluator;
+    private final List<Evaluator> excludeEvaluators;
+    private final Map<String, Evaluator> metadataEvaluators;
     private final boolean includeLinks;
+    private final boolean streaming;
 
     /**
      * Constructs an instance of HtmlToTextTransformer that extracts all text from a given Document containing HTML.
@@ -60,35 +101,257 @@ public class HtmlToTextDocumentTransformer implements DocumentTransformer {
      * @param includeLinks         Specifies whether links should be included in the extracted text.
      */
     public HtmlToTextDocumentTransformer(String cssSelector, Map<String, String> metadataCssSelectors, boolean includeLinks) {
-        this.cssSelector = cssSelector;
-        this.metadataCssSelectors = metadataCssSelectors;
+        this(cssSelector, null, metadataCssSelectors, includeLinks, false);
+    }
+
+    private HtmlToTextDocumentTransformer(String cssSelector,
+                                          Collection<String> excludeCssSelectors,
+                                          Map<String, String> metadataCssSelectors,
+                                          boolean includeLinks,
+                                          boolean streaming) {
+        if (streaming) {
+            ensureSupportedInStreamingMode(cssSelector);
+            if (excludeCssSelectors != null) {
+                excludeCssSelectors.forEach(HtmlToTextDocumentTransformer::ensureSupportedInStreamingMode);
+            }
+            if (metadataCssSelectors != null) {
+                metadataCssSelectors.values().forEach(HtmlToTextDocumentTransformer::ensureSupportedInStreamingMode);
+            }
+        }
+        this.cssEvaluator = cssSelector == null ? null : QueryParser.parse(cssSelector);
+        this.excludeEvaluators = excludeCssSelectors == null ? emptyList() : excludeCssSelectors.stream()
+                .map(QueryParser::parse)
+                .collect(toList());
+        this.metadataEvaluators = new LinkedHashMap<>();
+        (metadataCssSelectors == null ? Map.<String, String>of() : metadataCssSelectors)
+                .forEach((metadataKey, selector) -> metadataEvaluators.put(metadataKey, QueryParser.parse(selector)));
         this.includeLinks = includeLinks;
+        this.streaming = streaming;
+    }
+
+    private static void ensureSupportedInStreamingMode(String cssSelector) {
+        if (cssSelector == null) {
+            return;
+        }
+        String structure = withoutArguments(cssSelector).toLowerCase(Locale.ROOT);
+        boolean positional = structure.indexOf('+') >= 0 || structure.indexOf('~') >= 0
+                || POSITIONAL_PSEUDO_CLASSES.stream().anyMatch(structure::contains);
+        if (positional) {
+            throw illegalArgument("CSS selector '%s' depends on siblings or on the position of an element, " +
+                    "which is not supported in streaming mode", cssSelector);
+        }
+    }
+
+    /**
+     * Removes quoted strings, attribute conditions and pseudo-class arguments from the CSS selector,
+     * so that e.g. {@code [class~=a]} or {@code :contains(a+b)} are not mistaken for sibling combinators.
+     * The arguments of pseudo-classes taking selectors (e.g. {@code :not(:first-child)}) are kept,
+     * with their own arguments removed the same way, as they can depend on siblings too.
+     */
+    private static String withoutArguments(String cssSelector) {
+        StringBuilder structure = new StringBuilder();
+        Deque<Boolean> keptArguments = new ArrayDeque<>(); // for each open bracket, whether its content is kept
+        int depth = 0; // the number of open brackets whose content is removed
+        char quote = 0;
+        for (int i = 0; i < cssSelector.length(); i++) {
+            char c = cssSelector.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(' && depth == 0 && takesSelectorArgument(structure)) {
+                keptArguments.push(true);
+                structure.append(' ');
+            } else if (c == '[' || c == '(') {
+                keptArguments.push(false);
+                depth++;
+            } else if (c == ']' || c == ')') {
+                if (!keptArguments.isEmpty() && !keptArguments.pop()) {
+                    depth--;
+                } else if (depth == 0) {
+                    structure.append(' ');
+                }
+            } else if (depth == 0) {
+                structure.append(c);
+            }
+        }
+        return structure.toString();
+    }
+
+    private static boolean takesSelectorArgument(CharSequence structure) {
+        String lowerCase = structure.toString().toLowerCase(Locale.ROOT);
+        return SELECTOR_PSEUDO_CLASSES.stream().anyMatch(lowerCase::endsWith);
     }
 
     @Override
     public Document transform(Document document) {
         String html = document.text();
         String baseUrl = document.metadata(URL) != null ? document.metadata(URL) : "";
+
+        return streaming
+                ? transformStreaming(html, baseUrl, document.metadata())
+                : transformDom(html, baseUrl, document.metadata());
+    }
+
+    /**
+     * Transforms all the provided documents in parallel, preserving their order.
+     *
+     * @param documents A list of documents to be transformed.
+     * @return A list of transformed documents.
+     */
+    @Override
+    public List<Document> transformAll(List<Document> documents) {
+        return documents.parallelStream()
+                .map(this::transform)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
+    private Document transformDom(String html, String baseUrl, Metadata originalMetadata) {
         org.jsoup.nodes.Document jsoupDocument = Jsoup.parse(html, baseUrl);
+        excludeEvaluators.forEach(evaluator -> jsoupDocument.select(evaluator).remove());
 
         String text;
-        if (cssSelector != null) {
-            text = extractText(jsoupDocument, cssSelector, includeLinks);
+        if (cssEvaluator != null) {
+            text = extractText(jsoupDocument, cssEvaluator, includeLinks);
         } else {
             text = extractText(jsoupDocument, includeLinks);
         }
 
-        Metadata metadata = document.metadata().copy();
-        if (metadataCssSelectors != null) {
-            metadataCssSelectors.forEach((metadataKey, cssSelector) ->
-                    metadata.put(metadataKey, jsoupDocument.select(cssSelector).text()));
-        }
+        Metadata metadata = originalMetadata.copy();
+        metadataEvaluators.forEach((metadataKey, evaluator) ->
+                metadata.put(metadataKey, jsoupDocument.select(evaluator).text()));
 
         return Document.from(text, metadata);
     }
 
-    private static String extractText(org.jsoup.nodes.Document jsoupDocument, String cssSelector, boolean includeLinks) {
-        return jsoupDocument.select(cssSelector).stream()
+    private Document transformStreaming(String html, String baseUrl, Metadata originalMetadata) {
+        StreamingExtractor extractor = new StreamingExtractor();
+
+        try (StreamParser streamParser = new StreamParser(Parser.htmlParser()).parse(html, baseUrl)) {
+            Iterator<Element> completedElements = streamParser.iterator();
+            while (completedElements.hasNext()) {
+                extractor.onCompleted(completedElements.next());
+            }
+            extractor.onDocumentCompleted(streamParser.document());
+        }
+
+        Metadata metadata = originalMetadata.copy();
+        metadataEvaluators.keySet().forEach(metadataKey ->
+                metadata.put(metadataKey, extractor.metadataText(metadataKey)));
+
+        return Document.from(extractor.text(), metadata);
+    }
+
+    /**
+     * Extracts text and metadata from HTML elements as they are completed by the {@link StreamParser},
+     * detaching each element from the tree as soon as it is no longer needed.
+     */
+    private class StreamingExtractor {
+
+        private final TextExtractingVisitor visitor = new TextExtractingVisitor(includeLinks);
+        private final List<String> selectedTexts = new ArrayList<>();
+        private final Map<String, StringBuilder> metadataTexts = new LinkedHashMap<>();
+
+        void onCompleted(Element element) {
+            if (matchesAny(element, excludeEvaluators)) {
+                element.remove();
+                return;
+            }
+
+            metadataEvaluators.forEach((metadataKey, evaluator) -> {
+                if (element.is(evaluator)) {
+                    StringBuilder metadataText = metadataTexts.computeIfAbsent(metadataKey, ignored -> new StringBuilder());
+                    if (metadataText.length() > 0) {
+                        metadataText.append(' ');
+                    }
+                    metadataText.append(element.text());
+                }
+            });
+
+            if (cssEvaluator != null) {
+                onCompletedSelectingByCss(element);
+            } else {
+                onCompletedSelectingAll(element);
+            }
+        }
+
+        private void onCompletedSelectingByCss(Element element) {
+            if (anyAncestorMatches(element, List.of(cssEvaluator))) {
+                return; // will be extracted as a part of the ancestor
+            }
+            if (element.is(cssEvaluator)) {
+                NodeVisitor elementVisitor = new TextExtractingVisitor(includeLinks);
+                traverse(elementVisitor, element);
+                selectedTexts.add(elementVisitor.toString().trim());
+            }
+            if (element.parent() != null && !anyAncestorMatches(element, metadataEvaluators.values())) {
+                element.remove();
+            }
+        }
+
+        private void onCompletedSelectingAll(Element element) {
+            Element parent = element.parent();
+            if (parent == null || !in(parent.nodeName(), "head", "body")) {
+                return; // will be extracted as a part of the top-level element
+            }
+            if (anyAncestorMatches(element, metadataEvaluators.values())) {
+                return; // still needed to extract metadata from the ancestor
+            }
+            // all preceding siblings are either already extracted and removed, or unprocessed text nodes
+            for (Node node : new ArrayList<>(parent.childNodes())) {
+                traverse(visitor, node);
+                node.remove();
+            }
+        }
+
+        void onDocumentCompleted(org.jsoup.nodes.Document jsoupDocument) {
+            if (cssEvaluator == null) {
+                traverse(visitor, jsoupDocument);
+            }
+        }
+
+        String text() {
+            return cssEvaluator != null
+                    ? String.join("\n\n", selectedTexts)
+                    : visitor.toString().trim();
+        }
+
+        String metadataText(String metadataKey) {
+            StringBuilder metadataText = metadataTexts.get(metadataKey);
+            return metadataText == null ? "" : metadataText.toString();
+        }
+    }
+
+    private static boolean matchesAny(Element element, List<Evaluator> evaluators) {
+        for (Evaluator evaluator : evaluators) {
+            if (element.is(evaluator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean anyAncestorMatches(Element element, Collection<Evaluator> evaluators) {
+        if (evaluators.isEmpty()) {
+            return false;
+        }
+        for (Element ancestor = element.parent(); ancestor != null; ancestor = ancestor.parent()) {
+            for (Evaluator evaluator : evaluators) {
+                if (ancestor.is(evaluator)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String extractText(org.jsoup.nodes.Document jsoupDocument, Evaluator cssEvaluator, boolean includeLinks) {
+        return jsoupDocument.select(cssEvaluator).stream()
                 .map(element -> extractText(element, includeLinks))
                 .collect(joining("\n\n"));
     }
@@ -141,4 +404,77 @@ public class HtmlToTextDocumentTransformer implements DocumentTransformer {
             return textBuilder.toString();
         }
     }
-}
\ No newline at end of file
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private String cssSelector;
+        private Collection<String> excludeCssSelectors;
+        private Map<String, String> metadataCssSelectors;
+        private Boolean includeLinks;
+        private Boolean streaming;
+
+        /**
+         * @param cssSelector A CSS selector.
+         *                    For example, "#page-content" will extract text from the HTML element with the id "page-content".
+         * @return builder
+         */
+        public Builder cssSelector(String cssSelector) {
+            this.cssSelector = cssSelector;
+            return this;
+        }
+
+        /**
+         * @param excludeCssSelectors CSS selectors of HTML elements that should be skipped.
+         *                            For example, "nav" and "footer".
+         * @return builder
+         */
+        public Builder excludeCssSelectors(Collection<String> excludeCssSelectors) {
+            this.excludeCssSelectors = excludeCssSelectors;
+            return this;
+        }
+
+        /**
+         * @param metadataCssSelectors A mapping from metadata keys to CSS selectors.
+         * @return builder
+         */
+        public Builder metadataCssSelectors(Map<String, String> metadataCssSelectors) {
+            this.metadataCssSelectors = metadataCssSelectors;
+            return this;
+        }
+
+        /**
+         * @param includeLinks Specifies whether links should be included in the extracted text. Default: false
+         * @return builder
+         */
+        public Builder includeLinks(Boolean includeLinks) {
+            this.includeLinks = includeLinks;
+            return this;
+        }
+
+        /**
+         * @param streaming Whether to extract text and metadata in a single streaming pass
+         *                  instead of building a full DOM tree.
+         *                  CSS selectors depending on siblings or on the position of an element
+         *                  (e.g. {@code h1 + p}, {@code p:first-child}) are not supported in this mode.
+         *                  Default: false
+         * @return builder
+         */
+        public Builder streaming(Boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        public HtmlToTextDocumentTransformer build() {
+            return new HtmlToTextDocumentTransformer(
+                    cssSelector,
+                    excludeCssSelectors,
+                    metadataCssSelectors,
+                    includeLinks != null && includeLinks,
+                    streaming != null && streaming);
+        }
+    }
+}
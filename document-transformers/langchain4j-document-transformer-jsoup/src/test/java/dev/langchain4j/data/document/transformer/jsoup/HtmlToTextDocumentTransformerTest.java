@@ -2,11 +2,17 @@ package dev.langchain4j.data.document.transformer.jsoup;
 
 import dev.langchain4j.data.document.Document;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class HtmlToTextDocumentTransformerTest {
 
@@ -143,4 +149,151 @@ class HtmlToTextDocumentTransformerTest {
                 .containsEntry(Document.URL, "https://other.example.org/page.html")
                 .hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_extract_all_text_from_html_in_streaming_mode() {
+
+        HtmlToTextDocumentTransformer transformer = HtmlToTextDocumentTransformer.builder()
+                .streaming(true)
+                .build();
+        Document htmlDocument = Document.from(SAMPLE_HTML);
+
+        Document transformedDocument = transformer.transform(htmlDocument);
+
+        assertThat(transformedDocument.text())
+                .isEqualTo(new HtmlToTextDocumentTransformer().transform(htmlDocument).text());
+    }
+
+    @Test
+    void should_extract_text_with_links_from_html_in_streaming_mode() {
+
+        HtmlToTextDocumentTransformer transformer = HtmlToTextDocumentTransformer.builder()
+                .includeLinks(true)
+                .streaming(true)
+                .build();
+        Document htmlDocument = Document.from(SAMPLE_HTML_WITH_RELATIVE_LINKS);
+        htmlDocument.metadata().put(Document.URL, "https://example.org/page.html");
+
+        Document transformedDocument = transformer.transform(htmlDocument);
+
+        assertThat(transformedDocument.text()).isEqualTo(
+                "Follow the link here <https://example.org/menu1>."
+        );
+    }
+
+    @Test
+    void should_extract_text_and_metadata_from_html_by_css_selectors_in_streaming_mode() {
+
+        Map<String, String> metadataCssSelectors = new HashMap<>();
+        metadataCssSelectors.put("title", "#title");
+
+        HtmlToTextDocumentTransformer transformer = HtmlToTextDocumentTransformer.builder()
+                .cssSelector("#p1")
+                .metadataCssSelectors(metadataCssSelectors)
+                .streaming(true)
+                .build();
+        Document htmlDocument = Document.from(SAMPLE_HTML);
+
+        Document transformedDocument = transformer.transform(htmlDocument);
+
+        assertThat(transformedDocument.text()).isEqualTo("Paragraph 1\nSomething");
+        assertThat(transformedDocument.metadata().toMap()).hasSize(1);
+        assertThat(transformedDocument.metadata().getString("title")).isEqualTo("Title");
+    }
+
+    @Test
+    void should_extract_metadata_from_ancestor_of_processed_elements_in_streaming_mode() {
+
+        HtmlToTextDocumentTransformer transformer = HtmlToTextDocumentTransformer.builder()
+                .metadataCssSelectors(Map.of("body", "body"))
+                .streaming(true)
+                .build();
+        Document htmlDocument = Document.from(SAMPLE_HTML);
+
+        Document transformedDocument = transformer.transform(htmlDocument);
+
+        Document expected = new HtmlToTextDocumentTransformer(null, Map.of("body", "body"), false)
+                .transform(htmlDocument);
+        assertThat(transformedDocument.text()).isEqualTo(expected.text());
+        assertThat(transformedDocument.metadata().getString("body"))
+                .isEqualTo(expected.metadata().getString("body"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void should_exclude_elements_by_css_selectors(boolean streaming) {
+
+        HtmlToTextDocumentTransformer transformer = HtmlToTextDocumentTransformer.builder()
+                .excludeCssSelectors(List.of("#p2", "ul"))
+                .streaming(streaming)
+                .build();
+        Document htmlDocument = Document.from(SAMPLE_HTML);
+
+        Document transformedDocument = transformer.transform(htmlDocument);
+
+        assertThat(transformedDocument.text()).isEqualTo(
+                "Title\n" +
+                        "\n" +
+                        "Paragraph 1\n" +
+                        "Something\n" +
+                        "\n" +
+                        "More details here.\n" +
+                        "List:"
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "h1 + p", "h1 ~ p", "p:first-child", "p:nth-child(2)", "p:nth-of-type(2)", "li:last-child",
+            "li:not(:first-child)", "p:is(:last-child)", "div:has(+ p)", "p:where(h1 ~ p)"
+    })
+    void should_reject_css_selectors_depending_on_siblings_in_streaming_mode(String cssSelector) {
+
+        assertThatThrownBy(() -> HtmlToTextDocumentTransformer.builder()
+                .cssSelector(cssSelector)
+                .streaming(true)
+                .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(cssSelector);
+
+        assertThatThrownBy(() -> HtmlToTextDocumentTransformer.builder()
+                .excludeCssSelectors(List.of(cssSelector))
+                .streaming(true)
+                .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+
+        assertThat(HtmlToTextDocumentTransformer.builder().cssSelector(cssSelector).build()).isNotNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"p[id~=p2]", "p:contains(1+1), li", "body > p", "ul li", "p:not([id~=p2])", "p:matches(1+1)"})
+    void should_extract_same_text_in_streaming_and_dom_mode(String cssSelector) {
+
+        Document htmlDocument = Document.from(SAMPLE_HTML);
+
+        Document streamed = HtmlToTextDocumentTransformer.builder()
+                .cssSelector(cssSelector)
+                .streaming(true)
+                .build()
+                .transform(htmlDocument);
+        Document parsed = new HtmlToTextDocumentTransformer(cssSelector).transform(htmlDocument);
+
+        assertThat(streamed.text()).isEqualTo(parsed.text());
+    }
+
+    @Test
+    void should_transform_all_documents_in_parallel_preserving_order() {
+
+        HtmlToTextDocumentTransformer transformer = new HtmlToTextDocumentTransformer();
+        List<Document> htmlDocuments = IntStream.range(0, 100)
+                .mapToObj(i -> Document.from("<html><body><p>Paragraph " + i + "</p></body></html>"))
+                .collect(toList());
+
+        List<Document> transformedDocuments = transformer.transformAll(htmlDocuments);
+
+        assertThat(transformedDocuments).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(transformedDocuments.get(i).text()).isEqualTo("Paragraph " + i);
+        }
+    }
+}
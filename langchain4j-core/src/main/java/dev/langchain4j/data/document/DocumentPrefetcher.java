@@ -0,0 +1,305 @@
+package dev.langchain4j.data.document;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Loads {@link Document}s from a (potentially very long, lazily listed) stream of remote objects,
+ * keeping a bounded number of downloads/parses in flight ahead of the consumer.
+ * <br>
+ * Two limits are applied:
+ * <pre>
+ * - parallelism: the maximum number of objects being loaded concurrently
+ * - maxBytesInFlight: the maximum total size (as reported by the object listing) of objects
+ *   that are being loaded or were loaded but not yet consumed
+ * </pre>
+ * A single object larger than {@code maxBytesInFlight} is still loaded, but only when nothing else is in flight.
+ * <br>
+ * Object bodies are not buffered by this class: each object is opened and streamed straight into the
+ * {@link DocumentParser} by the provided loader function.
+ * <br>
+ * Documents are returned in the same order as the objects in the source stream.
+ * When {@code parallelism} is 1 (default), objects are loaded sequentially in the consumer's thread.
+ */
+public class DocumentPrefetcher {
+
+    public static final int DEFAULT_PARALLELISM = 1;
+    public static final long DEFAULT_MAX_BYTES_IN_FLIGHT = 64L * 1024 * 1024;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final int parallelism;
+    private final long maxBytesInFlight;
+    private final Executor executor;
+
+    public DocumentPrefetcher(Integer parallelism, Long maxBytesInFlight, Executor executor) {
+        this.parallelism = ensureGreaterThanZero(getOrDefault(parallelism, DEFAULT_PARALLELISM), "parallelism");
+        this.maxBytesInFlight = getOrDefault(maxBytesInFlight, DEFAULT_MAX_BYTES_IN_FLIGHT);
+        if (this.maxBytesInFlight <= 0) {
+            throw new IllegalArgumentException("maxBytesInFlight must be greater than zero, but is: " + this.maxBytesInFlight);
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Returns a {@code DocumentPrefetcher} that loads objects sequentially, without prefetching.
+     */
+    public static DocumentPrefetcher sequential() {
+        return new DocumentPrefetcher(1, null, null);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public long maxBytesInFlight() {
+        return maxBytesInFlight;
+    }
+
+    /**
+     * Lazily loads documents for the given objects.
+     * The returned stream should be closed if it is not fully consumed.
+     *
+     * @param objects The objects to load, typically a lazily paginated listing of a bucket.
+     * @param sizeOf  Returns the size of an object in bytes. Used to enforce {@code maxBytesInFlight}.
+     * @param loader  Loads a single object into a {@link Document}.
+     *                It may return {@code null} to skip the object (e.g. when it failed to load).
+     * @param <T>     The type of the listed object.
+     * @return A lazy stream of loaded documents, in the order of the objects.
+     */
+    public <T> Stream<Document> load(Stream<T> objects, ToLongFunction<T> sizeOf, Function<T, Document> loader) {
+        ensureNotNull(objects, "objects");
+        ensureNotNull(sizeOf, "sizeOf");
+        ensureNotNull(loader, "loader");
+
+        if (parallelism == 1) {
+            return objects.map(loader).filter(document -> document != null);
+        }
+
+        ExecutorService ownExecutor = executor == null ? createDefaultExecutor(parallelism) : null;
+        Executor effectiveExecutor = executor == null ? ownExecutor : executor;
+        Runnable releaseResources = () -> {
+            try {
+                objects.close();
+            } finally {
+                if (ownExecutor != null) {
+                    ownExecutor.shutdownNow();
+                }
+            }
+        };
+
+        PrefetchingIterator<T> iterator;
+        try {
+            iterator = new PrefetchingIterator<>(objects.iterator(), sizeOf, loader, effectiveExecutor,
+                    parallelism, maxBytesInFlight, releaseResources);
+        } catch (RuntimeException e) {
+            releaseResources.run();
+            throw e;
+        }
+
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    private static ExecutorService createDefaultExecutor(int parallelism) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                parallelism, parallelism,
+                1, SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "document-prefetcher-" + THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class PrefetchingIterator<T> implements Iterator<Document> {
+
+        private final Iterator<T> objects;
+        private final ToLongFunction<T> sizeOf;
+        private final Function<T, Document> loader;
+        private final Executor executor;
+        private final int parallelism;
+        private final long maxBytesInFlight;
+        private final Runnable releaseResources;
+
+        private final Deque<InFlight> inFlight = new ArrayDeque<>();
+        private long bytesInFlight;
+        private T pendingObject;
+        private long pendingSize;
+        private Document next;
+        private boolean closed;
+
+        PrefetchingIterator(Iterator<T> objects,
+                            ToLongFunction<T> sizeOf,
+                            Function<T, Document> loader,
+                            Executor executor,
+                            int parallelism,
+                            long maxBytesInFlight,
+                            Runnable releaseResources) {
+            this.objects = objects;
+            this.sizeOf = sizeOf;
+            this.loader = loader;
+            this.executor = executor;
+            this.parallelism = parallelism;
+            this.maxBytesInFlight = maxBytesInFlight;
+            this.releaseResources = releaseResources;
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean hasNext = false;
+            try {
+                while (next == null) {
+                    if (closed) {
+                        return false;
+                    }
+                    fill();
+                    if (inFlight.isEmpty()) {
+                        return false;
+                    }
+                    InFlight head = inFlight.poll();
+                    bytesInFlight -= head.size;
+                    next = join(head.future);
+                }
+                hasNext = true;
+                return true;
+            } finally {
+                if (!hasNext) {
+                    // exhausted or failed: the stream may never be closed, so resources are released right away
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public Document next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Document document = next;
+            next = null;
+            return document;
+        }
+
+        private void fill() {
+            while (inFlight.size() < parallelism) {
+                if (pendingObject == null) {
+                    if (!objects.hasNext()) {
+                        return;
+                    }
+                    pendingObject = objects.next();
+                    pendingSize = Math.max(0, sizeOf.applyAsLong(pendingObject));
+                }
+                if (!inFlight.isEmpty() && bytesInFlight + pendingSize > maxBytesInFlight) {
+                    return;
+                }
+                T object = pendingObject;
+                pendingObject = null;
+                bytesInFlight += pendingSize;
+                inFlight.add(new InFlight(supplyAsync(() -> loader.apply(object), executor), pendingSize));
+            }
+        }
+
+        private static Document join(CompletableFuture<Document> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            inFlight.forEach(it -> it.future.cancel(true));
+            inFlight.clear();
+            releaseResources.run();
+        }
+    }
+
+    private static class InFlight {
+
+        private final CompletableFuture<Document> future;
+        private final long size;
+
+        InFlight(CompletableFuture<Document> future, long size) {
+            this.future = future;
+            this.size = size;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Integer parallelism;
+        private Long maxBytesInFlight;
+        private Executor executor;
+
+        /**
+         * @param parallelism The maximum number of objects loaded concurrently. Default: 1 (sequential loading)
+         * @return builder
+         */
+        public Builder parallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @param maxBytesInFlight The maximum total size of objects being loaded or awaiting consumption.
+         *                         Default: 64 MiB
+         * @return builder
+         */
+        public Builder maxBytesInFlight(Long maxBytesInFlight) {
+            this.maxBytesInFlight = maxBytesInFlight;
+            return this;
+        }
+
+        /**
+         * @param executor The executor used to load objects.
+         *                 By default, a dedicated pool of {@code parallelism} daemon threads is created per
+         *                 {@link DocumentPrefetcher#load(Stream, ToLongFunction, Function)} call.
+         * @return builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public DocumentPrefetcher build() {
+            return new DocumentPrefetcher(parallelism, maxBytesInFlight, executor);
+        }
+    }
+}
@@ -3,12 +3,14 @@ package dev.langchain4j.data.document;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static dev.langchain4j.internal.Exceptions.runtime;
@@ -29,10 +31,17 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
  * If you require additional types, please <a href="https://github.com/langchain4j/langchain4j/issues/new/choose">open an issue</a>.
  * <br>
  * {@code null} values are not permitted.
+ * <br>
+ * Internally, the metadata is stored compactly as a sorted array of keys, shared between all
+ * {@code Metadata} instances having the same set of keys, and an array of values.
+ * {@link #copy()} is cheap: the values are copied on write, so the copy shares them with the original
+ * until either of them is modified.
+ * This keeps the memory footprint low when millions of {@link TextSegment}s inherit the metadata of their documents.
  */
 public class Metadata {
 
     private static final Set<Class<?>> SUPPORTED_VALUE_TYPES = new LinkedHashSet<>();
+    private static final Object[] NO_VALUES = new Object[0];
 
     static {
         SUPPORTED_VALUE_TYPES.add(String.class);
@@ -52,13 +61,18 @@ public class Metadata {
         SUPPORTED_VALUE_TYPES.add(Double.class);
     }
 
-    private final Map<String, Object> metadata;
+    private Shape shape;
+    /**
+     * Never modified in place: every modification replaces the array, so it can be shared between copies.
+     */
+    private Object[] values;
 
     /**
      * Construct a Metadata object with an empty map of key-value pairs.
      */
     public Metadata() {
-        this.metadata = new HashMap<>();
+        this.shape = Shape.EMPTY;
+        this.values = NO_VALUES;
     }
 
     /**
@@ -77,7 +91,18 @@ public class Metadata {
                 );
             }
         });
-        this.metadata = new HashMap<>(metadata);
+        String[] keys = metadata.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        this.shape = Shape.of(keys);
+        this.values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            this.values[i] = metadata.get(keys[i]);
+        }
+    }
+
+    private Metadata(Shape shape, Object[] values) {
+        this.shape = shape;
+        this.values = values;
     }
 
     private static void validate(String key, Object value) {
@@ -95,7 +120,7 @@ public class Metadata {
      */
     @Deprecated(forRemoval = true)
     public String get(String key) {
-        Object value = metadata.get(key);
+        Object value = value(key);
         if (value != null) {
             return value.toString();
         } else {
@@ -115,7 +140,7 @@ public class Metadata {
             return null;
         }
 
-        Object value = metadata.get(key);
+        Object value = value(key);
         if (value instanceof String string) {
             return string;
         }
@@ -136,7 +161,7 @@ public class Metadata {
             return null;
         }
 
-        Object value = metadata.get(key);
+        Object value = value(key);
         if (value instanceof UUID iD) {
             return iD;
         }
@@ -169,7 +194,7 @@ public class Metadata {
             return null;
         }
 
-        Object value = metadata.get(key);
+        Object value = value(key);
         if (value instanceof String) {
             return Integer.parseInt(value.toString());
         } else if (value instanceof Number number) {
@@ -201,7 +226,7 @@ public class Metadata {
             return null;
         }
 
-        Object value = metadata.get(key);
+        Object value = value(key);
         if (value instanceof String) {
             return Long.parseLong(value.toString());
         } else if (value instanceof Number number) {
@@ -233,7 +258,7 @@ public class Metadata {
             return null;
         }
 
-        Object value = metadata.get(key);
+        Object value = value(key);
         if (value instanceof String) {
             return Float.parseFloat(value.toString());
         } else if (value instanceof Number number) {
@@ -265,7 +290,7 @@ public class Metadata {
             return null;
         }
 
-        Object value = metadata.get(key);
+        Object value = value(key);
         if (value instanceof String) {
             return Double.parseDouble(value.toString());
         } else if (value instanceof Number number) {
@@ -283,7 +308,31 @@ public class Metadata {
      * @return {@code true} if this metadata contains a given key; {@code false} otherwise.
      */
     public boolean containsKey(String key) {
-        return metadata.containsKey(key);
+        return shape.indexOf(key) >= 0;
+    }
+
+    private Object value(String key) {
+        int index = shape.indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    private void putValue(String key, Object value) {
+        int index = shape.indexOf(key);
+        if (index >= 0) {
+            Object[] newValues = values.clone();
+            newValues[index] = value;
+            values = newValues;
+            return;
+        }
+
+        int insertionPoint = -index - 1;
+        Object[] newValues = new Object[values.length + 1];
+        System.arraycopy(values, 0, newValues, 0, insertionPoint);
+        newValues[insertionPoint] = value;
+        System.arraycopy(values, insertionPoint, newValues, insertionPoint + 1, values.length - insertionPoint);
+
+        shape = shape.with(key, insertionPoint);
+        values = newValues;
     }
 
     /**
@@ -312,7 +361,7 @@ public class Metadata {
     @Deprecated(forRemoval = true)
     public Metadata add(String key, String value) {
         validate(key, value);
-        this.metadata.put(key, value);
+        putValue(key, value);
         return this;
     }
 
@@ -325,7 +374,7 @@ public class Metadata {
      */
     public Metadata put(String key, String value) {
         validate(key, value);
-        this.metadata.put(key, value);
+        putValue(key, value);
         return this;
     }
 
@@ -338,7 +387,7 @@ public class Metadata {
      */
     public Metadata put(String key, UUID value) {
         validate(key, value);
-        this.metadata.put(key, value);
+        putValue(key, value);
         return this;
     }
 
@@ -351,7 +400,7 @@ public class Metadata {
      */
     public Metadata put(String key, int value) {
         validate(key, value);
-        this.metadata.put(key, value);
+        putValue(key, value);
         return this;
     }
 
@@ -364,7 +413,7 @@ public class Metadata {
      */
     public Metadata put(String key, long value) {
         validate(key, value);
-        this.metadata.put(key, value);
+        putValue(key, value);
         return this;
     }
 
@@ -377,7 +426,7 @@ public class Metadata {
      */
     public Metadata put(String key, float value) {
         validate(key, value);
-        this.metadata.put(key, value);
+        putValue(key, value);
         return this;
     }
 
@@ -390,7 +439,7 @@ public class Metadata {
      */
     public Metadata put(String key, double value) {
         validate(key, value);
-        this.metadata.put(key, value);
+        putValue(key, value);
         return this;
     }
 
@@ -401,7 +450,14 @@ public class Metadata {
      * @return {@code this}
      */
     public Metadata remove(String key) {
-        this.metadata.remove(key);
+        int index = shape.indexOf(key);
+        if (index >= 0) {
+            Object[] newValues = new Object[values.length - 1];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+            shape = shape.without(index);
+            values = newValues;
+        }
         return this;
     }
 
@@ -411,7 +467,7 @@ public class Metadata {
      * @return a copy of this Metadata object.
      */
     public Metadata copy() {
-        return new Metadata(metadata);
+        return new Metadata(shape, values);
     }
 
     /**
@@ -423,8 +479,9 @@ public class Metadata {
     @Deprecated(forRemoval = true)
     public Map<String, String> asMap() {
         Map<String, String> map = new HashMap<>();
-        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
-            map.put(entry.getKey(), String.valueOf(entry.getValue()));
+        String[] keys = shape.keys;
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], String.valueOf(values[i]));
         }
         return map;
     }
@@ -435,7 +492,12 @@ public class Metadata {
      * @return the metadata as a map of key-value pairs.
      */
     public Map<String, Object> toMap() {
-        return new HashMap<>(metadata);
+        Map<String, Object> map = new HashMap<>();
+        String[] keys = shape.keys;
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
     }
 
     @Override
@@ -443,18 +505,25 @@ public class Metadata {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Metadata that = (Metadata) o;
-        return Objects.equals(this.metadata, that.metadata);
+        return (this.shape == that.shape || Arrays.equals(this.shape.keys, that.shape.keys))
+            && Arrays.equals(this.values, that.values);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(metadata);
+        // same as Objects.hash(toMap()), without creating a map
+        int mapHashCode = 0;
+        String[] keys = shape.keys;
+        for (int i = 0; i < keys.length; i++) {
+            mapHashCode += keys[i].hashCode() ^ values[i].hashCode();
+        }
+        return 31 + mapHashCode;
     }
 
     @Override
     public String toString() {
         return "Metadata {" +
-            " metadata = " + metadata +
+            " metadata = " + toMap() +
             " }";
     }
 
@@ -511,4 +580,77 @@ public class Metadata {
     public static Metadata metadata(String key, Object value) {
         return from(key, value);
     }
+
+    /**
+     * An immutable, sorted set of metadata keys.
+     * Shapes are canonicalized (up to {@link #MAX_CANONICAL_SHAPES}), so all {@code Metadata} instances
+     * with the same keys share the same keys array, and transitions caused by adding a key are cached.
+     */
+    private static final class Shape {
+
+        private static final int MAX_CANONICAL_SHAPES = 10_000;
+        private static final int MAX_TRANSITIONS = 64;
+        private static final Map<List<String>, Shape> CANONICAL_SHAPES = new ConcurrentHashMap<>();
+
+        static final Shape EMPTY = new Shape(new String[0]);
+
+        final String[] keys;
+        private final Map<String, Shape> transitions = new ConcurrentHashMap<>();
+
+        private Shape(String[] keys) {
+            this.keys = keys;
+        }
+
+        static Shape of(String[] sortedKeys) {
+            if (sortedKeys.length == 0) {
+                return EMPTY;
+            }
+            List<String> keyList = Arrays.asList(sortedKeys);
+            Shape shape = CANONICAL_SHAPES.get(keyList);
+            if (shape != null) {
+                return shape;
+            }
+            shape = new Shape(sortedKeys);
+            if (CANONICAL_SHAPES.size() < MAX_CANONICAL_SHAPES) {
+                Shape existing = CANONICAL_SHAPES.putIfAbsent(keyList, shape);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+            return shape;
+        }
+
+        /**
+         * @return the index of the key, or {@code -(insertion point) - 1} if the key is absent.
+         */
+        int indexOf(String key) {
+            if (key == null) {
+                return -1;
+            }
+            return Arrays.binarySearch(keys, key);
+        }
+
+        Shape with(String key, int insertionPoint) {
+            Shape shape = transitions.get(key);
+            if (shape != null) {
+                return shape;
+            }
+            String[] newKeys = new String[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+            newKeys[insertionPoint] = key;
+            System.arraycopy(keys, insertionPoint, newKeys, insertionPoint + 1, keys.length - insertionPoint);
+            shape = of(newKeys);
+            if (transitions.size() < MAX_TRANSITIONS) {
+                transitions.putIfAbsent(key, shape);
+            }
+            return shape;
+        }
+
+        Shape without(int index) {
+            String[] newKeys = new String[keys.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            return of(newKeys);
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package dev.langchain4j.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Provides the default {@link ExecutorService}s used by LangChain4j for concurrent work
+ * (e.g. parallel retrieval in RAG).
+ * <br>
+ * On JDK 21+, the default executor creates a new virtual thread per task.
+ * On older JDKs, the default executor is a bounded pool of daemon platform threads with a bounded queue.
+ * When both the pool and the queue are saturated, tasks run in the submitting thread,
+ * which slows down submitters instead of spawning an unbounded number of threads.
+ * <br>
+ * Code running on a thread of a bounded executor (see {@link #isBoundedExecutorThread()})
+ * must not submit tasks to a bounded executor and then block waiting for them:
+ * when all threads of the pool are blocked this way, the queued tasks are never run (thread starvation deadlock).
+ * Such code should either run the work in the current thread or compose the futures without blocking.
+ */
+public final class DefaultExecutorProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultExecutorProvider.class);
+
+    public static final int DEFAULT_MAX_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+    public static final int DEFAULT_QUEUE_CAPACITY = 1_000;
+
+    private DefaultExecutorProvider() {
+    }
+
+    /**
+     * Returns the shared default {@link ExecutorService}.
+     * It must not be shut down.
+     *
+     * @return the shared default executor.
+     */
+    public static ExecutorService getDefaultExecutorService() {
+        return Holder.DEFAULT_EXECUTOR_SERVICE;
+    }
+
+    /**
+     * Creates an {@link ExecutorService} that starts a new virtual thread for each task.
+     *
+     * @return a virtual-thread-per-task executor, or {@code null} if virtual threads are not supported by this JDK.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (Exception e) {
+            log.debug("Failed to create a virtual-thread-per-task executor", e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates a bounded pool of daemon platform threads.
+     * Idle threads are terminated after 1 second.
+     * When all threads are busy and the queue is full, tasks run in the submitting thread.
+     *
+     * @param threadNamePrefix the prefix of thread names.
+     * @param maxThreads       the maximum number of threads.
+     * @param queueCapacity    the maximum number of queued tasks.
+     * @return a bounded executor.
+     */
+    public static ThreadPoolExecutor newBoundedExecutor(String threadNamePrefix, int maxThreads, int queueCapacity) {
+        ValidationUtils.ensureGreaterThanZero(maxThreads, "maxThreads");
+        ValidationUtils.ensureGreaterThanZero(queueCapacity, "queueCapacity");
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxThreads, maxThreads,
+                1, SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    String threadName = threadNamePrefix + "-" + threadCounter.incrementAndGet();
+                    Thread thread = new BoundedExecutorThread(runnable, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Checks whether the current thread belongs to an executor created by
+     * {@link #newBoundedExecutor(String, int, int)} (e.g. the default executor on JDKs without virtual threads).
+     * <br>
+     * Code running on such a thread must not block waiting for tasks submitted to a bounded executor,
+     * as this can exhaust the pool; it should do the work in the current thread instead.
+     *
+     * @return {@code true} if the current thread is a thread of a bounded executor.
+     */
+    public static boolean isBoundedExecutorThread() {
+        return Thread.currentThread() instanceof BoundedExecutorThread;
+    }
+
+    private static class BoundedExecutorThread extends Thread {
+
+        BoundedExecutorThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+
+    private static class Holder {
+
+        private static final ExecutorService DEFAULT_EXECUTOR_SERVICE = createDefaultExecutorService();
+
+        private static ExecutorService createDefaultExecutorService() {
+            ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor != null) {
+                log.debug("Using virtual-thread-per-task executor as the default executor");
+                return virtualThreadExecutor;
+            }
+            log.debug("Using bounded pool of {} threads as the default executor", DEFAULT_MAX_THREADS);
+            return newBoundedExecutor("langchain4j", DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY);
+        }
+    }
+}
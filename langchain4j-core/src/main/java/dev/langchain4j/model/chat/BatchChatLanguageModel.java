@@ -0,0 +1,27 @@
+package dev.langchain4j.model.chat;
+
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+import java.util.List;
+
+/**
+ * Represents a {@link ChatLanguageModel} that can also send many independent requests at once,
+ * e.g., in a single call to the batch API of the LLM provider, which is usually cheaper
+ * and less rate limited than sending the requests one by one.
+ * <br>
+ * When the model of an AI Service implements this interface, {@code AiServiceBatch} collects the requests
+ * of its concurrent invocations and sends them together using {@link #chatAll(List)}.
+ */
+public interface BatchChatLanguageModel extends ChatLanguageModel {
+
+    /**
+     * Sends all the requests to the LLM at once.
+     * Like {@link #chat(ChatRequest)}, implementations are expected to apply the {@link #defaultRequestParameters()}
+     * and to notify the {@link #listeners()} for each request.
+     *
+     * @param chatRequests the requests, which are independent of each other
+     * @return the responses, in the order of the requests
+     */
+    List<ChatResponse> chatAll(List<ChatRequest> chatRequests);
+}
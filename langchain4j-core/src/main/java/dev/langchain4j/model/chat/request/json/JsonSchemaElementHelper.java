@@ -25,8 +25,42 @@ public class JsonSchemaElementHelper {
 
     private static final String DEFAULT_UUID_DESCRIPTION = "String in a UUID format";
 
+    // ClassValue does not prevent classes (and their class loaders) from being unloaded
+    private static final ClassValue<JsonSchemaElement> JSON_SCHEMA_ELEMENTS = new ClassValue<>() {
+        @Override
+        protected JsonSchemaElement computeValue(Class<?> clazz) {
+            return jsonSchemaElementFrom(clazz, clazz, null, new LinkedHashMap<>());
+        }
+    };
+
+    private static final ClassValue<JsonSchemaElement> JSON_OBJECT_SCHEMAS = new ClassValue<>() {
+        @Override
+        protected JsonSchemaElement computeValue(Class<?> clazz) {
+            return jsonObjectOrReferenceSchemaFrom(clazz, null, new LinkedHashMap<>(), true);
+        }
+    };
+
+    /**
+     * Derives the {@link JsonSchemaElement} of the given class.
+     * The result is derived once per class and cached, so the returned element must not be modified.
+     *
+     * @param clazz the class.
+     * @return the {@link JsonSchemaElement} of the class.
+     */
     public static JsonSchemaElement jsonSchemaElementFrom(Class<?> clazz) {
-        return jsonSchemaElementFrom(clazz, clazz, null, new LinkedHashMap<>());
+        return JSON_SCHEMA_ELEMENTS.get(clazz);
+    }
+
+    /**
+     * Derives the {@link JsonObjectSchema} of the given class, to be used as the root element of a {@link JsonSchema}.
+     * When the class is recursive, the schema contains the definitions of the referenced classes.
+     * The result is derived once per class and cached, so the returned element must not be modified.
+     *
+     * @param clazz the class.
+     * @return the {@link JsonSchemaElement} of the class.
+     */
+    public static JsonSchemaElement jsonObjectSchemaFrom(Class<?> clazz) {
+        return JSON_OBJECT_SCHEMAS.get(clazz);
     }
 
     public static JsonSchemaElement jsonSchemaElementFrom(
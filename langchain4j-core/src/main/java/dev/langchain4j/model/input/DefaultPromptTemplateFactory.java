@@ -2,9 +2,10 @@ package dev.langchain4j.model.input;
 
 import dev.langchain4j.spi.prompt.PromptTemplateFactory;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,56 +19,87 @@ class DefaultPromptTemplateFactory implements PromptTemplateFactory {
         return new DefaultTemplate(input.getTemplate());
     }
 
+    /**
+     * A template compiled into a sequence of literal text and variable segments:
+     * {@code literals[0] variables[0] literals[1] variables[1] ... literals[n]}.
+     * It is rendered in a single pass, so values containing {@code {{...}}} are never substituted again.
+     */
     static class DefaultTemplate implements Template {
 
         @SuppressWarnings("RegExpRedundantEscape")
         private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{(.+?)\\}\\}");
 
         private final String template;
-        private final Set<String> allVariables;
+        private final String[] literals;
+        private final int[] variables;
+        private final String[] variableNames;
+        private final int literalsLength;
 
         public DefaultTemplate(String template) {
             this.template = ensureNotBlank(template, "template");
-            this.allVariables = extractVariables(template);
-        }
 
-        private static Set<String> extractVariables(String template) {
-            Set<String> variables = new HashSet<>();
+            List<String> literals = new ArrayList<>();
+            List<Integer> variables = new ArrayList<>();
+            Map<String, Integer> variableIndices = new LinkedHashMap<>();
             Matcher matcher = VARIABLE_PATTERN.matcher(template);
+            int literalStart = 0;
             while (matcher.find()) {
-                variables.add(matcher.group(1));
+                literals.add(template.substring(literalStart, matcher.start()));
+                variables.add(variableIndices.computeIfAbsent(matcher.group(1), name -> variableIndices.size()));
+                literalStart = matcher.end();
             }
-            return variables;
+            literals.add(template.substring(literalStart));
+
+            this.literals = literals.toArray(new String[0]);
+            this.variables = variables.stream().mapToInt(Integer::intValue).toArray();
+            this.variableNames = variableIndices.keySet().toArray(new String[0]);
+            this.literalsLength = literals.stream().mapToInt(String::length).sum();
         }
 
         public String render(Map<String, Object> variables) {
             ensureAllVariablesProvided(variables);
+            ensureNoNullValues(variables);
 
-            String result = template;
-            for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                result = replaceAll(result, entry.getKey(), entry.getValue());
+            if (this.variables.length == 0) {
+                return template;
+            }
+
+            String[] values = new String[variableNames.length];
+            int length = literalsLength;
+            for (int i = 0; i < variableNames.length; i++) {
+                Object value = variables.get(variableNames[i]);
+                values[i] = value.toString();
+                if (values[i] == null) {
+                    throw illegalArgument("Value for the variable '%s' is null", variableNames[i]);
+                }
+            }
+            for (int variable : this.variables) {
+                length += values[variable].length();
             }
 
-            return result;
+            StringBuilder sb = new StringBuilder(length);
+            sb.append(literals[0]);
+            for (int i = 0; i < this.variables.length; i++) {
+                sb.append(values[this.variables[i]]);
+                sb.append(literals[i + 1]);
+            }
+            return sb.toString();
         }
 
         private void ensureAllVariablesProvided(Map<String, Object> providedVariables) {
-            for (String variable : allVariables) {
+            for (String variable : variableNames) {
                 if (!providedVariables.containsKey(variable)) {
                     throw illegalArgument("Value for the variable '%s' is missing", variable);
                 }
             }
         }
 
-        private static String replaceAll(String template, String variable, Object value) {
-            if (value == null || value.toString() == null) {
-                throw illegalArgument("Value for the variable '%s' is null", variable);
+        private static void ensureNoNullValues(Map<String, Object> providedVariables) {
+            for (Map.Entry<String, Object> entry : providedVariables.entrySet()) {
+                if (entry.getValue() == null) {
+                    throw illegalArgument("Value for the variable '%s' is null", entry.getKey());
+                }
             }
-            return template.replace(inDoubleCurlyBrackets(variable), value.toString());
-        }
-
-        private static String inDoubleCurlyBrackets(String variable) {
-            return "{{" + variable + "}}";
         }
     }
 }
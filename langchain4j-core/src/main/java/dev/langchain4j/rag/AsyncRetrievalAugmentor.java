@@ -0,0 +1,98 @@
+package dev.langchain4j.rag;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Metadata;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * A non-blocking counterpart of {@link RetrievalAugmentor}.
+ * <br>
+ * Since it extends {@link RetrievalAugmentor}, an {@code AsyncRetrievalAugmentor} can be used wherever
+ * a {@link RetrievalAugmentor} is expected: {@link #augment(AugmentationRequest)} blocks
+ * until {@link #augmentAsync(AugmentationRequest)} completes.
+ * A blocking {@link RetrievalAugmentor} can be adapted using {@link #from(RetrievalAugmentor, Executor)}.
+ *
+ * @see DefaultRetrievalAugmentor
+ */
+@Experimental
+public interface AsyncRetrievalAugmentor extends RetrievalAugmentor {
+
+    /**
+     * Asynchronously augments the {@link ChatMessage} provided in the {@link AugmentationRequest}
+     * with retrieved {@link Content}s.
+     * This method should not block.
+     *
+     * @param augmentationRequest The {@code AugmentationRequest} containing the {@code ChatMessage} to augment.
+     * @return A {@link CompletionStage} that completes with the {@link AugmentationResult}
+     * containing the augmented {@code ChatMessage}.
+     */
+    CompletionStage<AugmentationResult> augmentAsync(AugmentationRequest augmentationRequest);
+
+    @Override
+    default AugmentationResult augment(AugmentationRequest augmentationRequest) {
+        return augmentAsync(augmentationRequest).toCompletableFuture().join();
+    }
+
+    /**
+     * @deprecated use {@link #augment(AugmentationRequest)} instead.
+     */
+    @Override
+    @Deprecated
+    default UserMessage augment(UserMessage userMessage, Metadata metadata) {
+        return (UserMessage) augment(new AugmentationRequest(userMessage, metadata)).chatMessage();
+    }
+
+    /**
+     * Adapts a blocking {@link RetrievalAugmentor} into an {@code AsyncRetrievalAugmentor}
+     * by running it on the default executor (see {@link DefaultExecutorProvider}).
+     *
+     * @param retrievalAugmentor The blocking retrieval augmentor.
+     * @return An {@code AsyncRetrievalAugmentor}.
+     */
+    static AsyncRetrievalAugmentor from(RetrievalAugmentor retrievalAugmentor) {
+        return from(retrievalAugmentor, DefaultExecutorProvider.getDefaultExecutorService());
+    }
+
+    /**
+     * Adapts a blocking {@link RetrievalAugmentor} into an {@code AsyncRetrievalAugmentor}
+     * by running it on the provided {@link Executor}.
+     * If the retrieval augmentor is already an {@code AsyncRetrievalAugmentor}, it is returned as is.
+     *
+     * @param retrievalAugmentor The blocking retrieval augmentor.
+     * @param executor           The executor to run the blocking retrieval augmentor on.
+     * @return An {@code AsyncRetrievalAugmentor}.
+     */
+    static AsyncRetrievalAugmentor from(RetrievalAugmentor retrievalAugmentor, Executor executor) {
+        ensureNotNull(retrievalAugmentor, "retrievalAugmentor");
+        ensureNotNull(executor, "executor");
+        if (retrievalAugmentor instanceof AsyncRetrievalAugmentor asyncRetrievalAugmentor) {
+            return asyncRetrievalAugmentor;
+        }
+        return new AsyncRetrievalAugmentor() {
+
+            @Override
+            public CompletionStage<AugmentationResult> augmentAsync(AugmentationRequest augmentationRequest) {
+                return CompletableFuture.supplyAsync(() -> retrievalAugmentor.augment(augmentationRequest), executor);
+            }
+
+            @Override
+            public AugmentationResult augment(AugmentationRequest augmentationRequest) {
+                return retrievalAugmentor.augment(augmentationRequest);
+            }
+
+            @Override
+            public String toString() {
+                return retrievalAugmentor.toString();
+            }
+        };
+    }
+}
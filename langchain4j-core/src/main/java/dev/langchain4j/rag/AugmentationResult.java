@@ -2,6 +2,7 @@ package dev.langchain4j.rag;
 
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.retriever.ContentRetriever;
 
 import java.util.List;
 
@@ -23,9 +24,21 @@ public class AugmentationResult {
      */
     private final List<Content> contents;
 
+    /**
+     * The content retrievers that did not return within their deadline.
+     */
+    private final List<ContentRetriever> timedOutRetrievers;
+
     public AugmentationResult(ChatMessage chatMessage, List<Content> contents) {
+        this(chatMessage, contents, null);
+    }
+
+    public AugmentationResult(ChatMessage chatMessage,
+                              List<Content> contents,
+                              List<ContentRetriever> timedOutRetrievers) {
         this.chatMessage = ensureNotNull(chatMessage, "chatMessage");
         this.contents = copyIfNotNull(contents);
+        this.timedOutRetrievers = timedOutRetrievers == null ? List.of() : List.copyOf(timedOutRetrievers);
     }
 
     public static AugmentationResultBuilder builder() {
@@ -40,9 +53,21 @@ public class AugmentationResult {
         return contents;
     }
 
+    /**
+     * Returns the content retrievers that did not return within their deadline
+     * and whose contents are therefore missing from {@link #contents()}.
+     *
+     * @return the timed-out content retrievers, or an empty list if all retrievers returned in time.
+     * @see RetrievalTimeoutPolicy#PROCEED_WITH_PARTIAL_RESULTS
+     */
+    public List<ContentRetriever> timedOutRetrievers() {
+        return timedOutRetrievers;
+    }
+
     public static class AugmentationResultBuilder {
         private ChatMessage chatMessage;
         private List<Content> contents;
+        private List<ContentRetriever> timedOutRetrievers;
 
         AugmentationResultBuilder() {
         }
@@ -57,12 +82,18 @@ public class AugmentationResult {
             return this;
         }
 
+        public AugmentationResultBuilder timedOutRetrievers(List<ContentRetriever> timedOutRetrievers) {
+            this.timedOutRetrievers = timedOutRetrievers;
+            return this;
+        }
+
         public AugmentationResult build() {
-            return new AugmentationResult(this.chatMessage, this.contents);
+            return new AugmentationResult(this.chatMessage, this.contents, this.timedOutRetrievers);
         }
 
         public String toString() {
-            return "AugmentationResult.AugmentationResultBuilder(chatMessage=" + this.chatMessage + ", contents=" + this.contents + ")";
+            return "AugmentationResult.AugmentationResultBuilder(chatMessage=" + this.chatMessage + ", contents=" + this.contents
+                    + ", timedOutRetrievers=" + this.timedOutRetrievers + ")";
         }
     }
 }
@@ -0,0 +1,86 @@
+package dev.langchain4j.rag;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * An {@link Executor} that runs at most {@code limit} tasks concurrently on a delegate {@link Executor}.
+ * Excess tasks are queued (without occupying any thread) and dispatched as running tasks complete.
+ * A task rejected by the delegate {@link Executor} runs in the thread dispatching it, as the task may belong
+ * to another caller, which would otherwise wait for it forever.
+ */
+class ConcurrencyLimitedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int limit;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    ConcurrencyLimitedExecutor(Executor delegate, int limit) {
+        this.delegate = ensureNotNull(delegate, "delegate");
+        this.limit = ensureGreaterThanZero(limit, "limit");
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        ensureNotNull(task, "task");
+        queued.incrementAndGet();
+        queue.add(task);
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            int currentlyRunning = running.get();
+            if (currentlyRunning >= limit || queue.isEmpty()) {
+                return;
+            }
+            if (!running.compareAndSet(currentlyRunning, currentlyRunning + 1)) {
+                continue;
+            }
+            Runnable task = queue.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        running.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of tasks waiting for a free slot.
+     */
+    int queued() {
+        return queued.get();
+    }
+
+    /**
+     * @return the number of tasks currently submitted to the delegate executor.
+     */
+    int running() {
+        return running.get();
+    }
+}
@@ -1,42 +1,62 @@
 package dev.langchain4j.rag;
 
+import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.internal.DefaultExecutorProvider;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.aggregator.ContentAggregator;
 import dev.langchain4j.rag.content.aggregator.DefaultContentAggregator;
 import dev.langchain4j.rag.content.injector.ContentInjector;
 import dev.langchain4j.rag.content.injector.DefaultContentInjector;
+import dev.langchain4j.rag.content.retriever.AsyncContentRetriever;
 import dev.langchain4j.rag.content.retriever.ContentRetriever;
 import dev.langchain4j.rag.query.Metadata;
 import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.rag.query.QueryEmbeddingContext;
+import dev.langchain4j.rag.query.router.AsyncQueryRouter;
 import dev.langchain4j.rag.query.router.DefaultQueryRouter;
 import dev.langchain4j.rag.query.router.QueryRouter;
+import dev.langchain4j.rag.query.transformer.AsyncQueryTransformer;
 import dev.langchain4j.rag.query.transformer.DefaultQueryTransformer;
 import dev.langchain4j.rag.query.transformer.QueryTransformer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toMap;
 
@@ -100,15 +120,61 @@ import static java.util.stream.Collectors.toMap;
  * When there is only a single {@link Query} and a single {@link ContentRetriever},
  * query routing and content retrieval are performed in the same thread.
  * Otherwise, an {@link Executor} is used to parallelize the processing.
- * By default, a modified (keepAliveTime is 1 second instead of 60 seconds) {@link Executors#newCachedThreadPool()}
- * is used, but you can provide a custom {@link Executor} instance.
+ * By default, a shared executor provided by {@link DefaultExecutorProvider} is used:
+ * a virtual-thread-per-task executor on JDK 21+, or a bounded thread pool with a bounded queue otherwise.
+ * You can provide a custom {@link Executor} instance
+ * (e.g. {@link DefaultExecutorProvider#newBoundedExecutor(String, int, int)}).
+ * <br>
+ * Optionally, the number of concurrent retrievals per {@link ContentRetriever} can be limited
+ * (see {@link DefaultRetrievalAugmentorBuilder#maxConcurrentRetrievalsPerRetriever(Integer)}),
+ * so that a fan-out of many queries does not overload a single retriever or the executor.
+ * Retrievals exceeding the limit are queued without occupying a thread.
+ * Queue depths can be observed via {@link #executionMetrics()}.
+ * <br>
+ * <br>
+ * By default, the augmentation waits for all {@link ContentRetriever}s to return.
+ * To prevent a single slow or hung retriever from blocking the whole augmentation, the following can be configured:
+ * <pre>
+ * - a deadline for each retrieval ({@link DefaultRetrievalAugmentorBuilder#retrievalTimeout(Duration)}),
+ *   which can be overridden per retriever
+ *   ({@link DefaultRetrievalAugmentorBuilder#retrievalTimeout(ContentRetriever, Duration)})
+ * - an overall budget for all retrievals of a single augmentation
+ *   ({@link DefaultRetrievalAugmentorBuilder#augmentationTimeout(Duration)})
+ * - hedged requests: when a retriever has not returned after a delay, the same retrieval is started again
+ *   and whichever returns first wins ({@link DefaultRetrievalAugmentorBuilder#hedgingDelay(Duration)})
+ * - what to do when a retriever times out ({@link RetrievalTimeoutPolicy})
+ * </pre>
+ * Timed-out retrievals and hedged attempts that lost the race are cancelled:
+ * threads running blocking {@link ContentRetriever}s are interrupted,
+ * and futures returned by {@link AsyncContentRetriever}s are cancelled.
+ * <br>
+ * <br>
+ * When {@link #augment(AugmentationRequest)} is called from a thread of a bounded executor
+ * (see {@link DefaultExecutorProvider#isBoundedExecutorThread()}), e.g. from a task running on the default executor
+ * on JDKs without virtual threads, all queries are routed and retrieved sequentially in the calling thread.
+ * Waiting for tasks submitted to the same pool could otherwise exhaust it.
+ * In this case, retrievals are neither hedged nor interrupted, and only the {@code augmentationTimeout} is enforced:
+ * once it has elapsed, the remaining retrievers are skipped and handled according to the {@link RetrievalTimeoutPolicy}.
+ * <br>
+ * <br>
+ * This class also implements {@link AsyncRetrievalAugmentor}: {@link #augmentAsync(AugmentationRequest)}
+ * composes the flow without blocking, invoking {@link AsyncQueryTransformer}s, {@link AsyncQueryRouter}s
+ * and {@link AsyncContentRetriever}s directly and running only blocking components on the {@link Executor}.
+ * This allows a small number of threads to drive many concurrent augmentations when the components are asynchronous.
+ * Note that {@code maxConcurrentRetrievalsPerRetriever} applies only to blocking {@link ContentRetriever}s.
+ * <br>
+ * <br>
+ * During retrieval, a {@link QueryEmbeddingContext} with all {@link Query}s of the augmentation is made available
+ * to the {@link ContentRetriever}s, so that retrievers using an embedding model
+ * (e.g. {@code EmbeddingStoreContentRetriever}) embed all queries in a single batch
+ * and share the embeddings with other retrievers using the same model.
  *
  * @see DefaultQueryTransformer
  * @see DefaultQueryRouter
  * @see DefaultContentAggregator
  * @see DefaultContentInjector
  */
-public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
+public class DefaultRetrievalAugmentor implements AsyncRetrievalAugmentor {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultRetrievalAugmentor.class);
 
@@ -117,25 +183,72 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
     private final ContentAggregator contentAggregator;
     private final ContentInjector contentInjector;
     private final Executor executor;
+    private final Integer maxConcurrentRetrievalsPerRetriever;
+    private final Map<ContentRetriever, ConcurrencyLimitedExecutor> retrieverExecutors = new ConcurrentHashMap<>();
+    private final Duration retrievalTimeout;
+    private final Map<ContentRetriever, Duration> retrievalTimeouts;
+    private final Duration augmentationTimeout;
+    private final Duration hedgingDelay;
+    private final AtomicBoolean callerThreadLimitationsLogged = new AtomicBoolean();
+    private final RetrievalTimeoutPolicy retrievalTimeoutPolicy;
 
     public DefaultRetrievalAugmentor(QueryTransformer queryTransformer,
                                      QueryRouter queryRouter,
                                      ContentAggregator contentAggregator,
                                      ContentInjector contentInjector,
                                      Executor executor) {
+        this(queryTransformer, queryRouter, contentAggregator, contentInjector, executor, null);
+    }
+
+    public DefaultRetrievalAugmentor(QueryTransformer queryTransformer,
+                                     QueryRouter queryRouter,
+                                     ContentAggregator contentAggregator,
+                                     ContentInjector contentInjector,
+                                     Executor executor,
+                                     Integer maxConcurrentRetrievalsPerRetriever) {
+        this(queryTransformer, queryRouter, contentAggregator, contentInjector, executor,
+            maxConcurrentRetrievalsPerRetriever, null, null, null, null, null);
+    }
+
+    protected DefaultRetrievalAugmentor(DefaultRetrievalAugmentorBuilder builder) {
+        this(builder.queryTransformer, builder.queryRouter, builder.contentAggregator, builder.contentInjector,
+            builder.executor, builder.maxConcurrentRetrievalsPerRetriever, builder.retrievalTimeout,
+            builder.retrievalTimeouts, builder.augmentationTimeout, builder.hedgingDelay,
+            builder.retrievalTimeoutPolicy);
+    }
+
+    private DefaultRetrievalAugmentor(QueryTransformer queryTransformer,
+                                      QueryRouter queryRouter,
+                                      ContentAggregator contentAggregator,
+                                      ContentInjector contentInjector,
+                                      Executor executor,
+                                      Integer maxConcurrentRetrievalsPerRetriever,
+                                      Duration retrievalTimeout,
+                                      Map<ContentRetriever, Duration> retrievalTimeouts,
+                                      Duration augmentationTimeout,
+                                      Duration hedgingDelay,
+                                      RetrievalTimeoutPolicy retrievalTimeoutPolicy) {
         this.queryTransformer = getOrDefault(queryTransformer, DefaultQueryTransformer::new);
         this.queryRouter = ensureNotNull(queryRouter, "queryRouter");
         this.contentAggregator = getOrDefault(contentAggregator, DefaultContentAggregator::new);
         this.contentInjector = getOrDefault(contentInjector, DefaultContentInjector::new);
-        this.executor = getOrDefault(executor, DefaultRetrievalAugmentor::createDefaultExecutor);
+        this.executor = getOrDefault(executor, DefaultExecutorProvider::getDefaultExecutorService);
+        this.maxConcurrentRetrievalsPerRetriever = maxConcurrentRetrievalsPerRetriever == null
+            ? null
+            : ensureGreaterThanZero(maxConcurrentRetrievalsPerRetriever, "maxConcurrentRetrievalsPerRetriever");
+        this.retrievalTimeout = ensurePositiveOrNull(retrievalTimeout, "retrievalTimeout");
+        this.retrievalTimeouts = retrievalTimeouts == null ? Map.of() : Map.copyOf(retrievalTimeouts);
+        this.retrievalTimeouts.values().forEach(timeout -> ensurePositiveOrNull(timeout, "retrievalTimeout"));
+        this.augmentationTimeout = ensurePositiveOrNull(augmentationTimeout, "augmentationTimeout");
+        this.hedgingDelay = ensurePositiveOrNull(hedgingDelay, "hedgingDelay");
+        this.retrievalTimeoutPolicy = getOrDefault(retrievalTimeoutPolicy, RetrievalTimeoutPolicy.FAIL);
     }
 
-    private static ExecutorService createDefaultExecutor() {
-        return new ThreadPoolExecutor(
-            0, Integer.MAX_VALUE,
-            1, SECONDS,
-            new SynchronousQueue<>()
-        );
+    private static Duration ensurePositiveOrNull(Duration duration, String name) {
+        if (duration != null && (duration.isNegative() || duration.isZero())) {
+            throw illegalArgument("%s must be positive, but is: %s", name, duration);
+        }
+        return duration;
     }
 
     /**
@@ -154,12 +267,81 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
         ChatMessage chatMessage = augmentationRequest.chatMessage();
         Metadata metadata = augmentationRequest.metadata();
 
-        Query originalQuery = Query.from(chatMessage.text(), metadata);
+        Query originalQuery = Query.from(textOf(chatMessage), metadata);
+        Retrieval retrieval = new Retrieval(augmentationTimeout);
 
         Collection<Query> queries = queryTransformer.transform(originalQuery);
         logQueries(originalQuery, queries);
+        retrieval.embeddingContext = new QueryEmbeddingContext(queries);
+
+        Map<Query, Collection<List<Content>>> queryToContents;
+        try {
+            queryToContents = process(queries, retrieval);
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+
+        return aggregateAndInject(chatMessage, queryToContents, retrieval);
+    }
+
+    private static String textOf(ChatMessage chatMessage) {
+        if (chatMessage instanceof UserMessage userMessage) {
+            return userMessage.singleText();
+        } else if (chatMessage instanceof SystemMessage systemMessage) {
+            return systemMessage.text();
+        } else if (chatMessage instanceof AiMessage aiMessage) {
+            return aiMessage.text();
+        } else if (chatMessage instanceof ToolExecutionResultMessage toolExecutionResultMessage) {
+            return toolExecutionResultMessage.text();
+        }
+        throw illegalArgument("Unsupported message type: %s", chatMessage.type());
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof RuntimeException runtimeException ? runtimeException : e;
+    }
+
+    /**
+     * Asynchronously augments the {@link ChatMessage} provided in the {@link AugmentationRequest}.
+     * <br>
+     * The flow is composed without blocking any thread while waiting:
+     * {@link AsyncQueryTransformer}s, {@link AsyncQueryRouter}s and {@link AsyncContentRetriever}s
+     * are invoked directly, while blocking components are run on the {@link Executor}.
+     * The {@link ContentAggregator} and {@link ContentInjector} are run on the {@link Executor}
+     * unless they are the default (non-blocking) ones.
+     *
+     * @param augmentationRequest The {@code AugmentationRequest} containing the {@code ChatMessage} to augment.
+     * @return A {@link CompletableFuture} that completes with the {@link AugmentationResult}.
+     */
+    @Override
+    public CompletableFuture<AugmentationResult> augmentAsync(AugmentationRequest augmentationRequest) {
+
+        ChatMessage chatMessage = augmentationRequest.chatMessage();
+        Metadata metadata = augmentationRequest.metadata();
+
+        Query originalQuery = Query.from(textOf(chatMessage), metadata);
+        Retrieval retrieval = new Retrieval(augmentationTimeout);
 
-        Map<Query, Collection<List<Content>>> queryToContents = process(queries);
+        CompletableFuture<Map<Query, Collection<List<Content>>>> futureQueryToContents =
+            transformAsync(originalQuery)
+                .thenCompose(queries -> {
+                    logQueries(originalQuery, queries);
+                    retrieval.embeddingContext = new QueryEmbeddingContext(queries);
+                    return processAsync(queries, retrieval);
+                });
+
+        if (contentAggregator instanceof DefaultContentAggregator && contentInjector instanceof DefaultContentInjector) {
+            return futureQueryToContents.thenApply(queryToContents ->
+                aggregateAndInject(chatMessage, queryToContents, retrieval));
+        }
+        return futureQueryToContents.thenApplyAsync(queryToContents ->
+            aggregateAndInject(chatMessage, queryToContents, retrieval), executor);
+    }
+
+    private AugmentationResult aggregateAndInject(ChatMessage chatMessage,
+                                                  Map<Query, Collection<List<Content>>> queryToContents,
+                                                  Retrieval retrieval) {
 
         List<Content> contents = contentAggregator.aggregate(queryToContents);
         log(queryToContents, contents);
@@ -170,46 +352,95 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
         return AugmentationResult.builder()
             .chatMessage(augmentedChatMessage)
             .contents(contents)
+            .timedOutRetrievers(List.copyOf(retrieval.timedOutRetrievers))
             .build();
     }
 
-    private Map<Query, Collection<List<Content>>> process(Collection<Query> queries) {
+    private Map<Query, Collection<List<Content>>> process(Collection<Query> queries, Retrieval retrieval) {
+        if (DefaultExecutorProvider.isBoundedExecutorThread()) {
+            return processInCallerThread(queries, retrieval);
+        }
         if (queries.size() == 1) {
             Query query = queries.iterator().next();
             Collection<ContentRetriever> retrievers = queryRouter.route(query);
             if (retrievers.size() == 1) {
                 ContentRetriever contentRetriever = retrievers.iterator().next();
-                List<Content> contents = contentRetriever.retrieve(query);
+                List<Content> contents = canRetrieveInCallerThread()
+                    ? retrieval.embeddingContext.callWith(() -> contentRetriever.retrieve(query))
+                    : retrieveAsync(contentRetriever, query, retrieval).join();
                 return singletonMap(query, singletonList(contents));
             } else if (retrievers.size() > 1) {
-                Collection<List<Content>> contents = retrieveFromAll(retrievers, query).join();
+                Collection<List<Content>> contents = retrieveFromAll(retrievers, query, retrieval).join();
                 return singletonMap(query, contents);
             } else {
                 return emptyMap();
             }
         } else if (queries.size() > 1) {
-            Map<Query, CompletableFuture<Collection<List<Content>>>> queryToFutureContents = new ConcurrentHashMap<>();
-            queries.forEach(query -> {
-                CompletableFuture<Collection<List<Content>>> futureContents =
-                    supplyAsync(() -> {
-                            Collection<ContentRetriever> retrievers = queryRouter.route(query);
-                            log(query, retrievers);
-                            return retrievers;
-                        },
-                        executor
-                    ).thenCompose(retrievers -> retrieveFromAll(retrievers, query));
-                queryToFutureContents.put(query, futureContents);
-            });
-            return join(queryToFutureContents);
+            return processAsync(queries, retrieval).join();
         } else {
             return emptyMap();
         }
     }
 
+    private Map<Query, Collection<List<Content>>> processInCallerThread(Collection<Query> queries,
+                                                                        Retrieval retrieval) {
+        if ((retrievalTimeout != null || !retrievalTimeouts.isEmpty() || hedgingDelay != null)
+            && callerThreadLimitationsLogged.compareAndSet(false, true)) {
+            log.debug("Retrieving in the calling bounded executor thread: retrieval timeouts and hedging are disabled");
+        }
+        Map<Query, Collection<List<Content>>> queryToContents = new HashMap<>();
+        for (Query query : queries) {
+            Collection<ContentRetriever> retrievers = queryRouter.route(query);
+            log(query, retrievers);
+            List<List<Content>> contents = new ArrayList<>();
+            for (ContentRetriever retriever : retrievers) {
+                if (retrieval.deadlineNanos != null && System.nanoTime() - retrieval.deadlineNanos >= 0) {
+                    contents.add(onTimeout(retriever, query, retrieval, augmentationTimeout).join());
+                    continue;
+                }
+                contents.add(retrieval.embeddingContext.callWith(() -> retrieve(retriever, query)));
+            }
+            queryToContents.put(query, contents);
+        }
+        return queryToContents;
+    }
+
+    private CompletableFuture<Map<Query, Collection<List<Content>>>> processAsync(Collection<Query> queries,
+                                                                                   Retrieval retrieval) {
+        Map<Query, CompletableFuture<Collection<List<Content>>>> queryToFutureContents = new ConcurrentHashMap<>();
+        queries.forEach(query -> {
+            CompletableFuture<Collection<List<Content>>> futureContents = routeAsync(query)
+                .thenCompose(retrievers -> retrieveFromAll(retrievers, query, retrieval));
+            queryToFutureContents.put(query, futureContents);
+        });
+        return join(queryToFutureContents);
+    }
+
+    private CompletableFuture<Collection<Query>> transformAsync(Query query) {
+        if (queryTransformer instanceof AsyncQueryTransformer asyncQueryTransformer) {
+            return asyncQueryTransformer.transformAsync(query).toCompletableFuture();
+        } else if (queryTransformer instanceof DefaultQueryTransformer) {
+            return CompletableFuture.completedFuture(queryTransformer.transform(query));
+        }
+        return supplyAsync(() -> queryTransformer.transform(query), executor);
+    }
+
+    private CompletableFuture<Collection<ContentRetriever>> routeAsync(Query query) {
+        CompletableFuture<Collection<ContentRetriever>> futureRetrievers =
+            queryRouter instanceof AsyncQueryRouter asyncQueryRouter
+                ? asyncQueryRouter.routeAsync(query).toCompletableFuture()
+                : supplyAsync(() -> queryRouter.route(query), executor);
+        return futureRetrievers.thenApply(retrievers -> {
+            log(query, retrievers);
+            return retrievers;
+        });
+    }
+
     private CompletableFuture<Collection<List<Content>>> retrieveFromAll(Collection<ContentRetriever> retrievers,
-                                                                         Query query) {
+                                                                         Query query,
+                                                                         Retrieval retrieval) {
         List<CompletableFuture<List<Content>>> futureContents = retrievers.stream()
-            .map(retriever -> supplyAsync(() -> retrieve(retriever, query), executor))
+            .map(retriever -> retrieveAsync(retriever, query, retrieval))
             .collect(Collectors.toList());
 
         return allOf(futureContents.toArray(new CompletableFuture[0]))
@@ -219,13 +450,278 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
                     .collect(Collectors.toList()));
     }
 
+    private boolean canRetrieveInCallerThread() {
+        return maxConcurrentRetrievalsPerRetriever == null
+            && retrievalTimeout == null
+            && retrievalTimeouts.isEmpty()
+            && augmentationTimeout == null
+            && hedgingDelay == null;
+    }
+
+    private CompletableFuture<List<Content>> retrieveAsync(ContentRetriever retriever, Query query, Retrieval retrieval) {
+        Duration timeout = timeoutFor(retriever, retrieval);
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            // the augmentation budget is already exhausted
+            return onTimeout(retriever, query, retrieval, Duration.ZERO);
+        }
+
+        CompletableFuture<List<Content>> futureContents = hedgingDelay == null
+            ? startRetrieval(retriever, query, retrieval)
+            : retrieveHedged(retriever, query, retrieval);
+
+        if (timeout == null) {
+            return futureContents;
+        }
+
+        return futureContents
+            .orTimeout(timeout.toNanos(), NANOSECONDS)
+            .exceptionallyCompose(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+                if (cause instanceof TimeoutException) {
+                    return onTimeout(retriever, query, retrieval, timeout);
+                }
+                return CompletableFuture.failedFuture(cause);
+            });
+    }
+
+    private CompletableFuture<List<Content>> onTimeout(ContentRetriever retriever,
+                                                       Query query,
+                                                       Retrieval retrieval,
+                                                       Duration timeout) {
+        if (retrievalTimeoutPolicy == RetrievalTimeoutPolicy.FAIL) {
+            return CompletableFuture.failedFuture(new RetrievalTimeoutException(String.format(
+                "Retriever '%s' did not return contents for query '%s' within %s", retriever, query.text(), timeout)));
+        }
+        log.warn("Retriever '{}' did not return contents for query '{}' within {}, proceeding without its contents",
+            retriever, query.text(), timeout);
+        retrieval.timedOutRetrievers.add(retriever);
+        return CompletableFuture.completedFuture(emptyList());
+    }
+
+    private Duration timeoutFor(ContentRetriever retriever, Retrieval retrieval) {
+        Duration timeout = retrievalTimeouts.getOrDefault(retriever, retrievalTimeout);
+        if (retrieval.deadlineNanos == null) {
+            return timeout;
+        }
+        Duration remaining = Duration.ofNanos(retrieval.deadlineNanos - System.nanoTime());
+        return timeout == null || remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * Starts the retrieval and, if it has not completed after {@link #hedgingDelay}, starts it once more.
+     * The returned future completes with the first successful result,
+     * or with the failure of the last attempt if all started attempts fail.
+     * Once the returned future is completed (or times out), all attempts still running are cancelled.
+     */
+    private CompletableFuture<List<Content>> retrieveHedged(ContentRetriever retriever, Query query, Retrieval retrieval) {
+        CompletableFuture<List<Content>> result = new CompletableFuture<>();
+        List<CompletableFuture<List<Content>>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pendingAttempts = new AtomicInteger(1);
+        BiConsumer<List<Content>, Throwable> onAttemptCompleted = (contents, error) -> {
+            if (error == null) {
+                result.complete(contents);
+            } else if (pendingAttempts.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+        result.whenComplete((contents, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+
+        startAttempt(retriever, query, retrieval, attempts, result).whenComplete(onAttemptCompleted);
+
+        delayedExecutor(hedgingDelay.toNanos(), NANOSECONDS, executor).execute(() -> {
+            if (result.isDone() || pendingAttempts.getAndUpdate(n -> n == 0 ? 0 : n + 1) == 0) {
+                return;
+            }
+            log.debug("Retriever '{}' did not return contents for query '{}' within {}, sending a hedged request",
+                retriever, query.text(), hedgingDelay);
+            startAttempt(retriever, query, retrieval, attempts, result).whenComplete(onAttemptCompleted);
+        });
+
+        return result;
+    }
+
+    private CompletableFuture<List<Content>> startAttempt(ContentRetriever retriever,
+                                                          Query query,
+                                                          Retrieval retrieval,
+                                                          List<CompletableFuture<List<Content>>> attempts,
+                                                          CompletableFuture<List<Content>> result) {
+        CompletableFuture<List<Content>> attempt = startRetrieval(retriever, query, retrieval);
+        attempts.add(attempt);
+        if (result.isDone()) {
+            attempt.cancel(true);
+        }
+        return attempt;
+    }
+
+    /**
+     * Starts a single retrieval: {@link AsyncContentRetriever}s are invoked directly,
+     * blocking {@link ContentRetriever}s are run on the {@link Executor}.
+     * When the returned future is completed exceptionally (e.g. times out) or cancelled before the retrieval returns,
+     * the retrieval is cancelled: the future of the {@link AsyncContentRetriever} is cancelled,
+     * and the thread running the blocking {@link ContentRetriever} is interrupted.
+     */
+    private CompletableFuture<List<Content>> startRetrieval(ContentRetriever retriever, Query query, Retrieval retrieval) {
+        QueryEmbeddingContext embeddingContext = retrieval.embeddingContext;
+        if (retriever instanceof AsyncContentRetriever asyncRetriever) {
+            CompletableFuture<List<Content>> source;
+            try {
+                source = embeddingContext.callWith(() -> asyncRetriever.retrieveAsync(query)).toCompletableFuture();
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            CompletableFuture<List<Content>> futureContents = source.thenApply(contents -> {
+                log(query, retriever, contents);
+                return contents;
+            });
+            futureContents.whenComplete((contents, error) -> {
+                if (error != null) {
+                    source.cancel(true);
+                }
+            });
+            return futureContents;
+        }
+        InterruptibleRetrieval interruptibleRetrieval =
+            new InterruptibleRetrieval(() -> embeddingContext.callWith(() -> retrieve(retriever, query)));
+        executorFor(retriever).execute(interruptibleRetrieval);
+        return interruptibleRetrieval;
+    }
+
+    /**
+     * A blocking retrieval that interrupts the thread running it
+     * when it is completed exceptionally (e.g. times out) or cancelled before it returns.
+     * If it is completed before it is started, it is not run at all.
+     */
+    private static class InterruptibleRetrieval extends CompletableFuture<List<Content>> implements Runnable {
+
+        private final Supplier<List<Content>> retrieval;
+        private Thread runner;
+        private boolean runnerInterrupted;
+
+        InterruptibleRetrieval(Supplier<List<Content>> retrieval) {
+            this.retrieval = retrieval;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                complete(retrieval.get());
+            } catch (Throwable e) {
+                super.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    if (runnerInterrupted) {
+                        // do not leak the interruption to the next task run by this thread
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable error) {
+            boolean completed = super.completeExceptionally(error);
+            if (completed) {
+                interruptRunner();
+            }
+            return completed;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                interruptRunner();
+            }
+            return cancelled;
+        }
+
+        private synchronized void interruptRunner() {
+            if (runner != null) {
+                runnerInterrupted = true;
+                runner.interrupt();
+            }
+        }
+    }
+
+    /**
+     * The state of a single augmentation shared by all its retrievals.
+     */
+    private static class Retrieval {
+
+        private final Long deadlineNanos;
+        private final Set<ContentRetriever> timedOutRetrievers = ConcurrentHashMap.newKeySet();
+        private volatile QueryEmbeddingContext embeddingContext;
+
+        Retrieval(Duration augmentationTimeout) {
+            this.deadlineNanos = augmentationTimeout == null ? null : System.nanoTime() + augmentationTimeout.toNanos();
+        }
+    }
+
+    private Executor executorFor(ContentRetriever retriever) {
+        if (maxConcurrentRetrievalsPerRetriever == null) {
+            return executor;
+        }
+        return retrieverExecutors.computeIfAbsent(retriever,
+            ignored -> new ConcurrencyLimitedExecutor(executor, maxConcurrentRetrievalsPerRetriever));
+    }
+
+    /**
+     * Returns a snapshot of the current state of the concurrent retrieval execution.
+     *
+     * @return the execution metrics.
+     */
+    public ExecutionMetrics executionMetrics() {
+        int queuedRetrievals = 0;
+        int runningRetrievals = 0;
+        for (ConcurrencyLimitedExecutor retrieverExecutor : retrieverExecutors.values()) {
+            queuedRetrievals += retrieverExecutor.queued();
+            runningRetrievals += retrieverExecutor.running();
+        }
+        if (executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            return new ExecutionMetrics(
+                threadPoolExecutor.getQueue().size(),
+                threadPoolExecutor.getActiveCount(),
+                queuedRetrievals,
+                runningRetrievals
+            );
+        }
+        return new ExecutionMetrics(-1, -1, queuedRetrievals, runningRetrievals);
+    }
+
+    /**
+     * A snapshot of the concurrent retrieval execution state of a {@link DefaultRetrievalAugmentor}.
+     *
+     * @param executorQueueDepth  the number of tasks waiting in the executor's queue,
+     *                            or -1 if the executor is not a {@link ThreadPoolExecutor}.
+     * @param executorActiveCount the number of threads actively executing tasks,
+     *                            or -1 if the executor is not a {@link ThreadPoolExecutor}.
+     * @param queuedRetrievals    the number of retrievals waiting because their retriever
+     *                            reached {@code maxConcurrentRetrievalsPerRetriever}.
+     * @param runningRetrievals   the number of retrievals submitted to the executor
+     *                            (only tracked when {@code maxConcurrentRetrievalsPerRetriever} is set).
+     */
+    public record ExecutionMetrics(int executorQueueDepth,
+                                   int executorActiveCount,
+                                   int queuedRetrievals,
+                                   int runningRetrievals) {
+    }
+
     private static List<Content> retrieve(ContentRetriever retriever, Query query) {
         List<Content> contents = retriever.retrieve(query);
         log(query, retriever, contents);
         return contents;
     }
 
-    private static Map<Query, Collection<List<Content>>> join(
+    private static CompletableFuture<Map<Query, Collection<List<Content>>>> join(
         Map<Query, CompletableFuture<Collection<List<Content>>>> queryToFutureContents) {
         return allOf(queryToFutureContents.values().toArray(new CompletableFuture[0]))
             .thenApply(ignored ->
@@ -234,7 +730,7 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
                         Map.Entry::getKey,
                         entry -> entry.getValue().join()
                     ))
-            ).join();
+            );
     }
 
     private static void logQueries(Query originalQuery, Collection<Query> queries) {
@@ -339,6 +835,12 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
         private ContentAggregator contentAggregator;
         private ContentInjector contentInjector;
         private Executor executor;
+        private Integer maxConcurrentRetrievalsPerRetriever;
+        private Duration retrievalTimeout;
+        private Map<ContentRetriever, Duration> retrievalTimeouts;
+        private Duration augmentationTimeout;
+        private Duration hedgingDelay;
+        private RetrievalTimeoutPolicy retrievalTimeoutPolicy;
 
         DefaultRetrievalAugmentorBuilder() {
         }
@@ -373,12 +875,97 @@ public class DefaultRetrievalAugmentor implements RetrievalAugmentor {
             return this;
         }
 
+        /**
+         * Limits the number of concurrent retrievals per {@link ContentRetriever}.
+         * Retrievals exceeding the limit are queued until a running retrieval of the same retriever completes.
+         * By default, there is no limit.
+         *
+         * @param maxConcurrentRetrievalsPerRetriever the maximum number of concurrent retrievals per retriever.
+         * @return builder
+         */
+        public DefaultRetrievalAugmentorBuilder maxConcurrentRetrievalsPerRetriever(Integer maxConcurrentRetrievalsPerRetriever) {
+            this.maxConcurrentRetrievalsPerRetriever = maxConcurrentRetrievalsPerRetriever;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for a single {@link ContentRetriever} to return contents.
+         * When exceeded, the {@link #retrievalTimeoutPolicy(RetrievalTimeoutPolicy)} applies.
+         * By default, there is no timeout.
+         *
+         * @param retrievalTimeout the timeout applied to each retrieval.
+         * @return builder
+         */
+        public DefaultRetrievalAugmentorBuilder retrievalTimeout(Duration retrievalTimeout) {
+            this.retrievalTimeout = retrievalTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for the specified {@link ContentRetriever} to return contents,
+         * overriding {@link #retrievalTimeout(Duration)} for this retriever.
+         *
+         * @param contentRetriever the retriever.
+         * @param retrievalTimeout the timeout applied to each retrieval of this retriever.
+         * @return builder
+         */
+        public DefaultRetrievalAugmentorBuilder retrievalTimeout(ContentRetriever contentRetriever,
+                                                                 Duration retrievalTimeout) {
+            if (this.retrievalTimeouts == null) {
+                this.retrievalTimeouts = new HashMap<>();
+            }
+            this.retrievalTimeouts.put(ensureNotNull(contentRetriever, "contentRetriever"),
+                ensureNotNull(retrievalTimeout, "retrievalTimeout"));
+            return this;
+        }
+
+        /**
+         * Sets the maximum time, measured from the start of the augmentation,
+         * within which all {@link ContentRetriever}s must return contents.
+         * When exceeded, the {@link #retrievalTimeoutPolicy(RetrievalTimeoutPolicy)} applies
+         * to all retrievers that have not returned yet.
+         * By default, there is no timeout.
+         *
+         * @param augmentationTimeout the overall retrieval budget of a single augmentation.
+         * @return builder
+         */
+        public DefaultRetrievalAugmentorBuilder augmentationTimeout(Duration augmentationTimeout) {
+            this.augmentationTimeout = augmentationTimeout;
+            return this;
+        }
+
+        /**
+         * Enables hedged requests: when a {@link ContentRetriever} has not returned contents
+         * after the specified delay, the same retrieval is started once more and the first result is used.
+         * This reduces tail latency at the cost of additional load on the retriever.
+         * Only use it with idempotent retrievers. By default, hedging is disabled.
+         *
+         * @param hedgingDelay the delay after which a hedged request is sent.
+         * @return builder
+         */
+        public DefaultRetrievalAugmentorBuilder hedgingDelay(Duration hedgingDelay) {
+            this.hedgingDelay = hedgingDelay;
+            return this;
+        }
+
+        /**
+         * Sets what happens when a {@link ContentRetriever} times out.
+         * Default: {@link RetrievalTimeoutPolicy#FAIL}.
+         *
+         * @param retrievalTimeoutPolicy the policy.
+         * @return builder
+         */
+        public DefaultRetrievalAugmentorBuilder retrievalTimeoutPolicy(RetrievalTimeoutPolicy retrievalTimeoutPolicy) {
+            this.retrievalTimeoutPolicy = retrievalTimeoutPolicy;
+            return this;
+        }
+
         public DefaultRetrievalAugmentor build() {
-            return new DefaultRetrievalAugmentor(this.queryTransformer, this.queryRouter, this.contentAggregator, this.contentInjector, this.executor);
+            return new DefaultRetrievalAugmentor(this);
         }
 
         public String toString() {
-            return "DefaultRetrievalAugmentor.DefaultRetrievalAugmentorBuilder(queryTransformer=" + this.queryTransformer + ", queryRouter=" + this.queryRouter + ", contentAggregator=" + this.contentAggregator + ", contentInjector=" + this.contentInjector + ", executor=" + this.executor + ")";
+            return "DefaultRetrievalAugmentor.DefaultRetrievalAugmentorBuilder(queryTransformer=" + this.queryTransformer + ", queryRouter=" + this.queryRouter + ", contentAggregator=" + this.contentAggregator + ", contentInjector=" + this.contentInjector + ", executor=" + this.executor + ", maxConcurrentRetrievalsPerRetriever=" + this.maxConcurrentRetrievalsPerRetriever + ", retrievalTimeout=" + this.retrievalTimeout + ", retrievalTimeouts=" + this.retrievalTimeouts + ", augmentationTimeout=" + this.augmentationTimeout + ", hedgingDelay=" + this.hedgingDelay + ", retrievalTimeoutPolicy=" + this.retrievalTimeoutPolicy + ")";
         }
     }
 }
@@ -0,0 +1,14 @@
+package dev.langchain4j.rag;
+
+import dev.langchain4j.rag.content.retriever.ContentRetriever;
+
+/**
+ * An exception thrown by {@link DefaultRetrievalAugmentor} when a {@link ContentRetriever}
+ * does not return within its deadline and the {@link RetrievalTimeoutPolicy#FAIL} policy is used.
+ */
+public class RetrievalTimeoutException extends RuntimeException {
+
+    public RetrievalTimeoutException(String message) {
+        super(message);
+    }
+}
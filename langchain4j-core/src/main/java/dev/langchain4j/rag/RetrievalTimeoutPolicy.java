@@ -0,0 +1,21 @@
+package dev.langchain4j.rag;
+
+import dev.langchain4j.rag.content.retriever.ContentRetriever;
+
+/**
+ * Defines how {@link DefaultRetrievalAugmentor} behaves when a {@link ContentRetriever}
+ * does not return within its deadline.
+ */
+public enum RetrievalTimeoutPolicy {
+
+    /**
+     * The augmentation fails with a {@link RetrievalTimeoutException}.
+     */
+    FAIL,
+
+    /**
+     * The augmentation proceeds with the contents retrieved in time.
+     * Timed-out retrievers are reported in {@link AugmentationResult#timedOutRetrievers()}.
+     */
+    PROCEED_WITH_PARTIAL_RESULTS
+}
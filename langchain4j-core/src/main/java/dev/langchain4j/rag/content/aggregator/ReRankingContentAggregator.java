@@ -1,25 +1,33 @@
 package dev.langchain4j.rag.content.aggregator;
 
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.internal.DefaultExecutorProvider;
 import dev.langchain4j.model.scoring.ScoringModel;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.ContentMetadata;
 import dev.langchain4j.rag.query.Query;
 import dev.langchain4j.rag.query.transformer.ExpandingQueryTransformer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static dev.langchain4j.rag.content.ContentMetadata.EMBEDDING_ID;
 import static dev.langchain4j.rag.content.ContentMetadata.RERANKED_SCORE;
 import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 /**
  * A {@link ContentAggregator} that performs re-ranking using a {@link ScoringModel}, such as Cohere.
@@ -43,6 +51,26 @@ import static java.util.Collections.emptyList;
  * - {@link #minScore}: the minimum score for {@link Content}s to be returned.
  * {@link Content}s scoring below this threshold (as determined by the {@link ScoringModel})
  * are excluded from the results.
+ * <br>
+ * - {@link #maxResults}: the maximum number of {@link Content}s to be returned.
+ * <br>
+ * - {@link #maxCandidates}: the maximum number of fused {@link Content}s to be re-ranked.
+ * Since the fused {@link Content}s are ordered by their fused rank, only the top candidates are sent to the
+ * {@link ScoringModel}, which bounds the cost and latency of re-ranking. By default, all {@link Content}s are re-ranked.
+ * <br>
+ * - {@link #batchSize}: the maximum number of {@link Content}s scored in a single {@link ScoringModel} call.
+ * When there are more candidates, they are split into batches that are scored concurrently
+ * using the {@link #executor}. By default, all candidates are scored in a single call.
+ * <br>
+ * - {@link #executor}: the {@link Executor} used to score batches concurrently.
+ * By default, a shared executor provided by {@link DefaultExecutorProvider} is used.
+ * When the aggregation itself runs on a thread of a bounded executor
+ * (see {@link DefaultExecutorProvider#isBoundedExecutorThread()}), all batches are scored sequentially in that thread.
+ * <br>
+ * - {@code scoreCacheSize}: the maximum number of (query, content) scores kept in an LRU cache,
+ * so that contents retrieved again for the same query are not re-scored.
+ * Contents are identified by their text and, when present, their {@link ContentMetadata#EMBEDDING_ID}.
+ * By default, scores are not cached.
  *
  * @see DefaultContentAggregator
  */
@@ -65,6 +93,10 @@ public class ReRankingContentAggregator implements ContentAggregator {
     private final Function<Map<Query, Collection<List<Content>>>, Query> querySelector;
     private final Double minScore;
     private final Integer maxResults;
+    private final Integer maxCandidates;
+    private final Integer batchSize;
+    private final Executor executor;
+    private final Map<ScoreKey, Double> scoreCache;
 
     public ReRankingContentAggregator(ScoringModel scoringModel) {
         this(scoringModel, DEFAULT_QUERY_SELECTOR, null);
@@ -80,10 +112,34 @@ public class ReRankingContentAggregator implements ContentAggregator {
                                       Function<Map<Query, Collection<List<Content>>>, Query> querySelector,
                                       Double minScore,
                                       Integer maxResults) {
+        this(scoringModel, querySelector, minScore, maxResults, null, null, null, null);
+    }
+
+    public ReRankingContentAggregator(ScoringModel scoringModel,
+                                      Function<Map<Query, Collection<List<Content>>>, Query> querySelector,
+                                      Double minScore,
+                                      Integer maxResults,
+                                      Integer maxCandidates,
+                                      Integer batchSize,
+                                      Executor executor,
+                                      Integer scoreCacheSize) {
         this.scoringModel = ensureNotNull(scoringModel, "scoringModel");
         this.querySelector = getOrDefault(querySelector, DEFAULT_QUERY_SELECTOR);
         this.minScore = minScore;
         this.maxResults = getOrDefault(maxResults, Integer.MAX_VALUE);
+        this.maxCandidates = ensureGreaterThanZero(getOrDefault(maxCandidates, Integer.MAX_VALUE), "maxCandidates");
+        this.batchSize = ensureGreaterThanZero(getOrDefault(batchSize, Integer.MAX_VALUE), "batchSize");
+        this.executor = getOrDefault(executor, DefaultExecutorProvider::getDefaultExecutorService);
+        this.scoreCache = scoreCacheSize == null ? null : createScoreCache(ensureGreaterThanZero(scoreCacheSize, "scoreCacheSize"));
+    }
+
+    private static Map<ScoreKey, Double> createScoreCache(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScoreKey, Double> eldest) {
+                return size() > maxSize;
+            }
+        };
     }
 
     public static ReRankingContentAggregatorBuilder builder() {
@@ -125,11 +181,13 @@ public class ReRankingContentAggregator implements ContentAggregator {
 
     protected List<Content> reRankAndFilter(List<Content> contents, Query query) {
 
-        List<TextSegment> segments = contents.stream()
+        List<Content> candidates = contents.size() > maxCandidates ? contents.subList(0, maxCandidates) : contents;
+
+        List<TextSegment> segments = candidates.stream()
                 .map(Content::textSegment)
                 .collect(Collectors.toList());
 
-        List<Double> scores = scoringModel.scoreAll(segments, query.text()).content();
+        List<Double> scores = score(candidates, query.text());
 
         Map<TextSegment, Double> segmentToScore = new HashMap<>();
         for (int i = 0; i < segments.size(); i++) {
@@ -144,11 +202,116 @@ public class ReRankingContentAggregator implements ContentAggregator {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Scores the contents against the query, taking cached scores into account
+     * and splitting the remaining contents into concurrently scored batches.
+     */
+    private List<Double> score(List<Content> contents, String query) {
+
+        Double[] scores = new Double[contents.size()];
+        List<Integer> toScore = new ArrayList<>(contents.size());
+        for (int i = 0; i < contents.size(); i++) {
+            Double cachedScore = scoreCache == null ? null : getCachedScore(new ScoreKey(query, contents.get(i)));
+            if (cachedScore == null) {
+                toScore.add(i);
+            } else {
+                scores[i] = cachedScore;
+            }
+        }
+
+        if (toScore.isEmpty()) {
+            return List.of(scores);
+        }
+
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < toScore.size(); from += batchSize) {
+            batches.add(toScore.subList(from, Math.min(from + batchSize, toScore.size())));
+        }
+
+        List<List<Double>> batchScores = new ArrayList<>(batches.size());
+        if (DefaultExecutorProvider.isBoundedExecutorThread()) {
+            // waiting for batches queued on the bounded pool we are running on could exhaust it
+            for (List<Integer> batch : batches) {
+                batchScores.add(scoreBatch(contents, batch, query));
+            }
+        } else {
+            // the first batch is scored in the caller's thread, the others concurrently
+            List<CompletableFuture<List<Double>>> futureBatchScores = new ArrayList<>(batches.size() - 1);
+            for (List<Integer> batch : batches.subList(1, batches.size())) {
+                futureBatchScores.add(supplyAsync(() -> scoreBatch(contents, batch, query), executor));
+            }
+
+            batchScores.add(scoreBatch(contents, batches.get(0), query));
+            for (CompletableFuture<List<Double>> futureBatchScore : futureBatchScores) {
+                batchScores.add(join(futureBatchScore));
+            }
+        }
+
+        for (int b = 0; b < batches.size(); b++) {
+            List<Integer> batch = batches.get(b);
+            for (int i = 0; i < batch.size(); i++) {
+                int index = batch.get(i);
+                scores[index] = batchScores.get(b).get(i);
+                if (scoreCache != null) {
+                    putCachedScore(new ScoreKey(query, contents.get(index)), scores[index]);
+                }
+            }
+        }
+
+        return List.of(scores);
+    }
+
+    private List<Double> scoreBatch(List<Content> contents, List<Integer> batch, String query) {
+        List<TextSegment> segments = new ArrayList<>(batch.size());
+        for (int index : batch) {
+            segments.add(contents.get(index).textSegment());
+        }
+        return scoringModel.scoreAll(segments, query).content();
+    }
+
+    private static List<Double> join(CompletableFuture<List<Double>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Double getCachedScore(ScoreKey key) {
+        synchronized (scoreCache) {
+            return scoreCache.get(key);
+        }
+    }
+
+    private void putCachedScore(ScoreKey key, Double score) {
+        synchronized (scoreCache) {
+            scoreCache.put(key, score);
+        }
+    }
+
+    /**
+     * Identifies a content scored against a query by its text and, when present, its embedding ID.
+     * The text is part of the key, so that a content updated under the same embedding ID is scored again.
+     */
+    private record ScoreKey(String query, Object embeddingId, String text) {
+
+        ScoreKey(String query, Content content) {
+            this(query, content.metadata().get(EMBEDDING_ID), content.textSegment().text());
+        }
+    }
+
     public static class ReRankingContentAggregatorBuilder {
         private ScoringModel scoringModel;
         private Function<Map<Query, Collection<List<Content>>>, Query> querySelector;
         private Double minScore;
         private Integer maxResults;
+        private Integer maxCandidates;
+        private Integer batchSize;
+        private Executor executor;
+        private Integer scoreCacheSize;
 
         ReRankingContentAggregatorBuilder() {
         }
@@ -173,12 +336,53 @@ public class ReRankingContentAggregator implements ContentAggregator {
             return this;
         }
 
+        /**
+         * @param maxCandidates The maximum number of fused {@link Content}s (those with the highest fused rank)
+         *                      to be re-ranked. By default, all {@link Content}s are re-ranked.
+         * @return builder
+         */
+        public ReRankingContentAggregatorBuilder maxCandidates(Integer maxCandidates) {
+            this.maxCandidates = maxCandidates;
+            return this;
+        }
+
+        /**
+         * @param batchSize The maximum number of {@link Content}s scored in a single {@link ScoringModel} call.
+         *                  Batches are scored concurrently. By default, all candidates are scored in a single call.
+         * @return builder
+         */
+        public ReRankingContentAggregatorBuilder batchSize(Integer batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param executor The {@link Executor} used to score batches concurrently.
+         *                 By default, a shared executor provided by {@link DefaultExecutorProvider} is used.
+         * @return builder
+         */
+        public ReRankingContentAggregatorBuilder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param scoreCacheSize The maximum number of (query, content) scores kept in an LRU cache.
+         *                       By default, scores are not cached.
+         * @return builder
+         */
+        public ReRankingContentAggregatorBuilder scoreCacheSize(Integer scoreCacheSize) {
+            this.scoreCacheSize = scoreCacheSize;
+            return this;
+        }
+
         public ReRankingContentAggregator build() {
-            return new ReRankingContentAggregator(this.scoringModel, this.querySelector, this.minScore, this.maxResults);
+            return new ReRankingContentAggregator(this.scoringModel, this.querySelector, this.minScore, this.maxResults,
+                    this.maxCandidates, this.batchSize, this.executor, this.scoreCacheSize);
         }
 
         public String toString() {
-            return "ReRankingContentAggregator.ReRankingContentAggregatorBuilder(scoringModel=" + this.scoringModel + ", querySelector=" + this.querySelector + ", minScore=" + this.minScore + ")";
+            return "ReRankingContentAggregator.ReRankingContentAggregatorBuilder(scoringModel=" + this.scoringModel + ", querySelector=" + this.querySelector + ", minScore=" + this.minScore + ", maxResults=" + this.maxResults + ", maxCandidates=" + this.maxCandidates + ", batchSize=" + this.batchSize + ", executor=" + this.executor + ", scoreCacheSize=" + this.scoreCacheSize + ")";
         }
     }
 }
@@ -4,18 +4,25 @@ import dev.langchain4j.rag.content.Content;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
 /**
  * Implementation of Reciprocal Rank Fusion.
  * <br>
  * A comprehensive explanation can be found
  * <a href="https://learn.microsoft.com/en-us/azure/search/hybrid-search-ranking">here</a>.
+ * <br>
+ * Each distinct {@link Content} is hashed only once per occurrence, scores are accumulated in primitive arrays,
+ * and when only the top {@code maxResults} {@link Content}s are needed, they are selected with a bounded heap
+ * instead of sorting all candidates.
+ * {@link Content}s with equal fused scores keep the order in which they were first encountered.
  */
 public class ReciprocalRankFuser {
 
@@ -46,21 +53,155 @@ public class ReciprocalRankFuser {
      * @return A single {@code List<Content>}, the result of the fusion.
      */
     public static List<Content> fuse(Collection<List<Content>> listsOfContents, int k) {
+        return fuse(listsOfContents, k, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Fuses multiple {@code List<Content>} into a single {@code List<Content>}
+     * using the Reciprocal Rank Fusion (RRF) algorithm, and returns only the top {@code maxResults} {@link Content}s.
+     *
+     * @param listsOfContents A {@link Collection} of {@code List<Content>} to be fused together.
+     * @param k               A ranking constant. See {@link #fuse(Collection, int)}.
+     * @param maxResults      The maximum number of {@link Content}s to return.
+     * @return A single {@code List<Content>}, the result of the fusion.
+     */
+    public static List<Content> fuse(Collection<List<Content>> listsOfContents, int k, int maxResults) {
+        return fuse(listsOfContents, null, k, maxResults);
+    }
+
+    /**
+     * Fuses multiple {@code List<Content>} into a single {@code List<Content>}
+     * using the weighted Reciprocal Rank Fusion (RRF) algorithm,
+     * where a {@link Content} at rank {@code r} in the i-th list scores {@code weights[i] / (k + r)}.
+     * It can be used to give more importance to some sources (e.g. semantic search over full-text search).
+     *
+     * @param listsOfContents A {@link List} of {@code List<Content>} to be fused together.
+     * @param weights         The weight of each {@code List<Content>}, in the same order. Weights must be positive.
+     * @param k               A ranking constant. See {@link #fuse(Collection, int)}.
+     * @param maxResults      The maximum number of {@link Content}s to return.
+     * @return A single {@code List<Content>}, the result of the fusion.
+     */
+    public static List<Content> fuse(List<List<Content>> listsOfContents, List<Double> weights, int k, int maxResults) {
+        ensureNotNull(weights, "weights");
+        if (weights.size() != listsOfContents.size()) {
+            throw illegalArgument("The number of weights (%s) must be equal to the number of lists of contents (%s)",
+                    weights.size(), listsOfContents.size());
+        }
+        double[] weightArray = new double[weights.size()];
+        for (int i = 0; i < weightArray.length; i++) {
+            weightArray[i] = ensureNotNull(weights.get(i), "weight");
+            if (weightArray[i] <= 0) {
+                throw illegalArgument("weights must be positive, but are: %s", weights);
+            }
+        }
+        return fuse(listsOfContents, weightArray, k, maxResults);
+    }
+
+    private static List<Content> fuse(Collection<List<Content>> listsOfContents, double[] weights, int k, int maxResults) {
         ensureBetween(k, 1, Integer.MAX_VALUE, "k");
+        ensureGreaterThanZero(maxResults, "maxResults");
+
+        int capacity = 0;
+        for (List<Content> singleListOfContent : listsOfContents) {
+            capacity += singleListOfContent.size();
+        }
+        if (capacity == 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Content, Integer> indices = new HashMap<>(Math.max(16, capacity * 4 / 3 + 1));
+        Content[] contents = new Content[capacity];
+        double[] scores = new double[capacity];
+        int count = 0;
 
-        Map<Content, Double> scores = new LinkedHashMap<>();
+        int listIndex = 0;
         for (List<Content> singleListOfContent : listsOfContents) {
+            double weight = weights == null ? 1.0 : weights[listIndex];
+            listIndex++;
             for (int i = 0; i < singleListOfContent.size(); i++) {
                 Content content = singleListOfContent.get(i);
-                double currentScore = scores.getOrDefault(content, 0.0);
+                Integer index = indices.putIfAbsent(content, count);
+                if (index == null) {
+                    index = count;
+                    contents[count++] = content;
+                }
                 int rank = i + 1;
-                double newScore = currentScore + 1.0 / (k + rank);
-                scores.put(content, newScore);
+                scores[index] += weight / (k + rank);
             }
         }
 
-        List<Content> fused = new ArrayList<>(scores.keySet());
-        fused.sort(Comparator.comparingDouble(scores::get).reversed());
+        int[] top = selectTop(scores, count, Math.min(maxResults, count));
+        List<Content> fused = new ArrayList<>(top.length);
+        for (int index : top) {
+            fused.add(contents[index]);
+        }
         return fused;
     }
+
+    /**
+     * Selects the indices of the {@code n} highest scores using a bounded min-heap,
+     * ordered from the highest to the lowest score (for equal scores, from the lowest to the highest index).
+     */
+    private static int[] selectTop(double[] scores, int count, int n) {
+        int[] heap = new int[n];
+        int heapSize = 0;
+        for (int index = 0; index < count; index++) {
+            if (heapSize < n) {
+                heap[heapSize] = index;
+                siftUp(heap, heapSize, scores);
+                heapSize++;
+            } else if (isWorse(heap[0], index, scores)) {
+                heap[0] = index;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        int[] sorted = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            sorted[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        return sorted;
+    }
+
+    private static boolean isWorse(int a, int b, double[] scores) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int position, double[] scores) {
+        int index = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!isWorse(index, heap[parent], scores)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = index;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = heap[0];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && isWorse(heap[child + 1], heap[child], scores)) {
+                child++;
+            }
+            if (!isWorse(heap[child], index, scores)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = index;
+    }
 }
@@ -4,20 +4,26 @@ import static dev.langchain4j.internal.Utils.copyIfNotNull;
 import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.Utils.isNotNullOrBlank;
 import static dev.langchain4j.internal.Utils.isNullOrEmpty;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
 import static java.util.stream.Collectors.joining;
 
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.Tokenizer;
 import dev.langchain4j.model.input.Prompt;
 import dev.langchain4j.model.input.PromptTemplate;
 import dev.langchain4j.rag.content.Content;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Default implementation of {@link ContentInjector} intended to be suitable for the majority of use cases.
@@ -42,6 +48,10 @@ import java.util.Map;
  * <br>
  * - {@link #metadataKeysToInclude}: A list of {@link Metadata} keys that should be included
  * with each {@link Content#textSegment()}.
+ * <br>
+ * - {@link #tokenizer} and {@link #maxContentTokens}: When both are set, the injected {@link Content}s
+ * are limited to {@code maxContentTokens} tokens (as estimated by the {@code tokenizer}).
+ * See {@link #fitToTokenBudget(List)} for details.
  */
 public class DefaultContentInjector implements ContentInjector {
 
@@ -52,8 +62,13 @@ public class DefaultContentInjector implements ContentInjector {
                     Answer using the following information:
                     {{contents}}""");
 
+    private static final String INDEX = "index";
+    private static final int MIN_OVERLAP_LENGTH = 4;
+
     private final PromptTemplate promptTemplate;
     private final List<String> metadataKeysToInclude;
+    private final Tokenizer tokenizer;
+    private final Integer maxContentTokens;
 
     public DefaultContentInjector() {
         this(DEFAULT_PROMPT_TEMPLATE, null);
@@ -68,8 +83,21 @@ public class DefaultContentInjector implements ContentInjector {
     }
 
     public DefaultContentInjector(PromptTemplate promptTemplate, List<String> metadataKeysToInclude) {
+        this(promptTemplate, metadataKeysToInclude, null, null);
+    }
+
+    public DefaultContentInjector(PromptTemplate promptTemplate,
+                                  List<String> metadataKeysToInclude,
+                                  Tokenizer tokenizer,
+                                  Integer maxContentTokens) {
         this.promptTemplate = getOrDefault(promptTemplate, DEFAULT_PROMPT_TEMPLATE);
         this.metadataKeysToInclude = copyIfNotNull(metadataKeysToInclude);
+        ensureTrue((tokenizer == null) == (maxContentTokens == null),
+                "tokenizer and maxContentTokens must be either both set or both unset");
+        this.tokenizer = tokenizer;
+        this.maxContentTokens = maxContentTokens == null
+                ? null
+                : ensureGreaterThanZero(maxContentTokens, "maxContentTokens");
     }
 
     public static DefaultContentInjectorBuilder builder() {
@@ -79,6 +107,7 @@ public class DefaultContentInjector implements ContentInjector {
     @Override
     public ChatMessage inject(List<Content> contents, ChatMessage chatMessage) {
 
+        contents = fitToTokenBudget(contents);
         if (contents.isEmpty()) {
             return chatMessage;
         }
@@ -102,6 +131,7 @@ public class DefaultContentInjector implements ContentInjector {
     @Deprecated
     public UserMessage inject(List<Content> contents, UserMessage userMessage) {
 
+        contents = fitToTokenBudget(contents);
         if (contents.isEmpty()) {
             return userMessage;
         }
@@ -124,6 +154,241 @@ public class DefaultContentInjector implements ContentInjector {
         return promptTemplate.apply(variables);
     }
 
+    /**
+     * Selects the {@link Content}s to inject so that they fit into {@link #maxContentTokens}.
+     * When no token budget is configured, returns the given {@link Content}s as is.
+     * <br>
+     * The {@link Content}s are expected to be ordered from the most to the least relevant.
+     * They are packed greedily in this order: a {@link Content} that does not fit into the remaining budget
+     * is skipped, and the following (smaller) ones are still considered.
+     * <br>
+     * Segments of the same document (same {@link Metadata} except the {@value #INDEX} key set by document splitters)
+     * are deduplicated and merged:
+     * <pre>
+     * - a segment with the same index as an already selected one is skipped
+     * - a segment with an index adjacent to an already selected one is merged with it into a single {@link Content},
+     *   removing the text that overlaps between the two segments (see {@code DocumentSplitter}s with overlap)
+     * </pre>
+     * A merged {@link Content} takes the place of its most relevant segment,
+     * keeps its {@link Content#metadata()} and the {@link Metadata} of its first segment.
+     * Only the tokens that a merge adds are counted against the budget, which usually leaves room for more context.
+     *
+     * @param contents The {@link Content}s to select from, from the most to the least relevant.
+     * @return The selected {@link Content}s.
+     */
+    protected List<Content> fitToTokenBudget(List<Content> contents) {
+        if (tokenizer == null || contents.isEmpty()) {
+            return contents;
+        }
+
+        List<PackedContent> packed = new ArrayList<>();
+        Map<Metadata, List<PackedContent>> packedByDocument = new HashMap<>();
+        Set<Content> seen = new HashSet<>();
+        int usedTokens = 0;
+
+        for (Content content : contents) {
+            if (!seen.add(content)) {
+                continue;
+            }
+
+            Metadata document = documentOf(content.textSegment());
+            Integer index = document == null ? null : content.textSegment().metadata().getInteger(INDEX);
+            List<PackedContent> sameDocument = document == null
+                    ? null
+                    : packedByDocument.computeIfAbsent(document, ignored -> new ArrayList<>());
+
+            PackedContent before = null;
+            PackedContent after = null;
+            boolean duplicate = false;
+            if (sameDocument != null) {
+                for (PackedContent candidate : sameDocument) {
+                    if (index >= candidate.firstIndex && index <= candidate.lastIndex) {
+                        duplicate = true;
+                    } else if (index == candidate.lastIndex + 1) {
+                        before = candidate;
+                    } else if (index == candidate.firstIndex - 1) {
+                        after = candidate;
+                    }
+                }
+            }
+            if (duplicate) {
+                continue;
+            }
+
+            if (before == null && after == null) {
+                int tokens = countTokens(content);
+                if (usedTokens + tokens > maxContentTokens) {
+                    continue;
+                }
+                PackedContent single = new PackedContent(packed.size(), content, index, tokens);
+                packed.add(single);
+                if (sameDocument != null) {
+                    sameDocument.add(single);
+                }
+                usedTokens += tokens;
+                continue;
+            }
+
+            PackedContent merged = new PackedContent(packed.size(), content, index, 0);
+            int replacedTokens = 0;
+            if (before != null) {
+                merged = merge(before, merged);
+                replacedTokens += before.tokens;
+            }
+            if (after != null) {
+                merged = merge(merged, after);
+                replacedTokens += after.tokens;
+            }
+            merged.tokens = countTokens(merged.toContent());
+            if (usedTokens - replacedTokens + merged.tokens > maxContentTokens) {
+                continue;
+            }
+            usedTokens += merged.tokens - replacedTokens;
+
+            int position = merged.position;
+            packed.set(position, merged);
+            sameDocument.add(merged);
+            if (before != null) {
+                sameDocument.remove(before);
+                if (before.position != position) {
+                    packed.set(before.position, null);
+                }
+            }
+            if (after != null) {
+                sameDocument.remove(after);
+                if (after.position != position) {
+                    packed.set(after.position, null);
+                }
+            }
+        }
+
+        List<Content> selected = new ArrayList<>(packed.size());
+        for (PackedContent packedContent : packed) {
+            if (packedContent != null) {
+                selected.add(packedContent.toContent());
+            }
+        }
+        return selected;
+    }
+
+    private int countTokens(Content content) {
+        return tokenizer.estimateTokenCountInText(format(content));
+    }
+
+    /**
+     * Returns the {@link Metadata} identifying the document the segment was split from,
+     * or {@code null} if the segment has no index or no other metadata.
+     */
+    private static Metadata documentOf(TextSegment segment) {
+        Metadata metadata = segment.metadata();
+        if (!metadata.containsKey(INDEX) || metadata.toMap().size() < 2) {
+            return null;
+        }
+        try {
+            metadata.getInteger(INDEX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return metadata.copy().remove(INDEX);
+    }
+
+    /**
+     * Merges two segments of the same document, where {@code first} directly precedes {@code second}.
+     */
+    private static PackedContent merge(PackedContent first, PackedContent second) {
+        PackedContent mostRelevant = first.position < second.position ? first : second;
+        PackedContent merged = new PackedContent(mostRelevant.position, mostRelevant.content, first.firstIndex, 0);
+        merged.lastIndex = second.lastIndex;
+        merged.text = concatenateWithoutOverlap(first.text, second.text);
+        merged.metadata = first.metadata;
+        merged.merged = true;
+        return merged;
+    }
+
+    /**
+     * Concatenates two consecutive segments, removing the longest suffix of {@code first}
+     * that is also a prefix of {@code second}, provided that it spans whole words
+     * and is at least {@value #MIN_OVERLAP_LENGTH} characters long.
+     */
+    static String concatenateWithoutOverlap(String first, String second) {
+        int overlap = overlapLength(first, second);
+        return overlap > 0
+                ? first + second.substring(overlap)
+                : first + " " + second;
+    }
+
+    private static int overlapLength(String first, String second) {
+        // prefix function of "second" followed by the tail of "first" (at most as long as "second"),
+        // the borders reaching the end are the suffixes of "first" that are prefixes of "second"
+        int maxLength = Math.min(first.length(), second.length());
+        if (maxLength < MIN_OVERLAP_LENGTH) {
+            return 0;
+        }
+        String tail = first.substring(first.length() - maxLength);
+        int n = second.length() + 1 + tail.length();
+        int[] prefix = new int[n];
+        for (int i = 1; i < n; i++) {
+            int length = prefix[i - 1];
+            char c = charAt(second, tail, i);
+            while (length > 0 && c != charAt(second, tail, length)) {
+                length = prefix[length - 1];
+            }
+            if (c == charAt(second, tail, length)) {
+                length++;
+            }
+            prefix[i] = length;
+        }
+        for (int length = prefix[n - 1]; length >= MIN_OVERLAP_LENGTH; length = prefix[length - 1]) {
+            if (length <= maxLength
+                    && isWordBoundary(first, first.length() - length) && isWordBoundary(second, length)) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    private static char charAt(String second, String tail, int i) {
+        if (i < second.length()) {
+            return second.charAt(i);
+        }
+        return i == second.length() ? '\0' : tail.charAt(i - second.length() - 1);
+    }
+
+    private static boolean isWordBoundary(String text, int position) {
+        return position == 0
+                || position == text.length()
+                || !Character.isLetterOrDigit(text.charAt(position - 1))
+                || !Character.isLetterOrDigit(text.charAt(position));
+    }
+
+    private static class PackedContent {
+
+        private final int position;
+        private final Content content;
+        private final int firstIndex;
+        private int lastIndex;
+        private String text;
+        private Metadata metadata;
+        private boolean merged;
+        private int tokens;
+
+        private PackedContent(int position, Content content, Integer index, int tokens) {
+            this.position = position;
+            this.content = content;
+            this.firstIndex = index == null ? -1 : index;
+            this.lastIndex = this.firstIndex;
+            this.text = content.textSegment().text();
+            this.metadata = content.textSegment().metadata();
+            this.tokens = tokens;
+        }
+
+        private Content toContent() {
+            return merged
+                    ? Content.from(TextSegment.from(text, metadata), content.metadata())
+                    : content;
+        }
+    }
+
     protected String format(List<Content> contents) {
         return contents.stream().map(this::format).collect(joining("\n\n"));
     }
@@ -165,6 +430,8 @@ public class DefaultContentInjector implements ContentInjector {
     public static class DefaultContentInjectorBuilder {
         private PromptTemplate promptTemplate;
         private List<String> metadataKeysToInclude;
+        private Tokenizer tokenizer;
+        private Integer maxContentTokens;
 
         DefaultContentInjectorBuilder() {}
 
@@ -178,13 +445,36 @@ public class DefaultContentInjector implements ContentInjector {
             return this;
         }
 
+        /**
+         * @param tokenizer The {@link Tokenizer} used to estimate the token count of the {@link Content}s
+         *                  when {@link #maxContentTokens(Integer)} is set.
+         * @return builder
+         */
+        public DefaultContentInjectorBuilder tokenizer(Tokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+            return this;
+        }
+
+        /**
+         * @param maxContentTokens The maximum number of tokens of the injected {@link Content}s.
+         *                         Requires a {@link #tokenizer(Tokenizer)}. By default, all {@link Content}s are injected.
+         * @return builder
+         */
+        public DefaultContentInjectorBuilder maxContentTokens(Integer maxContentTokens) {
+            this.maxContentTokens = maxContentTokens;
+            return this;
+        }
+
         public DefaultContentInjector build() {
-            return new DefaultContentInjector(this.promptTemplate, this.metadataKeysToInclude);
+            return new DefaultContentInjector(
+                    this.promptTemplate, this.metadataKeysToInclude, this.tokenizer, this.maxContentTokens);
         }
 
         public String toString() {
             return "DefaultContentInjector.DefaultContentInjectorBuilder(promptTemplate=" + this.promptTemplate
-                    + ", metadataKeysToInclude=" + this.metadataKeysToInclude + ")";
+                    + ", metadataKeysToInclude=" + this.metadataKeysToInclude
+                    + ", tokenizer=" + this.tokenizer
+                    + ", maxContentTokens=" + this.maxContentTokens + ")";
         }
     }
 }
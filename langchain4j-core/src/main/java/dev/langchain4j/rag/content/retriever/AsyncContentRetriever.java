@@ -0,0 +1,88 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * A non-blocking counterpart of {@link ContentRetriever}.
+ * <br>
+ * Implement this interface when the underlying data source offers an asynchronous client
+ * (e.g. a non-blocking HTTP client or a reactive database driver),
+ * so that no thread is blocked while waiting for the {@link Content}s.
+ * <br>
+ * Since it extends {@link ContentRetriever}, an {@code AsyncContentRetriever} can be used wherever
+ * a {@link ContentRetriever} is expected: {@link #retrieve(Query)} blocks until {@link #retrieveAsync(Query)} completes.
+ * A blocking {@link ContentRetriever} can be adapted using {@link #from(ContentRetriever, Executor)}.
+ */
+@Experimental
+public interface AsyncContentRetriever extends ContentRetriever {
+
+    /**
+     * Asynchronously retrieves relevant {@link Content}s using a given {@link Query}.
+     * This method should not block.
+     *
+     * @param query The {@link Query} to use for retrieval.
+     * @return A {@link CompletionStage} that completes with a list of retrieved {@link Content}s,
+     * sorted by relevance.
+     */
+    CompletionStage<List<Content>> retrieveAsync(Query query);
+
+    @Override
+    default List<Content> retrieve(Query query) {
+        return retrieveAsync(query).toCompletableFuture().join();
+    }
+
+    /**
+     * Adapts a blocking {@link ContentRetriever} into an {@code AsyncContentRetriever}
+     * by running it on the default executor (see {@link DefaultExecutorProvider}).
+     *
+     * @param contentRetriever The blocking retriever.
+     * @return An {@code AsyncContentRetriever}.
+     */
+    static AsyncContentRetriever from(ContentRetriever contentRetriever) {
+        return from(contentRetriever, DefaultExecutorProvider.getDefaultExecutorService());
+    }
+
+    /**
+     * Adapts a blocking {@link ContentRetriever} into an {@code AsyncContentRetriever}
+     * by running it on the provided {@link Executor}.
+     * If the retriever is already an {@code AsyncContentRetriever}, it is returned as is.
+     *
+     * @param contentRetriever The blocking retriever.
+     * @param executor         The executor to run the blocking retriever on.
+     * @return An {@code AsyncContentRetriever}.
+     */
+    static AsyncContentRetriever from(ContentRetriever contentRetriever, Executor executor) {
+        ensureNotNull(contentRetriever, "contentRetriever");
+        ensureNotNull(executor, "executor");
+        if (contentRetriever instanceof AsyncContentRetriever asyncContentRetriever) {
+            return asyncContentRetriever;
+        }
+        return new AsyncContentRetriever() {
+
+            @Override
+            public CompletionStage<List<Content>> retrieveAsync(Query query) {
+                return CompletableFuture.supplyAsync(() -> contentRetriever.retrieve(query), executor);
+            }
+
+            @Override
+            public List<Content> retrieve(Query query) {
+                return contentRetriever.retrieve(query);
+            }
+
+            @Override
+            public String toString() {
+                return contentRetriever.toString();
+            }
+        };
+    }
+}
@@ -0,0 +1,278 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.ContentMetadata;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
+import static java.util.Collections.singletonList;
+
+/**
+ * A {@link ContentRetriever} that retrieves {@link TextSegment}s from an in-memory inverted index
+ * using the <a href="https://en.wikipedia.org/wiki/Okapi_BM25">Okapi BM25</a> ranking function (lexical search).
+ * <br>
+ * It can be used on its own, or combined with an {@link EmbeddingStoreContentRetriever}
+ * (e.g. using a {@link HybridContentRetriever}) to get both lexical and semantic matches.
+ * <br>
+ * Segments are added and removed incrementally using {@link #add(TextSegment)}, {@link #addAll(List)},
+ * {@link #remove(String)}, etc. Adding a segment with an existing id replaces it.
+ * <br>
+ * The index is designed to hold millions of segments on a single node:
+ * <pre>
+ * - posting lists are stored as compact delta/varint-encoded byte arrays with skip entries
+ * - top-K queries use the WAND algorithm, so most documents matching common query terms are never scored
+ * - removed segments are dropped from posting lists lazily, when more than a quarter of the segments are removed
+ *   (or when {@link #compact()} is called)
+ * </pre>
+ * The {@link Content}s returned contain the BM25 score in {@link ContentMetadata#SCORE}.
+ * Note that, unlike the relevance scores of an {@link EmbeddingStoreContentRetriever}, BM25 scores are not normalized
+ * and depend on the indexed corpus.
+ * <br>
+ * <br>
+ * Configurable parameters (optional):
+ * <br>
+ * - {@code displayName}: Display name for logging purposes, e.g. when multiple instances are used.
+ * <br>
+ * - {@code maxResults}: The maximum number of {@link Content}s to retrieve. Default: 3
+ * <br>
+ * - {@code minScore}: The minimum BM25 score for the returned {@link Content}s. Default: 0
+ * <br>
+ * - {@code filter}: The {@link Filter} that will be applied to a {@link dev.langchain4j.data.document.Metadata} in the
+ * {@link Content#textSegment()}.
+ * <br>
+ * - {@code k1}: Controls term frequency saturation. Default: 1.2
+ * <br>
+ * - {@code b}: Controls document length normalization, between 0 (none) and 1 (full). Default: 0.75
+ * <br>
+ * - {@code analyzer}: Splits a text into the terms to index or search.
+ * By default, the text is split into sequences of letters and digits, which are lower-cased.
+ * <br>
+ * <br>
+ * This retriever is thread-safe.
+ */
+public class Bm25ContentRetriever implements ContentRetriever {
+
+    public static final String DEFAULT_DISPLAY_NAME = "Default";
+    public static final int DEFAULT_MAX_RESULTS = 3;
+    public static final double DEFAULT_K1 = 1.2;
+    public static final double DEFAULT_B = 0.75;
+
+    private final String displayName;
+    private final int maxResults;
+    private final double minScore;
+    private final Filter filter;
+    private final Bm25Index index;
+
+    public Bm25ContentRetriever() {
+        this(null, null, null, null, null, null, null);
+    }
+
+    public Bm25ContentRetriever(String displayName,
+                                Integer maxResults,
+                                Double minScore,
+                                Filter filter,
+                                Double k1,
+                                Double b,
+                                Function<String, List<String>> analyzer) {
+        this.displayName = getOrDefault(displayName, DEFAULT_DISPLAY_NAME);
+        this.maxResults = ensureGreaterThanZero(getOrDefault(maxResults, DEFAULT_MAX_RESULTS), "maxResults");
+        this.minScore = getOrDefault(minScore, 0.0);
+        ensureTrue(this.minScore >= 0, "minScore must not be negative");
+        this.filter = filter;
+        double effectiveK1 = getOrDefault(k1, DEFAULT_K1);
+        ensureTrue(effectiveK1 >= 0, "k1 must not be negative");
+        double effectiveB = ensureBetween(getOrDefault(b, DEFAULT_B), 0, 1, "b");
+        this.index = new Bm25Index(effectiveK1, effectiveB, getOrDefault(analyzer, Bm25Index::analyze));
+    }
+
+    public static Bm25ContentRetrieverBuilder builder() {
+        return new Bm25ContentRetrieverBuilder();
+    }
+
+    /**
+     * Adds a segment to the index.
+     *
+     * @param segment The segment to add.
+     * @return The auto-generated ID associated with the added segment.
+     */
+    public String add(TextSegment segment) {
+        String id = randomUUID();
+        add(id, segment);
+        return id;
+    }
+
+    /**
+     * Adds a segment to the index, replacing the segment with the same ID, if any.
+     *
+     * @param id      The unique identifier for the segment.
+     * @param segment The segment to add.
+     */
+    public void add(String id, TextSegment segment) {
+        addAll(singletonList(ensureNotBlank(id, "id")), singletonList(ensureNotNull(segment, "segment")));
+    }
+
+    /**
+     * Adds multiple segments to the index.
+     *
+     * @param segments The segments to add.
+     * @return The auto-generated IDs associated with the added segments.
+     */
+    public List<String> addAll(List<TextSegment> segments) {
+        List<String> ids = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            ids.add(randomUUID());
+        }
+        addAll(ids, segments);
+        return ids;
+    }
+
+    /**
+     * Adds multiple segments to the index, replacing the segments with the same IDs, if any.
+     *
+     * @param ids      The unique identifiers for the segments.
+     * @param segments The segments to add.
+     */
+    public void addAll(List<String> ids, List<TextSegment> segments) {
+        ensureNotNull(ids, "ids");
+        ensureNotNull(segments, "segments");
+        ensureTrue(ids.size() == segments.size(), "The number of ids must be equal to the number of segments");
+        index.addAll(ids, segments);
+    }
+
+    /**
+     * Removes a segment from the index.
+     *
+     * @param id The ID of the segment to remove.
+     * @return {@code true} if the segment was found and removed.
+     */
+    public boolean remove(String id) {
+        return index.remove(ensureNotBlank(id, "id"));
+    }
+
+    /**
+     * Removes multiple segments from the index.
+     *
+     * @param ids The IDs of the segments to remove.
+     */
+    public void removeAll(Collection<String> ids) {
+        ensureNotNull(ids, "ids").forEach(this::remove);
+    }
+
+    /**
+     * Removes all segments from the index.
+     */
+    public void removeAll() {
+        index.removeAll();
+    }
+
+    /**
+     * Physically drops removed segments from the posting lists and updates the collection statistics.
+     * This is done automatically when more than a quarter of the segments are removed.
+     */
+    public void compact() {
+        index.compact();
+    }
+
+    /**
+     * @return The number of segments in the index.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public List<Content> retrieve(Query query) {
+        return index.search(query.text(), maxResults, minScore, filter);
+    }
+
+    @Override
+    public String toString() {
+        return "Bm25ContentRetriever{" +
+                "displayName='" + displayName + '\'' +
+                '}';
+    }
+
+    public static class Bm25ContentRetrieverBuilder {
+
+        private String displayName;
+        private Integer maxResults;
+        private Double minScore;
+        private Filter filter;
+        private Double k1;
+        private Double b;
+        private Function<String, List<String>> analyzer;
+
+        Bm25ContentRetrieverBuilder() {
+        }
+
+        public Bm25ContentRetrieverBuilder displayName(String displayName) {
+            this.displayName = displayName;
+            return this;
+        }
+
+        public Bm25ContentRetrieverBuilder maxResults(Integer maxResults) {
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        /**
+         * @param minScore The minimum BM25 score for the returned {@link Content}s. Default: 0
+         * @return builder
+         */
+        public Bm25ContentRetrieverBuilder minScore(Double minScore) {
+            this.minScore = minScore;
+            return this;
+        }
+
+        public Bm25ContentRetrieverBuilder filter(Filter filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * @param k1 Controls term frequency saturation. Default: 1.2
+         * @return builder
+         */
+        public Bm25ContentRetrieverBuilder k1(Double k1) {
+            this.k1 = k1;
+            return this;
+        }
+
+        /**
+         * @param b Controls document length normalization, between 0 (none) and 1 (full). Default: 0.75
+         * @return builder
+         */
+        public Bm25ContentRetrieverBuilder b(Double b) {
+            this.b = b;
+            return this;
+        }
+
+        /**
+         * @param analyzer Splits a text into the terms to index or search.
+         *                 The same analyzer is used for segments and queries.
+         *                 By default, the text is split into sequences of letters and digits, which are lower-cased.
+         * @return builder
+         */
+        public Bm25ContentRetrieverBuilder analyzer(Function<String, List<String>> analyzer) {
+            this.analyzer = analyzer;
+            return this;
+        }
+
+        public Bm25ContentRetriever build() {
+            return new Bm25ContentRetriever(displayName, maxResults, minScore, filter, k1, b, analyzer);
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.ContentMetadata;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * An in-memory BM25 inverted index of {@link TextSegment}s. See {@link Bm25ContentRetriever}.
+ * <br>
+ * Each segment gets an internal, monotonically increasing document number.
+ * For each term, the numbers of the documents containing it and the term frequencies are appended
+ * to a posting list as varint-encoded deltas (a term frequency of 1, the most common case, is folded into the delta),
+ * so a posting usually takes 1-2 bytes.
+ * Every {@link #BLOCK_SIZE} postings, a skip entry (last document number and byte offset) is recorded,
+ * which allows skipping whole blocks without decoding them.
+ * <br>
+ * Top-K queries use the WAND algorithm: documents that cannot make it into the top-K
+ * (according to the maximum score each term can contribute) are skipped without being scored.
+ * <br>
+ * Removed documents are only marked as removed and are physically dropped by {@link #compact()},
+ * which is triggered automatically when more than a quarter of the documents are removed.
+ * Until then, they are still counted in the collection statistics (document frequencies and average length).
+ */
+class Bm25Index {
+
+    static final int BLOCK_SIZE = 128;
+
+    private static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double UPPER_BOUND_TOLERANCE = 1 + 1e-9;
+
+    private final double k1;
+    private final double b;
+    private final Function<String, List<String>> analyzer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, PostingList> postingLists = new HashMap<>();
+    private Map<String, Integer> docsById = new HashMap<>();
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private TextSegment[] segments = new TextSegment[INITIAL_CAPACITY];
+    private int[] docLengths = new int[INITIAL_CAPACITY];
+    private BitSet removed = new BitSet();
+    private int docCount;
+    private int removedCount;
+    private long totalDocLength;
+
+    Bm25Index(double k1, double b, Function<String, List<String>> analyzer) {
+        this.k1 = k1;
+        this.b = b;
+        this.analyzer = analyzer;
+    }
+
+    /**
+     * The default analyzer: splits text into sequences of letters and digits and lower-cases them.
+     */
+    static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+
+    void addAll(List<String> ids, List<TextSegment> segments) {
+        // analysis is the most expensive part, so it is done before taking the lock
+        List<Map<String, Integer>> termFrequencies = new ArrayList<>(segments.size());
+        int[] lengths = new int[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            List<String> terms = analyzer.apply(segments.get(i).text());
+            termFrequencies.add(termFrequencies(terms));
+            lengths[i] = terms.size();
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < segments.size(); i++) {
+                Integer existingDoc = docsById.get(ids.get(i));
+                if (existingDoc != null) {
+                    markRemoved(existingDoc);
+                }
+                int length = lengths[i];
+                int doc = newDoc(ids.get(i), segments.get(i), length);
+                termFrequencies.get(i).forEach((term, tf) ->
+                        postingLists.computeIfAbsent(term, ignored -> new PostingList()).add(doc, tf, length));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int newDoc(String id, TextSegment segment, int length) {
+        int doc = docCount++;
+        if (doc == segments.length) {
+            int newCapacity = segments.length * 2;
+            this.ids = Arrays.copyOf(this.ids, newCapacity);
+            this.segments = Arrays.copyOf(this.segments, newCapacity);
+            this.docLengths = Arrays.copyOf(this.docLengths, newCapacity);
+        }
+        this.ids[doc] = id;
+        this.segments[doc] = segment;
+        this.docLengths[doc] = length;
+        this.docsById.put(id, doc);
+        this.totalDocLength += length;
+        return doc;
+    }
+
+    boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsById.remove(id);
+            if (doc == null) {
+                return false;
+            }
+            markRemoved(doc);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeAll() {
+        lock.writeLock().lock();
+        try {
+            postingLists = new HashMap<>();
+            docsById = new HashMap<>();
+            ids = new String[INITIAL_CAPACITY];
+            segments = new TextSegment[INITIAL_CAPACITY];
+            docLengths = new int[INITIAL_CAPACITY];
+            removed = new BitSet();
+            docCount = 0;
+            removedCount = 0;
+            totalDocLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void markRemoved(int doc) {
+        removed.set(doc);
+        removedCount++;
+        segments[doc] = null;
+    }
+
+    private void compactIfNeeded() {
+        if (removedCount > docCount / 4) {
+            compactInternal();
+        }
+    }
+
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            compactInternal();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactInternal() {
+        int[] newDocs = new int[docCount];
+        int liveCount = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            newDocs[doc] = removed.get(doc) ? -1 : liveCount++;
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, liveCount)) << 1);
+        String[] newIds = new String[capacity];
+        TextSegment[] newSegments = new TextSegment[capacity];
+        int[] newDocLengths = new int[capacity];
+        Map<String, Integer> newDocsById = new HashMap<>();
+        long newTotalDocLength = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            int newDoc = newDocs[doc];
+            if (newDoc >= 0) {
+                newIds[newDoc] = ids[doc];
+                newSegments[newDoc] = segments[doc];
+                newDocLengths[newDoc] = docLengths[doc];
+                newDocsById.put(ids[doc], newDoc);
+                newTotalDocLength += docLengths[doc];
+            }
+        }
+
+        Map<String, PostingList> newPostingLists = new HashMap<>();
+        postingLists.forEach((term, postingList) -> {
+            PostingList newPostingList = new PostingList();
+            PostingCursor cursor = new PostingCursor(postingList, 0, 0, 0);
+            for (cursor.next(); cursor.doc != NO_MORE_DOCS; cursor.next()) {
+                int newDoc = newDocs[cursor.doc];
+                if (newDoc >= 0) {
+                    newPostingList.add(newDoc, cursor.tf, docLengths[cursor.doc]);
+                }
+            }
+            if (newPostingList.count > 0) {
+                newPostingList.trim();
+                newPostingLists.put(term, newPostingList);
+            }
+        });
+
+        this.postingLists = newPostingLists;
+        this.docsById = newDocsById;
+        this.ids = newIds;
+        this.segments = newSegments;
+        this.docLengths = newDocLengths;
+        this.removed = new BitSet();
+        this.docCount = liveCount;
+        this.removedCount = 0;
+        this.totalDocLength = newTotalDocLength;
+    }
+
+    List<Content> search(String text, int maxResults, double minScore, Filter filter) {
+        Map<String, Integer> queryTermFrequencies = termFrequencies(analyzer.apply(text));
+
+        lock.readLock().lock();
+        try {
+            if (docCount == removedCount) {
+                return emptyList();
+            }
+
+            double averageDocLength = Math.max(1.0, (double) totalDocLength / docCount);
+            double lengthNormBase = k1 * (1 - b);
+            double lengthNormSlope = k1 * b / averageDocLength;
+
+            PostingCursor[] cursors = new PostingCursor[queryTermFrequencies.size()];
+            int cursorCount = 0;
+            for (Map.Entry<String, Integer> entry : queryTermFrequencies.entrySet()) {
+                PostingList postingList = postingLists.get(entry.getKey());
+                if (postingList == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - postingList.count + 0.5) / (postingList.count + 0.5));
+                double weight = idf * (k1 + 1) * entry.getValue();
+                double upperBound = weight * postingList.maxTf
+                        / (postingList.maxTf + lengthNormBase + lengthNormSlope * postingList.minDocLength)
+                        * UPPER_BOUND_TOLERANCE;
+                PostingCursor cursor = new PostingCursor(postingList, cursorCount, weight, upperBound);
+                cursor.next();
+                cursors[cursorCount++] = cursor;
+            }
+
+            PriorityQueue<ScoredDoc> topDocs = new PriorityQueue<>(maxResults + 1, ScoredDoc.WORST_FIRST);
+
+            while (true) {
+                sortByDoc(cursors, cursorCount);
+                while (cursorCount > 0 && cursors[cursorCount - 1].doc == NO_MORE_DOCS) {
+                    cursorCount--;
+                }
+                if (cursorCount == 0) {
+                    break;
+                }
+
+                boolean full = topDocs.size() == maxResults;
+                double threshold = full ? topDocs.peek().score : minScore;
+                double upperBound = 0;
+                int pivot = -1;
+                for (int i = 0; i < cursorCount; i++) {
+                    upperBound += cursors[i].upperBound;
+                    if (full ? upperBound > threshold : upperBound >= threshold) {
+                        pivot = i;
+                        break;
+                    }
+                }
+                if (pivot < 0) {
+                    // even a document containing all remaining terms cannot make it into the top-K
+                    break;
+                }
+
+                int pivotDoc = cursors[pivot].doc;
+                if (cursors[0].doc == pivotDoc) {
+                    if (!removed.get(pivotDoc) && (filter == null || filter.test(segments[pivotDoc].metadata()))) {
+                        double lengthNorm = lengthNormBase + lengthNormSlope * docLengths[pivotDoc];
+                        double score = 0;
+                        for (int i = 0; i < cursorCount && cursors[i].doc == pivotDoc; i++) {
+                            score += cursors[i].score(lengthNorm);
+                        }
+                        if (full ? score > threshold : score >= threshold) {
+                            topDocs.add(new ScoredDoc(pivotDoc, score));
+                            if (topDocs.size() > maxResults) {
+                                topDocs.poll();
+                            }
+                        }
+                    }
+                    for (int i = 0; i < cursorCount && cursors[i].doc == pivotDoc; i++) {
+                        cursors[i].next();
+                    }
+                } else {
+                    // no document before the pivot can make it into the top-K
+                    for (int i = 0; i < pivot; i++) {
+                        cursors[i].advance(pivotDoc);
+                    }
+                }
+            }
+
+            List<ScoredDoc> sortedDocs = new ArrayList<>(topDocs);
+            sortedDocs.sort(ScoredDoc.WORST_FIRST.reversed());
+            List<Content> contents = new ArrayList<>(sortedDocs.size());
+            for (ScoredDoc scoredDoc : sortedDocs) {
+                contents.add(Content.from(segments[scoredDoc.doc], Map.of(ContentMetadata.SCORE, scoredDoc.score)));
+            }
+            return contents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(List<String> terms) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String term : terms) {
+            termFrequencies.merge(term, 1, Integer::sum);
+        }
+        return termFrequencies;
+    }
+
+    /**
+     * Sorts cursors by document, and for the same document, by term,
+     * so that the scores of a document are always summed in the same order.
+     */
+    private static void sortByDoc(PostingCursor[] cursors, int count) {
+        for (int i = 1; i < count; i++) {
+            PostingCursor cursor = cursors[i];
+            int j = i - 1;
+            while (j >= 0 && (cursors[j].doc > cursor.doc
+                    || (cursors[j].doc == cursor.doc && cursors[j].term > cursor.term))) {
+                cursors[j + 1] = cursors[j];
+                j--;
+            }
+            cursors[j + 1] = cursor;
+        }
+    }
+
+    private static class ScoredDoc {
+
+        /**
+         * Orders by score, and for equal scores, documents added later first.
+         */
+        static final Comparator<ScoredDoc> WORST_FIRST = Comparator.<ScoredDoc>comparingDouble(it -> it.score)
+                .thenComparing(it -> it.doc, Comparator.reverseOrder());
+
+        final int doc;
+        final double score;
+
+        ScoredDoc(int doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    /**
+     * The postings of a single term: (document number delta, term frequency) pairs encoded as varints,
+     * with a skip entry every {@link #BLOCK_SIZE} postings.
+     */
+    static class PostingList {
+
+        private static final int[] NO_SKIPS = new int[0];
+
+        private byte[] data = new byte[8];
+        private int size;
+        int count;
+        private int lastDoc = -1;
+        int maxTf;
+        int minDocLength = Integer.MAX_VALUE;
+
+        private int[] skipDocs = NO_SKIPS;
+        private int[] skipOffsets = NO_SKIPS;
+        private int skipCount;
+
+        void add(int doc, int tf, int docLength) {
+            int delta = doc - lastDoc;
+            if (tf == 1) {
+                writeVarint((delta << 1) | 1);
+            } else {
+                writeVarint(delta << 1);
+                writeVarint(tf);
+            }
+            lastDoc = doc;
+            count++;
+            maxTf = Math.max(maxTf, tf);
+            minDocLength = Math.min(minDocLength, docLength);
+
+            if (count % BLOCK_SIZE == 0) {
+                if (skipCount == skipDocs.length) {
+                    skipDocs = Arrays.copyOf(skipDocs, Math.max(4, skipCount * 2));
+                    skipOffsets = Arrays.copyOf(skipOffsets, skipDocs.length);
+                }
+                skipDocs[skipCount] = doc;
+                skipOffsets[skipCount] = size;
+                skipCount++;
+            }
+        }
+
+        private void writeVarint(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(size + 5, data.length + (data.length >> 1)));
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        void trim() {
+            data = Arrays.copyOf(data, size);
+            skipDocs = Arrays.copyOf(skipDocs, skipCount);
+            skipOffsets = Arrays.copyOf(skipOffsets, skipCount);
+        }
+    }
+
+    private static class PostingCursor {
+
+        private final PostingList postingList;
+        private final int term;
+        private final double weight;
+        final double upperBound;
+
+        int doc = -1;
+        int tf;
+        private int offset;
+        private int read;
+
+        PostingCursor(PostingList postingList, int term, double weight, double upperBound) {
+            this.postingList = postingList;
+            this.term = term;
+            this.weight = weight;
+            this.upperBound = upperBound;
+        }
+
+        void next() {
+            if (read == postingList.count) {
+                doc = NO_MORE_DOCS;
+                return;
+            }
+            int value = readVarint();
+            doc += value >>> 1;
+            tf = (value & 1) != 0 ? 1 : readVarint();
+            read++;
+        }
+
+        /**
+         * Moves to the first document whose number is greater than or equal to the target,
+         * skipping whole blocks when possible.
+         */
+        void advance(int target) {
+            int block = read / BLOCK_SIZE;
+            if (block < postingList.skipCount && postingList.skipDocs[block] < target) {
+                do {
+                    block++;
+                } while (block < postingList.skipCount && postingList.skipDocs[block] < target);
+                offset = postingList.skipOffsets[block - 1];
+                doc = postingList.skipDocs[block - 1];
+                read = block * BLOCK_SIZE;
+            }
+            while (doc < target) {
+                next();
+            }
+        }
+
+        double score(double lengthNorm) {
+            return weight * tf / (tf + lengthNorm);
+        }
+
+        private int readVarint() {
+            byte[] data = postingList.data;
+            int b = data[offset++];
+            int value = b & 0x7F;
+            for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+            }
+            return value;
+        }
+    }
+}
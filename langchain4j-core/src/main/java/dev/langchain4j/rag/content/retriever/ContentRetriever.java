@@ -14,7 +14,9 @@ import java.util.List;
  * <pre>
  * - Embedding (vector) store (see {@link EmbeddingStoreContentRetriever})
  * - Full-text search engine (see {@code AzureAiSearchContentRetriever} in {@code langchain4j-azure-ai-search} module)
- * - Hybrid of vector and full-text search (see {@code AzureAiSearchContentRetriever} in {@code langchain4j-azure-ai-search} module)
+ * - In-memory full-text (BM25) index (see {@link Bm25ContentRetriever})
+ * - Hybrid of vector and full-text search (see {@code AzureAiSearchContentRetriever} in {@code langchain4j-azure-ai-search} module,
+ *   or {@link HybridContentRetriever})
  * - Web Search Engine (see {@link WebSearchContentRetriever})
  * - Knowledge graph (see {@code Neo4jContentRetriever} in {@code langchain4j-neo4j} module)
  * - SQL database (see {@code SqlDatabaseContentRetriever} in {@code langchain4j-experimental-sql} module)
@@ -6,6 +6,7 @@ import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.ContentMetadata;
 import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.rag.query.QueryEmbeddingContext;
 import dev.langchain4j.spi.model.embedding.EmbeddingModelFactory;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
@@ -54,6 +55,13 @@ import static dev.langchain4j.spi.ServiceHelper.loadFactories;
  * - {@code dynamicFilter}: It is a {@link Function} that accepts a {@link Query} and returns a {@code filter} value.
  * It can be used to dynamically define {@code filter} value, depending on factors such as the query,
  * the user (using Metadata#chatMemoryId()} from {@link Query#metadata()}), etc.
+ * <br>
+ * - {@code cache}: The {@link RetrievalCache} used to reuse the results of identical or similar queries.
+ * By default, results are not cached.
+ * <br>
+ * <br>
+ * When a {@link QueryEmbeddingContext} is available (e.g. when used by {@code DefaultRetrievalAugmentor}),
+ * the query is embedded through it, so that all queries of an augmentation are embedded in a single batch.
  */
 public class EmbeddingStoreContentRetriever implements ContentRetriever {
 
@@ -72,6 +80,8 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
 
     private final String displayName;
 
+    private final RetrievalCache cache;
+
     public EmbeddingStoreContentRetriever(EmbeddingStore<TextSegment> embeddingStore,
                                           EmbeddingModel embeddingModel) {
         this(
@@ -80,7 +90,8 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
                 embeddingModel,
                 DEFAULT_MAX_RESULTS,
                 DEFAULT_MIN_SCORE,
-                DEFAULT_FILTER
+                DEFAULT_FILTER,
+                null
         );
     }
 
@@ -93,7 +104,8 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
                 embeddingModel,
                 (query) -> maxResults,
                 DEFAULT_MIN_SCORE,
-                DEFAULT_FILTER
+                DEFAULT_FILTER,
+                null
         );
     }
 
@@ -107,7 +119,8 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
                 embeddingModel,
                 (query) -> maxResults,
                 (query) -> minScore,
-                DEFAULT_FILTER
+                DEFAULT_FILTER,
+                null
         );
     }
 
@@ -116,7 +129,8 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
                                            EmbeddingModel embeddingModel,
                                            Function<Query, Integer> dynamicMaxResults,
                                            Function<Query, Double> dynamicMinScore,
-                                           Function<Query, Filter> dynamicFilter) {
+                                           Function<Query, Filter> dynamicFilter,
+                                           RetrievalCache cache) {
         this.displayName = getOrDefault(displayName, DEFAULT_DISPLAY_NAME);
         this.embeddingStore = ensureNotNull(embeddingStore, "embeddingStore");
         this.embeddingModel = ensureNotNull(
@@ -126,6 +140,7 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
         this.maxResultsProvider = getOrDefault(dynamicMaxResults, DEFAULT_MAX_RESULTS);
         this.minScoreProvider = getOrDefault(dynamicMinScore, DEFAULT_MIN_SCORE);
         this.filterProvider = getOrDefault(dynamicFilter, DEFAULT_FILTER);
+        this.cache = cache;
     }
 
     private static EmbeddingModel loadEmbeddingModel() {
@@ -154,6 +169,7 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
         private Function<Query, Integer> dynamicMaxResults;
         private Function<Query, Double> dynamicMinScore;
         private Function<Query, Filter> dynamicFilter;
+        private RetrievalCache cache;
 
         EmbeddingStoreContentRetrieverBuilder() {
         }
@@ -209,12 +225,23 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * @param cache The cache used to reuse the results of identical or similar queries.
+         *              It must not be shared with retrievers using a different store or model.
+         *              By default, results are not cached.
+         * @return builder
+         */
+        public EmbeddingStoreContentRetrieverBuilder cache(RetrievalCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
         public EmbeddingStoreContentRetriever build() {
-            return new EmbeddingStoreContentRetriever(this.displayName, this.embeddingStore, this.embeddingModel, this.dynamicMaxResults, this.dynamicMinScore, this.dynamicFilter);
+            return new EmbeddingStoreContentRetriever(this.displayName, this.embeddingStore, this.embeddingModel, this.dynamicMaxResults, this.dynamicMinScore, this.dynamicFilter, this.cache);
         }
 
         public String toString() {
-            return "EmbeddingStoreContentRetriever.EmbeddingStoreContentRetrieverBuilder(displayName=" + this.displayName + ", embeddingStore=" + this.embeddingStore + ", embeddingModel=" + this.embeddingModel + ", dynamicMaxResults=" + this.dynamicMaxResults + ", dynamicMinScore=" + this.dynamicMinScore + ", dynamicFilter=" + this.dynamicFilter + ")";
+            return "EmbeddingStoreContentRetriever.EmbeddingStoreContentRetrieverBuilder(displayName=" + this.displayName + ", embeddingStore=" + this.embeddingStore + ", embeddingModel=" + this.embeddingModel + ", dynamicMaxResults=" + this.dynamicMaxResults + ", dynamicMinScore=" + this.dynamicMinScore + ", dynamicFilter=" + this.dynamicFilter + ", cache=" + this.cache + ")";
         }
     }
 
@@ -229,13 +256,48 @@ public class EmbeddingStoreContentRetriever implements ContentRetriever {
     @Override
     public List<Content> retrieve(Query query) {
 
-        Embedding embeddedQuery = embeddingModel.embed(query.text()).content();
+        int maxResults = maxResultsProvider.apply(query);
+        double minScore = minScoreProvider.apply(query);
+        Filter filter = filterProvider.apply(query);
+
+        if (cache == null) {
+            Embedding embeddedQuery = embed(query);
+            return search(embeddedQuery, maxResults, minScore, filter);
+        }
+
+        RetrievalCache.Key key = cache.key(query, maxResults, minScore, filter);
+        List<Content> cached = cache.getExact(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Embedding embeddedQuery = embed(query);
+        cached = cache.getSimilar(key, embeddedQuery);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = cache.generation();
+        List<Content> contents = search(embeddedQuery, maxResults, minScore, filter);
+        cache.put(key, embeddedQuery, contents, generation);
+        return contents;
+    }
+
+    private Embedding embed(Query query) {
+        QueryEmbeddingContext embeddingContext = QueryEmbeddingContext.current();
+        if (embeddingContext == null) {
+            return embeddingModel.embed(query.text()).content();
+        }
+        return embeddingContext.embed(embeddingModel, query);
+    }
+
+    private List<Content> search(Embedding embeddedQuery, int maxResults, double minScore, Filter filter) {
 
         EmbeddingSearchRequest searchRequest = EmbeddingSearchRequest.builder()
                 .queryEmbedding(embeddedQuery)
-                .maxResults(maxResultsProvider.apply(query))
-                .minScore(minScoreProvider.apply(query))
-                .filter(filterProvider.apply(query))
+                .maxResults(maxResults)
+                .minScore(minScore)
+                .filter(filter)
                 .build();
 
         EmbeddingSearchResult<TextSegment> searchResult = embeddingStore.search(searchRequest);
@@ -0,0 +1,213 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.aggregator.ReciprocalRankFuser;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.rag.query.QueryEmbeddingContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * A {@link ContentRetriever} that retrieves from multiple {@link ContentRetriever}s concurrently
+ * and fuses their results using Reciprocal Rank Fusion (see {@link ReciprocalRankFuser}).
+ * <br>
+ * It is typically used for hybrid search, combining lexical matches (e.g. from a {@link Bm25ContentRetriever})
+ * with semantic matches (e.g. from an {@link EmbeddingStoreContentRetriever}):
+ * <pre>
+ * ContentRetriever retriever = HybridContentRetriever.builder()
+ *         .retrievers(bm25ContentRetriever, embeddingStoreContentRetriever)
+ *         .maxResults(5)
+ *         .build();
+ * </pre>
+ * Since rank fusion only considers the ranks, the scores of the underlying retrievers do not need to be comparable.
+ * The same {@link Content} (same {@link dev.langchain4j.data.segment.TextSegment}) returned by multiple retrievers
+ * is ranked higher and returned only once.
+ * <br>
+ * <br>
+ * Configurable parameters (optional):
+ * <br>
+ * - {@code maxResults}: The maximum number of fused {@link Content}s to return. Default: 3
+ * <br>
+ * - {@code k}: The ranking constant of Reciprocal Rank Fusion. Default: 60
+ * <br>
+ * - {@code weights}: The weight of each retriever in the fusion, in the same order as the retrievers
+ * (see {@link ReciprocalRankFuser#fuse(List, List, int, int)}). By default, all retrievers have the same weight.
+ * <br>
+ * - {@code executor}: The {@link Executor} used to call all retrievers but the first one,
+ * which is called in the caller's thread.
+ * By default, a shared executor provided by {@link DefaultExecutorProvider} is used.
+ * When the caller's thread is itself a thread of a bounded executor
+ * (see {@link DefaultExecutorProvider#isBoundedExecutorThread()}),
+ * all retrievers are called sequentially in the caller's thread, so that the pool cannot be exhausted.
+ */
+public class HybridContentRetriever implements ContentRetriever {
+
+    public static final int DEFAULT_MAX_RESULTS = 3;
+    public static final int DEFAULT_K = 60;
+
+    private final List<ContentRetriever> retrievers;
+    private final int maxResults;
+    private final int k;
+    private final List<Double> weights;
+    private final Executor executor;
+
+    public HybridContentRetriever(List<ContentRetriever> retrievers,
+                                  Integer maxResults,
+                                  Integer k,
+                                  Executor executor) {
+        this(retrievers, maxResults, k, null, executor);
+    }
+
+    public HybridContentRetriever(List<ContentRetriever> retrievers,
+                                  Integer maxResults,
+                                  Integer k,
+                                  List<Double> weights,
+                                  Executor executor) {
+        this.retrievers = new ArrayList<>(ensureNotEmpty(retrievers, "retrievers"));
+        this.maxResults = ensureGreaterThanZero(getOrDefault(maxResults, DEFAULT_MAX_RESULTS), "maxResults");
+        this.k = ensureBetween(getOrDefault(k, DEFAULT_K), 1, Integer.MAX_VALUE, "k");
+        this.weights = weights == null ? null : new ArrayList<>(weights);
+        if (this.weights != null && this.weights.size() != this.retrievers.size()) {
+            throw illegalArgument("The number of weights (%s) must be equal to the number of retrievers (%s)",
+                    this.weights.size(), this.retrievers.size());
+        }
+        this.executor = getOrDefault(executor, DefaultExecutorProvider::getDefaultExecutorService);
+    }
+
+    public static HybridContentRetrieverBuilder builder() {
+        return new HybridContentRetrieverBuilder();
+    }
+
+    @Override
+    public List<Content> retrieve(Query query) {
+
+        if (DefaultExecutorProvider.isBoundedExecutorThread()) {
+            List<List<Content>> results = new ArrayList<>(retrievers.size());
+            for (ContentRetriever retriever : retrievers) {
+                results.add(retriever.retrieve(query));
+            }
+            return fuse(results);
+        }
+
+        QueryEmbeddingContext embeddingContext = QueryEmbeddingContext.current();
+
+        List<CompletableFuture<List<Content>>> futureResults = new ArrayList<>(retrievers.size() - 1);
+        for (ContentRetriever retriever : retrievers.subList(1, retrievers.size())) {
+            futureResults.add(supplyAsync(() -> embeddingContext == null
+                    ? retriever.retrieve(query)
+                    : embeddingContext.callWith(() -> retriever.retrieve(query)), executor));
+        }
+
+        List<List<Content>> results = new ArrayList<>(retrievers.size());
+        results.add(retrievers.get(0).retrieve(query));
+        for (CompletableFuture<List<Content>> futureResult : futureResults) {
+            results.add(join(futureResult));
+        }
+
+        return fuse(results);
+    }
+
+    private List<Content> fuse(List<List<Content>> results) {
+        return weights == null
+                ? ReciprocalRankFuser.fuse(results, k, maxResults)
+                : ReciprocalRankFuser.fuse(results, weights, k, maxResults);
+    }
+
+    private static List<Content> join(CompletableFuture<List<Content>> futureResult) {
+        try {
+            return futureResult.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HybridContentRetriever{" +
+                "retrievers=" + retrievers +
+                '}';
+    }
+
+    public static class HybridContentRetrieverBuilder {
+
+        private List<ContentRetriever> retrievers;
+        private Integer maxResults;
+        private Integer k;
+        private List<Double> weights;
+        private Executor executor;
+
+        HybridContentRetrieverBuilder() {
+        }
+
+        public HybridContentRetrieverBuilder retrievers(List<ContentRetriever> retrievers) {
+            this.retrievers = retrievers;
+            return this;
+        }
+
+        public HybridContentRetrieverBuilder retrievers(ContentRetriever... retrievers) {
+            return retrievers(Arrays.asList(retrievers));
+        }
+
+        /**
+         * @param maxResults The maximum number of fused {@link Content}s to return. Default: 3
+         * @return builder
+         */
+        public HybridContentRetrieverBuilder maxResults(Integer maxResults) {
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        /**
+         * @param k The ranking constant of Reciprocal Rank Fusion. Default: 60
+         * @return builder
+         */
+        public HybridContentRetrieverBuilder k(Integer k) {
+            this.k = k;
+            return this;
+        }
+
+        /**
+         * @param weights The weight of each retriever in the fusion, in the same order as the retrievers.
+         *                By default, all retrievers have the same weight.
+         * @return builder
+         */
+        public HybridContentRetrieverBuilder weights(List<Double> weights) {
+            this.weights = weights;
+            return this;
+        }
+
+        public HybridContentRetrieverBuilder weights(Double... weights) {
+            return weights(Arrays.asList(weights));
+        }
+
+        /**
+         * @param executor The {@link Executor} used to call the retrievers concurrently.
+         *                 By default, a shared executor provided by {@link DefaultExecutorProvider} is used.
+         * @return builder
+         */
+        public HybridContentRetrieverBuilder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public HybridContentRetriever build() {
+            return new HybridContentRetriever(retrievers, maxResults, k, weights, executor);
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * A cache of retrieval results for an {@link EmbeddingStoreContentRetriever}
+ * (see {@link EmbeddingStoreContentRetriever.EmbeddingStoreContentRetrieverBuilder#cache(RetrievalCache)}).
+ * <br>
+ * Two levels of caching are supported:
+ * <pre>
+ * - exact: results are reused when the normalized text of a new {@link Query} is equal to the one of a cached query.
+ *   This saves both the embedding of the query and the search in the {@link EmbeddingStore}.
+ * - semantic (optional): results are reused when the embedding of a new {@link Query} has a cosine similarity
+ *   of at least {@code semanticSimilarityThreshold} with the embedding of a cached query.
+ *   This saves the search in the {@link EmbeddingStore}.
+ * </pre>
+ * Results are only reused for the same {@code maxResults}, {@code minScore} and {@link Filter}.
+ * <br>
+ * Entries expire after {@code ttl}, and the least recently used entries are evicted when the cache
+ * holds more than {@code maxSize} entries.
+ * The semantic lookup scans all cached embeddings, so {@code maxSize} should be kept moderate (e.g. thousands).
+ * <br>
+ * When the underlying {@link EmbeddingStore} is modified, the cache should be invalidated using {@link #invalidateAll()},
+ * or automatically by writing through the store returned by {@link #invalidatingOnWrite(EmbeddingStore)}.
+ * <br>
+ * A {@code RetrievalCache} must not be shared between retrievers that use different stores or models.
+ * It is thread-safe.
+ */
+public class RetrievalCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1_000;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Double semanticSimilarityThreshold;
+    private final Function<String, String> queryNormalizer;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong exactHits = new AtomicLong();
+    private final AtomicLong semanticHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RetrievalCache(Integer maxSize,
+                          Duration ttl,
+                          Double semanticSimilarityThreshold,
+                          Function<String, String> queryNormalizer) {
+        this.maxSize = ensureGreaterThanZero(getOrDefault(maxSize, DEFAULT_MAX_SIZE), "maxSize");
+        Duration effectiveTtl = getOrDefault(ttl, DEFAULT_TTL);
+        if (effectiveTtl.isNegative() || effectiveTtl.isZero()) {
+            throw illegalArgument("ttl must be positive, but is: %s", effectiveTtl);
+        }
+        this.ttlNanos = effectiveTtl.toNanos();
+        this.semanticSimilarityThreshold = semanticSimilarityThreshold == null
+                ? null
+                : ensureBetween(semanticSimilarityThreshold, -1, 1, "semanticSimilarityThreshold");
+        this.queryNormalizer = getOrDefault(queryNormalizer, RetrievalCache::normalize);
+    }
+
+    public static RetrievalCacheBuilder builder() {
+        return new RetrievalCacheBuilder();
+    }
+
+    /**
+     * The default query normalization: lower-cases the text, collapses whitespace
+     * and removes trailing sentence punctuation ({@code ?}, {@code !} and {@code .}).
+     * Other characters are kept, so that e.g. "C++" and "C" are not considered the same query.
+     */
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(c);
+            }
+        }
+        int end = sb.length();
+        while (end > 0 && isTrailingPunctuation(sb.charAt(end - 1))) {
+            end--;
+        }
+        return sb.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isTrailingPunctuation(char c) {
+        return c == '?' || c == '!' || c == '.' || c == ' ';
+    }
+
+    Key key(Query query, int maxResults, double minScore, Filter filter) {
+        return new Key(queryNormalizer.apply(query.text()), maxResults, minScore, filter);
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    synchronized List<Content> getExact(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key);
+            return null;
+        }
+        exactHits.incrementAndGet();
+        return entry.contents;
+    }
+
+    synchronized List<Content> getSimilar(Key key, Embedding embedding) {
+        if (semanticSimilarityThreshold == null) {
+            return null;
+        }
+        float[] normalized = normalize(embedding.vector());
+        long now = System.nanoTime();
+        Key bestKey = null;
+        double bestSimilarity = semanticSimilarityThreshold;
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> mapEntry = iterator.next();
+            Entry entry = mapEntry.getValue();
+            if (entry.isExpired(now)) {
+                iterator.remove();
+                continue;
+            }
+            if (!mapEntry.getKey().hasSameSearchParameters(key) || entry.embedding.length != normalized.length) {
+                continue;
+            }
+            double similarity = dot(entry.embedding, normalized);
+            if (similarity >= bestSimilarity) {
+                bestSimilarity = similarity;
+                bestKey = mapEntry.getKey();
+            }
+        }
+        if (bestKey == null) {
+            return null;
+        }
+        semanticHits.incrementAndGet();
+        Entry similar = entries.get(bestKey);
+        // subsequent queries with the same text can skip the embedding
+        entries.putIfAbsent(key, new Entry(normalized, similar.contents, similar.expiresAtNanos));
+        evictIfNeeded();
+        return similar.contents;
+    }
+
+    synchronized void put(Key key, Embedding embedding, List<Content> contents, long expectedGeneration) {
+        misses.incrementAndGet();
+        if (generation.get() != expectedGeneration) {
+            // the store was modified while the results were being retrieved
+            return;
+        }
+        entries.put(key, new Entry(normalize(embedding.vector()), List.copyOf(contents), System.nanoTime() + ttlNanos));
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Key> iterator = entries.keySet().iterator();
+        while (entries.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     * Results that are being retrieved concurrently will not be cached.
+     */
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Returns a view of the given {@link EmbeddingStore} that invalidates this cache
+     * after every write (add or remove) operation.
+     *
+     * @param embeddingStore The embedding store to wrap.
+     * @return An {@link EmbeddingStore} that invalidates this cache when written to.
+     */
+    public EmbeddingStore<TextSegment> invalidatingOnWrite(EmbeddingStore<TextSegment> embeddingStore) {
+        return new InvalidatingEmbeddingStore(ensureNotNull(embeddingStore, "embeddingStore"), this);
+    }
+
+    /**
+     * @return the number of cached results.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of queries answered from the exact cache.
+     */
+    public long exactHits() {
+        return exactHits.get();
+    }
+
+    /**
+     * @return the number of queries answered from the semantic cache.
+     */
+    public long semanticHits() {
+        return semanticHits.get();
+    }
+
+    /**
+     * @return the number of queries that were answered by the {@link EmbeddingStore}.
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+        float[] normalized = new float[vector.length];
+        if (norm == 0) {
+            return normalized;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    record Key(String text, int maxResults, double minScore, Filter filter) {
+
+        boolean hasSameSearchParameters(Key that) {
+            return maxResults == that.maxResults
+                    && Double.compare(minScore, that.minScore) == 0
+                    && Objects.equals(filter, that.filter);
+        }
+    }
+
+    private static class Entry {
+
+        private final float[] embedding;
+        private final List<Content> contents;
+        private final long expiresAtNanos;
+
+        Entry(float[] embedding, List<Content> contents, long expiresAtNanos) {
+            this.embedding = embedding;
+            this.contents = contents;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    private static class InvalidatingEmbeddingStore implements EmbeddingStore<TextSegment> {
+
+        private final EmbeddingStore<TextSegment> delegate;
+        private final RetrievalCache cache;
+
+        InvalidatingEmbeddingStore(EmbeddingStore<TextSegment> delegate, RetrievalCache cache) {
+            this.delegate = delegate;
+            this.cache = cache;
+        }
+
+        @Override
+        public String add(Embedding embedding) {
+            try {
+                return delegate.add(embedding);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public void add(String id, Embedding embedding) {
+            try {
+                delegate.add(id, embedding);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public String add(Embedding embedding, TextSegment textSegment) {
+            try {
+                return delegate.add(embedding, textSegment);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public List<String> addAll(List<Embedding> embeddings) {
+            try {
+                return delegate.addAll(embeddings);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public List<String> addAll(List<Embedding> embeddings, List<TextSegment> embedded) {
+            try {
+                return delegate.addAll(embeddings, embedded);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public void addAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+            try {
+                delegate.addAll(ids, embeddings, embedded);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public void remove(String id) {
+            try {
+                delegate.remove(id);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public void removeAll(Collection<String> ids) {
+            try {
+                delegate.removeAll(ids);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public void removeAll(Filter filter) {
+            try {
+                delegate.removeAll(filter);
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public void removeAll() {
+            try {
+                delegate.removeAll();
+            } finally {
+                cache.invalidateAll();
+            }
+        }
+
+        @Override
+        public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+            return delegate.search(request);
+        }
+
+        @Override
+        public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> requests) {
+            return delegate.searchAll(requests);
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    public static class RetrievalCacheBuilder {
+
+        private Integer maxSize;
+        private Duration ttl;
+        private Double semanticSimilarityThreshold;
+        private Function<String, String> queryNormalizer;
+
+        RetrievalCacheBuilder() {
+        }
+
+        /**
+         * @param maxSize The maximum number of cached results. Default: 1000
+         * @return builder
+         */
+        public RetrievalCacheBuilder maxSize(Integer maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param ttl The time after which a cached result expires. Default: 10 minutes
+         * @return builder
+         */
+        public RetrievalCacheBuilder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * @param semanticSimilarityThreshold The minimum cosine similarity between the embeddings of a new query
+         *                                    and a cached query for the cached results to be reused
+         *                                    (e.g. 0.95). By default, the semantic cache is disabled.
+         * @return builder
+         */
+        public RetrievalCacheBuilder semanticSimilarityThreshold(Double semanticSimilarityThreshold) {
+            this.semanticSimilarityThreshold = semanticSimilarityThreshold;
+            return this;
+        }
+
+        /**
+         * @param queryNormalizer Normalizes the query text before the exact lookup.
+         *                        By default, the text is lower-cased, whitespace is collapsed
+         *                        and trailing {@code ?}, {@code !} and {@code .} are removed.
+         * @return builder
+         */
+        public RetrievalCacheBuilder queryNormalizer(Function<String, String> queryNormalizer) {
+            this.queryNormalizer = queryNormalizer;
+            return this;
+        }
+
+        public RetrievalCache build() {
+            return new RetrievalCache(maxSize, ttl, semanticSimilarityThreshold, queryNormalizer);
+        }
+    }
+}
@@ -18,7 +18,8 @@ public class Metadata {
 
     private final UserMessage userMessage;
     private final Object chatMemoryId;
-    private final List<ChatMessage> chatMemory;
+    private List<ChatMessage> chatMemory;
+    private ChatMemory unreadChatMemory;
 
     public Metadata(UserMessage userMessage, Object chatMemoryId, List<ChatMessage> chatMemory) {
         this.userMessage = ensureNotNull(userMessage, "userMessage");
@@ -26,6 +27,12 @@ public class Metadata {
         this.chatMemory = copyIfNotNull(chatMemory);
     }
 
+    private Metadata(UserMessage userMessage, Object chatMemoryId, ChatMemory chatMemory) {
+        this.userMessage = ensureNotNull(userMessage, "userMessage");
+        this.chatMemoryId = chatMemoryId;
+        this.unreadChatMemory = ensureNotNull(chatMemory, "chatMemory");
+    }
+
     /**
      * @return an original {@link UserMessage} passed to the {@link RetrievalAugmentor#augment(UserMessage, Metadata)}.
      */
@@ -45,7 +52,11 @@ public class Metadata {
      * @return previous messages in the {@link ChatMemory}. Present when {@link ChatMemory} is used.
      * Can be used to get more details about the context (conversation) in which the {@link Query} originated.
      */
-    public List<ChatMessage> chatMemory() {
+    public synchronized List<ChatMessage> chatMemory() {
+        if (unreadChatMemory != null) {
+            chatMemory = copyIfNotNull(unreadChatMemory.messages());
+            unreadChatMemory = null;
+        }
         return chatMemory;
     }
 
@@ -56,12 +67,12 @@ public class Metadata {
         Metadata that = (Metadata) o;
         return Objects.equals(this.userMessage, that.userMessage)
                 && Objects.equals(this.chatMemoryId, that.chatMemoryId)
-                && Objects.equals(this.chatMemory, that.chatMemory);
+                && Objects.equals(this.chatMemory(), that.chatMemory());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(userMessage, chatMemoryId, chatMemory);
+        return Objects.hash(userMessage, chatMemoryId, chatMemory());
     }
 
     @Override
@@ -69,11 +80,26 @@ public class Metadata {
         return "Metadata {" +
                 " userMessage = " + userMessage +
                 ", chatMemoryId = " + chatMemoryId +
-                ", chatMemory = " + chatMemory +
+                ", chatMemory = " + chatMemory() +
                 " }";
     }
 
     public static Metadata from(UserMessage userMessage, Object chatMemoryId, List<ChatMessage> chatMemory) {
         return new Metadata(userMessage, chatMemoryId, chatMemory);
     }
+
+    /**
+     * Creates a {@code Metadata} whose {@link #chatMemory()} messages are read from the given {@link ChatMemory}
+     * only when they are first requested, so that they are not read at all when no component needs them.
+     * The messages are read at most once, so they should be first requested during retrieval augmentation,
+     * before the {@link ChatMemory} is updated with the current exchange.
+     *
+     * @param userMessage  the original {@link UserMessage}.
+     * @param chatMemoryId the chat memory ID.
+     * @param chatMemory   the {@link ChatMemory} holding the previous messages.
+     * @return the metadata.
+     */
+    public static Metadata fromChatMemory(UserMessage userMessage, Object chatMemoryId, ChatMemory chatMemory) {
+        return new Metadata(userMessage, chatMemoryId, chatMemory);
+    }
 }
@@ -0,0 +1,137 @@
+package dev.langchain4j.rag.query;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.rag.DefaultRetrievalAugmentor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A request-scoped context that embeds all {@link Query}s of a single augmentation in one batch.
+ * <br>
+ * When a query transformer (e.g. {@code ExpandingQueryTransformer}) produces multiple {@link Query}s,
+ * each of them is typically embedded separately by each retriever, resulting in one embedding call per query
+ * and retriever. The {@link DefaultRetrievalAugmentor} makes a {@code QueryEmbeddingContext} containing all
+ * the queries of an augmentation available to retrievers via {@link #current()}.
+ * The first time an {@link EmbeddingModel} is asked to embed one of these queries,
+ * all of them are embedded with a single {@link EmbeddingModel#embedAll(List)} call,
+ * and the embeddings are shared with all the retrievers using the same {@link EmbeddingModel} instance.
+ * <br>
+ * The context is bound to the thread calling the retriever, so it is only visible to retrievers
+ * that embed the query in the calling thread (before returning or before starting asynchronous work).
+ * <br>
+ * This class is thread-safe.
+ */
+public class QueryEmbeddingContext {
+
+    private static final ThreadLocal<QueryEmbeddingContext> CURRENT = new ThreadLocal<>();
+
+    private final Set<String> queryTexts;
+    private final Map<EmbeddingModel, CompletableFuture<Map<String, Embedding>>> embeddings = new IdentityHashMap<>();
+
+    public QueryEmbeddingContext(Collection<Query> queries) {
+        ensureNotNull(queries, "queries");
+        this.queryTexts = new LinkedHashSet<>(queries.stream().map(Query::text).collect(toList()));
+    }
+
+    /**
+     * @return the context bound to the current thread, or {@code null} if there is none.
+     */
+    public static QueryEmbeddingContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds this context to the current thread while the action is being executed.
+     *
+     * @param action The action to execute.
+     * @param <T>    The type of the result.
+     * @return The result of the action.
+     */
+    public <T> T callWith(Supplier<T> action) {
+        QueryEmbeddingContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Embeds the given {@link Query} using the given {@link EmbeddingModel}.
+     * If the query belongs to this context, all queries of this context are embedded in a single batch
+     * (once per {@link EmbeddingModel}), and the embedding is taken from that batch.
+     * Otherwise, the query is embedded individually.
+     *
+     * @param embeddingModel The embedding model.
+     * @param query          The query to embed.
+     * @return The embedding of the query.
+     */
+    public Embedding embed(EmbeddingModel embeddingModel, Query query) {
+        ensureNotNull(embeddingModel, "embeddingModel");
+        ensureNotNull(query, "query");
+
+        if (!queryTexts.contains(query.text())) {
+            return embeddingModel.embed(query.text()).content();
+        }
+
+        CompletableFuture<Map<String, Embedding>> futureEmbeddings;
+        boolean shouldEmbed = false;
+        synchronized (embeddings) {
+            futureEmbeddings = embeddings.get(embeddingModel);
+            if (futureEmbeddings == null) {
+                futureEmbeddings = new CompletableFuture<>();
+                embeddings.put(embeddingModel, futureEmbeddings);
+                shouldEmbed = true;
+            }
+        }
+
+        if (shouldEmbed) {
+            try {
+                futureEmbeddings.complete(embedAll(embeddingModel));
+            } catch (RuntimeException e) {
+                futureEmbeddings.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return futureEmbeddings.join().get(query.text());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Map<String, Embedding> embedAll(EmbeddingModel embeddingModel) {
+        List<String> texts = new ArrayList<>(queryTexts);
+        List<TextSegment> segments = texts.stream().map(TextSegment::from).collect(toList());
+        List<Embedding> batch = embeddingModel.embedAll(segments).content();
+        Map<String, Embedding> embeddingsByText = new HashMap<>();
+        for (int i = 0; i < texts.size(); i++) {
+            embeddingsByText.put(texts.get(i), batch.get(i));
+        }
+        return embeddingsByText;
+    }
+}
@@ -0,0 +1,84 @@
+package dev.langchain4j.rag.query.router;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.rag.content.retriever.ContentRetriever;
+import dev.langchain4j.rag.query.Query;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * A non-blocking counterpart of {@link QueryRouter}.
+ * <br>
+ * Since it extends {@link QueryRouter}, an {@code AsyncQueryRouter} can be used wherever
+ * a {@link QueryRouter} is expected: {@link #route(Query)} blocks until {@link #routeAsync(Query)} completes.
+ * A blocking {@link QueryRouter} can be adapted using {@link #from(QueryRouter, Executor)}.
+ */
+@Experimental
+public interface AsyncQueryRouter extends QueryRouter {
+
+    /**
+     * Asynchronously routes the given {@link Query} to one or multiple {@link ContentRetriever}s.
+     * This method should not block.
+     *
+     * @param query The {@link Query} to be routed.
+     * @return A {@link CompletionStage} that completes with a collection of one or more {@link ContentRetriever}s
+     * to which the {@link Query} should be routed.
+     */
+    CompletionStage<Collection<ContentRetriever>> routeAsync(Query query);
+
+    @Override
+    default Collection<ContentRetriever> route(Query query) {
+        return routeAsync(query).toCompletableFuture().join();
+    }
+
+    /**
+     * Adapts a blocking {@link QueryRouter} into an {@code AsyncQueryRouter}
+     * by running it on the default executor (see {@link DefaultExecutorProvider}).
+     *
+     * @param queryRouter The blocking router.
+     * @return An {@code AsyncQueryRouter}.
+     */
+    static AsyncQueryRouter from(QueryRouter queryRouter) {
+        return from(queryRouter, DefaultExecutorProvider.getDefaultExecutorService());
+    }
+
+    /**
+     * Adapts a blocking {@link QueryRouter} into an {@code AsyncQueryRouter}
+     * by running it on the provided {@link Executor}.
+     * If the router is already an {@code AsyncQueryRouter}, it is returned as is.
+     *
+     * @param queryRouter The blocking router.
+     * @param executor    The executor to run the blocking router on.
+     * @return An {@code AsyncQueryRouter}.
+     */
+    static AsyncQueryRouter from(QueryRouter queryRouter, Executor executor) {
+        ensureNotNull(queryRouter, "queryRouter");
+        ensureNotNull(executor, "executor");
+        if (queryRouter instanceof AsyncQueryRouter asyncQueryRouter) {
+            return asyncQueryRouter;
+        }
+        return new AsyncQueryRouter() {
+
+            @Override
+            public CompletionStage<Collection<ContentRetriever>> routeAsync(Query query) {
+                return CompletableFuture.supplyAsync(() -> queryRouter.route(query), executor);
+            }
+
+            @Override
+            public Collection<ContentRetriever> route(Query query) {
+                return queryRouter.route(query);
+            }
+
+            @Override
+            public String toString() {
+                return queryRouter.toString();
+            }
+        };
+    }
+}
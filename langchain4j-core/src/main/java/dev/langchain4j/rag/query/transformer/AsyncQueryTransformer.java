@@ -0,0 +1,83 @@
+package dev.langchain4j.rag.query.transformer;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.rag.query.Query;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * A non-blocking counterpart of {@link QueryTransformer}.
+ * <br>
+ * Since it extends {@link QueryTransformer}, an {@code AsyncQueryTransformer} can be used wherever
+ * a {@link QueryTransformer} is expected: {@link #transform(Query)} blocks until {@link #transformAsync(Query)} completes.
+ * A blocking {@link QueryTransformer} can be adapted using {@link #from(QueryTransformer, Executor)}.
+ */
+@Experimental
+public interface AsyncQueryTransformer extends QueryTransformer {
+
+    /**
+     * Asynchronously transforms the given {@link Query} into one or multiple {@link Query}s.
+     * This method should not block.
+     *
+     * @param query The {@link Query} to be transformed.
+     * @return A {@link CompletionStage} that completes with a collection of one or more {@link Query}s
+     * derived from the original {@link Query}.
+     */
+    CompletionStage<Collection<Query>> transformAsync(Query query);
+
+    @Override
+    default Collection<Query> transform(Query query) {
+        return transformAsync(query).toCompletableFuture().join();
+    }
+
+    /**
+     * Adapts a blocking {@link QueryTransformer} into an {@code AsyncQueryTransformer}
+     * by running it on the default executor (see {@link DefaultExecutorProvider}).
+     *
+     * @param queryTransformer The blocking transformer.
+     * @return An {@code AsyncQueryTransformer}.
+     */
+    static AsyncQueryTransformer from(QueryTransformer queryTransformer) {
+        return from(queryTransformer, DefaultExecutorProvider.getDefaultExecutorService());
+    }
+
+    /**
+     * Adapts a blocking {@link QueryTransformer} into an {@code AsyncQueryTransformer}
+     * by running it on the provided {@link Executor}.
+     * If the transformer is already an {@code AsyncQueryTransformer}, it is returned as is.
+     *
+     * @param queryTransformer The blocking transformer.
+     * @param executor         The executor to run the blocking transformer on.
+     * @return An {@code AsyncQueryTransformer}.
+     */
+    static AsyncQueryTransformer from(QueryTransformer queryTransformer, Executor executor) {
+        ensureNotNull(queryTransformer, "queryTransformer");
+        ensureNotNull(executor, "executor");
+        if (queryTransformer instanceof AsyncQueryTransformer asyncQueryTransformer) {
+            return asyncQueryTransformer;
+        }
+        return new AsyncQueryTransformer() {
+
+            @Override
+            public CompletionStage<Collection<Query>> transformAsync(Query query) {
+                return CompletableFuture.supplyAsync(() -> queryTransformer.transform(query), executor);
+            }
+
+            @Override
+            public Collection<Query> transform(Query query) {
+                return queryTransformer.transform(query);
+            }
+
+            @Override
+            public String toString() {
+                return queryTransformer.toString();
+            }
+        };
+    }
+}
@@ -4,15 +4,22 @@ import dev.langchain4j.Experimental;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.internal.DefaultExecutorProvider;
 import dev.langchain4j.store.embedding.filter.Filter;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static dev.langchain4j.internal.Utils.randomUUID;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Represents a store for embeddings, also known as a vector database.
@@ -153,6 +160,48 @@ public interface EmbeddingStore<Embedded> {
         return new EmbeddingSearchResult<>(matches);
     }
 
+    /**
+     * Performs multiple searches at once, one per {@link EmbeddingSearchRequest}.
+     * <br>
+     * This is useful when many query embeddings need to be searched at the same time
+     * (e.g. multi-query RAG, classification or evaluation jobs).
+     * <br>
+     * The default implementation executes {@link #search(EmbeddingSearchRequest)} for each request in parallel
+     * using the default executor (see {@link DefaultExecutorProvider}),
+     * or sequentially in the calling thread when it is a thread of a bounded executor
+     * (see {@link DefaultExecutorProvider#isBoundedExecutorThread()}).
+     * Implementations that support batch queries natively should override this method.
+     *
+     * @param requests The requests to search with.
+     * @return The {@link EmbeddingSearchResult}s, in the same order as the requests.
+     */
+    @Experimental
+    default List<EmbeddingSearchResult<Embedded>> searchAll(List<EmbeddingSearchRequest> requests) {
+        ensureNotNull(requests, "requests");
+        if (requests.size() <= 1 || DefaultExecutorProvider.isBoundedExecutorThread()) {
+            // when already running on a bounded pool, waiting for tasks queued on it could exhaust it
+            return requests.stream().map(this::search).collect(toList());
+        }
+
+        Executor executor = DefaultExecutorProvider.getDefaultExecutorService();
+        List<CompletableFuture<EmbeddingSearchResult<Embedded>>> futureResults = requests.stream()
+                .map(request -> supplyAsync(() -> search(request), executor))
+                .collect(toList());
+
+        List<EmbeddingSearchResult<Embedded>> results = new ArrayList<>(requests.size());
+        for (CompletableFuture<EmbeddingSearchResult<Embedded>> futureResult : futureResults) {
+            try {
+                results.add(futureResult.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
     /**
      * Finds the most relevant (closest in space) embeddings to the provided reference embedding.
      * By default, minScore is set to 0, which means that the results may include embeddings with low relevance.
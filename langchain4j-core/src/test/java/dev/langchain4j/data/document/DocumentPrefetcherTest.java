@@ -0,0 +1,162 @@
+package dev.langchain4j.data.document;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class DocumentPrefetcherTest {
+
+    @Test
+    void should_load_documents_in_order() {
+
+        DocumentPrefetcher prefetcher = DocumentPrefetcher.builder().parallelism(4).build();
+
+        List<Document> documents = prefetcher
+                .load(IntStream.range(0, 100).boxed(), i -> 1, i -> {
+                    sleep((100 - i) % 7);
+                    return Document.from("doc " + i);
+                })
+                .collect(toList());
+
+        assertThat(documents).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(documents.get(i).text()).isEqualTo("doc " + i);
+        }
+    }
+
+    @Test
+    void should_not_exceed_parallelism() {
+
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        DocumentPrefetcher prefetcher = DocumentPrefetcher.builder().parallelism(3).build();
+
+        long count = prefetcher
+                .load(IntStream.range(0, 30).boxed(), i -> 1, i -> {
+                    maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                    sleep(5);
+                    concurrent.decrementAndGet();
+                    return Document.from("doc " + i);
+                })
+                .count();
+
+        assertThat(count).isEqualTo(30);
+        assertThat(maxConcurrent.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void should_not_exceed_max_bytes_in_flight() {
+
+        AtomicLong bytesInFlight = new AtomicLong();
+        AtomicLong maxBytesInFlight = new AtomicLong();
+
+        DocumentPrefetcher prefetcher = DocumentPrefetcher.builder()
+                .parallelism(10)
+                .maxBytesInFlight(250L)
+                .build();
+
+        long count = prefetcher
+                .load(IntStream.range(0, 30).boxed(), i -> 100, i -> {
+                    maxBytesInFlight.accumulateAndGet(bytesInFlight.addAndGet(100), Math::max);
+                    sleep(5);
+                    bytesInFlight.addAndGet(-100);
+                    return Document.from("doc " + i);
+                })
+                .count();
+
+        assertThat(count).isEqualTo(30);
+        assertThat(maxBytesInFlight.get()).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    void should_load_object_larger_than_max_bytes_in_flight() {
+
+        DocumentPrefetcher prefetcher = DocumentPrefetcher.builder()
+                .parallelism(2)
+                .maxBytesInFlight(10L)
+                .build();
+
+        List<Document> documents = prefetcher
+                .load(Stream.of("a", "b"), s -> 1_000, Document::from)
+                .collect(toList());
+
+        assertThat(documents).extracting(Document::text).containsExactly("a", "b");
+    }
+
+    @Test
+    void should_skip_objects_for_which_loader_returns_null() {
+
+        DocumentPrefetcher prefetcher = DocumentPrefetcher.builder().parallelism(2).build();
+
+        List<Document> documents = prefetcher
+                .load(Stream.of("a", "skip", "b"), s -> 1, s -> s.equals("skip") ? null : Document.from(s))
+                .collect(toList());
+
+        assertThat(documents).extracting(Document::text).containsExactly("a", "b");
+    }
+
+    @Test
+    void should_propagate_loader_exception() {
+
+        DocumentPrefetcher prefetcher = DocumentPrefetcher.builder().parallelism(2).build();
+
+        Stream<Document> documents = prefetcher.load(Stream.of("a", "b"), s -> 1, s -> {
+            throw new IllegalStateException("failed to load " + s);
+        });
+
+        assertThatThrownBy(() -> documents.collect(toList()))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("failed to load a");
+    }
+
+    @Test
+    void should_release_resources_when_loader_fails() {
+
+        AtomicBoolean closed = new AtomicBoolean();
+        DocumentPrefetcher prefetcher = DocumentPrefetcher.builder().parallelism(2).build();
+
+        Iterator<Document> documents = prefetcher
+                .load(Stream.of("a", "b").onClose(() -> closed.set(true)), s -> 1, s -> {
+                    throw new IllegalStateException("failed to load " + s);
+                })
+                .iterator();
+
+        assertThatThrownBy(documents::hasNext).isExactlyInstanceOf(IllegalStateException.class);
+        assertThat(closed).isTrue();
+        assertThat(documents.hasNext()).isFalse();
+    }
+
+    @Test
+    void should_load_lazily_and_sequentially_by_default() {
+
+        AtomicInteger loaded = new AtomicInteger();
+
+        Stream<Document> documents = DocumentPrefetcher.sequential()
+                .load(IntStream.range(0, 10).boxed(), i -> 1, i -> {
+                    loaded.incrementAndGet();
+                    return Document.from("doc " + i);
+                });
+
+        assertThat(loaded.get()).isZero();
+        assertThat(documents.findFirst()).isPresent();
+        assertThat(loaded.get()).isEqualTo(1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
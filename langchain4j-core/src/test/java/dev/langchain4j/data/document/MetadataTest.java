@@ -370,4 +370,41 @@ class MetadataTest implements WithAssertions {
         assertThat(new Metadata().containsKey("key")).isFalse();
         assertThat(new Metadata().put("key", "value").containsKey("key")).isTrue();
     }
+
+    @Test
+    void copy_is_independent_of_original() {
+        Metadata original = new Metadata().put("foo", "bar").put("baz", "qux");
+
+        Metadata copy = original.copy().put("index", "0");
+        original.put("foo", "changed");
+        original.remove("baz");
+
+        assertThat(copy.toMap()).containsOnly(entry("foo", "bar"), entry("baz", "qux"), entry("index", "0"));
+        assertThat(original.toMap()).containsOnly(entry("foo", "changed"));
+    }
+
+    @Test
+    void copies_are_independent_of_each_other() {
+        Metadata original = new Metadata().put("foo", "bar");
+
+        Metadata copy1 = original.copy();
+        Metadata copy2 = original.copy();
+        copy1.put("foo", "one");
+        copy2.put("foo", "two");
+
+        assertThat(original.getString("foo")).isEqualTo("bar");
+        assertThat(copy1.getString("foo")).isEqualTo("one");
+        assertThat(copy2.getString("foo")).isEqualTo("two");
+    }
+
+    @Test
+    void equals_hash_do_not_depend_on_insertion_order() {
+        Metadata m1 = new Metadata().put("a", "1").put("b", 2).put("c", 3L);
+        Metadata m2 = new Metadata().put("c", 3L).put("a", "1").put("b", 2);
+        Metadata m3 = Metadata.from(Map.of("b", 2, "c", 3L, "a", "1"));
+
+        assertThat(m1).isEqualTo(m2).isEqualTo(m3).hasSameHashCodeAs(m2).hasSameHashCodeAs(m3);
+        assertThat(m1.hashCode()).isEqualTo(java.util.Objects.hash(m1.toMap()));
+        assertThat(m1).isNotEqualTo(m2.copy().remove("a"));
+    }
 }
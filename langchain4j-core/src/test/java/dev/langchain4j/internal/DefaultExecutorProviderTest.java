@@ -0,0 +1,66 @@
+package dev.langchain4j.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class DefaultExecutorProviderTest {
+
+    @Test
+    void should_return_shared_default_executor() {
+
+        assertThat(DefaultExecutorProvider.getDefaultExecutorService())
+                .isSameAs(DefaultExecutorProvider.getDefaultExecutorService());
+    }
+
+    @Test
+    void should_run_task_in_caller_thread_when_bounded_executor_is_saturated() throws Exception {
+
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 1);
+        try {
+            Object lock = new Object();
+            synchronized (lock) {
+                executor.execute(() -> {
+                    synchronized (lock) {
+                    }
+                });
+                executor.execute(() -> {});
+
+                AtomicReference<Thread> thread = new AtomicReference<>();
+                executor.execute(() -> thread.set(Thread.currentThread()));
+
+                assertThat(thread.get()).isSameAs(Thread.currentThread());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_create_daemon_threads_with_prefix() throws Exception {
+
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 2, 10);
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get();
+
+            assertThat(thread.isDaemon()).isTrue();
+            assertThat(thread.getName()).startsWith("test-");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_recognize_bounded_executor_threads() throws Exception {
+
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 10);
+        try {
+            assertThat(executor.submit(DefaultExecutorProvider::isBoundedExecutorThread).get()).isTrue();
+            assertThat(DefaultExecutorProvider.isBoundedExecutorThread()).isFalse();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.langchain4j.model.chat.request.json;
 
+import static dev.langchain4j.model.chat.request.json.JsonSchemaElementHelper.jsonObjectSchemaFrom;
 import static dev.langchain4j.model.chat.request.json.JsonSchemaElementHelper.jsonSchemaElementFrom;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,6 +23,19 @@ class JsonSchemaElementHelperTest {
         assertThat(JsonSchemaElementHelper.isCustomClass(LocalDateTime.class)).isFalse();
     }
 
+    @Test
+    void should_derive_json_schema_element_once_per_class() {
+
+        // when
+        JsonSchemaElement first = jsonSchemaElementFrom(Order.class);
+        JsonSchemaElement second = jsonSchemaElementFrom(Order.class);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(jsonObjectSchemaFrom(Order.class)).isSameAs(jsonObjectSchemaFrom(Order.class));
+        assertThat(jsonObjectSchemaFrom(Order.class)).isEqualTo(first);
+    }
+
     static class Order {
 
         Address billingAddress;
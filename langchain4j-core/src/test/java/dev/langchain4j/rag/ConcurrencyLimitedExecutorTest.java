@@ -0,0 +1,105 @@
+package dev.langchain4j.rag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitedExecutorTest {
+
+    @Test
+    void should_not_exceed_limit() {
+
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        ExecutorService delegate = Executors.newFixedThreadPool(10);
+        try {
+            ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(delegate, 3);
+
+            List<CompletableFuture<Integer>> futures = IntStream.range(0, 50)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                        sleep(2);
+                        concurrent.decrementAndGet();
+                        return i;
+                    }, executor))
+                    .collect(Collectors.toList());
+
+            List<Integer> results = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+            assertThat(results).hasSize(50);
+            assertThat(maxConcurrent.get()).isBetween(1, 3);
+            assertThat(executor.queued()).isZero();
+        } finally {
+            delegate.shutdown();
+        }
+    }
+
+    @Test
+    void should_continue_after_failed_task() {
+
+        ExecutorService delegate = Executors.newSingleThreadExecutor();
+        try {
+            ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(delegate, 1);
+
+            CompletableFuture<Object> failed = CompletableFuture.supplyAsync(() -> {
+                throw new IllegalStateException("failed");
+            }, executor);
+            CompletableFuture<String> succeeded = CompletableFuture.supplyAsync(() -> "ok", executor);
+
+            assertThat(succeeded.join()).isEqualTo("ok");
+            assertThat(failed).isCompletedExceptionally();
+        } finally {
+            delegate.shutdown();
+        }
+    }
+
+    @Test
+    void should_run_task_in_current_thread_when_delegate_rejects_it() {
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            // accepts only the first task
+            AtomicInteger submitted = new AtomicInteger();
+            Executor delegate = task -> {
+                if (submitted.incrementAndGet() > 1) {
+                    throw new RejectedExecutionException("rejected");
+                }
+                pool.execute(task);
+            };
+            ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(delegate, 1);
+
+            CompletableFuture<String> blocker = new CompletableFuture<>();
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(blocker::join, executor);
+            CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> "second", executor);
+            CompletableFuture<String> third = CompletableFuture.supplyAsync(() -> "third", executor);
+            assertThat(executor.queued()).isEqualTo(2);
+
+            blocker.complete("first");
+
+            assertThat(first.join()).isEqualTo("first");
+            assertThat(second.join()).isEqualTo("second");
+            assertThat(third.join()).isEqualTo("third");
+            assertThat(executor.queued()).isZero();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,9 +3,15 @@ package dev.langchain4j.rag;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -16,24 +22,42 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.aggregator.ContentAggregator;
 import dev.langchain4j.rag.content.injector.ContentInjector;
+import dev.langchain4j.rag.content.retriever.AsyncContentRetriever;
 import dev.langchain4j.rag.content.retriever.ContentRetriever;
+import dev.langchain4j.rag.content.retriever.EmbeddingStoreContentRetriever;
 import dev.langchain4j.rag.query.Metadata;
 import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.rag.query.router.AsyncQueryRouter;
 import dev.langchain4j.rag.query.router.DefaultQueryRouter;
 import dev.langchain4j.rag.query.router.QueryRouter;
+import dev.langchain4j.rag.query.transformer.AsyncQueryTransformer;
 import dev.langchain4j.rag.query.transformer.DefaultQueryTransformer;
 import dev.langchain4j.rag.query.transformer.QueryTransformer;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -54,6 +78,8 @@ class DefaultRetrievalAugmentorTest {
         Logger logger = mock(Logger.class);
         when(LoggerFactory.getLogger(DefaultRetrievalAugmentor.class)).thenReturn(logger);
         when(logger.isTraceEnabled()).thenReturn(true);
+        // DefaultExecutorProvider may be initialized while LoggerFactory is mocked
+        when(LoggerFactory.getLogger(DefaultExecutorProvider.class)).thenReturn(mock(Logger.class));
     }
 
     @AfterAll
@@ -330,6 +356,507 @@ class DefaultRetrievalAugmentorTest {
                 .build();
     }
 
+    @Test
+    void should_limit_concurrent_retrievals_per_retriever() {
+
+        // given
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        ContentRetriever contentRetriever = query -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            sleep(10);
+            concurrent.decrementAndGet();
+            return singletonList(Content.from(query.text()));
+        };
+
+        Query[] queries = IntStream.range(0, 12).mapToObj(i -> Query.from("query " + i)).toArray(Query[]::new);
+
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        try {
+            DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                    .queryTransformer(new TestQueryTransformer(queries))
+                    .contentRetriever(contentRetriever)
+                    .executor(executor)
+                    .maxConcurrentRetrievalsPerRetriever(2)
+                    .build();
+
+            // when
+            AugmentationResult result = retrievalAugmentor.augment(
+                    new AugmentationRequest(UserMessage.from("query"), Metadata.from(UserMessage.from("query"), null, null)));
+
+            // then
+            assertThat(result.contents()).hasSize(12);
+            assertThat(maxConcurrent.get()).isBetween(1, 2);
+
+            DefaultRetrievalAugmentor.ExecutionMetrics metrics = retrievalAugmentor.executionMetrics();
+            assertThat(metrics.queuedRetrievals()).isZero();
+            assertThat(metrics.executorQueueDepth()).isZero();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_retrieve_in_caller_thread_when_called_from_bounded_executor_thread() throws Exception {
+
+        // given
+        Query[] queries = IntStream.range(0, 4).mapToObj(i -> Query.from("query " + i)).toArray(Query[]::new);
+        ContentRetriever contentRetriever1 = query -> singletonList(Content.from("1: " + query.text()));
+        ContentRetriever contentRetriever2 = query -> singletonList(Content.from("2: " + query.text()));
+
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 10);
+        try {
+            DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                    .queryTransformer(new TestQueryTransformer(queries))
+                    .queryRouter(new DefaultQueryRouter(contentRetriever1, contentRetriever2))
+                    .executor(executor)
+                    .build();
+
+            UserMessage userMessage = UserMessage.from("query");
+            Metadata metadata = Metadata.from(userMessage, null, null);
+
+            // when
+            AugmentationResult result = executor
+                    .submit(() -> retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata)))
+                    .get(10, SECONDS);
+
+            // then
+            assertThat(result.contents()).hasSize(8);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_skip_remaining_retrievers_when_augmentation_timeout_elapses_in_bounded_executor_thread()
+            throws Exception {
+
+        // given
+        Content content1 = Content.from("content 1");
+        ContentRetriever contentRetriever1 = query -> {
+            sleep(300);
+            return singletonList(content1);
+        };
+        ContentRetriever contentRetriever2 = query -> singletonList(Content.from("content 2"));
+
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 10);
+        try {
+            DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                    .queryRouter(new DefaultQueryRouter(contentRetriever1, contentRetriever2))
+                    .augmentationTimeout(Duration.ofMillis(100))
+                    .retrievalTimeoutPolicy(RetrievalTimeoutPolicy.PROCEED_WITH_PARTIAL_RESULTS)
+                    .executor(executor)
+                    .build();
+
+            UserMessage userMessage = UserMessage.from("query");
+            Metadata metadata = Metadata.from(userMessage, null, null);
+
+            // when
+            AugmentationResult result = executor
+                    .submit(() -> retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata)))
+                    .get(10, SECONDS);
+
+            // then
+            assertThat(result.contents()).containsExactly(content1);
+            assertThat(result.timedOutRetrievers()).containsExactly(contentRetriever2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_fail_when_max_concurrent_retrievals_per_retriever_is_not_positive() {
+
+        assertThatThrownBy(() -> DefaultRetrievalAugmentor.builder()
+                        .contentRetriever(new TestContentRetriever())
+                        .maxConcurrentRetrievalsPerRetriever(0)
+                        .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maxConcurrentRetrievalsPerRetriever");
+    }
+
+    @Test
+    void should_proceed_with_partial_results_when_retriever_times_out() {
+
+        // given
+        Content content = Content.from("content");
+        ContentRetriever fastRetriever = new TestContentRetriever(content);
+        ContentRetriever slowRetriever = new SlowContentRetriever(5_000, Content.from("late content"));
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .queryRouter(new DefaultQueryRouter(fastRetriever, slowRetriever))
+                .retrievalTimeout(Duration.ofMillis(100))
+                .retrievalTimeoutPolicy(RetrievalTimeoutPolicy.PROCEED_WITH_PARTIAL_RESULTS)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        long start = System.nanoTime();
+        AugmentationResult result = retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata));
+
+        // then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(result.contents()).containsExactly(content);
+        assertThat(result.timedOutRetrievers()).containsExactly(slowRetriever);
+    }
+
+    @Test
+    void should_report_timed_out_retrievers_when_all_retrievers_time_out() {
+
+        // given
+        ContentRetriever slowRetriever = new SlowContentRetriever(5_000, Content.from("late content"));
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(slowRetriever)
+                .retrievalTimeout(Duration.ofMillis(50))
+                .retrievalTimeoutPolicy(RetrievalTimeoutPolicy.PROCEED_WITH_PARTIAL_RESULTS)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        AugmentationResult result = retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata));
+
+        // then
+        assertThat(result.contents()).isEmpty();
+        assertThat(result.timedOutRetrievers()).containsExactly(slowRetriever);
+    }
+
+    @Test
+    void should_interrupt_retriever_when_it_times_out() throws Exception {
+
+        // given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ContentRetriever slowRetriever = query -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return singletonList(Content.from("late content"));
+        };
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(slowRetriever)
+                .retrievalTimeout(Duration.ofMillis(50))
+                .retrievalTimeoutPolicy(RetrievalTimeoutPolicy.PROCEED_WITH_PARTIAL_RESULTS)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata));
+
+        // then
+        assertThat(interrupted.await(2, SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_cancel_async_retrieval_when_it_times_out() {
+
+        // given
+        CompletableFuture<List<Content>> futureContents = new CompletableFuture<>();
+        AsyncContentRetriever slowRetriever = query -> futureContents;
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(slowRetriever)
+                .retrievalTimeout(Duration.ofMillis(50))
+                .retrievalTimeoutPolicy(RetrievalTimeoutPolicy.PROCEED_WITH_PARTIAL_RESULTS)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        retrievalAugmentor.augmentAsync(new AugmentationRequest(userMessage, metadata)).join();
+
+        // then
+        assertThat(futureContents).isCancelled();
+    }
+
+    @Test
+    void should_fail_when_retriever_times_out() {
+
+        // given
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(new SlowContentRetriever(5_000, Content.from("late content")))
+                .retrievalTimeout(Duration.ofMillis(50))
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when-then
+        assertThatThrownBy(() -> retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata)))
+                .isExactlyInstanceOf(RetrievalTimeoutException.class);
+    }
+
+    @Test
+    void should_apply_retriever_specific_timeout_and_augmentation_budget() {
+
+        // given
+        Content content = Content.from("content");
+        ContentRetriever retriever1 = new SlowContentRetriever(50, content);
+        ContentRetriever retriever2 = new SlowContentRetriever(5_000, Content.from("late content"));
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .queryRouter(new DefaultQueryRouter(retriever1, retriever2))
+                .retrievalTimeout(retriever1, Duration.ofSeconds(10))
+                .augmentationTimeout(Duration.ofMillis(500))
+                .retrievalTimeoutPolicy(RetrievalTimeoutPolicy.PROCEED_WITH_PARTIAL_RESULTS)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        AugmentationResult result = retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata));
+
+        // then
+        assertThat(result.contents()).containsExactly(content);
+        assertThat(result.timedOutRetrievers()).containsExactly(retriever2);
+    }
+
+    @Test
+    void should_send_hedged_request_when_retriever_is_slow() {
+
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        Content content = Content.from("content");
+        ContentRetriever contentRetriever = query -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(5_000);
+            }
+            return singletonList(content);
+        };
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(contentRetriever)
+                .hedgingDelay(Duration.ofMillis(50))
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        long start = System.nanoTime();
+        AugmentationResult result = retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata));
+
+        // then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(result.contents()).containsExactly(content);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void should_interrupt_losing_hedged_request() throws Exception {
+
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Content content = Content.from("content");
+        ContentRetriever contentRetriever = query -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }
+            return singletonList(content);
+        };
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(contentRetriever)
+                .hedgingDelay(Duration.ofMillis(50))
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        AugmentationResult result = retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata));
+
+        // then
+        assertThat(result.contents()).containsExactly(content);
+        assertThat(interrupted.await(2, SECONDS)).isTrue();
+    }
+
+    @Test
+    void should_augment_asynchronously_with_async_components() {
+
+        // given
+        Query query1 = Query.from("query 1");
+        Query query2 = Query.from("query 2");
+        AsyncQueryTransformer queryTransformer = query -> completedFuture(asList(query1, query2));
+
+        Content content1 = Content.from("content 1");
+        Content content2 = Content.from("content 2");
+        AsyncContentRetriever contentRetriever1 = query -> supplyAsync(
+                () -> singletonList(content1), delayedExecutor(20, MILLISECONDS));
+        AsyncContentRetriever contentRetriever2 = query -> completedFuture(singletonList(content2));
+
+        AsyncQueryRouter queryRouter = query -> completedFuture(asList(contentRetriever1, contentRetriever2));
+
+        Executor executor = mock(Executor.class);
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .queryTransformer(queryTransformer)
+                .queryRouter(queryRouter)
+                .executor(executor)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        AugmentationResult result = retrievalAugmentor
+                .augmentAsync(new AugmentationRequest(userMessage, metadata))
+                .join();
+
+        // then
+        assertThat(result.contents()).containsExactlyInAnyOrder(content1, content2);
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void should_augment_asynchronously_with_blocking_components() {
+
+        // given
+        Content content = Content.from("content");
+        ContentRetriever contentRetriever = spy(new TestContentRetriever(content));
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(contentRetriever)
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        AugmentationResult result = retrievalAugmentor
+                .augmentAsync(new AugmentationRequest(userMessage, metadata))
+                .join();
+
+        // then
+        assertThat(result.contents()).containsExactly(content);
+        verify(contentRetriever).retrieve(any());
+    }
+
+    @Test
+    void should_adapt_blocking_components_to_async_and_back() {
+
+        // given
+        Content content = Content.from("content");
+        ContentRetriever contentRetriever = new TestContentRetriever(content);
+        Executor sameThreadExecutor = Runnable::run;
+
+        // when
+        AsyncContentRetriever asyncContentRetriever = AsyncContentRetriever.from(contentRetriever, sameThreadExecutor);
+        AsyncQueryRouter asyncQueryRouter =
+                AsyncQueryRouter.from(new DefaultQueryRouter(asyncContentRetriever), sameThreadExecutor);
+        AsyncQueryTransformer asyncQueryTransformer =
+                AsyncQueryTransformer.from(new DefaultQueryTransformer(), sameThreadExecutor);
+
+        // then
+        Query query = Query.from("query");
+        assertThat(asyncContentRetriever.retrieveAsync(query).toCompletableFuture().join())
+                .containsExactly(content);
+        assertThat(asyncQueryRouter.routeAsync(query).toCompletableFuture().join())
+                .containsExactly(asyncContentRetriever);
+        assertThat(asyncQueryTransformer.transformAsync(query).toCompletableFuture().join())
+                .containsExactly(query);
+
+        // async components are also blocking components
+        assertThat(asyncContentRetriever.retrieve(query)).containsExactly(content);
+        assertThat(AsyncContentRetriever.from(asyncContentRetriever, sameThreadExecutor))
+                .isSameAs(asyncContentRetriever);
+    }
+
+    @Test
+    void should_adapt_blocking_retrieval_augmentor_to_async() {
+
+        // given
+        RetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .contentRetriever(new TestContentRetriever(Content.from("content")))
+                .contentInjector(new TestContentInjector())
+                .build();
+        RetrievalAugmentor blockingRetrievalAugmentor = new RetrievalAugmentor() {
+
+            @Override
+            public AugmentationResult augment(AugmentationRequest augmentationRequest) {
+                return retrievalAugmentor.augment(augmentationRequest);
+            }
+
+            @Override
+            public UserMessage augment(UserMessage userMessage, Metadata metadata) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        AugmentationResult result = AsyncRetrievalAugmentor.from(blockingRetrievalAugmentor, Runnable::run)
+                .augmentAsync(new AugmentationRequest(userMessage, metadata))
+                .toCompletableFuture()
+                .join();
+
+        // then
+        assertThat(result.chatMessage()).isEqualTo(UserMessage.from("query\ncontent"));
+        assertThat(AsyncRetrievalAugmentor.from(retrievalAugmentor)).isSameAs(retrievalAugmentor);
+    }
+
+    @Test
+    void should_embed_all_queries_in_single_batch() {
+
+        // given
+        Query query1 = Query.from("query 1");
+        Query query2 = Query.from("query 2");
+        Query query3 = Query.from("query 3");
+        QueryTransformer queryTransformer = new TestQueryTransformer(query1, query2, query3);
+
+        AtomicInteger embeddingCalls = new AtomicInteger();
+        EmbeddingModel embeddingModel = segments -> {
+            embeddingCalls.incrementAndGet();
+            return Response.from(segments.stream()
+                    .map(segment -> Embedding.from(new float[] {segment.text().length(), 1}))
+                    .collect(toList()));
+        };
+
+        EmbeddingStore<TextSegment> embeddingStore = mock(EmbeddingStore.class);
+        when(embeddingStore.search(any())).thenReturn(new EmbeddingSearchResult<>(emptyList()));
+
+        ContentRetriever contentRetriever1 = EmbeddingStoreContentRetriever.builder()
+                .embeddingStore(embeddingStore)
+                .embeddingModel(embeddingModel)
+                .build();
+        ContentRetriever contentRetriever2 = EmbeddingStoreContentRetriever.builder()
+                .embeddingStore(embeddingStore)
+                .embeddingModel(embeddingModel)
+                .build();
+
+        DefaultRetrievalAugmentor retrievalAugmentor = DefaultRetrievalAugmentor.builder()
+                .queryTransformer(queryTransformer)
+                .queryRouter(new DefaultQueryRouter(contentRetriever1, contentRetriever2))
+                .build();
+
+        UserMessage userMessage = UserMessage.from("query");
+        Metadata metadata = Metadata.from(userMessage, null, null);
+
+        // when
+        retrievalAugmentor.augment(new AugmentationRequest(userMessage, metadata));
+
+        // then
+        assertThat(embeddingCalls.get()).isEqualTo(1);
+        verify(embeddingStore, times(6)).search(any());
+    }
+
     static class TestQueryTransformer implements QueryTransformer {
 
         private final List<Query> queries;
@@ -372,6 +899,31 @@ class DefaultRetrievalAugmentorTest {
         }
     }
 
+    static class SlowContentRetriever implements ContentRetriever {
+
+        private final long delayMillis;
+        private final List<Content> contents;
+
+        SlowContentRetriever(long delayMillis, Content... contents) {
+            this.delayMillis = delayMillis;
+            this.contents = asList(contents);
+        }
+
+        @Override
+        public List<Content> retrieve(Query query) {
+            sleep(delayMillis);
+            return contents;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     static class TestContentAggregator implements ContentAggregator {
 
         @Override
@@ -5,25 +5,35 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.internal.DefaultExecutorProvider;
 import dev.langchain4j.model.output.Response;
 import dev.langchain4j.model.scoring.ScoringModel;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.ContentMetadata;
 import dev.langchain4j.rag.query.Query;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
@@ -240,6 +250,176 @@ class ReRankingContentAggregatorTest {
         assertReRankedContentScore(aggregated, 0.6, 0.5);
     }
 
+    @Test
+    void should_rerank_only_max_candidates() {
+
+        // given
+        Query query = Query.from("query");
+
+        Content content1 = Content.from("content 1");
+        Content content2 = Content.from("content 2");
+        Content content3 = Content.from("content 3");
+
+        Map<Query, Collection<List<Content>>> queryToContents =
+                singletonMap(query, singletonList(asList(content1, content2, content3)));
+
+        ScoringModel scoringModel = mock(ScoringModel.class);
+        when(scoringModel.scoreAll(asList(content1.textSegment(), content2.textSegment()), query.text()))
+                .thenReturn(Response.from(asList(0.5, 0.7)));
+
+        ContentAggregator aggregator = ReRankingContentAggregator.builder()
+                .scoringModel(scoringModel)
+                .maxCandidates(2)
+                .build();
+
+        // when
+        List<Content> aggregated = aggregator.aggregate(queryToContents);
+
+        // then
+        assertReRankedContentOrder(aggregated, content2, content1);
+        assertReRankedContentScore(aggregated, 0.7, 0.5);
+    }
+
+    @Test
+    void should_score_candidates_in_batches() {
+
+        // given
+        Query query = Query.from("query");
+
+        List<Content> contents = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            contents.add(Content.from("content " + i));
+        }
+
+        ScoringModel scoringModel = spy(new LastCharacterScoringModel());
+
+        ContentAggregator aggregator = ReRankingContentAggregator.builder()
+                .scoringModel(scoringModel)
+                .batchSize(2)
+                .build();
+
+        // when
+        List<Content> aggregated = aggregator.aggregate(singletonMap(query, singletonList(contents)));
+
+        // then
+        assertReRankedContentOrder(aggregated, contents.get(4), contents.get(3), contents.get(2), contents.get(1), contents.get(0));
+        verify(scoringModel).scoreAll(asList(contents.get(0).textSegment(), contents.get(1).textSegment()), "query");
+        verify(scoringModel).scoreAll(asList(contents.get(2).textSegment(), contents.get(3).textSegment()), "query");
+        verify(scoringModel).scoreAll(singletonList(contents.get(4).textSegment()), "query");
+        verifyNoMoreInteractions(scoringModel);
+    }
+
+    @Test
+    void should_reuse_cached_scores() {
+
+        // given
+        Query query = Query.from("query");
+
+        Content content1 = Content.from(TextSegment.from("content 1"), singletonMap(ContentMetadata.EMBEDDING_ID, "id 1"));
+        Content content2 = Content.from("content 2");
+        Content content3 = Content.from("content 3");
+
+        ScoringModel scoringModel = spy(new LastCharacterScoringModel());
+
+        ContentAggregator aggregator = ReRankingContentAggregator.builder()
+                .scoringModel(scoringModel)
+                .scoreCacheSize(10)
+                .build();
+
+        aggregator.aggregate(singletonMap(query, singletonList(asList(content1, content2))));
+
+        // when
+        List<Content> aggregated = aggregator.aggregate(singletonMap(query, singletonList(asList(content1, content2, content3))));
+
+        // then
+        assertReRankedContentOrder(aggregated, content3, content2, content1);
+        verify(scoringModel).scoreAll(asList(content1.textSegment(), content2.textSegment()), "query");
+        verify(scoringModel).scoreAll(singletonList(content3.textSegment()), "query");
+        verifyNoMoreInteractions(scoringModel);
+
+        // scores are cached per query
+        aggregator.aggregate(singletonMap(Query.from("other query"), singletonList(singletonList(content1))));
+        verify(scoringModel).scoreAll(singletonList(content1.textSegment()), "other query");
+    }
+
+    @Test
+    void should_rescore_content_updated_under_same_embedding_id() {
+
+        // given
+        Query query = Query.from("query");
+
+        Content content = Content.from(TextSegment.from("content 1"), singletonMap(ContentMetadata.EMBEDDING_ID, "id"));
+        Content updatedContent = Content.from(TextSegment.from("content 2"), singletonMap(ContentMetadata.EMBEDDING_ID, "id"));
+
+        ScoringModel scoringModel = spy(new LastCharacterScoringModel());
+
+        ContentAggregator aggregator = ReRankingContentAggregator.builder()
+                .scoringModel(scoringModel)
+                .scoreCacheSize(10)
+                .build();
+
+        aggregator.aggregate(singletonMap(query, singletonList(singletonList(content))));
+
+        // when
+        List<Content> aggregated = aggregator.aggregate(singletonMap(query, singletonList(singletonList(updatedContent))));
+
+        // then
+        assertReRankedContentScore(aggregated, (double) '2');
+        verify(scoringModel).scoreAll(singletonList(content.textSegment()), "query");
+        verify(scoringModel).scoreAll(singletonList(updatedContent.textSegment()), "query");
+    }
+
+    @Test
+    void should_score_batches_in_caller_thread_when_running_on_bounded_executor() throws Exception {
+
+        // given
+        Query query = Query.from("query");
+
+        List<Content> contents = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            contents.add(Content.from("content " + i));
+        }
+
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ScoringModel scoringModel = (segments, q) -> {
+            threads.add(Thread.currentThread());
+            return new LastCharacterScoringModel().scoreAll(segments, q);
+        };
+
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 10);
+        try {
+            ContentAggregator aggregator = ReRankingContentAggregator.builder()
+                    .scoringModel(scoringModel)
+                    .batchSize(2)
+                    .executor(executor)
+                    .build();
+
+            // when
+            Future<Thread> callerThread = executor.submit(() -> {
+                aggregator.aggregate(singletonMap(query, singletonList(contents)));
+                return Thread.currentThread();
+            });
+
+            // then
+            assertThat(threads).containsExactly(callerThread.get(10, SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Scores segments by their last character, so that "content 5" scores higher than "content 1".
+     */
+    static class LastCharacterScoringModel implements ScoringModel {
+
+        @Override
+        public Response<List<Double>> scoreAll(List<TextSegment> segments, String query) {
+            return Response.from(segments.stream()
+                    .map(segment -> (double) segment.text().charAt(segment.text().length() - 1))
+                    .toList());
+        }
+    }
+
     @ParameterizedTest
     @MethodSource
     void should_return_empty_list_when_there_is_no_content_to_rerank(
@@ -1,6 +1,7 @@
 package dev.langchain4j.rag.content.aggregator;
 
 import dev.langchain4j.rag.content.Content;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -12,6 +13,7 @@ import java.util.stream.Stream;
 import static dev.langchain4j.rag.content.aggregator.ReciprocalRankFuser.fuse;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ReciprocalRankFuserTest {
 
@@ -90,6 +92,38 @@ class ReciprocalRankFuserTest {
                 .build();
     }
 
+    @Test
+    void should_return_top_max_results() {
+
+        Collection<List<Content>> contents = asList(list(A, B, C), list(D, C, B));
+
+        assertThat(fuse(contents, 60, 1)).containsExactly(B);
+        assertThat(fuse(contents, 60, 2)).containsExactly(B, C);
+        assertThat(fuse(contents, 60, 10)).containsExactly(B, C, A, D);
+    }
+
+    @Test
+    void should_fuse_with_weights() {
+
+        List<List<Content>> contents = asList(list(A, B), list(C, D));
+
+        assertThat(fuse(contents, asList(1.0, 1.0), 60, 10)).containsExactly(A, C, B, D);
+        assertThat(fuse(contents, asList(1.0, 2.0), 60, 10)).containsExactly(C, D, A, B);
+        assertThat(fuse(contents, asList(1.0, 2.0), 60, 1)).containsExactly(C);
+    }
+
+    @Test
+    void should_fail_when_weights_do_not_match_lists() {
+
+        List<List<Content>> contents = asList(list(A), list(B));
+
+        assertThatThrownBy(() -> fuse(contents, asList(1.0), 60, 10))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The number of weights (1) must be equal to the number of lists of contents (2)");
+        assertThatThrownBy(() -> fuse(contents, asList(1.0, 0.0), 60, 10))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
     private static List<Content> list(Content... contents) {
         return asList(contents);
     }
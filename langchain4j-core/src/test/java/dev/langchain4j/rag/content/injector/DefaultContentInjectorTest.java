@@ -3,6 +3,7 @@ package dev.langchain4j.rag.content.injector;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.ExampleTestTokenizer;
 import dev.langchain4j.model.input.PromptTemplate;
 import dev.langchain4j.rag.content.Content;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class DefaultContentInjectorTest {
 
@@ -240,4 +242,102 @@ class DefaultContentInjectorTest {
                 ))
                 .build();
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_inject_most_relevant_contents_fitting_into_token_budget() {
+
+        // given
+        UserMessage userMessage = UserMessage.from("Tell me about bananas.");
+
+        List<Content> contents = asList(
+                Content.from("Bananas are awesome!"),
+                Content.from("Bananas are yellow, curved and rich in potassium."),
+                Content.from("Bananas are healthy!")
+        );
+
+        ContentInjector injector = DefaultContentInjector.builder()
+                .tokenizer(new ExampleTestTokenizer())
+                .maxContentTokens(6)
+                .build();
+
+        // when
+        UserMessage injected = injector.inject(contents, userMessage);
+
+        // then
+        assertThat(injected.text()).isEqualTo(
+                """
+                        Tell me about bananas.
+                        
+                        Answer using the following information:
+                        Bananas are awesome!
+                        
+                        Bananas are healthy!"""
+        );
+    }
+
+    @Test
+    void should_not_inject_contents_when_none_fits_into_token_budget() {
+
+        // given
+        UserMessage userMessage = UserMessage.from("Tell me about bananas.");
+
+        List<Content> contents = singletonList(Content.from("Bananas are awesome and healthy!"));
+
+        ContentInjector injector = DefaultContentInjector.builder()
+                .tokenizer(new ExampleTestTokenizer())
+                .maxContentTokens(3)
+                .build();
+
+        // when
+        UserMessage injected = injector.inject(contents, userMessage);
+
+        // then
+        assertThat(injected).isSameAs(userMessage);
+    }
+
+    @Test
+    void should_dedupe_and_merge_adjacent_segments_of_same_document() {
+
+        // given
+        UserMessage userMessage = UserMessage.from("Tell me about bananas.");
+
+        List<Content> contents = asList(
+                Content.from(segment("Bananas grow in clusters. They are", 2)),
+                Content.from("Apples are red."),
+                Content.from(segment("Bananas are berries. Bananas grow in clusters.", 1)),
+                Content.from(segment("Bananas grow in clusters. They are", 2)),
+                Content.from(segment("They are yellow when ripe.", 3)),
+                Content.from(segment("Bananas come from Asia.", 5))
+        );
+
+        ContentInjector injector = DefaultContentInjector.builder()
+                .tokenizer(new ExampleTestTokenizer())
+                .maxContentTokens(18)
+                .build();
+
+        // when
+        UserMessage injected = injector.inject(contents, userMessage);
+
+        // then
+        assertThat(injected.text()).isEqualTo(
+                """
+                        Tell me about bananas.
+                        
+                        Answer using the following information:
+                        Bananas are berries. Bananas grow in clusters. They are yellow when ripe.
+                        
+                        Apples are red."""
+        );
+    }
+
+    @Test
+    void should_fail_when_token_budget_is_set_without_tokenizer() {
+        assertThatThrownBy(() -> DefaultContentInjector.builder().maxContentTokens(100).build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("tokenizer and maxContentTokens must be either both set or both unset");
+    }
+
+    private static TextSegment segment(String text, int index) {
+        return TextSegment.from(text, Metadata.from("file_name", "bananas.txt").put("index", String.valueOf(index)));
+    }
+}
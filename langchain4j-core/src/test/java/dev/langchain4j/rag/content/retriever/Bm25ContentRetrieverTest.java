@@ -0,0 +1,197 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.ContentMetadata;
+import dev.langchain4j.rag.query.Query;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class Bm25ContentRetrieverTest {
+
+    @Test
+    void should_rank_segments_by_bm25_score() {
+
+        // given
+        Bm25ContentRetriever retriever = Bm25ContentRetriever.builder().maxResults(10).build();
+        retriever.addAll(asList(
+                TextSegment.from("The cat sat on the mat."),
+                TextSegment.from("Dogs and cats are popular pets."),
+                TextSegment.from("A black cat chased a black dog."),
+                TextSegment.from("Nothing to see here.")
+        ));
+
+        // when
+        List<Content> contents = retriever.retrieve(Query.from("black cat"));
+
+        // then
+        assertThat(texts(contents)).containsExactly(
+                "A black cat chased a black dog.",
+                "The cat sat on the mat."
+        );
+        assertThat((Double) contents.get(0).metadata().get(ContentMetadata.SCORE))
+                .isGreaterThan((Double) contents.get(1).metadata().get(ContentMetadata.SCORE));
+    }
+
+    @Test
+    void should_return_same_results_as_exhaustive_scoring() {
+
+        // given
+        Random random = new Random(42);
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            segments.add(TextSegment.from(randomText(random, 5 + random.nextInt(30))));
+        }
+
+        Bm25ContentRetriever retriever = Bm25ContentRetriever.builder().maxResults(5).build();
+        retriever.addAll(segments);
+
+        for (int i = 0; i < 50; i++) {
+            String query = randomText(random, 1 + random.nextInt(4));
+
+            // when
+            List<Content> contents = retriever.retrieve(Query.from(query));
+
+            // then
+            List<Map.Entry<TextSegment, Double>> expected = exhaustiveSearch(segments, query, 5);
+            assertThat(contents).hasSize(expected.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertThat(contents.get(j).textSegment()).isSameAs(expected.get(j).getKey());
+                assertThat((Double) contents.get(j).metadata().get(ContentMetadata.SCORE))
+                        .isCloseTo(expected.get(j).getValue(), within(1e-9));
+            }
+        }
+    }
+
+    @Test
+    void should_replace_and_remove_segments() {
+
+        // given
+        Bm25ContentRetriever retriever = Bm25ContentRetriever.builder().maxResults(10).build();
+        retriever.add("1", TextSegment.from("apples and oranges"));
+        retriever.add("2", TextSegment.from("apples and bananas"));
+        retriever.add("3", TextSegment.from("cherries"));
+
+        // when
+        retriever.add("1", TextSegment.from("pears"));
+        boolean removed = retriever.remove("2");
+
+        // then
+        assertThat(removed).isTrue();
+        assertThat(retriever.remove("2")).isFalse();
+        assertThat(retriever.size()).isEqualTo(2);
+        assertThat(retriever.retrieve(Query.from("apples"))).isEmpty();
+        assertThat(texts(retriever.retrieve(Query.from("pears")))).containsExactly("pears");
+
+        retriever.compact();
+        assertThat(retriever.size()).isEqualTo(2);
+        assertThat(texts(retriever.retrieve(Query.from("pears or cherries")))).containsExactlyInAnyOrder("pears", "cherries");
+
+        retriever.removeAll();
+        assertThat(retriever.size()).isZero();
+        assertThat(retriever.retrieve(Query.from("pears"))).isEmpty();
+    }
+
+    @Test
+    void should_apply_filter_and_min_score() {
+
+        // given
+        Bm25ContentRetriever retriever = Bm25ContentRetriever.builder()
+                .maxResults(10)
+                .filter(metadataKey("lang").isEqualTo("en"))
+                .minScore(0.5)
+                .build();
+        retriever.addAll(asList(
+                TextSegment.from("hello world", Metadata.from("lang", "en")),
+                TextSegment.from("hello world", Metadata.from("lang", "de")),
+                TextSegment.from("hello there", Metadata.from("lang", "en")),
+                TextSegment.from("goodbye", Metadata.from("lang", "en"))
+        ));
+
+        // when
+        List<Content> contents = retriever.retrieve(Query.from("world"));
+
+        // then
+        assertThat(contents).hasSize(1);
+        assertThat(contents.get(0).textSegment().metadata().getString("lang")).isEqualTo("en");
+        assertThat(contents.get(0).textSegment().text()).isEqualTo("hello world");
+    }
+
+    @Test
+    void should_analyze_text() {
+        assertThat(Bm25Index.analyze("Hello, World! It's 2024.")).containsExactly("hello", "world", "it", "s", "2024");
+        assertThat(Bm25Index.analyze("  ")).isEmpty();
+    }
+
+    private static List<String> texts(List<Content> contents) {
+        return contents.stream().map(content -> content.textSegment().text()).collect(toList());
+    }
+
+    private static String randomText(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            double z = random.nextGaussian();
+            sb.append("w").append((int) (z * z * 50)).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static List<Map.Entry<TextSegment, Double>> exhaustiveSearch(List<TextSegment> segments,
+                                                                         String query,
+                                                                         int maxResults) {
+        double k1 = Bm25ContentRetriever.DEFAULT_K1;
+        double b = Bm25ContentRetriever.DEFAULT_B;
+
+        List<Map<String, Integer>> termFrequencies = new ArrayList<>();
+        Map<String, Integer> documentFrequencies = new HashMap<>();
+        long totalLength = 0;
+        for (TextSegment segment : segments) {
+            List<String> terms = Bm25Index.analyze(segment.text());
+            totalLength += terms.size();
+            Map<String, Integer> tfs = new HashMap<>();
+            terms.forEach(term -> tfs.merge(term, 1, Integer::sum));
+            tfs.keySet().forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+            termFrequencies.add(tfs);
+        }
+        double averageLength = (double) totalLength / segments.size();
+
+        Map<String, Integer> queryTerms = new HashMap<>();
+        Bm25Index.analyze(query).forEach(term -> queryTerms.merge(term, 1, Integer::sum));
+
+        List<Map.Entry<TextSegment, Double>> scored = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            Map<String, Integer> tfs = termFrequencies.get(i);
+            int length = tfs.values().stream().mapToInt(Integer::intValue).sum();
+            double score = 0;
+            boolean matches = false;
+            for (Map.Entry<String, Integer> queryTerm : queryTerms.entrySet()) {
+                Integer tf = tfs.get(queryTerm.getKey());
+                if (tf == null) {
+                    continue;
+                }
+                matches = true;
+                int df = documentFrequencies.get(queryTerm.getKey());
+                double idf = Math.log(1 + (segments.size() - df + 0.5) / (df + 0.5));
+                score += idf * (k1 + 1) * queryTerm.getValue() * tf / (tf + k1 * (1 - b + b * length / averageLength));
+            }
+            if (matches) {
+                scored.add(Map.entry(segments.get(i), score));
+            }
+        }
+        // stable sort: for equal scores, segments added first come first
+        scored.sort(Map.Entry.<TextSegment, Double>comparingByValue().reversed());
+        return scored.subList(0, Math.min(maxResults, scored.size()));
+    }
+}
@@ -0,0 +1,162 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HybridContentRetrieverTest {
+
+    @Test
+    void should_fuse_results_of_all_retrievers() {
+
+        // given
+        ContentRetriever lexical = query -> asList(
+                Content.from("exact match"),
+                Content.from("shared"),
+                Content.from("lexical only")
+        );
+        ContentRetriever semantic = query -> asList(
+                Content.from("shared"),
+                Content.from("semantic only"),
+                Content.from("exact match")
+        );
+
+        ContentRetriever retriever = HybridContentRetriever.builder()
+                .retrievers(lexical, semantic)
+                .maxResults(3)
+                .build();
+
+        // when
+        List<Content> contents = retriever.retrieve(Query.from("query"));
+
+        // then
+        assertThat(contents).containsExactly(
+                Content.from("shared"),
+                Content.from("exact match"),
+                Content.from("semantic only")
+        );
+    }
+
+    @Test
+    void should_fuse_results_with_weights() {
+
+        // given
+        ContentRetriever lexical = query -> asList(Content.from("lexical 1"), Content.from("lexical 2"));
+        ContentRetriever semantic = query -> asList(Content.from("semantic 1"), Content.from("semantic 2"));
+
+        ContentRetriever retriever = HybridContentRetriever.builder()
+                .retrievers(lexical, semantic)
+                .weights(1.0, 2.0)
+                .maxResults(3)
+                .build();
+
+        // when
+        List<Content> contents = retriever.retrieve(Query.from("query"));
+
+        // then
+        assertThat(contents).containsExactly(
+                Content.from("semantic 1"),
+                Content.from("semantic 2"),
+                Content.from("lexical 1")
+        );
+    }
+
+    @Test
+    void should_call_retrievers_in_caller_thread_when_running_on_bounded_executor() throws Exception {
+
+        // given
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ContentRetriever lexical = query -> {
+            threads.add(Thread.currentThread());
+            return asList(Content.from("lexical"));
+        };
+        ContentRetriever semantic = query -> {
+            threads.add(Thread.currentThread());
+            return asList(Content.from("semantic"));
+        };
+
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 10);
+        try {
+            ContentRetriever retriever = HybridContentRetriever.builder()
+                    .retrievers(lexical, semantic)
+                    .executor(executor)
+                    .build();
+
+            // when
+            Future<Thread> callerThread = executor.submit(() -> {
+                retriever.retrieve(Query.from("query"));
+                return Thread.currentThread();
+            });
+
+            // then
+            assertThat(threads).containsExactly(callerThread.get(10, SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_call_retrievers_concurrently() {
+
+        // given
+        ContentRetriever slow1 = query -> {
+            sleep(300);
+            return asList(Content.from("1"));
+        };
+        ContentRetriever slow2 = query -> {
+            sleep(300);
+            return asList(Content.from("2"));
+        };
+
+        ContentRetriever retriever = HybridContentRetriever.builder()
+                .retrievers(slow1, slow2)
+                .build();
+
+        // when
+        long start = System.nanoTime();
+        List<Content> contents = retriever.retrieve(Query.from("query"));
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        assertThat(contents).containsExactly(Content.from("1"), Content.from("2"));
+        assertThat(durationMillis).isLessThan(550);
+    }
+
+    @Test
+    void should_propagate_failure_of_retriever() {
+
+        // given
+        ContentRetriever failing = query -> {
+            throw new IllegalStateException("failed");
+        };
+
+        ContentRetriever retriever = HybridContentRetriever.builder()
+                .retrievers(query -> asList(Content.from("1")), failing)
+                .build();
+
+        // when-then
+        assertThatThrownBy(() -> retriever.retrieve(Query.from("query")))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("failed");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
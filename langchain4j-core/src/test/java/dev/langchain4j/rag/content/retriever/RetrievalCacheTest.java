@@ -0,0 +1,217 @@
+package dev.langchain4j.rag.content.retriever;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RetrievalCacheTest {
+
+    private EmbeddingStore<TextSegment> embeddingStore;
+    private EmbeddingModel embeddingModel;
+
+    @BeforeEach
+    void beforeEach() {
+        embeddingStore = mock(EmbeddingStore.class);
+        when(embeddingStore.search(any())).thenReturn(new EmbeddingSearchResult<>(asList(
+                new EmbeddingMatch<>(0.9, "id 1", null, TextSegment.from("content 1")),
+                new EmbeddingMatch<>(0.7, "id 2", null, TextSegment.from("content 2"))
+        )));
+
+        embeddingModel = mock(EmbeddingModel.class);
+        when(embeddingModel.embed(anyString())).thenReturn(Response.from(Embedding.from(asList(1f, 2f, 3f))));
+        when(embeddingModel.embed("similar query")).thenReturn(Response.from(Embedding.from(asList(1f, 2f, 3.01f))));
+        when(embeddingModel.embed("different query")).thenReturn(Response.from(Embedding.from(asList(-3f, 2f, -1f))));
+    }
+
+    @Test
+    void should_reuse_results_of_query_with_same_normalized_text() {
+
+        // given
+        RetrievalCache cache = RetrievalCache.builder().build();
+        ContentRetriever contentRetriever = retriever(cache, 3);
+
+        // when
+        List<Content> contents1 = contentRetriever.retrieve(Query.from("What is the capital of France?"));
+        List<Content> contents2 = contentRetriever.retrieve(Query.from("  what is the  capital of france "));
+
+        // then
+        assertThat(contents2).isEqualTo(contents1).hasSize(2);
+        verify(embeddingModel, times(1)).embed(anyString());
+        verify(embeddingStore, times(1)).search(any());
+        assertThat(cache.exactHits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void should_reuse_results_of_semantically_similar_query() {
+
+        // given
+        RetrievalCache cache = RetrievalCache.builder()
+                .semanticSimilarityThreshold(0.99)
+                .build();
+        ContentRetriever contentRetriever = retriever(cache, 3);
+
+        // when
+        contentRetriever.retrieve(Query.from("query"));
+        contentRetriever.retrieve(Query.from("similar query"));
+        contentRetriever.retrieve(Query.from("different query"));
+
+        // then
+        verify(embeddingModel, times(3)).embed(anyString());
+        verify(embeddingStore, times(2)).search(any());
+        assertThat(cache.semanticHits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_reuse_results_of_similar_query_when_semantic_cache_is_disabled() {
+
+        // given
+        RetrievalCache cache = RetrievalCache.builder().build();
+        ContentRetriever contentRetriever = retriever(cache, 3);
+
+        // when
+        contentRetriever.retrieve(Query.from("query"));
+        contentRetriever.retrieve(Query.from("similar query"));
+
+        // then
+        verify(embeddingStore, times(2)).search(any());
+        assertThat(cache.semanticHits()).isZero();
+    }
+
+    @Test
+    void should_not_reuse_results_for_different_search_parameters() {
+
+        // given
+        RetrievalCache cache1 = RetrievalCache.builder().build();
+        RetrievalCache cache2 = RetrievalCache.builder().semanticSimilarityThreshold(0.9).build();
+
+        // when
+        retriever(cache1, 3).retrieve(Query.from("query"));
+        retriever(cache1, 5).retrieve(Query.from("query"));
+        retriever(cache2, 3).retrieve(Query.from("query"));
+        retriever(cache2, 5).retrieve(Query.from("similar query"));
+
+        // then
+        verify(embeddingStore, times(4)).search(any());
+    }
+
+    @Test
+    void should_expire_entries_after_ttl() throws InterruptedException {
+
+        // given
+        RetrievalCache cache = RetrievalCache.builder()
+                .ttl(Duration.ofMillis(50))
+                .build();
+        ContentRetriever contentRetriever = retriever(cache, 3);
+
+        // when
+        contentRetriever.retrieve(Query.from("query"));
+        Thread.sleep(100);
+        contentRetriever.retrieve(Query.from("query"));
+
+        // then
+        verify(embeddingStore, times(2)).search(any());
+    }
+
+    @Test
+    void should_evict_least_recently_used_entries() {
+
+        // given
+        RetrievalCache cache = RetrievalCache.builder()
+                .maxSize(2)
+                .build();
+        ContentRetriever contentRetriever = retriever(cache, 3);
+
+        // when
+        contentRetriever.retrieve(Query.from("query 1"));
+        contentRetriever.retrieve(Query.from("query 2"));
+        contentRetriever.retrieve(Query.from("query 1"));
+        contentRetriever.retrieve(Query.from("query 3"));
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+
+        contentRetriever.retrieve(Query.from("query 1")); // still cached
+        contentRetriever.retrieve(Query.from("query 2")); // evicted
+        verify(embeddingStore, times(4)).search(any());
+    }
+
+    @Test
+    void should_invalidate_when_store_is_written() {
+
+        // given
+        RetrievalCache cache = RetrievalCache.builder().build();
+        ContentRetriever contentRetriever = retriever(cache, 3);
+        EmbeddingStore<TextSegment> invalidatingStore = cache.invalidatingOnWrite(embeddingStore);
+
+        contentRetriever.retrieve(Query.from("query"));
+        assertThat(cache.size()).isEqualTo(1);
+
+        // when
+        invalidatingStore.add(Embedding.from(asList(1f, 2f, 3f)), TextSegment.from("new content"));
+
+        // then
+        assertThat(cache.size()).isZero();
+        verify(embeddingStore).add(any(Embedding.class), any(TextSegment.class));
+
+        contentRetriever.retrieve(Query.from("query"));
+        verify(embeddingStore, times(2)).search(any());
+    }
+
+    @Test
+    void should_normalize_query_text() {
+
+        assertThat(RetrievalCache.normalize("  What is\tthe CAPITAL\n of France?! ")).isEqualTo("what is the capital of france");
+        assertThat(RetrievalCache.normalize("???")).isEmpty();
+        assertThat(RetrievalCache.normalize("What is C++?")).isEqualTo("what is c++");
+        assertThat(RetrievalCache.normalize("What is C#")).isEqualTo("what is c#");
+        assertThat(RetrievalCache.normalize("\"quoted\" question? !")).isEqualTo("\"quoted\" question");
+    }
+
+    @Test
+    void should_not_reuse_results_of_query_differing_in_symbols() {
+
+        // given
+        RetrievalCache cache = RetrievalCache.builder().build();
+        ContentRetriever contentRetriever = retriever(cache, 3);
+
+        // when
+        contentRetriever.retrieve(Query.from("What is C++?"));
+        contentRetriever.retrieve(Query.from("What is C?"));
+
+        // then
+        verify(embeddingStore, times(2)).search(any());
+        assertThat(cache.exactHits()).isZero();
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    private ContentRetriever retriever(RetrievalCache cache, int maxResults) {
+        return EmbeddingStoreContentRetriever.builder()
+                .embeddingStore(embeddingStore)
+                .embeddingModel(embeddingModel)
+                .maxResults(maxResults)
+                .cache(cache)
+                .build();
+    }
+}
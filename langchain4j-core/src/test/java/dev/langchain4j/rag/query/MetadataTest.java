@@ -2,10 +2,16 @@ package dev.langchain4j.rag.query;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.ChatMemory;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -31,6 +37,27 @@ class MetadataTest {
         assertThat(metadata.chatMemory()).isNotSameAs(chatMemory).isEqualTo(chatMemory);
     }
 
+    @Test
+    void should_read_chat_memory_only_when_requested() {
+
+        // given
+        List<ChatMessage> messages = asList(UserMessage.from("Hello"), AiMessage.from("Hi, how can I help you today?"));
+        ChatMemory chatMemory = mock(ChatMemory.class);
+        when(chatMemory.messages()).thenReturn(messages);
+
+        // when
+        Metadata metadata = Metadata.fromChatMemory(UserMessage.from("user message"), 42, chatMemory);
+
+        // then
+        verifyNoInteractions(chatMemory);
+
+        assertThat(metadata.chatMemory()).isEqualTo(messages);
+        assertThat(metadata.chatMemory()).isEqualTo(messages);
+        verify(chatMemory, times(1)).messages();
+
+        assertThat(metadata).isEqualTo(Metadata.from(UserMessage.from("user message"), 42, messages));
+    }
+
     @Test
     void equals_hash_code() {
 
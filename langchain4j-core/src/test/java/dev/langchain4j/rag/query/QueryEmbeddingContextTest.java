@@ -0,0 +1,143 @@
+package dev.langchain4j.rag.query;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryEmbeddingContextTest {
+
+    @Test
+    void should_embed_all_queries_in_single_batch_per_model() {
+
+        // given
+        CountingEmbeddingModel embeddingModel1 = new CountingEmbeddingModel();
+        CountingEmbeddingModel embeddingModel2 = new CountingEmbeddingModel();
+
+        Query query1 = Query.from("a");
+        Query query2 = Query.from("bb");
+        Query query3 = Query.from("ccc");
+        QueryEmbeddingContext context = new QueryEmbeddingContext(asList(query1, query2, query3));
+
+        // when
+        Embedding embedding1 = context.embed(embeddingModel1, query1);
+        Embedding embedding2 = context.embed(embeddingModel1, query2);
+        Embedding embedding3 = context.embed(embeddingModel2, query3);
+
+        // then
+        assertThat(embedding1.vector()).containsExactly(1f);
+        assertThat(embedding2.vector()).containsExactly(2f);
+        assertThat(embedding3.vector()).containsExactly(3f);
+
+        assertThat(embeddingModel1.calls.get()).isEqualTo(1);
+        assertThat(embeddingModel1.embeddedSegments.get()).isEqualTo(3);
+        assertThat(embeddingModel2.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void should_embed_unknown_query_individually() {
+
+        // given
+        CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+        QueryEmbeddingContext context = new QueryEmbeddingContext(asList(Query.from("a"), Query.from("bb")));
+
+        // when
+        Embedding embedding = context.embed(embeddingModel, Query.from("dddd"));
+
+        // then
+        assertThat(embedding.vector()).containsExactly(4f);
+        assertThat(embeddingModel.embeddedSegments.get()).isEqualTo(1);
+    }
+
+    @Test
+    void should_embed_once_when_called_concurrently() throws Exception {
+
+        // given
+        CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+        List<Query> queries = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            queries.add(Query.from("q".repeat(i)));
+        }
+        QueryEmbeddingContext context = new QueryEmbeddingContext(queries);
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            // when
+            List<CompletableFuture<Embedding>> futures = new ArrayList<>();
+            for (Query query : queries) {
+                futures.add(CompletableFuture.supplyAsync(() -> context.embed(embeddingModel, query), executor));
+            }
+
+            // then
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get().vector()).containsExactly(i + 1f);
+            }
+            assertThat(embeddingModel.calls.get()).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_propagate_embedding_failure() {
+
+        // given
+        EmbeddingModel embeddingModel = segments -> {
+            throw new IllegalStateException("failed");
+        };
+        Query query = Query.from("a");
+        QueryEmbeddingContext context = new QueryEmbeddingContext(asList(query));
+
+        // when-then
+        assertThatThrownBy(() -> context.embed(embeddingModel, query))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("failed");
+        assertThatThrownBy(() -> context.embed(embeddingModel, query))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("failed");
+    }
+
+    @Test
+    void should_bind_context_to_current_thread() {
+
+        // given
+        QueryEmbeddingContext context = new QueryEmbeddingContext(asList(Query.from("a")));
+        assertThat(QueryEmbeddingContext.current()).isNull();
+
+        // when
+        QueryEmbeddingContext current = context.callWith(QueryEmbeddingContext::current);
+
+        // then
+        assertThat(current).isSameAs(context);
+        assertThat(QueryEmbeddingContext.current()).isNull();
+    }
+
+    static class CountingEmbeddingModel implements EmbeddingModel {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger embeddedSegments = new AtomicInteger();
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            calls.incrementAndGet();
+            embeddedSegments.addAndGet(textSegments.size());
+            List<Embedding> embeddings = new ArrayList<>();
+            for (TextSegment textSegment : textSegments) {
+                embeddings.add(Embedding.from(new float[]{textSegment.text().length()}));
+            }
+            return Response.from(embeddings);
+        }
+    }
+}
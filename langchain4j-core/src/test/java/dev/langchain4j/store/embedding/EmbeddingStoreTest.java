@@ -1,9 +1,13 @@
 package dev.langchain4j.store.embedding;
 
 import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
 
@@ -84,4 +88,43 @@ class EmbeddingStoreTest implements WithAssertions {
         assertThat(store.findRelevant("abc", referenceEmbedding, 12))
                 .contains(new EmbeddingMatch<>(0.5, "id", referenceEmbedding, "abc, [0.5, 1.5], 12, 0.00"));
     }
+
+    @Test
+    void search_all() {
+        EmbeddingStore<String> store = new MinimalEmbeddingStore();
+
+        Embedding embedding1 = new Embedding(new float[] {0.5f, 1.5f});
+        Embedding embedding2 = new Embedding(new float[] {2.5f, 3.5f});
+
+        List<EmbeddingSearchResult<String>> results = store.searchAll(Arrays.asList(
+                EmbeddingSearchRequest.builder().queryEmbedding(embedding1).maxResults(3).build(),
+                EmbeddingSearchRequest.builder().queryEmbedding(embedding2).maxResults(7).minScore(0.25).build()));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).matches())
+                .containsExactly(new EmbeddingMatch<>(0.5, "id", embedding1, "[0.5, 1.5], 3, 0.00"));
+        assertThat(results.get(1).matches())
+                .containsExactly(new EmbeddingMatch<>(0.5, "id", embedding2, "[2.5, 3.5], 7, 0.25"));
+    }
+
+    @Test
+    void search_all_from_bounded_executor_thread() throws Exception {
+        EmbeddingStore<String> store = new MinimalEmbeddingStore();
+
+        Embedding embedding1 = new Embedding(new float[] {0.5f, 1.5f});
+        Embedding embedding2 = new Embedding(new float[] {2.5f, 3.5f});
+        List<EmbeddingSearchRequest> requests = Arrays.asList(
+                EmbeddingSearchRequest.builder().queryEmbedding(embedding1).maxResults(3).build(),
+                EmbeddingSearchRequest.builder().queryEmbedding(embedding2).maxResults(7).build());
+
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 10);
+        try {
+            List<EmbeddingSearchResult<String>> results =
+                    executor.submit(() -> store.searchAll(requests)).get(10, TimeUnit.SECONDS);
+
+            assertThat(results).hasSize(2);
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
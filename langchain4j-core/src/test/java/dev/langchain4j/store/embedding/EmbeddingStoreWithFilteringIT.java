@@ -1754,6 +1754,43 @@ public abstract class EmbeddingStoreWithFilteringIT extends EmbeddingStoreIT {
     }
 
     @DisabledIf("supportsContains")
+    @Test
+    protected void should_search_all_with_different_filters() {
+        // given
+        TextSegment firstSegment = TextSegment.from("matching", new Metadata().put("key", "a"));
+        TextSegment secondSegment = TextSegment.from("matching", new Metadata().put("key", "b"));
+        embeddingStore().addAll(
+                asList(embeddingModel().embed(firstSegment).content(), embeddingModel().embed(secondSegment).content()),
+                asList(firstSegment, secondSegment));
+
+        awaitUntilAsserted(() -> assertThat(getAllEmbeddings()).hasSize(2));
+
+        Embedding queryEmbedding = embeddingModel().embed("matching").content();
+        EmbeddingSearchRequest firstRequest = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .filter(metadataKey("key").isEqualTo("a"))
+                .build();
+        EmbeddingSearchRequest secondRequest = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .filter(metadataKey("key").isEqualTo("b"))
+                .build();
+        EmbeddingSearchRequest unfilteredRequest = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .build();
+
+        // when
+        List<EmbeddingSearchResult<TextSegment>> results =
+                embeddingStore().searchAll(asList(firstRequest, secondRequest, unfilteredRequest));
+
+        // then
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).matches()).hasSize(1);
+        assertThat(results.get(0).matches().get(0).embedded().metadata().getString("key")).isEqualTo("a");
+        assertThat(results.get(1).matches()).hasSize(1);
+        assertThat(results.get(1).matches().get(0).embedded().metadata().getString("key")).isEqualTo("b");
+        assertThat(results.get(2).matches()).hasSize(2);
+    }
+
     @Test
     protected void should_throw_exception_when_contains_is_not_supported() {
         // given
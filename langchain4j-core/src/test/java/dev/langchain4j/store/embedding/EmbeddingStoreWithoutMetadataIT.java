@@ -420,6 +420,46 @@ public abstract class EmbeddingStoreWithoutMetadataIT {
                 .isEqualTo(relevant);
     }
 
+    @Test
+    void should_search_all() {
+        // given
+        String firstId = randomUUID();
+        Embedding firstEmbedding = embeddingModel().embed("hello").content();
+        embeddingStore().add(firstId, firstEmbedding);
+
+        String secondId = randomUUID();
+        Embedding secondEmbedding = embeddingModel().embed("hi").content();
+        embeddingStore().add(secondId, secondEmbedding);
+
+        awaitUntilAsserted(() -> assertThat(getAllEmbeddings()).hasSize(2));
+
+        EmbeddingSearchRequest firstRequest = EmbeddingSearchRequest.builder()
+                .queryEmbedding(firstEmbedding)
+                .maxResults(1)
+                .build();
+        EmbeddingSearchRequest secondRequest = EmbeddingSearchRequest.builder()
+                .queryEmbedding(secondEmbedding)
+                .maxResults(10)
+                .build();
+
+        // when
+        List<EmbeddingSearchResult<TextSegment>> results = embeddingStore().searchAll(asList(firstRequest, secondRequest));
+
+        // then
+        assertThat(results).hasSize(2);
+
+        List<EmbeddingMatch<TextSegment>> firstMatches = results.get(0).matches();
+        assertThat(firstMatches).hasSize(1);
+        assertThat(firstMatches.get(0).embeddingId()).isEqualTo(firstId);
+        assertThat(firstMatches).isEqualTo(embeddingStore().search(firstRequest).matches());
+
+        List<EmbeddingMatch<TextSegment>> secondMatches = results.get(1).matches();
+        assertThat(secondMatches).hasSize(2);
+        assertThat(secondMatches.get(0).embeddingId()).isEqualTo(secondId);
+        assertThat(secondMatches.get(1).embeddingId()).isEqualTo(firstId);
+        assertThat(secondMatches).isEqualTo(embeddingStore().search(secondRequest).matches());
+    }
+
     protected List<EmbeddingMatch<TextSegment>> getAllEmbeddings() {
         EmbeddingSearchRequest embeddingSearchRequest = EmbeddingSearchRequest.builder()
                 .queryEmbedding(embeddingModel().embed("test").content())
@@ -2,14 +2,41 @@ package dev.langchain4j.store.embedding.elasticsearch;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultisearchBody;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class ElasticsearchConfiguration {
     abstract SearchResponse<Document> internalSearch(ElasticsearchClient client,
                                             String indexName,
                                             EmbeddingSearchRequest embeddingSearchRequest)
             throws ElasticsearchException, IOException;
+
+    /**
+     * Builds the body of one search of a multi search request, equivalent to the search sent by
+     * {@link #internalSearch(ElasticsearchClient, String, EmbeddingSearchRequest)}.
+     */
+    abstract MultisearchBody multisearchBody(EmbeddingSearchRequest embeddingSearchRequest) throws IOException;
+
+    /**
+     * Sends all the searches in a single multi search request.
+     * The responses are in the same order as the requests.
+     */
+    MsearchResponse<Document> internalSearchAll(ElasticsearchClient client,
+                                                String indexName,
+                                                List<EmbeddingSearchRequest> embeddingSearchRequests)
+            throws ElasticsearchException, IOException {
+        List<RequestItem> searches = new ArrayList<>(embeddingSearchRequests.size());
+        for (EmbeddingSearchRequest embeddingSearchRequest : embeddingSearchRequests) {
+            MultisearchBody body = multisearchBody(embeddingSearchRequest);
+            searches.add(RequestItem.of(item -> item.header(header -> header).body(body)));
+        }
+        return client.msearch(msearch -> msearch.index(indexName).searches(searches), Document.class);
+    }
 }
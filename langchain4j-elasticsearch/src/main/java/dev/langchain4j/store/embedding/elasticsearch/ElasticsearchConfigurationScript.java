@@ -6,6 +6,7 @@ import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.ScriptScoreQuery;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultisearchBody;
 import co.elastic.clients.json.JsonData;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -54,6 +55,15 @@ public class ElasticsearchConfigurationScript extends ElasticsearchConfiguration
         );
     }
 
+    @Override
+    MultisearchBody multisearchBody(EmbeddingSearchRequest embeddingSearchRequest) throws IOException {
+        ScriptScoreQuery scriptScoreQuery = buildDefaultScriptScoreQuery(embeddingSearchRequest.queryEmbedding().vector(),
+                (float) embeddingSearchRequest.minScore(), embeddingSearchRequest.filter());
+        return MultisearchBody.of(body -> body
+                .query(n -> n.scriptScore(scriptScoreQuery))
+                .size(embeddingSearchRequest.maxResults()));
+    }
+
     private ScriptScoreQuery buildDefaultScriptScoreQuery(float[] vector, float minScore,
                                                           Filter filter) throws JsonProcessingException {
         JsonData queryVector = toJsonData(vector);
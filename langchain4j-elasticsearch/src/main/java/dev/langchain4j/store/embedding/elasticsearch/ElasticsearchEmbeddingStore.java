@@ -8,8 +8,11 @@ import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.DeleteByQueryResponse;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.search.HitsMetadata;
 import co.elastic.clients.json.JsonpMapper;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
@@ -35,6 +38,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -289,7 +293,7 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
             SearchResponse<Document> response = configuration.internalSearch(client, indexName, embeddingSearchRequest);
             log.trace("found [{}] results", response);
 
-            List<EmbeddingMatch<TextSegment>> results = toMatches(response);
+            List<EmbeddingMatch<TextSegment>> results = toMatches(response.hits());
             results.forEach(em -> log.debug("doc [{}] scores [{}]", em.embeddingId(), em.score()));
             return new EmbeddingSearchResult<>(results);
         } catch (ElasticsearchException | IOException e) {
@@ -297,6 +301,34 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         }
     }
 
+    /**
+     * Sends all the searches to Elasticsearch in a single
+     * <a href="https://www.elastic.co/guide/en/elasticsearch/reference/current/search-multi-search.html">multi search</a> request.
+     */
+    @Override
+    public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> requests) {
+        ensureNotNull(requests, "requests");
+        if (requests.isEmpty()) {
+            return emptyList();
+        }
+        log.debug("searchAll([...{}...])", requests.size());
+        try {
+            MsearchResponse<Document> response = configuration.internalSearchAll(client, indexName, requests);
+            log.trace("found [{}] results", response);
+
+            List<EmbeddingSearchResult<TextSegment>> results = new ArrayList<>(requests.size());
+            for (MultiSearchResponseItem<Document> item : response.responses()) {
+                if (item.isFailure()) {
+                    throwIfError(item.failure().error());
+                }
+                results.add(new EmbeddingSearchResult<>(toMatches(item.result().hits())));
+            }
+            return results;
+        } catch (ElasticsearchException | IOException e) {
+            throw new ElasticsearchRequestFailedException(e);
+        }
+    }
+
     @Override
     public void removeAll(Collection<String> ids) {
         ensureNotEmpty(ids, "ids");
@@ -418,8 +450,8 @@ public class ElasticsearchEmbeddingStore implements EmbeddingStore<TextSegment>
         handleBulkResponseErrors(response);
     }
 
-    private List<EmbeddingMatch<TextSegment>> toMatches(SearchResponse<Document> response) {
-        return response.hits().hits().stream()
+    private List<EmbeddingMatch<TextSegment>> toMatches(HitsMetadata<Document> hits) {
+        return hits.hits().stream()
                 .map(hit -> Optional.ofNullable(hit.source())
                         .map(document -> new EmbeddingMatch<>(
                                 hit.score(),
@@ -55,14 +55,14 @@ class CollectionRequestBuilder {
 
     static SearchParam buildSearchRequest(String collectionName,
                                           FieldDefinition fieldDefinition,
-                                          List<Float> vector,
+                                          List<List<Float>> vectors,
                                           Filter filter,
                                           int maxResults,
                                           MetricType metricType,
                                           ConsistencyLevelEnum consistencyLevel) {
         SearchParam.Builder builder = SearchParam.newBuilder()
                 .withCollectionName(collectionName)
-                .withVectors(singletonList(vector))
+                .withVectors(vectors)
                 .withVectorFieldName(fieldDefinition.getVectorFieldName())
                 .withTopK(maxResults)
                 .withMetricType(metricType)
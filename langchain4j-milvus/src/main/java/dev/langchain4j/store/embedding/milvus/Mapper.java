@@ -64,28 +64,35 @@ class Mapper {
 
     static List<EmbeddingMatch<TextSegment>> toEmbeddingMatches(MilvusServiceClient milvusClient,
                                                                 SearchResultsWrapper resultsWrapper,
+                                                                int indexOfTarget,
                                                                 String collectionName,
                                                                 FieldDefinition fieldDefinition,
                                                                 ConsistencyLevelEnum consistencyLevel,
                                                                 boolean queryForVectorOnSearch) {
         List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>();
 
+        List<SearchResultsWrapper.IDScore> idScores;
+        List<RowRecord> rowRecords;
+        try {
+            idScores = resultsWrapper.getIDScore(indexOfTarget);
+            rowRecords = resultsWrapper.getRowRecords(indexOfTarget);
+        } catch (ParamException e) {
+            // There is no way to check if the result is empty or not.
+            // If the result is empty, the exception will be thrown.
+            return matches;
+        }
+
         Map<String, Embedding> idToEmbedding = new HashMap<>();
-        if (queryForVectorOnSearch) {
-            try {
-                List<String> rowIds = (List<String>) resultsWrapper.getFieldWrapper(fieldDefinition.getIdFieldName()).getFieldData();
-                idToEmbedding.putAll(queryEmbeddings(milvusClient, collectionName, fieldDefinition, rowIds, consistencyLevel));
-            } catch (ParamException e) {
-                // There is no way to check if the result is empty or not.
-                // If the result is empty, the exception will be thrown.
-            }
+        if (queryForVectorOnSearch && !idScores.isEmpty()) {
+            List<String> rowIds = idScores.stream().map(SearchResultsWrapper.IDScore::getStrID).collect(toList());
+            idToEmbedding.putAll(queryEmbeddings(milvusClient, collectionName, fieldDefinition, rowIds, consistencyLevel));
         }
 
-        for (int i = 0; i < resultsWrapper.getRowRecords().size(); i++) {
-            double score = resultsWrapper.getIDScore(0).get(i).getScore();
-            String rowId = resultsWrapper.getIDScore(0).get(i).getStrID();
+        for (int i = 0; i < rowRecords.size(); i++) {
+            double score = idScores.get(i).getScore();
+            String rowId = idScores.get(i).getStrID();
             Embedding embedding = idToEmbedding.get(rowId);
-            TextSegment textSegment = toTextSegment(resultsWrapper.getRowRecords().get(i), fieldDefinition);
+            TextSegment textSegment = toTextSegment(rowRecords.get(i), fieldDefinition);
             EmbeddingMatch<TextSegment> embeddingMatch = new EmbeddingMatch<>(
                     RelevanceScore.fromCosineSimilarity(score),
                     rowId,
@@ -20,7 +20,9 @@ import io.milvus.response.SearchResultsWrapper;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.Utils.isNullOrEmpty;
@@ -46,6 +48,7 @@ import static io.milvus.param.IndexType.FLAT;
 import static io.milvus.param.MetricType.COSINE;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
@@ -197,7 +200,7 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
         SearchParam searchParam = buildSearchRequest(
                 collectionName,
                 fieldDefinition,
-                embeddingSearchRequest.queryEmbedding().vectorAsList(),
+                singletonList(embeddingSearchRequest.queryEmbedding().vectorAsList()),
                 embeddingSearchRequest.filter(),
                 embeddingSearchRequest.maxResults(),
                 metricType,
@@ -209,6 +212,7 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
         List<EmbeddingMatch<TextSegment>> matches = toEmbeddingMatches(
                 milvusClient,
                 resultsWrapper,
+                0,
                 collectionName,
                 fieldDefinition,
                 consistencyLevel,
@@ -222,6 +226,61 @@ public class MilvusEmbeddingStore implements EmbeddingStore<TextSegment> {
         return new EmbeddingSearchResult<>(result);
     }
 
+    /**
+     * Searches for all requests with as few calls to Milvus as possible:
+     * the query vectors of all requests with the same {@link Filter} are sent in a single search request.
+     * Such a request uses the largest {@code maxResults} of its group, and the results are then truncated per query.
+     */
+    @Override
+    public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> requests) {
+        ensureNotNull(requests, "requests");
+
+        Map<Filter, List<Integer>> requestIndexesByFilter = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            requestIndexesByFilter.computeIfAbsent(requests.get(i).filter(), filter -> new ArrayList<>()).add(i);
+        }
+
+        List<EmbeddingSearchResult<TextSegment>> results = new ArrayList<>(nCopies(requests.size(), null));
+        requestIndexesByFilter.forEach((filter, requestIndexes) -> {
+            List<List<Float>> vectors = new ArrayList<>(requestIndexes.size());
+            int maxResults = 0;
+            for (int requestIndex : requestIndexes) {
+                EmbeddingSearchRequest request = requests.get(requestIndex);
+                vectors.add(request.queryEmbedding().vectorAsList());
+                maxResults = Math.max(maxResults, request.maxResults());
+            }
+
+            SearchParam searchParam = buildSearchRequest(
+                    collectionName,
+                    fieldDefinition,
+                    vectors,
+                    filter,
+                    maxResults,
+                    metricType,
+                    consistencyLevel
+            );
+            SearchResultsWrapper resultsWrapper = CollectionOperationsExecutor.search(milvusClient, searchParam);
+
+            for (int i = 0; i < requestIndexes.size(); i++) {
+                EmbeddingSearchRequest request = requests.get(requestIndexes.get(i));
+                List<EmbeddingMatch<TextSegment>> matches = toEmbeddingMatches(
+                        milvusClient,
+                        resultsWrapper,
+                        i,
+                        collectionName,
+                        fieldDefinition,
+                        consistencyLevel,
+                        retrieveEmbeddingsOnSearch
+                ).stream()
+                        .filter(match -> match.score() >= request.minScore())
+                        .limit(request.maxResults())
+                        .collect(toList());
+                results.set(requestIndexes.get(i), new EmbeddingSearchResult<>(matches));
+            }
+        });
+        return results;
+    }
+
     private void addInternal(String id, Embedding embedding, TextSegment textSegment) {
         addAll(
                 singletonList(id),
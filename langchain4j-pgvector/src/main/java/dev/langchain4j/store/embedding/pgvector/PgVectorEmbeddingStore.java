@@ -293,19 +293,7 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
             try (PreparedStatement selectStmt = connection.prepareStatement(query)) {
                 try (ResultSet resultSet = selectStmt.executeQuery()) {
                     while (resultSet.next()) {
-                        double score = resultSet.getDouble("score");
-                        String embeddingId = resultSet.getString("embedding_id");
-
-                        PGvector vector = (PGvector) resultSet.getObject("embedding");
-                        Embedding embedding = new Embedding(vector.toArray());
-
-                        String text = resultSet.getString("text");
-                        TextSegment textSegment = null;
-                        if (isNotNullOrBlank(text)) {
-                            Metadata metadata = metadataHandler.fromResultSet(resultSet);
-                            textSegment = TextSegment.from(text, metadata);
-                        }
-                        result.add(new EmbeddingMatch<>(score, embeddingId, embedding, textSegment));
+                        result.add(toEmbeddingMatch(resultSet));
                     }
                 }
             }
@@ -315,6 +303,80 @@ public class PgVectorEmbeddingStore implements EmbeddingStore<TextSegment> {
         return new EmbeddingSearchResult<>(result);
     }
 
+    /**
+     * Searches for all requests in a single query.
+     * The requests sharing the same {@link Filter} are listed in a {@code VALUES} list that is joined
+     * with the table using {@code CROSS JOIN LATERAL}, so that each of them keeps its own query embedding,
+     * {@code minScore} and {@code maxResults}. The requests with different filters are combined with {@code UNION ALL}.
+     */
+    @Override
+    public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> requests) {
+        ensureNotNull(requests, "requests");
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Filter, List<Integer>> requestIndexesByFilter = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            requestIndexesByFilter.computeIfAbsent(requests.get(i).filter(), filter -> new ArrayList<>()).add(i);
+        }
+
+        List<String> subqueries = new ArrayList<>();
+        requestIndexesByFilter.forEach((filter, requestIndexes) -> {
+            List<String> values = new ArrayList<>();
+            for (int requestIndex : requestIndexes) {
+                EmbeddingSearchRequest request = requests.get(requestIndex);
+                values.add(String.format("(%s, '%s'::vector, cast(%s as numeric), %s)",
+                        requestIndex, Arrays.toString(request.queryEmbedding().vector()),
+                        request.minScore(), request.maxResults()));
+            }
+            String whereClause = (filter == null) ? "" : metadataHandler.whereClause(filter);
+            whereClause = (whereClause.isEmpty()) ? "" : "AND " + whereClause;
+            subqueries.add(String.format(
+                    "SELECT q.query_index, m.* FROM (VALUES %s) " +
+                    "AS q(query_index, query_vector, query_min_score, query_max_results) CROSS JOIN LATERAL (" +
+                    "SELECT (2 - (embedding <=> q.query_vector)) / 2 AS score, embedding_id, embedding, text, %s FROM %s " +
+                    "WHERE round(cast(float8 (embedding <=> q.query_vector) as numeric), 8) <= round(2 - 2 * q.query_min_score, 8) %s " +
+                    "ORDER BY embedding <=> q.query_vector LIMIT q.query_max_results) AS m",
+                    join(",", values), join(",", metadataHandler.columnsNames()), table, whereClause
+            ));
+        });
+        String query = "(" + join(") UNION ALL (", subqueries) + ") ORDER BY query_index, score DESC;";
+
+        List<List<EmbeddingMatch<TextSegment>>> matches = new ArrayList<>(requests.size());
+        requests.forEach(request -> matches.add(new ArrayList<>()));
+        try (Connection connection = getConnection()) {
+            try (PreparedStatement selectStmt = connection.prepareStatement(query)) {
+                try (ResultSet resultSet = selectStmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        matches.get(resultSet.getInt("query_index")).add(toEmbeddingMatch(resultSet));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return matches.stream()
+                .map(EmbeddingSearchResult::new)
+                .collect(toList());
+    }
+
+    private EmbeddingMatch<TextSegment> toEmbeddingMatch(ResultSet resultSet) throws SQLException {
+        double score = resultSet.getDouble("score");
+        String embeddingId = resultSet.getString("embedding_id");
+
+        PGvector vector = (PGvector) resultSet.getObject("embedding");
+        Embedding embedding = new Embedding(vector.toArray());
+
+        String text = resultSet.getString("text");
+        TextSegment textSegment = null;
+        if (isNotNullOrBlank(text)) {
+            Metadata metadata = metadataHandler.fromResultSet(resultSet);
+            textSegment = TextSegment.from(text, metadata);
+        }
+        return new EmbeddingMatch<>(score, embeddingId, embedding, textSegment);
+    }
+
     private void addInternal(String id, Embedding embedding, TextSegment embedded) {
         addAll(
                 singletonList(id),
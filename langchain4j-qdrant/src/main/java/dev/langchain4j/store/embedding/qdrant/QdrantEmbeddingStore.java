@@ -21,6 +21,7 @@ import io.qdrant.client.QdrantGrpcClient;
 import io.qdrant.client.WithVectorsSelectorFactory;
 import io.qdrant.client.grpc.JsonWithInt.Value;
 import io.qdrant.client.grpc.Points;
+import io.qdrant.client.grpc.Points.BatchResult;
 import io.qdrant.client.grpc.Points.DeletePoints;
 import io.qdrant.client.grpc.Points.Filter;
 import io.qdrant.client.grpc.Points.PointStruct;
@@ -230,6 +231,48 @@ public class QdrantEmbeddingStore implements EmbeddingStore<TextSegment> {
   @Override
   public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
 
+    List<ScoredPoint> results;
+
+    try {
+      results = client.searchAsync(toSearchPoints(request)).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+
+    return toSearchResult(results, request);
+  }
+
+  /**
+   * Performs all searches in a single batch request to Qdrant.
+   *
+   * @param requests The requests to search with.
+   * @return The {@link EmbeddingSearchResult}s, in the same order as the requests.
+   */
+  @Override
+  public List<EmbeddingSearchResult<TextSegment>> searchAll(List<EmbeddingSearchRequest> requests) {
+    if (requests.size() <= 1) {
+      return requests.stream().map(this::search).collect(toList());
+    }
+
+    List<SearchPoints> searches = requests.stream().map(this::toSearchPoints).collect(toList());
+
+    List<BatchResult> batchResults;
+
+    try {
+      batchResults = client.searchBatchAsync(collectionName, searches, null).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+
+    List<EmbeddingSearchResult<TextSegment>> results = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      results.add(toSearchResult(batchResults.get(i).getResultList(), requests.get(i)));
+    }
+    return results;
+  }
+
+  private SearchPoints toSearchPoints(EmbeddingSearchRequest request) {
+
     SearchPoints.Builder searchBuilder = SearchPoints.newBuilder()
         .setCollectionName(collectionName)
         .addAllVector(request.queryEmbedding().vectorAsList())
@@ -242,13 +285,10 @@ public class QdrantEmbeddingStore implements EmbeddingStore<TextSegment> {
       searchBuilder.setFilter(filter);
     }
 
-    List<ScoredPoint> results;
+    return searchBuilder.build();
+  }
 
-    try {
-      results = client.searchAsync(searchBuilder.build()).get();
-    } catch (InterruptedException | ExecutionException e) {
-      throw new RuntimeException(e);
-    }
+  private EmbeddingSearchResult<TextSegment> toSearchResult(List<ScoredPoint> results, EmbeddingSearchRequest request) {
 
     if (results.isEmpty()) {
       return new EmbeddingSearchResult<>(emptyList());
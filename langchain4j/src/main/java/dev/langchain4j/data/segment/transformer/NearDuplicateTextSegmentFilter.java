@@ -0,0 +1,346 @@
+package dev.langchain4j.data.segment.transformer;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.data.segment.TextSegmentTransformer;
+import dev.langchain4j.store.embedding.EmbeddingStoreIngestor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+/**
+ * A {@link TextSegmentTransformer} that filters out near-duplicate {@link TextSegment}s
+ * (e.g. boilerplate headers, repeated footers, mirrored pages) before they are embedded.
+ * It is intended to be used with {@link EmbeddingStoreIngestor.Builder#textSegmentTransformer(TextSegmentTransformer)}.
+ * <br>
+ * <br>
+ * Each segment is normalized (lower-cased, split into words) and converted into a set of word shingles
+ * (sequences of {@code shingleSize} consecutive words) using a rolling hash.
+ * A MinHash signature is computed from the shingles, and locality-sensitive hashing (LSH) with
+ * {@code bands} bands of {@code rowsPerBand} rows is used to find candidate duplicates among the segments seen so far.
+ * A segment is considered a near-duplicate when the Jaccard similarity of its shingles
+ * with one of the candidates, as estimated from the signatures, is at least {@code threshold}.
+ * The first occurrence is kept, all subsequent near-duplicates are filtered out.
+ * Segments without any words (e.g. consisting of punctuation only) have no shingles to compare,
+ * so they are never considered near-duplicates and are always kept.
+ * <br>
+ * <br>
+ * This transformer is stateful: segments are deduplicated across all invocations,
+ * so it can be reused across multiple ingestion batches of the same corpus. Use {@link #reset()} to start over.
+ * Only the signatures of the kept segments are retained, in compact primitive arrays
+ * ({@code 4 * bands * rowsPerBand} bytes plus LSH index per segment), so millions of segments can be tracked in memory.
+ * <br>
+ * <br>
+ * This transformer is thread-safe.
+ */
+public class NearDuplicateTextSegmentFilter implements TextSegmentTransformer {
+
+    private static final int DEFAULT_SHINGLE_SIZE = 5;
+    private static final int DEFAULT_BANDS = 16;
+    private static final int DEFAULT_ROWS_PER_BAND = 4;
+    private static final double DEFAULT_THRESHOLD = 0.8;
+
+    private static final long ROLLING_HASH_BASE = 0x100000001B3L;
+
+    private final int shingleSize;
+    private final int bands;
+    private final int rowsPerBand;
+    private final int signatureSize;
+    private final double threshold;
+    private final long[] seeds;
+    private final long rollingHashBaseToShingleSize;
+
+    private int[] signatures;
+    private int[] bucketChains;
+    private LongIntHashMap buckets;
+    private int keptSegments;
+    private long processedSegments;
+    private long filteredSegments;
+
+    public NearDuplicateTextSegmentFilter() {
+        this(null, null, null, null);
+    }
+
+    /**
+     * @param shingleSize The number of consecutive words in a shingle. Default: 5
+     * @param bands       The number of LSH bands. Default: 16
+     * @param rowsPerBand The number of MinHash values in each LSH band. Default: 4
+     * @param threshold   The minimum estimated Jaccard similarity for a segment to be considered a near-duplicate.
+     *                    Default: 0.8
+     */
+    public NearDuplicateTextSegmentFilter(Integer shingleSize, Integer bands, Integer rowsPerBand, Double threshold) {
+        this.shingleSize = ensureGreaterThanZero(getOrDefault(shingleSize, DEFAULT_SHINGLE_SIZE), "shingleSize");
+        this.bands = ensureGreaterThanZero(getOrDefault(bands, DEFAULT_BANDS), "bands");
+        this.rowsPerBand = ensureGreaterThanZero(getOrDefault(rowsPerBand, DEFAULT_ROWS_PER_BAND), "rowsPerBand");
+        this.threshold = ensureBetween(getOrDefault(threshold, DEFAULT_THRESHOLD), 0.0, 1.0, "threshold");
+        this.signatureSize = this.bands * this.rowsPerBand;
+
+        this.seeds = new long[signatureSize];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < signatureSize; i++) {
+            seed = mix(seed + i);
+            seeds[i] = seed;
+        }
+
+        long power = 1;
+        for (int i = 0; i < this.shingleSize - 1; i++) {
+            power *= ROLLING_HASH_BASE;
+        }
+        this.rollingHashBaseToShingleSize = power;
+
+        reset();
+    }
+
+    @Override
+    public synchronized TextSegment transform(TextSegment segment) {
+        ensureNotNull(segment, "segment");
+        processedSegments++;
+        int[] signature = signature(segment.text());
+        if (signature == null) {
+            return segment;
+        }
+        if (isNearDuplicate(signature)) {
+            filteredSegments++;
+            return null;
+        }
+        add(signature);
+        return segment;
+    }
+
+    @Override
+    public synchronized List<TextSegment> transformAll(List<TextSegment> segments) {
+        List<TextSegment> kept = new ArrayList<>(segments.size());
+        for (TextSegment segment : segments) {
+            TextSegment transformed = transform(segment);
+            if (transformed != null) {
+                kept.add(transformed);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * @return the number of segments processed since the creation or the last {@link #reset()}.
+     */
+    public synchronized long processedSegments() {
+        return processedSegments;
+    }
+
+    /**
+     * @return the number of segments filtered out as near-duplicates since the creation or the last {@link #reset()}.
+     */
+    public synchronized long filteredSegments() {
+        return filteredSegments;
+    }
+
+    /**
+     * @return the ratio of segments filtered out as near-duplicates to all processed segments,
+     * or 0 if no segments were processed.
+     */
+    public synchronized double duplicateRatio() {
+        return processedSegments == 0 ? 0.0 : (double) filteredSegments / processedSegments;
+    }
+
+    /**
+     * Forgets all the segments seen so far and resets the statistics.
+     */
+    public synchronized void reset() {
+        signatures = new int[signatureSize * 1024];
+        bucketChains = new int[bands * 1024];
+        buckets = new LongIntHashMap(bands * 1024);
+        keptSegments = 0;
+        processedSegments = 0;
+        filteredSegments = 0;
+    }
+
+    /**
+     * @return the MinHash signature of the text, or {@code null} if the text contains no words.
+     */
+    private int[] signature(String text) {
+        long[] minHashes = new long[signatureSize];
+        Arrays.fill(minHashes, Long.MAX_VALUE);
+
+        long[] window = new long[shingleSize];
+        int wordCount = 0;
+        long rollingHash = 0;
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            long wordHash = 0xCBF29CE484222325L;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                wordHash = (wordHash ^ Character.toLowerCase(text.charAt(i))) * 0x100000001B3L;
+                i++;
+            }
+            wordHash = mix(wordHash);
+
+            int slot = wordCount % shingleSize;
+            if (wordCount >= shingleSize) {
+                rollingHash -= window[slot] * rollingHashBaseToShingleSize;
+            }
+            rollingHash = rollingHash * ROLLING_HASH_BASE + wordHash;
+            window[slot] = wordHash;
+            wordCount++;
+
+            if (wordCount >= shingleSize) {
+                updateMinHashes(minHashes, rollingHash);
+            }
+        }
+
+        if (wordCount == 0) {
+            return null;
+        }
+        if (wordCount < shingleSize) {
+            // text is shorter than a single shingle: all its words form one shingle
+            updateMinHashes(minHashes, rollingHash);
+        }
+
+        int[] signature = new int[signatureSize];
+        for (int j = 0; j < signatureSize; j++) {
+            signature[j] = (int) minHashes[j];
+        }
+        return signature;
+    }
+
+    private void updateMinHashes(long[] minHashes, long shingleHash) {
+        for (int j = 0; j < signatureSize; j++) {
+            long hash = mix(shingleHash ^ seeds[j]);
+            if (hash < minHashes[j]) {
+                minHashes[j] = hash;
+            }
+        }
+    }
+
+    private boolean isNearDuplicate(int[] signature) {
+        for (int band = 0; band < bands; band++) {
+            int candidate = buckets.get(bucketKey(signature, band));
+            while (candidate >= 0) {
+                if (estimatedSimilarity(signature, candidate) >= threshold) {
+                    return true;
+                }
+                candidate = bucketChains[candidate * bands + band];
+            }
+        }
+        return false;
+    }
+
+    private void add(int[] signature) {
+        int id = keptSegments++;
+        ensureCapacity(keptSegments);
+        System.arraycopy(signature, 0, signatures, id * signatureSize, signatureSize);
+        for (int band = 0; band < bands; band++) {
+            bucketChains[id * bands + band] = buckets.put(bucketKey(signature, band), id);
+        }
+    }
+
+    private void ensureCapacity(int segmentCount) {
+        if ((long) segmentCount * signatureSize > signatures.length) {
+            int newCapacity = Math.max(segmentCount, (int) Math.min(Integer.MAX_VALUE / signatureSize, segmentCount * 2L));
+            signatures = Arrays.copyOf(signatures, newCapacity * signatureSize);
+            bucketChains = Arrays.copyOf(bucketChains, newCapacity * bands);
+        }
+    }
+
+    private double estimatedSimilarity(int[] signature, int candidate) {
+        int offset = candidate * signatureSize;
+        int equal = 0;
+        for (int j = 0; j < signatureSize; j++) {
+            if (signatures[offset + j] == signature[j]) {
+                equal++;
+            }
+        }
+        return (double) equal / signatureSize;
+    }
+
+    private long bucketKey(int[] signature, int band) {
+        long hash = band;
+        int offset = band * rowsPerBand;
+        for (int j = 0; j < rowsPerBand; j++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[offset + j];
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Minimal open-addressing hash map from {@code long} keys to {@code int} values
+     * that avoids boxing. Returns -1 for absent keys.
+     */
+    private static class LongIntHashMap {
+
+        private long[] keys;
+        private int[] values;
+        private boolean[] used;
+        private int size;
+
+        LongIntHashMap(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            used = new boolean[capacity];
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) key & mask; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return the previous value, or -1 if there was none.
+         */
+        int put(long key, int value) {
+            int mask = keys.length - 1;
+            int i = (int) key & mask;
+            for (; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    int previous = values[i];
+                    values[i] = value;
+                    return previous;
+                }
+            }
+            used[i] = true;
+            keys[i] = key;
+            values[i] = value;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return -1;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package dev.langchain4j.memory.chat;
+
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
+
+/**
+ * A bounded registry of {@link ChatMemory} instances, one per memory ID, used by AI Services
+ * (see {@code AiServices.chatMemoryProvider(ChatMemoryProvider, ChatMemoryRegistry)})
+ * to hold the {@link ChatMemory} obtained from a {@link ChatMemoryProvider} for each user/conversation.
+ * <br>
+ * Unlike an unbounded map, it evicts:
+ * <pre>
+ * - the least recently used {@link ChatMemory} instances, when there are more than {@code maxChatMemories}
+ * - the {@link ChatMemory} instances that have not been used for longer than {@code idleTimeout}
+ * </pre>
+ * An evicted {@link ChatMemory} is simply obtained again from the {@link ChatMemoryProvider}
+ * the next time its memory ID is used. The {@link ChatMemory} implementations provided by LangChain4j
+ * write every change through to their {@link ChatMemoryStore}, so no message is lost when a persistent
+ * {@link ChatMemoryStore} is used. For {@link ChatMemory} implementations buffering changes,
+ * an {@code evictionListener} can be configured to write them behind, e.g., to a {@link ChatMemoryStore}.
+ * <br>
+ * Eviction is amortized: the registry may briefly hold slightly more than {@code maxChatMemories} instances,
+ * and when it is full, about 1% of the instances are evicted at once.
+ * <br>
+ * <br>
+ * Configurable parameters (optional):
+ * <br>
+ * - {@code maxChatMemories}: The maximum number of {@link ChatMemory} instances to hold. Default: unbounded
+ * <br>
+ * - {@code idleTimeout}: The duration after which an unused {@link ChatMemory} is evicted. Default: none
+ * <br>
+ * - {@code evictionListener}: Called with each evicted {@link ChatMemory}. Default: none
+ * <br>
+ * <br>
+ * This registry is thread-safe.
+ */
+public class ChatMemoryRegistry extends AbstractMap<Object, ChatMemory> {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatMemoryRegistry.class);
+
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxChatMemories;
+    private final long idleTimeoutNanos;
+    private final Consumer<ChatMemory> evictionListener;
+    private final LongSupplier nanoTime;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expirationCount = new AtomicLong();
+    private volatile long nextExpirationNanos;
+
+    public ChatMemoryRegistry(Integer maxChatMemories, Duration idleTimeout, Consumer<ChatMemory> evictionListener) {
+        this(maxChatMemories, idleTimeout, evictionListener, System::nanoTime);
+    }
+
+    ChatMemoryRegistry(Integer maxChatMemories,
+                       Duration idleTimeout,
+                       Consumer<ChatMemory> evictionListener,
+                       LongSupplier nanoTime) {
+        this.maxChatMemories = maxChatMemories == null ? Integer.MAX_VALUE : ensureGreaterThanZero(maxChatMemories, "maxChatMemories");
+        if (idleTimeout != null) {
+            ensureTrue(!idleTimeout.isNegative() && !idleTimeout.isZero(), "idleTimeout must be positive");
+        }
+        this.idleTimeoutNanos = idleTimeout == null ? 0 : idleTimeout.toNanos();
+        this.evictionListener = evictionListener;
+        this.nanoTime = nanoTime;
+        this.nextExpirationNanos = nanoTime.getAsLong() + idleTimeoutNanos;
+    }
+
+    public static ChatMemoryRegistryBuilder builder() {
+        return new ChatMemoryRegistryBuilder();
+    }
+
+    @Override
+    public ChatMemory get(Object memoryId) {
+        long now = nanoTime.getAsLong();
+        Entry entry = entries.get(memoryId);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, now)) {
+            expire(memoryId, entry);
+            return null;
+        }
+        entry.lastAccessNanos = now;
+        return entry.chatMemory;
+    }
+
+    @Override
+    public ChatMemory computeIfAbsent(Object memoryId, Function<? super Object, ? extends ChatMemory> chatMemoryProvider) {
+        long now = nanoTime.getAsLong();
+        Entry entry = entries.get(memoryId);
+        if (entry != null && !isExpired(entry, now)) {
+            entry.lastAccessNanos = now;
+            return entry.chatMemory;
+        }
+        if (entry != null) {
+            expire(memoryId, entry);
+        }
+
+        entry = entries.computeIfAbsent(memoryId, id -> {
+            ChatMemory chatMemory = chatMemoryProvider.apply(id);
+            return chatMemory == null ? null : new Entry(chatMemory, now);
+        });
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccessNanos = now;
+        evictIfNeeded(now);
+        return entry.chatMemory;
+    }
+
+    @Override
+    public ChatMemory put(Object memoryId, ChatMemory chatMemory) {
+        long now = nanoTime.getAsLong();
+        Entry previous = entries.put(memoryId, new Entry(chatMemory, now));
+        evictIfNeeded(now);
+        return previous == null ? null : previous.chatMemory;
+    }
+
+    @Override
+    public ChatMemory remove(Object memoryId) {
+        Entry removed = entries.remove(memoryId);
+        return removed == null ? null : removed.chatMemory;
+    }
+
+    @Override
+    public boolean containsKey(Object memoryId) {
+        Entry entry = entries.get(memoryId);
+        if (entry == null) {
+            return false;
+        }
+        if (isExpired(entry, nanoTime.getAsLong())) {
+            expire(memoryId, entry);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        if (idleTimeoutNanos == 0) {
+            return entries.size();
+        }
+        long now = nanoTime.getAsLong();
+        int size = 0;
+        for (Entry entry : entries.values()) {
+            if (!isExpired(entry, now)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns a view of the {@link ChatMemory} instances that have not expired.
+     * Iterating over it does not count as using them.
+     */
+    @Override
+    public Set<Map.Entry<Object, ChatMemory>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Map.Entry<Object, ChatMemory>> iterator() {
+                Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+                long now = nanoTime.getAsLong();
+                return new Iterator<>() {
+
+                    private Map.Entry<Object, Entry> next;
+                    private Object lastReturnedKey;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (next == null && iterator.hasNext()) {
+                            Map.Entry<Object, Entry> candidate = iterator.next();
+                            if (isExpired(candidate.getValue(), now)) {
+                                expire(candidate.getKey(), candidate.getValue());
+                            } else {
+                                next = candidate;
+                            }
+                        }
+                        return next != null;
+                    }
+
+                    @Override
+                    public Map.Entry<Object, ChatMemory> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<Object, Entry> current = next;
+                        next = null;
+                        lastReturnedKey = current.getKey();
+                        return new SimpleImmutableEntry<>(current.getKey(), current.getValue().chatMemory);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (lastReturnedKey == null) {
+                            throw new IllegalStateException();
+                        }
+                        entries.remove(lastReturnedKey);
+                        lastReturnedKey = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ChatMemoryRegistry.this.size();
+            }
+        };
+    }
+
+    /**
+     * @return The number of {@link ChatMemory} instances evicted because there were more than
+     * {@code maxChatMemories}.
+     */
+    public long evictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return The number of {@link ChatMemory} instances evicted because they were not used for longer than
+     * {@code idleTimeout}.
+     */
+    public long expirationCount() {
+        return expirationCount.get();
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return idleTimeoutNanos > 0 && now - entry.lastAccessNanos > idleTimeoutNanos;
+    }
+
+    private void expire(Object memoryId, Entry entry) {
+        if (entries.remove(memoryId, entry)) {
+            expirationCount.incrementAndGet();
+            notifyEvicted(entry);
+        }
+    }
+
+    private void evictIfNeeded(long now) {
+        boolean full = entries.size() > maxChatMemories;
+        boolean expirationDue = idleTimeoutNanos > 0 && now - nextExpirationNanos >= 0;
+        if (!full && !expirationDue) {
+            return;
+        }
+        // only one thread evicts at a time, the others do not wait for it
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (expirationDue) {
+                nextExpirationNanos = now + Math.max(idleTimeoutNanos / 2, 1);
+                for (Map.Entry<Object, Entry> entry : entries.entrySet()) {
+                    if (isExpired(entry.getValue(), now)) {
+                        expire(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            if (entries.size() > maxChatMemories) {
+                evictLeastRecentlyUsed();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        List<Map.Entry<Object, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+        int toEvict = snapshot.size() - maxChatMemories + maxChatMemories / 100;
+        if (toEvict <= 0) {
+            return;
+        }
+
+        // relative to the first entry, as System.nanoTime() values can only be compared by difference
+        long origin = snapshot.get(0).getValue().lastAccessNanos;
+        long[] ages = new long[snapshot.size()];
+        for (int i = 0; i < ages.length; i++) {
+            ages[i] = snapshot.get(i).getValue().lastAccessNanos - origin;
+        }
+        long[] sortedAges = ages.clone();
+        Arrays.sort(sortedAges);
+        long threshold = sortedAges[Math.min(toEvict, sortedAges.length) - 1];
+
+        for (int i = 0; i < ages.length && toEvict > 0; i++) {
+            if (ages[i] <= threshold) {
+                Map.Entry<Object, Entry> entry = snapshot.get(i);
+                if (entries.remove(entry.getKey(), entry.getValue())) {
+                    toEvict--;
+                    evictionCount.incrementAndGet();
+                    notifyEvicted(entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void notifyEvicted(Entry entry) {
+        if (evictionListener == null) {
+            return;
+        }
+        try {
+            evictionListener.accept(entry.chatMemory);
+        } catch (Exception e) {
+            log.warn("Eviction listener failed for the chat memory with ID '{}'", entry.chatMemory.id(), e);
+        }
+    }
+
+    private static class Entry {
+
+        private final ChatMemory chatMemory;
+        private volatile long lastAccessNanos;
+
+        private Entry(ChatMemory chatMemory, long lastAccessNanos) {
+            this.chatMemory = chatMemory;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+
+    public static class ChatMemoryRegistryBuilder {
+
+        private Integer maxChatMemories;
+        private Duration idleTimeout;
+        private Consumer<ChatMemory> evictionListener;
+
+        ChatMemoryRegistryBuilder() {
+        }
+
+        /**
+         * @param maxChatMemories The maximum number of {@link ChatMemory} instances to hold.
+         *                        When exceeded, the least recently used ones are evicted. Default: unbounded
+         * @return builder
+         */
+        public ChatMemoryRegistryBuilder maxChatMemories(Integer maxChatMemories) {
+            this.maxChatMemories = maxChatMemories;
+            return this;
+        }
+
+        /**
+         * @param idleTimeout The duration after which an unused {@link ChatMemory} is evicted. Default: none
+         * @return builder
+         */
+        public ChatMemoryRegistryBuilder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * @param evictionListener Called with each evicted {@link ChatMemory},
+         *                         e.g., to write its messages behind to a {@link ChatMemoryStore}.
+         *                         It is not called for {@link ChatMemory} instances removed explicitly.
+         * @return builder
+         */
+        public ChatMemoryRegistryBuilder evictionListener(Consumer<ChatMemory> evictionListener) {
+            this.evictionListener = evictionListener;
+            return this;
+        }
+
+        public ChatMemoryRegistry build() {
+            return new ChatMemoryRegistry(maxChatMemories, idleTimeout, evictionListener);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package dev.langchain4j.service;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
+
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.model.chat.BatchChatLanguageModel;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+
+/**
+ * Invokes a method of an AI Service for many inputs, e.g., for offline classification or data extraction jobs.
+ * <br>
+ * The invocations (including the preparation of their prompts) run concurrently,
+ * at most {@code maxConcurrency} at a time and, optionally, at most {@code maxInvocationsPerSecond}
+ * invocations are started per second, so that the LLM provider's rate limits are respected.
+ * <br>
+ * The results are returned in the order of the inputs. A failed invocation does not fail the batch:
+ * its error is returned in the corresponding {@link ItemResult}.
+ * <br>
+ * When the {@link ChatLanguageModel} of the AI Service is a {@link BatchChatLanguageModel},
+ * the requests of the concurrent invocations are sent together using {@link BatchChatLanguageModel#chatAll(List)}:
+ * they are sent once every invocation in progress is waiting for its response,
+ * so each call contains up to {@code maxConcurrency} requests.
+ * <br>
+ * Example:
+ * <pre>
+ * List&lt;ItemResult&lt;Sentiment&gt;&gt; sentiments = AiServices.batch(sentimentAnalyzer)
+ *         .invokeAll(texts, SentimentAnalyzer::analyzeSentimentOf);
+ * </pre>
+ * <br>
+ * Configurable parameters (optional):
+ * <br>
+ * - {@code maxConcurrency}: The maximum number of concurrent invocations. Default: {@value #DEFAULT_MAX_CONCURRENCY}
+ * <br>
+ * - {@code maxInvocationsPerSecond}: The maximum number of invocations started per second. Default: unlimited
+ * <br>
+ * - {@code executor}: The executor running the invocations.
+ * It must not be an executor the AI Service itself waits on (e.g., the shared executor provided by
+ * {@link DefaultExecutorProvider}), as the invocations block while waiting for the LLM.
+ * Default: the calling thread plus threads dedicated to the batch (virtual threads when supported by the JDK)
+ *
+ * @param <T> The interface of the AI Service.
+ */
+public class AiServiceBatch<T> {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    private static final ThreadLocal<BatchDispatcher> CURRENT_DISPATCHER = new ThreadLocal<>();
+
+    private final T aiService;
+    private final int maxConcurrency;
+    private final long nanosPerInvocation;
+    private final Executor executor;
+
+    private final Object rateLimiterLock = new Object();
+    private long nextInvocationNanos = System.nanoTime();
+
+    public AiServiceBatch(T aiService, Integer maxConcurrency, Double maxInvocationsPerSecond, Executor executor) {
+        this.aiService = ensureNotNull(aiService, "aiService");
+        this.maxConcurrency =
+                ensureGreaterThanZero(getOrDefault(maxConcurrency, DEFAULT_MAX_CONCURRENCY), "maxConcurrency");
+        if (maxInvocationsPerSecond != null) {
+            ensureTrue(maxInvocationsPerSecond > 0, "maxInvocationsPerSecond must be greater than zero");
+        }
+        this.nanosPerInvocation = maxInvocationsPerSecond == null
+                ? 0
+                : (long) (TimeUnit.SECONDS.toNanos(1) / maxInvocationsPerSecond);
+        this.executor = executor;
+    }
+
+    public static <T> AiServiceBatchBuilder<T> builder(T aiService) {
+        return new AiServiceBatchBuilder<>(aiService);
+    }
+
+    /**
+     * Invokes the AI Service once for each input.
+     *
+     * @param inputs     The inputs.
+     * @param invocation The invocation of the AI Service for a single input,
+     *                   e.g., {@code SentimentAnalyzer::analyzeSentimentOf}.
+     * @param <I>        The type of the inputs.
+     * @param <R>        The return type of the invoked method.
+     * @return The results, in the order of the inputs.
+     */
+    public <I, R> List<ItemResult<R>> invokeAll(List<I> inputs, BiFunction<T, I, R> invocation) {
+        ensureNotNull(inputs, "inputs");
+        ensureNotNull(invocation, "invocation");
+
+        AtomicReferenceArray<ItemResult<R>> results = new AtomicReferenceArray<>(inputs.size());
+        AtomicInteger nextIndex = new AtomicInteger();
+
+        int workers = Math.min(maxConcurrency, inputs.size());
+        BatchDispatcher dispatcher = new BatchDispatcher(workers);
+
+        // each worker invokes the AI Service for the next pending input until there is none left
+        Runnable worker = () -> {
+            CURRENT_DISPATCHER.set(dispatcher);
+            try {
+                int index;
+                while ((index = nextIndex.getAndIncrement()) < inputs.size()) {
+                    results.set(index, invoke(index, inputs.get(index), invocation));
+                }
+            } finally {
+                CURRENT_DISPATCHER.remove();
+                dispatcher.workerFinished();
+            }
+        };
+
+        // the workers block while the AI Service is invoked, so they must not occupy the shared executor
+        // which the AI Service itself might be waiting on (e.g., for retrieval augmentation)
+        ExecutorService dedicatedExecutor =
+                executor == null && workers > 1 ? newDedicatedExecutor(workers - 1) : null;
+        try {
+            Executor workerExecutor = executor != null ? executor : dedicatedExecutor;
+            CompletableFuture<?>[] futureWorkers = new CompletableFuture<?>[Math.max(workers - 1, 0)];
+            for (int i = 0; i < futureWorkers.length; i++) {
+                try {
+                    futureWorkers[i] = CompletableFuture.runAsync(worker, workerExecutor);
+                } catch (RejectedExecutionException e) {
+                    // the started workers must not wait for the requests of workers that will never run
+                    for (int j = i; j <= futureWorkers.length; j++) {
+                        dispatcher.workerFinished();
+                    }
+                    throw e;
+                }
+            }
+            // the calling thread drives one of the workers itself
+            worker.run();
+            CompletableFuture.allOf(futureWorkers).join();
+        } finally {
+            if (dedicatedExecutor != null) {
+                dedicatedExecutor.shutdown();
+            }
+        }
+
+        List<ItemResult<R>> orderedResults = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            orderedResults.add(results.get(i));
+        }
+        return orderedResults;
+    }
+
+    /**
+     * Invokes a method of the AI Service once for each list of arguments.
+     *
+     * @param method    The method of the AI Service.
+     * @param arguments The arguments of each invocation.
+     * @return The results, in the order of the arguments.
+     */
+    public List<ItemResult<Object>> invokeAll(Method method, List<Object[]> arguments) {
+        ensureNotNull(method, "method");
+        return invokeAll(arguments, (aiService, args) -> {
+            try {
+                return method.invoke(aiService, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new RuntimeException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns the model to be called by an invocation of an AI Service running in the current thread.
+     * When the current thread is a worker of a batch and the model is a {@link BatchChatLanguageModel},
+     * the returned model sends the request together with the requests of the other workers of the batch.
+     *
+     * @param chatModel The model of the AI Service.
+     * @return the model to be called.
+     */
+    static ChatLanguageModel batchingIfSupported(ChatLanguageModel chatModel) {
+        BatchDispatcher dispatcher = CURRENT_DISPATCHER.get();
+        if (dispatcher != null && chatModel instanceof BatchChatLanguageModel batchChatModel) {
+            return new BatchingChatLanguageModel(batchChatModel, dispatcher);
+        }
+        return chatModel;
+    }
+
+    private static ExecutorService newDedicatedExecutor(int threads) {
+        ExecutorService virtualThreadPerTaskExecutor = DefaultExecutorProvider.newVirtualThreadPerTaskExecutor();
+        if (virtualThreadPerTaskExecutor != null) {
+            return virtualThreadPerTaskExecutor;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "langchain4j-batch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private <I, R> ItemResult<R> invoke(int index, I input, BiFunction<T, I, R> invocation) {
+        try {
+            awaitRateLimit();
+            return new ItemResult<>(index, invocation.apply(aiService, input), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ItemResult<>(index, null, e);
+        } catch (Exception e) {
+            return new ItemResult<>(index, null, e);
+        }
+    }
+
+    private void awaitRateLimit() throws InterruptedException {
+        if (nanosPerInvocation == 0) {
+            return;
+        }
+        long invocationNanos;
+        synchronized (rateLimiterLock) {
+            long now = System.nanoTime();
+            invocationNanos = now - nextInvocationNanos > 0 ? now : nextInvocationNanos;
+            nextInvocationNanos = invocationNanos + nanosPerInvocation;
+        }
+        long delayNanos = invocationNanos - System.nanoTime();
+        if (delayNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        }
+    }
+
+    /**
+     * Collects the requests of the workers of a batch and sends them together
+     * once every worker that has not finished yet is waiting for its response.
+     */
+    private static class BatchDispatcher {
+
+        private final Object lock = new Object();
+        private int activeWorkers;
+        private List<PendingChatRequest> pendingRequests = new ArrayList<>();
+
+        BatchDispatcher(int workers) {
+            this.activeWorkers = workers;
+        }
+
+        ChatResponse chat(BatchChatLanguageModel chatModel, ChatRequest chatRequest) {
+            PendingChatRequest pendingRequest = new PendingChatRequest(chatModel, chatRequest, new CompletableFuture<>());
+            List<PendingChatRequest> readyRequests;
+            synchronized (lock) {
+                pendingRequests.add(pendingRequest);
+                readyRequests = takeReadyRequests();
+            }
+            send(readyRequests);
+            try {
+                return pendingRequest.response().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+
+        void workerFinished() {
+            List<PendingChatRequest> readyRequests;
+            synchronized (lock) {
+                activeWorkers--;
+                readyRequests = takeReadyRequests();
+            }
+            send(readyRequests);
+        }
+
+        private List<PendingChatRequest> takeReadyRequests() {
+            if (pendingRequests.isEmpty() || pendingRequests.size() < activeWorkers) {
+                return null;
+            }
+            List<PendingChatRequest> readyRequests = pendingRequests;
+            pendingRequests = new ArrayList<>();
+            return readyRequests;
+        }
+
+        private static void send(List<PendingChatRequest> requests) {
+            if (requests == null) {
+                return;
+            }
+            Map<BatchChatLanguageModel, List<PendingChatRequest>> requestsByModel = new IdentityHashMap<>();
+            for (PendingChatRequest request : requests) {
+                requestsByModel.computeIfAbsent(request.chatModel(), ignored -> new ArrayList<>()).add(request);
+            }
+            requestsByModel.forEach((chatModel, modelRequests) -> {
+                try {
+                    List<ChatResponse> responses = chatModel.chatAll(
+                            modelRequests.stream().map(PendingChatRequest::chatRequest).toList());
+                    if (responses == null || responses.size() != modelRequests.size()) {
+                        throw new IllegalStateException(String.format("Expected %s responses, but got %s",
+                                modelRequests.size(), responses == null ? null : responses.size()));
+                    }
+                    for (int i = 0; i < modelRequests.size(); i++) {
+                        modelRequests.get(i).response().complete(responses.get(i));
+                    }
+                } catch (Exception e) {
+                    modelRequests.forEach(request -> request.response().completeExceptionally(e));
+                }
+            });
+        }
+    }
+
+    private record PendingChatRequest(
+            BatchChatLanguageModel chatModel, ChatRequest chatRequest, CompletableFuture<ChatResponse> response) {}
+
+    /**
+     * Sends the requests of an invocation through the {@link BatchDispatcher} of the batch.
+     */
+    private static class BatchingChatLanguageModel implements ChatLanguageModel {
+
+        private final BatchChatLanguageModel delegate;
+        private final BatchDispatcher dispatcher;
+
+        BatchingChatLanguageModel(BatchChatLanguageModel delegate, BatchDispatcher dispatcher) {
+            this.delegate = delegate;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public ChatResponse chat(ChatRequest chatRequest) {
+            return dispatcher.chat(delegate, chatRequest);
+        }
+
+        @Override
+        public ChatRequestParameters defaultRequestParameters() {
+            return delegate.defaultRequestParameters();
+        }
+
+        @Override
+        public List<ChatModelListener> listeners() {
+            return delegate.listeners();
+        }
+
+        @Override
+        public Set<Capability> supportedCapabilities() {
+            return delegate.supportedCapabilities();
+        }
+    }
+
+    /**
+     * The result of a single invocation within a batch.
+     *
+     * @param index  The index of the input.
+     * @param result The value returned by the AI Service, or {@code null} if the invocation failed.
+     * @param error  The error thrown by the AI Service, or {@code null} if the invocation succeeded.
+     * @param <R>    The return type of the invoked method.
+     */
+    public record ItemResult<R>(int index, R result, Throwable error) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    public static class AiServiceBatchBuilder<T> {
+
+        private final T aiService;
+        private Integer maxConcurrency;
+        private Double maxInvocationsPerSecond;
+        private Executor executor;
+
+        AiServiceBatchBuilder(T aiService) {
+            this.aiService = aiService;
+        }
+
+        /**
+         * @param maxConcurrency The maximum number of concurrent invocations.
+         *                       Default: {@value AiServiceBatch#DEFAULT_MAX_CONCURRENCY}
+         * @return builder
+         */
+        public AiServiceBatchBuilder<T> maxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * @param maxInvocationsPerSecond The maximum number of invocations started per second. Default: unlimited
+         * @return builder
+         */
+        public AiServiceBatchBuilder<T> maxInvocationsPerSecond(Double maxInvocationsPerSecond) {
+            this.maxInvocationsPerSecond = maxInvocationsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param executor The executor running the invocations.
+         *                 It must not be an executor the AI Service itself waits on.
+         *                 Default: the calling thread plus threads dedicated to the batch
+         * @return builder
+         */
+        public AiServiceBatchBuilder<T> executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public AiServiceBatch<T> build() {
+            return new AiServiceBatch<>(aiService, maxConcurrency, maxInvocationsPerSecond, executor);
+        }
+    }
+}
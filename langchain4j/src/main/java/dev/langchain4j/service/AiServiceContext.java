@@ -9,6 +9,8 @@ import dev.langchain4j.rag.RetrievalAugmentor;
 import dev.langchain4j.service.tool.ToolService;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 public class AiServiceContext {
@@ -29,6 +31,10 @@ public class AiServiceContext {
 
     public RetrievalAugmentor retrievalAugmentor;
 
+    public Executor executor;
+
+    public Consumer<AiServiceInvocationTimings> invocationTimingsListener;
+
     public Function<Object, Optional<String>> systemMessageProvider = DEFAULT_MESSAGE_PROVIDER;
 
     public AiServiceContext(Class<?> aiServiceClass) {
@@ -0,0 +1,31 @@
+package dev.langchain4j.service;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+/**
+ * The time spent in the steps performed by an AI Service invocation before the LLM is called.
+ * Can be observed via {@link AiServices#invocationTimingsListener(java.util.function.Consumer)}.
+ * <br>
+ * Independent steps run concurrently (e.g., the system message is resolved while retrieval augmentation runs),
+ * so {@link #preModel()} can be shorter than the sum of the individual steps.
+ * Steps that were not performed (e.g., retrieval augmentation when no {@code RetrievalAugmentor} is configured)
+ * have a zero duration.
+ * Content moderation is not included, as it runs concurrently with the LLM call.
+ *
+ * @param method                The invoked method of the AI Service.
+ * @param systemMessage         The time spent resolving and rendering the system message.
+ * @param chatMemory            The time spent obtaining the {@code ChatMemory}, adding the new messages to it
+ *                              and reading its messages (reads made by RAG components count towards
+ *                              {@code retrievalAugmentation}).
+ * @param retrievalAugmentation The time spent in the {@code RetrievalAugmentor}.
+ * @param toolProvision         The time spent obtaining the tools, e.g., from a {@code ToolProvider}.
+ * @param preModel              The total time from the start of the invocation until the LLM is called.
+ */
+public record AiServiceInvocationTimings(Method method,
+                                         Duration systemMessage,
+                                         Duration chatMemory,
+                                         Duration retrievalAugmentation,
+                                         Duration toolProvision,
+                                         Duration preModel) {
+}
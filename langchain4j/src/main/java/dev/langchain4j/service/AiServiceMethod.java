@@ -0,0 +1,405 @@
+package dev.langchain4j.service;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.model.chat.request.ResponseFormatType.JSON;
+import static dev.langchain4j.service.IllegalConfigurationException.illegalConfiguration;
+import static dev.langchain4j.service.TypeUtils.typeHasRawClass;
+import static dev.langchain4j.service.output.JsonSchemas.jsonSchemaFrom;
+
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.request.ResponseFormat;
+import dev.langchain4j.model.chat.request.json.JsonSchema;
+import dev.langchain4j.model.input.Prompt;
+import dev.langchain4j.model.input.PromptTemplate;
+import dev.langchain4j.model.input.structured.StructuredPrompt;
+import dev.langchain4j.model.input.structured.StructuredPromptProcessor;
+import dev.langchain4j.service.output.ServiceOutputParser;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * The invocation plan of a method of an AI Service.
+ * <br>
+ * It holds everything that does not depend on the arguments of an invocation
+ * (roles of the parameters, compiled prompt templates, JSON schema, output format instructions, etc.)
+ * and is computed once, when the AI Service is built.
+ * An invocation then only needs to bind the arguments.
+ * <br>
+ * Configuration errors (e.g., a missing {@code @UserMessage}) are reported when the method is invoked,
+ * so that a misconfigured method does not prevent the other methods of the AI Service from being used.
+ */
+class AiServiceMethod {
+
+    private static final String IT = "it";
+
+    private final Method method;
+    private final Parameter[] parameters;
+    private final String[] variableNames;
+    private final boolean hasVariableIt;
+    private final int itIndex;
+    private final int memoryIdIndex;
+    private final int userNameIndex;
+    private final int userMessageIndex;
+
+    private final PromptTemplate systemMessageTemplate;
+    private final PromptTemplate userMessageTemplate;
+    private final RuntimeException configurationError;
+
+    private final Type returnType;
+    private final boolean returnsResult;
+    private final boolean streaming;
+    private final boolean async;
+    private final boolean moderated;
+
+    private final ServiceOutputParser serviceOutputParser;
+    private final Optional<JsonSchema> jsonSchema;
+    private final ResponseFormat responseFormat;
+    private final String outputFormatInstructions;
+
+    AiServiceMethod(Method method, boolean streaming, ServiceOutputParser serviceOutputParser) {
+        this.method = method;
+        this.parameters = method.getParameters();
+        this.variableNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            variableNames[i] = getVariableName(parameters[i]);
+        }
+        this.hasVariableIt = indexOf(variableNames, IT) >= 0;
+        this.itIndex = findIndexOfVariableIt(parameters);
+        this.memoryIdIndex = findAnnotatedParameter(parameters, MemoryId.class);
+        this.userNameIndex = findAnnotatedParameter(parameters, UserName.class);
+
+        PromptTemplate systemMessageTemplate = null;
+        PromptTemplate userMessageTemplate = null;
+        int userMessageIndex = -1;
+        RuntimeException configurationError = null;
+        try {
+            validateParameters(method);
+            systemMessageTemplate = findSystemMessageTemplate(method).map(PromptTemplate::from).orElse(null);
+            userMessageTemplate = findUserMessageTemplateFromMethodAnnotation(method)
+                    .map(PromptTemplate::from)
+                    .orElse(null);
+            userMessageIndex = findUserMessageParameter(method, userMessageTemplate != null);
+        } catch (RuntimeException e) {
+            configurationError = e;
+        }
+        this.systemMessageTemplate = systemMessageTemplate;
+        this.userMessageTemplate = userMessageTemplate;
+        this.userMessageIndex = userMessageIndex;
+        this.configurationError = configurationError;
+
+        Type genericReturnType = method.getGenericReturnType();
+        this.async = !streaming
+                && (typeHasRawClass(genericReturnType, CompletableFuture.class)
+                        || typeHasRawClass(genericReturnType, CompletionStage.class));
+        // for CompletableFuture<T> and CompletionStage<T>, the LLM response is parsed into T
+        this.returnType = async && genericReturnType instanceof ParameterizedType parameterizedType
+                ? parameterizedType.getActualTypeArguments()[0]
+                : genericReturnType;
+        this.returnsResult = typeHasRawClass(returnType, Result.class);
+        this.streaming = streaming;
+        this.moderated = method.isAnnotationPresent(Moderate.class);
+
+        // derived eagerly when possible; otherwise derived (and failing) on each invocation, as before
+        this.serviceOutputParser = serviceOutputParser;
+        Optional<JsonSchema> jsonSchema = null;
+        String outputFormatInstructions = null;
+        if (!streaming) {
+            try {
+                jsonSchema = jsonSchemaFrom(returnType);
+            } catch (RuntimeException ignored) {
+            }
+            try {
+                outputFormatInstructions = serviceOutputParser.outputFormatInstructions(returnType);
+            } catch (RuntimeException ignored) {
+            }
+        }
+        this.jsonSchema = jsonSchema;
+        this.responseFormat = jsonSchema == null ? null : toResponseFormat(jsonSchema);
+        this.outputFormatInstructions = outputFormatInstructions;
+    }
+
+    Type returnType() {
+        return returnType;
+    }
+
+    boolean returnsResult() {
+        return returnsResult;
+    }
+
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * @return {@code true} if the method returns a {@link CompletableFuture} or a {@link CompletionStage}.
+     * In this case, {@link #returnType()} is the type of its result.
+     */
+    boolean isAsync() {
+        return async;
+    }
+
+    boolean isModerated() {
+        return moderated;
+    }
+
+    /**
+     * Throws the configuration error of this method, if any.
+     */
+    void ensureValid() {
+        if (configurationError != null) {
+            throw configurationError;
+        }
+    }
+
+    /**
+     * @return The {@link ResponseFormat} with the {@link JsonSchema} of the return type,
+     * or {@code null} if there is no {@link JsonSchema} for the return type.
+     */
+    ResponseFormat responseFormat() {
+        return jsonSchema != null ? responseFormat : toResponseFormat(jsonSchemaFrom(returnType));
+    }
+
+    String outputFormatInstructions() {
+        return outputFormatInstructions != null
+                ? outputFormatInstructions
+                : serviceOutputParser.outputFormatInstructions(returnType);
+    }
+
+    Optional<Object> findMemoryId(Object[] args) {
+        if (memoryIdIndex < 0) {
+            return Optional.empty();
+        }
+        Object memoryId = args[memoryIdIndex];
+        if (memoryId == null) {
+            throw illegalArgument(
+                    "The value of parameter '%s' annotated with @MemoryId in method '%s' must not be null",
+                    parameters[memoryIdIndex].getName(), method.getName());
+        }
+        return Optional.of(memoryId);
+    }
+
+    Optional<SystemMessage> systemMessage(
+            Object memoryId, Object[] args, Function<Object, Optional<String>> systemMessageProvider) {
+        if (systemMessageTemplate != null) {
+            return Optional.of(apply(systemMessageTemplate, args).toSystemMessage());
+        }
+        return systemMessageProvider
+                .apply(memoryId)
+                .map(template -> apply(PromptTemplate.from(template), args).toSystemMessage());
+    }
+
+    UserMessage userMessage(Object[] args) {
+        PromptTemplate template = userMessageTemplate != null
+                ? userMessageTemplate
+                : PromptTemplate.from(toString(args[userMessageIndex]));
+
+        Prompt prompt = apply(template, args);
+
+        if (userNameIndex >= 0) {
+            return UserMessage.from(args[userNameIndex].toString(), prompt.text());
+        }
+        return prompt.toUserMessage();
+    }
+
+    private Prompt apply(PromptTemplate template, Object[] args) {
+        Map<String, Object> variables = new HashMap<>(parameters.length * 4 / 3 + 2);
+        for (int i = 0; i < parameters.length; i++) {
+            variables.put(variableNames[i], args[i]);
+        }
+
+        if (!hasVariableIt && template.template().contains("{{it}}")) {
+            if (itIndex < 0) {
+                throw illegalConfiguration("Error: cannot find the value of the prompt template variable \"{{it}}\".");
+            }
+            variables.put(IT, toString(args[itIndex]));
+        }
+
+        return template.apply(variables);
+    }
+
+    private static ResponseFormat toResponseFormat(Optional<JsonSchema> jsonSchema) {
+        return jsonSchema
+                .map(schema -> ResponseFormat.builder().type(JSON).jsonSchema(schema).build())
+                .orElse(null);
+    }
+
+    static void validateParameters(Method method) {
+        Parameter[] parameters = method.getParameters();
+        if (parameters == null || parameters.length < 2) {
+            return;
+        }
+
+        for (Parameter parameter : parameters) {
+            V v = parameter.getAnnotation(V.class);
+            dev.langchain4j.service.UserMessage userMessage =
+                    parameter.getAnnotation(dev.langchain4j.service.UserMessage.class);
+            MemoryId memoryId = parameter.getAnnotation(MemoryId.class);
+            UserName userName = parameter.getAnnotation(UserName.class);
+            if (v == null && userMessage == null && memoryId == null && userName == null) {
+                throw illegalConfiguration(
+                        "Parameter '%s' of method '%s' should be annotated with @V or @UserMessage "
+                                + "or @UserName or @MemoryId",
+                        parameter.getName(), method.getName());
+            }
+        }
+    }
+
+    private static Optional<String> findSystemMessageTemplate(Method method) {
+        return Optional.ofNullable(method.getAnnotation(dev.langchain4j.service.SystemMessage.class))
+                .map(a -> getTemplate(method, "System", a.fromResource(), a.value(), a.delimiter()));
+    }
+
+    private static Optional<String> findUserMessageTemplateFromMethodAnnotation(Method method) {
+        return Optional.ofNullable(method.getAnnotation(dev.langchain4j.service.UserMessage.class))
+                .map(a -> getTemplate(method, "User", a.fromResource(), a.value(), a.delimiter()));
+    }
+
+    /**
+     * Finds the parameter providing the user message template, when it is not defined by the method annotation.
+     */
+    private static int findUserMessageParameter(Method method, boolean templateFromMethodAnnotation) {
+        Parameter[] parameters = method.getParameters();
+        int annotatedParameter = findAnnotatedParameter(parameters, dev.langchain4j.service.UserMessage.class);
+
+        if (templateFromMethodAnnotation && annotatedParameter >= 0) {
+            throw illegalConfiguration(
+                    "Error: The method '%s' has multiple @UserMessage annotations. Please use only one.",
+                    method.getName());
+        }
+
+        if (templateFromMethodAnnotation) {
+            return -1;
+        }
+        if (annotatedParameter >= 0) {
+            return annotatedParameter;
+        }
+
+        if (parameters.length == 1 && parameters[0].getAnnotations().length == 0) {
+            return 0;
+        }
+
+        throw illegalConfiguration("Error: The method '%s' does not have a user message defined.", method.getName());
+    }
+
+    private static int findAnnotatedParameter(Parameter[] parameters, Class<? extends Annotation> annotation) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(annotation)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String getVariableName(Parameter parameter) {
+        V annotation = parameter.getAnnotation(V.class);
+        if (annotation != null) {
+            return annotation.value();
+        } else {
+            return parameter.getName();
+        }
+    }
+
+    private static int findIndexOfVariableIt(Parameter[] parameters) {
+        if (parameters.length == 1) {
+            Parameter parameter = parameters[0];
+            if (!parameter.isAnnotationPresent(MemoryId.class)
+                    && !parameter.isAnnotationPresent(dev.langchain4j.service.UserMessage.class)
+                    && !parameter.isAnnotationPresent(UserName.class)
+                    && (!parameter.isAnnotationPresent(V.class) || isAnnotatedWithIt(parameter))) {
+                return 0;
+            }
+        }
+
+        for (int i = 0; i < parameters.length; i++) {
+            if (isAnnotatedWithIt(parameters[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isAnnotatedWithIt(Parameter parameter) {
+        V annotation = parameter.getAnnotation(V.class);
+        return annotation != null && IT.equals(annotation.value());
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (value.equals(values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String getTemplate(Method method, String type, String resource, String[] value, String delimiter) {
+        String messageTemplate;
+        if (!resource.trim().isEmpty()) {
+            messageTemplate = getResourceText(method.getDeclaringClass(), resource);
+            if (messageTemplate == null) {
+                throw illegalConfiguration("@%sMessage's resource '%s' not found", type, resource);
+            }
+        } else {
+            messageTemplate = String.join(delimiter, value);
+        }
+        if (messageTemplate.trim().isEmpty()) {
+            throw illegalConfiguration("@%sMessage's template cannot be empty", type);
+        }
+        return messageTemplate;
+    }
+
+    private static String getResourceText(Class<?> clazz, String resource) {
+        InputStream inputStream = clazz.getResourceAsStream(resource);
+        if (inputStream == null) {
+            inputStream = clazz.getResourceAsStream("/" + resource);
+        }
+        return getText(inputStream);
+    }
+
+    private static String getText(InputStream inputStream) {
+        if (inputStream == null) {
+            return null;
+        }
+        try (Scanner scanner = new Scanner(inputStream);
+                Scanner s = scanner.useDelimiter("\\A")) {
+            return s.hasNext() ? s.next() : "";
+        }
+    }
+
+    private static String toString(Object arg) {
+        if (arg.getClass().isArray()) {
+            return arrayToString(arg);
+        } else if (arg.getClass().isAnnotationPresent(StructuredPrompt.class)) {
+            return StructuredPromptProcessor.toPrompt(arg).text();
+        } else {
+            return arg.toString();
+        }
+    }
+
+    private static String arrayToString(Object arg) {
+        StringBuilder sb = new StringBuilder("[");
+        int length = Array.getLength(arg);
+        for (int i = 0; i < length; i++) {
+            sb.append(toString(Array.get(arg, i)));
+            if (i < length - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+}
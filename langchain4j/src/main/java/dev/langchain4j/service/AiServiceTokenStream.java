@@ -2,11 +2,13 @@ package dev.langchain4j.service;
 
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.internal.Json;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.output.TokenUsage;
 import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.service.output.JsonArrayElementsParser;
 import dev.langchain4j.service.tool.ToolExecution;
 import dev.langchain4j.service.tool.ToolExecutor;
 
@@ -30,12 +32,14 @@ public class AiServiceTokenStream implements TokenStream {
     private final Object memoryId;
 
     private Consumer<String> partialResponseHandler;
+    private Consumer<String> partialElementHandler;
     private Consumer<List<Content>> contentsHandler;
     private Consumer<ToolExecution> toolExecutionHandler;
     private Consumer<ChatResponse> completeResponseHandler;
     private Consumer<Throwable> errorHandler;
 
     private int onPartialResponseInvoked;
+    private int onPartialElementInvoked;
     private int onCompleteResponseInvoked;
     private int onRetrievedInvoked;
     private int onToolExecutedInvoked;
@@ -64,6 +68,15 @@ public class AiServiceTokenStream implements TokenStream {
         return this;
     }
 
+    @Override
+    public <T> TokenStream onPartialElement(Class<T> elementType, Consumer<T> partialElementHandler) {
+        ensureNotNull(elementType, "elementType");
+        ensureNotNull(partialElementHandler, "partialElementHandler");
+        this.partialElementHandler = json -> partialElementHandler.accept(Json.fromJson(json, elementType));
+        this.onPartialElementInvoked++;
+        return this;
+    }
+
     @Override
     public TokenStream onRetrieved(Consumer<List<Content>> contentsHandler) {
         this.contentsHandler = contentsHandler;
@@ -108,6 +121,14 @@ public class AiServiceTokenStream implements TokenStream {
                 .toolSpecifications(toolSpecifications)
                 .build();
 
+        Consumer<String> partialResponseHandler = this.partialResponseHandler;
+        if (partialElementHandler != null) {
+            JsonArrayElementsParser parser = new JsonArrayElementsParser(partialElementHandler);
+            partialResponseHandler = partialResponseHandler == null
+                    ? parser::append
+                    : partialResponseHandler.andThen(parser::append);
+        }
+
         StreamingChatResponseHandler handler = new AiServiceStreamingResponseHandler(
                 context,
                 memoryId,
@@ -129,9 +150,15 @@ public class AiServiceTokenStream implements TokenStream {
     }
 
     private void validateConfiguration() {
-        if (onPartialResponseInvoked != 1) {
+        if (onPartialElementInvoked == 0 && onPartialResponseInvoked != 1) {
             throw new IllegalConfigurationException("onPartialResponse must be invoked on TokenStream exactly 1 time");
         }
+        if (onPartialResponseInvoked > 1) {
+            throw new IllegalConfigurationException("onPartialResponse can be invoked on TokenStream at most 1 time");
+        }
+        if (onPartialElementInvoked > 1) {
+            throw new IllegalConfigurationException("onPartialElement can be invoked on TokenStream at most 1 time");
+        }
         if (onCompleteResponseInvoked > 1) {
             throw new IllegalConfigurationException("onCompleteResponse can be invoked on TokenStream at most 1 time");
         }
@@ -13,8 +13,10 @@ import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.internal.DefaultExecutorProvider;
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.memory.chat.ChatMemoryRegistry;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.StreamingChatLanguageModel;
 import dev.langchain4j.model.input.structured.StructuredPrompt;
@@ -36,7 +38,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -63,6 +67,7 @@ import java.util.function.Function;
  * - Tools, configured via {@link #tools(Collection)}, {@link #tools(Object...)}, {@link #tools(Map)} or {@link #toolProvider(ToolProvider)} and methods annotated with @{@link Tool}
  * - Various method return types (output parsers), see more details below
  * - Streaming (use {@link TokenStream} as a return type)
+ * - Asynchronous invocation (use {@code CompletableFuture<T>} or {@code CompletionStage<T>} as a return type)
  * - Structured prompts as method arguments (see @{@link StructuredPrompt})
  * - Auto-moderation, configured via @{@link Moderate} annotation
  * </pre>
@@ -90,6 +95,9 @@ import java.util.function.Function;
  * - many default Java types: {@code Date}, {@code LocalDateTime}, {@code BigDecimal}, etc., if you want to use the LLM for data extraction
  * - any custom POJO, if you want to use the LLM for data extraction.
  * - Result&lt;T&gt; if you want to access {@link TokenUsage} or sources ({@link Content}s retrieved during RAG), aside from T, which can be of any type listed above. For example: Result&lt;String&gt;, Result&lt;MyCustomPojo&gt;
+ * - CompletableFuture&lt;T&gt; or CompletionStage&lt;T&gt; if you do not want to block the calling thread, where T can be of any type listed above.
+ *   When a {@link ChatLanguageModel} is configured, it is called on the {@link #executor(Executor)}.
+ *   Otherwise, the {@link StreamingChatLanguageModel} is used, so that no thread is blocked while the LLM generates the response.
  * For POJOs, it is advisable to use the "json mode" feature if the LLM provider supports it. For OpenAI, this can be enabled by calling {@code responseFormat("json_object")} during model construction.
  *
  * </pre>
@@ -186,6 +194,22 @@ public abstract class AiServices<T> {
         return new DefaultAiServices<>(context);
     }
 
+    /**
+     * Creates an {@link AiServiceBatch} with default settings, to invoke a method of the AI Service for many inputs.
+     * Use {@link AiServiceBatch#builder(Object)} to configure the concurrency, rate limit or executor.
+     * Example:
+     * <pre>
+     * List&lt;AiServiceBatch.ItemResult&lt;Sentiment&gt;&gt; sentiments = AiServices.batch(sentimentAnalyzer)
+     *         .invokeAll(texts, SentimentAnalyzer::analyzeSentimentOf);
+     * </pre>
+     *
+     * @param aiService The AI Service, built by {@link AiServices}.
+     * @return the batch
+     */
+    public static <T> AiServiceBatch<T> batch(T aiService) {
+        return AiServiceBatch.builder(aiService).build();
+    }
+
     /**
      * Configures chat model that will be used under the hood of the AI Service.
      * <p>
@@ -220,6 +244,9 @@ public abstract class AiServices<T> {
      * <br>
      * When both {@code @SystemMessage} and the system message provider are configured,
      * {@code @SystemMessage} takes precedence.
+     * <br>
+     * The system message provider is always called in the thread invoking the AI Service method,
+     * also for methods returning a {@code CompletableFuture}, so it can rely on thread-local context.
      *
      * @param systemMessageProvider A {@link Function} that accepts a chat memory ID
      *                              (a value of a method parameter annotated with @{@link MemoryId})
@@ -283,6 +310,44 @@ public abstract class AiServices<T> {
         return this;
     }
 
+    /**
+     * Configures the chat memory provider, which provides a dedicated instance of {@link ChatMemory} for each user/conversation,
+     * together with the {@link ChatMemoryRegistry} holding the provided {@link ChatMemory} instances.
+     * <p>
+     * By default ({@link #chatMemoryProvider(ChatMemoryProvider)}), each provided {@link ChatMemory} is held
+     * for the lifetime of the AI Service. A {@link ChatMemoryRegistry} can be configured to bound
+     * the number of held {@link ChatMemory} instances and to evict idle ones, which is recommended
+     * when the AI Service serves many users/conversations.
+     * An evicted {@link ChatMemory} is obtained again from the {@link ChatMemoryProvider} when its memory ID is used again.
+     * Example:
+     * <pre>
+     * ChatMemoryRegistry registry = ChatMemoryRegistry.builder()
+     *         .maxChatMemories(10_000)
+     *         .idleTimeout(Duration.ofMinutes(30))
+     *         .build();
+     *
+     * Assistant assistant = AiServices.builder(Assistant.class)
+     *         .chatLanguageModel(model)
+     *         .chatMemoryProvider(memoryId -> MessageWindowChatMemory.builder()
+     *                 .id(memoryId)
+     *                 .maxMessages(10)
+     *                 .chatMemoryStore(persistentStore)
+     *                 .build(), registry)
+     *         .build();
+     * </pre>
+     *
+     * @param chatMemoryProvider The provider of a {@link ChatMemory} for each new user/conversation.
+     * @param chatMemoryRegistry The registry holding the provided {@link ChatMemory} instances.
+     * @return builder
+     * @see #chatMemoryProvider(ChatMemoryProvider)
+     */
+    public AiServices<T> chatMemoryProvider(ChatMemoryProvider chatMemoryProvider, ChatMemoryRegistry chatMemoryRegistry) {
+        ensureNotNull(chatMemoryProvider, "chatMemoryProvider");
+        context.chatMemories = ensureNotNull(chatMemoryRegistry, "chatMemoryRegistry");
+        context.chatMemoryProvider = chatMemoryProvider;
+        return this;
+    }
+
     /**
      * Configures a moderation model to be used for automatic content moderation.
      * If a method in the AI Service is annotated with {@link Moderate}, the moderation model will be invoked
@@ -297,6 +362,53 @@ public abstract class AiServices<T> {
         return this;
     }
 
+    /**
+     * Configures the {@link Executor} used by the AI Service for asynchronous work,
+     * such as content moderation (see {@link Moderate}), which runs concurrently with the LLM call,
+     * and the invocations of methods returning a {@code CompletableFuture} or a {@code CompletionStage}.
+     * <p>
+     * By default, a shared executor provided by {@link DefaultExecutorProvider} is used:
+     * a virtual-thread-per-task executor on JDK 21+, or a bounded thread pool with a bounded queue otherwise.
+     * The AI Service never shuts down the provided {@link Executor}.
+     * <p>
+     * With a {@link ChatLanguageModel}, each pending invocation of a method returning a {@code CompletableFuture}
+     * or a {@code CompletionStage} occupies a thread of the executor for the whole LLM call.
+     * On JDKs without virtual threads (e.g., JDK 17), the default executor therefore runs at most
+     * {@link DefaultExecutorProvider#DEFAULT_MAX_THREADS} such invocations at a time and queues
+     * up to {@link DefaultExecutorProvider#DEFAULT_QUEUE_CAPACITY} more. Once it is saturated, the returned futures
+     * fail with a {@link java.util.concurrent.RejectedExecutionException} instead of running in the invoking thread.
+     * The same applies to a provided {@link java.util.concurrent.ThreadPoolExecutor} using a
+     * {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy}.
+     * Applications issuing many concurrent asynchronous invocations on such JDKs should provide a dedicated executor
+     * sized for the expected concurrency, or use a {@link StreamingChatLanguageModel},
+     * which does not occupy a thread while the response is being generated.
+     *
+     * @param executor The executor to be used by the AI Service.
+     * @return builder
+     */
+    public AiServices<T> executor(Executor executor) {
+        context.executor = ensureNotNull(executor, "executor");
+        return this;
+    }
+
+    /**
+     * Configures a listener that is notified, for each invocation of the AI Service,
+     * of the time spent in the steps performed before the LLM is called
+     * (resolving the system message, loading the chat memory, retrieval augmentation, etc.).
+     * It is called right before the LLM is called, so it should return quickly.
+     * For methods returning a {@code CompletableFuture} or a {@code CompletionStage},
+     * it is called in a thread of the configured {@link #executor(Executor)};
+     * for the other methods, it is called in the invoking thread.
+     *
+     * @param invocationTimingsListener The listener of the invocation timings.
+     * @return builder
+     * @see AiServiceInvocationTimings
+     */
+    public AiServices<T> invocationTimingsListener(Consumer<AiServiceInvocationTimings> invocationTimingsListener) {
+        context.invocationTimingsListener = ensureNotNull(invocationTimingsListener, "invocationTimingsListener");
+        return this;
+    }
+
     /**
      * Configures the tools that the LLM can use.
      *
@@ -1,59 +1,64 @@
 package dev.langchain4j.service;
 
-import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.Utils.isNotNullOrBlank;
 import static dev.langchain4j.model.chat.Capability.RESPONSE_FORMAT_JSON_SCHEMA;
-import static dev.langchain4j.model.chat.request.ResponseFormatType.JSON;
 import static dev.langchain4j.service.IllegalConfigurationException.illegalConfiguration;
-import static dev.langchain4j.service.TypeUtils.typeHasRawClass;
-import static dev.langchain4j.service.output.JsonSchemas.jsonSchemaFrom;
 import static dev.langchain4j.spi.ServiceHelper.loadFactories;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.SystemMessage;
 import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.internal.DefaultExecutorProvider;
 import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.request.ChatRequestParameters;
 import dev.langchain4j.model.chat.request.ResponseFormat;
-import dev.langchain4j.model.chat.request.json.JsonSchema;
 import dev.langchain4j.model.chat.response.ChatResponse;
-import dev.langchain4j.model.input.Prompt;
-import dev.langchain4j.model.input.PromptTemplate;
-import dev.langchain4j.model.input.structured.StructuredPrompt;
-import dev.langchain4j.model.input.structured.StructuredPromptProcessor;
 import dev.langchain4j.model.moderation.Moderation;
 import dev.langchain4j.model.output.FinishReason;
 import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
 import dev.langchain4j.rag.AugmentationRequest;
 import dev.langchain4j.rag.AugmentationResult;
 import dev.langchain4j.rag.query.Metadata;
 import dev.langchain4j.service.output.ServiceOutputParser;
+import dev.langchain4j.service.tool.ToolExecution;
 import dev.langchain4j.service.tool.ToolExecutionContext;
 import dev.langchain4j.service.tool.ToolExecutionResult;
 import dev.langchain4j.spi.services.TokenStreamAdapter;
-import java.io.InputStream;
-import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Scanner;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 class DefaultAiServices<T> extends AiServices<T> {
 
+    private static final Logger log = LoggerFactory.getLogger(DefaultAiServices.class);
+
     private final ServiceOutputParser serviceOutputParser = new ServiceOutputParser();
     private final Collection<TokenStreamAdapter> tokenStreamAdapters = loadFactories(TokenStreamAdapter.class);
 
@@ -61,31 +66,12 @@ class DefaultAiServices<T> extends AiServices<T> {
         super(context);
     }
 
-    static void validateParameters(Method method) {
-        Parameter[] parameters = method.getParameters();
-        if (parameters == null || parameters.length < 2) {
-            return;
-        }
-
-        for (Parameter parameter : parameters) {
-            V v = parameter.getAnnotation(V.class);
-            dev.langchain4j.service.UserMessage userMessage =
-                    parameter.getAnnotation(dev.langchain4j.service.UserMessage.class);
-            MemoryId memoryId = parameter.getAnnotation(MemoryId.class);
-            UserName userName = parameter.getAnnotation(UserName.class);
-            if (v == null && userMessage == null && memoryId == null && userName == null) {
-                throw illegalConfiguration(
-                        "Parameter '%s' of method '%s' should be annotated with @V or @UserMessage "
-                                + "or @UserName or @MemoryId",
-                        parameter.getName(), method.getName());
-            }
-        }
-    }
-
     public T build() {
 
         performBasicValidation();
 
+        Map<Method, AiServiceMethod> methods = new HashMap<>();
+
         for (Method method : context.aiServiceClass.getMethods()) {
             if (method.isAnnotationPresent(Moderate.class) && context.moderationModel == null) {
                 throw illegalConfiguration(
@@ -94,7 +80,9 @@ class DefaultAiServices<T> extends AiServices<T> {
             }
             if (method.getReturnType() == Result.class
                     || method.getReturnType() == List.class
-                    || method.getReturnType() == Set.class) {
+                    || method.getReturnType() == Set.class
+                    || method.getReturnType() == CompletableFuture.class
+                    || method.getReturnType() == CompletionStage.class) {
                 TypeUtils.validateReturnTypesAreProperlyParametrized(method.getName(), method.getGenericReturnType());
             }
 
@@ -107,15 +95,18 @@ class DefaultAiServices<T> extends AiServices<T> {
                     }
                 }
             }
+
+            methods.put(method, createAiServiceMethod(method));
         }
+        Map<Method, AiServiceMethod> aiServiceMethods = Map.copyOf(methods);
+        Executor executor = getOrDefault(context.executor, DefaultExecutorProvider::getDefaultExecutorService);
+        Executor asyncExecutor = failingWhenRunInSubmittingThread(executor);
 
         Object proxyInstance = Proxy.newProxyInstance(
                 context.aiServiceClass.getClassLoader(),
                 new Class<?>[] {context.aiServiceClass},
                 new InvocationHandler() {
 
-                    private final ExecutorService executor = Executors.newCachedThreadPool();
-
                     @Override
                     public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
 
@@ -124,69 +115,56 @@ class DefaultAiServices<T> extends AiServices<T> {
                             return method.invoke(this, args);
                         }
 
-                        validateParameters(method);
+                        long invocationStart = System.nanoTime();
 
-                        Object memoryId = findMemoryId(method, args).orElse(DEFAULT);
-
-                        Optional<SystemMessage> systemMessage = prepareSystemMessage(memoryId, method, args);
-                        UserMessage userMessage = prepareUserMessage(method, args);
-                        AugmentationResult augmentationResult = null;
-                        if (context.retrievalAugmentor != null) {
-                            List<ChatMessage> chatMemory = context.hasChatMemory()
-                                    ? context.chatMemory(memoryId).messages()
-                                    : null;
-                            Metadata metadata = Metadata.from(userMessage, memoryId, chatMemory);
-                            AugmentationRequest augmentationRequest = new AugmentationRequest(userMessage, metadata);
-                            augmentationResult = context.retrievalAugmentor.augment(augmentationRequest);
-                            userMessage = (UserMessage) augmentationResult.chatMessage();
-                        }
-
-                        // TODO give user ability to provide custom OutputParser
-                        Type returnType = method.getGenericReturnType();
-
-                        boolean streaming = returnType == TokenStream.class || canAdaptTokenStreamTo(returnType);
-
-                        boolean supportsJsonSchema =
-                                supportsJsonSchema(); // TODO should it be called for returnType==String?
-                        Optional<JsonSchema> jsonSchema = Optional.empty();
-                        if (supportsJsonSchema && !streaming) {
-                            jsonSchema = jsonSchemaFrom(returnType);
-                        }
+                        AiServiceMethod precomputed = aiServiceMethods.get(method);
+                        AiServiceMethod aiServiceMethod =
+                                precomputed != null ? precomputed : createAiServiceMethod(method);
+                        aiServiceMethod.ensureValid();
 
-                        if ((!supportsJsonSchema || jsonSchema.isEmpty()) && !streaming) {
-                            // TODO append after storing in the memory?
-                            userMessage = appendOutputFormatInstructions(returnType, userMessage);
+                        if (!aiServiceMethod.isAsync()) {
+                            PendingInvocation pending = begin(aiServiceMethod, args, executor);
+                            PreparedInvocation invocation = prepare(
+                                    method, aiServiceMethod, pending, join(pending.augmentation()), invocationStart);
+                            return invoke(aiServiceMethod, invocation);
                         }
 
-                        if (context.hasChatMemory()) {
-                            ChatMemory chatMemory = context.chatMemory(memoryId);
-                            systemMessage.ifPresent(chatMemory::add);
-                            chatMemory.add(userMessage);
+                        PendingInvocation pending;
+                        try {
+                            pending = begin(aiServiceMethod, args, asyncExecutor);
+                        } catch (RuntimeException e) {
+                            return CompletableFuture.failedFuture(e);
                         }
-
-                        List<ChatMessage> messages;
-                        if (context.hasChatMemory()) {
-                            messages = context.chatMemory(memoryId).messages();
-                        } else {
-                            messages = new ArrayList<>();
-                            systemMessage.ifPresent(messages::add);
-                            messages.add(userMessage);
+                        // the rest is composed on the retrieval augmentation instead of waiting for it,
+                        // so that no executor thread is blocked by a task submitted to the same executor.
+                        // The invocation fails when the executor is saturated, instead of blocking the caller.
+                        CompletableFuture<PreparedInvocation> futureInvocation = pending.augmentation()
+                                .thenApplyAsync(
+                                        augmentation -> prepare(
+                                                method, aiServiceMethod, pending, augmentation, invocationStart),
+                                        asyncExecutor);
+                        if (context.chatModel == null) {
+                            // the streaming model does not block a thread while the LLM generates the response
+                            return futureInvocation.thenCompose(invocation -> chatAsync(aiServiceMethod, invocation));
                         }
+                        return futureInvocation.thenApply(invocation -> invoke(aiServiceMethod, invocation));
+                    }
 
-                        Future<Moderation> moderationFuture = triggerModerationIfNeeded(method, messages);
+                    private Object invoke(AiServiceMethod aiServiceMethod, PreparedInvocation invocation) {
 
-                        ToolExecutionContext toolExecutionContext =
-                                context.toolService.executionContext(memoryId, userMessage);
+                        ToolExecutionContext toolExecutionContext = invocation.toolExecutionContext();
+                        AugmentationResult augmentationResult = invocation.augmentationResult();
 
-                        if (streaming) {
+                        if (aiServiceMethod.isStreaming()) {
                             TokenStream tokenStream = new AiServiceTokenStream(
-                                    messages,
+                                    invocation.messages(),
                                     toolExecutionContext.toolSpecifications(),
                                     toolExecutionContext.toolExecutors(),
                                     augmentationResult != null ? augmentationResult.contents() : null,
                                     context,
-                                    memoryId);
+                                    invocation.memoryId());
                             // TODO moderation
+                            Type returnType = aiServiceMethod.returnType();
                             if (returnType == TokenStream.class) {
                                 return tokenStream;
                             } else {
@@ -194,65 +172,265 @@ class DefaultAiServices<T> extends AiServices<T> {
                             }
                         }
 
-                        ResponseFormat responseFormat = null;
-                        if (supportsJsonSchema && jsonSchema.isPresent()) {
-                            responseFormat = ResponseFormat.builder()
-                                    .type(JSON)
-                                    .jsonSchema(jsonSchema.get())
-                                    .build();
-                        }
-
                         ChatRequestParameters parameters = ChatRequestParameters.builder()
                                 .toolSpecifications(toolExecutionContext.toolSpecifications())
-                                .responseFormat(responseFormat)
+                                .responseFormat(invocation.responseFormat())
                                 .build();
 
                         ChatRequest chatRequest = ChatRequest.builder()
-                                .messages(messages)
+                                .messages(invocation.messages())
                                 .parameters(parameters)
                                 .build();
 
-                        ChatResponse chatResponse = context.chatModel.chat(chatRequest);
+                        // within a batch, the request may be sent together with the requests of other invocations
+                        ChatLanguageModel chatModel = AiServiceBatch.batchingIfSupported(context.chatModel);
+                        ChatResponse chatResponse = chatModel.chat(chatRequest);
 
-                        verifyModerationIfNeeded(moderationFuture);
+                        verifyModerationIfNeeded(invocation.moderationFuture());
 
                         ToolExecutionResult toolExecutionResult = context.toolService.executeInferenceAndToolsLoop(
                                 chatResponse,
                                 parameters,
-                                messages,
-                                context.chatModel,
-                                context.hasChatMemory() ? context.chatMemory(memoryId) : null,
-                                memoryId,
+                                invocation.messages(),
+                                chatModel,
+                                invocation.chatMemory(),
+                                invocation.memoryId(),
                                 toolExecutionContext.toolExecutors());
 
                         chatResponse = toolExecutionResult.chatResponse();
-                        FinishReason finishReason = chatResponse.metadata().finishReason();
-                        Response<AiMessage> response = Response.from(
-                                chatResponse.aiMessage(), toolExecutionResult.tokenUsageAccumulator(), finishReason);
+                        return parse(
+                                aiServiceMethod,
+                                chatResponse.aiMessage(),
+                                toolExecutionResult.tokenUsageAccumulator(),
+                                chatResponse.metadata().finishReason(),
+                                augmentationResult,
+                                toolExecutionResult.toolExecutions());
+                    }
+
+                    /**
+                     * Performs the steps that must run in the caller thread:
+                     * resolves the messages and the chat memory and starts retrieval augmentation.
+                     * The system message is resolved in the caller thread (so that the {@code systemMessageProvider}
+                     * can rely on its thread-local context) while retrieval augmentation is running on the executor.
+                     */
+                    private PendingInvocation begin(AiServiceMethod aiServiceMethod, Object[] args, Executor executor) {
+
+                        Object memoryId = aiServiceMethod.findMemoryId(args).orElse(DEFAULT);
+                        UserMessage userMessage = aiServiceMethod.userMessage(args);
+
+                        // the chat memory is obtained once per invocation
+                        long chatMemoryNanos = 0;
+                        ChatMemory chatMemory = null;
+                        if (context.hasChatMemory()) {
+                            long chatMemoryStart = System.nanoTime();
+                            chatMemory = context.chatMemory(memoryId);
+                            chatMemoryNanos = System.nanoTime() - chatMemoryStart;
+                        }
+
+                        CompletableFuture<Timed<AugmentationResult>> augmentation =
+                                startRetrievalAugmentation(userMessage, memoryId, chatMemory, executor);
+                        Timed<Optional<SystemMessage>> systemMessage;
+                        try {
+                            systemMessage = timed(
+                                    () -> aiServiceMethod.systemMessage(memoryId, args, context.systemMessageProvider));
+                        } catch (RuntimeException e) {
+                            augmentation.cancel(false);
+                            throw e;
+                        }
+
+                        return new PendingInvocation(
+                                memoryId, userMessage, chatMemory, chatMemoryNanos, systemMessage, augmentation);
+                    }
+
+                    private CompletableFuture<Timed<AugmentationResult>> startRetrievalAugmentation(
+                            UserMessage userMessage, Object memoryId, ChatMemory chatMemory, Executor executor) {
+
+                        if (context.retrievalAugmentor == null) {
+                            return completedFuture(null);
+                        }
+
+                        // the previous messages are read only if one of the RAG components asks for them
+                        Metadata metadata = chatMemory != null
+                                ? Metadata.fromChatMemory(userMessage, memoryId, chatMemory)
+                                : Metadata.from(userMessage, memoryId, null);
+                        AugmentationRequest augmentationRequest = new AugmentationRequest(userMessage, metadata);
+                        Supplier<Timed<AugmentationResult>> retrievalAugmentation =
+                                () -> timed(() -> context.retrievalAugmentor.augment(augmentationRequest));
+
+                        if (DefaultExecutorProvider.isBoundedExecutorThread()) {
+                            // waiting for a task submitted to the bounded executor from its own thread can deadlock
+                            try {
+                                return completedFuture(retrievalAugmentation.get());
+                            } catch (RuntimeException e) {
+                                return CompletableFuture.failedFuture(e);
+                            }
+                        }
+                        return supplyAsync(retrievalAugmentation, executor);
+                    }
+
+                    /**
+                     * Performs all the remaining steps preceding the LLM call:
+                     * applies the result of retrieval augmentation, updates the chat memory, etc.
+                     */
+                    private PreparedInvocation prepare(
+                            Method method,
+                            AiServiceMethod aiServiceMethod,
+                            PendingInvocation pending,
+                            Timed<AugmentationResult> augmentation,
+                            long invocationStart) {
+
+                        Object memoryId = pending.memoryId();
+                        UserMessage userMessage = pending.userMessage();
+                        ChatMemory chatMemory = pending.chatMemory();
+                        long chatMemoryNanos = pending.chatMemoryNanos();
+
+                        long retrievalAugmentationNanos = 0;
+                        AugmentationResult augmentationResult = null;
+                        if (augmentation != null) {
+                            augmentationResult = augmentation.value();
+                            userMessage = (UserMessage) augmentationResult.chatMessage();
+                            retrievalAugmentationNanos = augmentation.nanos();
+                        }
+
+                        Timed<Optional<SystemMessage>> timedSystemMessage = pending.systemMessage();
+                        Optional<SystemMessage> systemMessage = timedSystemMessage.value();
+
+                        // TODO give user ability to provide custom OutputParser
+                        boolean streaming = aiServiceMethod.isStreaming();
+
+                        boolean supportsJsonSchema =
+                                supportsJsonSchema(); // TODO should it be called for returnType==String?
+                        ResponseFormat responseFormat = null;
+                        if (supportsJsonSchema && !streaming) {
+                            responseFormat = aiServiceMethod.responseFormat();
+                        }
+
+                        if (responseFormat == null && !streaming) {
+                            // TODO append after storing in the memory?
+                            userMessage = appendOutputFormatInstructions(
+                                    aiServiceMethod.outputFormatInstructions(), userMessage);
+                        }
+
+                        List<ChatMessage> messages;
+                        if (chatMemory != null) {
+                            long chatMemoryStart = System.nanoTime();
+                            systemMessage.ifPresent(chatMemory::add);
+                            chatMemory.add(userMessage);
+                            messages = chatMemory.messages();
+                            chatMemoryNanos += System.nanoTime() - chatMemoryStart;
+                        } else {
+                            messages = new ArrayList<>();
+                            systemMessage.ifPresent(messages::add);
+                            messages.add(userMessage);
+                        }
+
+                        CompletableFuture<Moderation> moderationFuture =
+                                triggerModerationIfNeeded(aiServiceMethod, messages);
+
+                        long toolProvisionStart = System.nanoTime();
+                        ToolExecutionContext toolExecutionContext =
+                                context.toolService.executionContext(memoryId, userMessage);
+                        long preModelEnd = System.nanoTime();
+
+                        if (context.invocationTimingsListener != null) {
+                            notifyInvocationTimingsListener(new AiServiceInvocationTimings(
+                                    method,
+                                    Duration.ofNanos(timedSystemMessage.nanos()),
+                                    Duration.ofNanos(chatMemoryNanos),
+                                    Duration.ofNanos(retrievalAugmentationNanos),
+                                    Duration.ofNanos(preModelEnd - toolProvisionStart),
+                                    Duration.ofNanos(preModelEnd - invocationStart)));
+                        }
+
+                        return new PreparedInvocation(
+                                memoryId,
+                                chatMemory,
+                                messages,
+                                augmentationResult,
+                                responseFormat,
+                                toolExecutionContext,
+                                moderationFuture);
+                    }
+
+                    /**
+                     * Calls the streaming model, which completes the returned future from its own thread,
+                     * without blocking a thread while the response is being generated.
+                     * Tools are executed by the {@link AiServiceStreamingResponseHandler}.
+                     * When the method is moderated, the model is called only once the moderation has passed,
+                     * so that no tool is executed and no response is stored in the chat memory for flagged messages.
+                     */
+                    private CompletableFuture<Object> chatAsync(
+                            AiServiceMethod aiServiceMethod, PreparedInvocation invocation) {
+
+                        CompletableFuture<Moderation> moderationFuture = invocation.moderationFuture();
+                        if (moderationFuture == null) {
+                            return streamAsync(aiServiceMethod, invocation);
+                        }
+                        return moderationFuture.thenCompose(ignored -> {
+                            verifyModerationIfNeeded(moderationFuture);
+                            return streamAsync(aiServiceMethod, invocation);
+                        });
+                    }
+
+                    private CompletableFuture<Object> streamAsync(
+                            AiServiceMethod aiServiceMethod, PreparedInvocation invocation) {
+
+                        ToolExecutionContext toolExecutionContext = invocation.toolExecutionContext();
+                        AugmentationResult augmentationResult = invocation.augmentationResult();
+                        List<ToolExecution> toolExecutions = new ArrayList<>();
+
+                        CompletableFuture<Object> futureResult = new CompletableFuture<>();
+                        new AiServiceTokenStream(
+                                        invocation.messages(),
+                                        toolExecutionContext.toolSpecifications(),
+                                        toolExecutionContext.toolExecutors(),
+                                        augmentationResult != null ? augmentationResult.contents() : null,
+                                        context,
+                                        invocation.memoryId())
+                                .onPartialResponse(ignored -> {})
+                                .onToolExecuted(toolExecutions::add)
+                                .onCompleteResponse(chatResponse -> {
+                                    try {
+                                        futureResult.complete(parse(
+                                                aiServiceMethod,
+                                                chatResponse.aiMessage(),
+                                                chatResponse.metadata().tokenUsage(),
+                                                chatResponse.metadata().finishReason(),
+                                                augmentationResult,
+                                                toolExecutions));
+                                    } catch (Exception e) {
+                                        futureResult.completeExceptionally(e);
+                                    }
+                                })
+                                .onError(futureResult::completeExceptionally)
+                                .start();
+                        return futureResult;
+                    }
 
-                        Object parsedResponse = serviceOutputParser.parse(response, returnType);
-                        if (typeHasRawClass(returnType, Result.class)) {
+                    private Object parse(
+                            AiServiceMethod aiServiceMethod,
+                            AiMessage aiMessage,
+                            TokenUsage tokenUsage,
+                            FinishReason finishReason,
+                            AugmentationResult augmentationResult,
+                            List<ToolExecution> toolExecutions) {
+
+                        Response<AiMessage> response = Response.from(aiMessage, tokenUsage, finishReason);
+
+                        Object parsedResponse = serviceOutputParser.parse(response, aiServiceMethod.returnType());
+                        if (aiServiceMethod.returnsResult()) {
                             return Result.builder()
                                     .content(parsedResponse)
-                                    .tokenUsage(toolExecutionResult.tokenUsageAccumulator())
+                                    .tokenUsage(tokenUsage)
                                     .sources(augmentationResult == null ? null : augmentationResult.contents())
                                     .finishReason(finishReason)
-                                    .toolExecutions(toolExecutionResult.toolExecutions())
+                                    .toolExecutions(toolExecutions)
                                     .build();
                         } else {
                             return parsedResponse;
                         }
                     }
 
-                    private boolean canAdaptTokenStreamTo(Type returnType) {
-                        for (TokenStreamAdapter tokenStreamAdapter : tokenStreamAdapters) {
-                            if (tokenStreamAdapter.canAdaptTokenStreamTo(returnType)) {
-                                return true;
-                            }
-                        }
-                        return false;
-                    }
-
                     private Object adapt(TokenStream tokenStream, Type returnType) {
                         for (TokenStreamAdapter tokenStreamAdapter : tokenStreamAdapters) {
                             if (tokenStreamAdapter.canAdaptTokenStreamTo(returnType)) {
@@ -267,8 +445,16 @@ class DefaultAiServices<T> extends AiServices<T> {
                                 && context.chatModel.supportedCapabilities().contains(RESPONSE_FORMAT_JSON_SCHEMA);
                     }
 
-                    private UserMessage appendOutputFormatInstructions(Type returnType, UserMessage userMessage) {
-                        String outputFormatInstructions = serviceOutputParser.outputFormatInstructions(returnType);
+                    private void notifyInvocationTimingsListener(AiServiceInvocationTimings invocationTimings) {
+                        try {
+                            context.invocationTimingsListener.accept(invocationTimings);
+                        } catch (Exception e) {
+                            log.warn("Invocation timings listener failed", e);
+                        }
+                    }
+
+                    private UserMessage appendOutputFormatInstructions(
+                            String outputFormatInstructions, UserMessage userMessage) {
                         String text = userMessage.singleText() + outputFormatInstructions;
                         if (isNotNullOrBlank(userMessage.name())) {
                             userMessage = UserMessage.from(userMessage.name(), text);
@@ -278,14 +464,24 @@ class DefaultAiServices<T> extends AiServices<T> {
                         return userMessage;
                     }
 
-                    private Future<Moderation> triggerModerationIfNeeded(Method method, List<ChatMessage> messages) {
-                        if (method.isAnnotationPresent(Moderate.class)) {
-                            return executor.submit(() -> {
+                    private CompletableFuture<Moderation> triggerModerationIfNeeded(
+                            AiServiceMethod aiServiceMethod, List<ChatMessage> messages) {
+                        if (aiServiceMethod.isModerated()) {
+                            Supplier<Moderation> moderation = () -> {
                                 List<ChatMessage> messagesToModerate = removeToolMessages(messages);
                                 return context.moderationModel
                                         .moderate(messagesToModerate)
                                         .content();
-                            });
+                            };
+                            if (DefaultExecutorProvider.isBoundedExecutorThread()) {
+                                // the moderation result is waited for, which must not happen on the bounded executor
+                                try {
+                                    return completedFuture(moderation.get());
+                                } catch (RuntimeException e) {
+                                    return CompletableFuture.failedFuture(e);
+                                }
+                            }
+                            return supplyAsync(moderation, executor);
                         }
                         return null;
                     }
@@ -294,218 +490,81 @@ class DefaultAiServices<T> extends AiServices<T> {
         return (T) proxyInstance;
     }
 
-    private Optional<SystemMessage> prepareSystemMessage(Object memoryId, Method method, Object[] args) {
-        return findSystemMessageTemplate(memoryId, method)
-                .map(systemMessageTemplate -> PromptTemplate.from(systemMessageTemplate)
-                        .apply(findTemplateVariables(systemMessageTemplate, method, args))
-                        .toSystemMessage());
-    }
-
-    private Optional<String> findSystemMessageTemplate(Object memoryId, Method method) {
-        dev.langchain4j.service.SystemMessage annotation =
-                method.getAnnotation(dev.langchain4j.service.SystemMessage.class);
-        if (annotation != null) {
-            return Optional.of(getTemplate(
-                    method, "System", annotation.fromResource(), annotation.value(), annotation.delimiter()));
-        }
-
-        return context.systemMessageProvider.apply(memoryId);
-    }
-
-    private static Map<String, Object> findTemplateVariables(String template, Method method, Object[] args) {
-        Parameter[] parameters = method.getParameters();
-
-        Map<String, Object> variables = new HashMap<>();
-        for (int i = 0; i < parameters.length; i++) {
-            String variableName = getVariableName(parameters[i]);
-            Object variableValue = args[i];
-            variables.put(variableName, variableValue);
-        }
-
-        if (template.contains("{{it}}") && !variables.containsKey("it")) {
-            String itValue = getValueOfVariableIt(parameters, args);
-            variables.put("it", itValue);
-        }
-
-        return variables;
-    }
-
-    private static String getVariableName(Parameter parameter) {
-        V annotation = parameter.getAnnotation(V.class);
-        if (annotation != null) {
-            return annotation.value();
-        } else {
-            return parameter.getName();
-        }
-    }
-
-    private static String getValueOfVariableIt(Parameter[] parameters, Object[] args) {
-        if (parameters.length == 1) {
-            Parameter parameter = parameters[0];
-            if (!parameter.isAnnotationPresent(MemoryId.class)
-                    && !parameter.isAnnotationPresent(dev.langchain4j.service.UserMessage.class)
-                    && !parameter.isAnnotationPresent(UserName.class)
-                    && (!parameter.isAnnotationPresent(V.class) || isAnnotatedWithIt(parameter))) {
-                return toString(args[0]);
-            }
-        }
-
-        for (int i = 0; i < parameters.length; i++) {
-            if (isAnnotatedWithIt(parameters[i])) {
-                return toString(args[i]);
-            }
-        }
-
-        throw illegalConfiguration("Error: cannot find the value of the prompt template variable \"{{it}}\".");
-    }
-
-    private static boolean isAnnotatedWithIt(Parameter parameter) {
-        V annotation = parameter.getAnnotation(V.class);
-        return annotation != null && "it".equals(annotation.value());
-    }
-
-    private static UserMessage prepareUserMessage(Method method, Object[] args) {
-
-        String template = getUserMessageTemplate(method, args);
-        Map<String, Object> variables = findTemplateVariables(template, method, args);
-
-        Prompt prompt = PromptTemplate.from(template).apply(variables);
-
-        Optional<String> maybeUserName = findUserName(method.getParameters(), args);
-        return maybeUserName
-                .map(userName -> UserMessage.from(userName, prompt.text()))
-                .orElseGet(prompt::toUserMessage);
-    }
-
-    private static String getUserMessageTemplate(Method method, Object[] args) {
-
-        Optional<String> templateFromMethodAnnotation = findUserMessageTemplateFromMethodAnnotation(method);
-        Optional<String> templateFromParameterAnnotation =
-                findUserMessageTemplateFromAnnotatedParameter(method.getParameters(), args);
-
-        if (templateFromMethodAnnotation.isPresent() && templateFromParameterAnnotation.isPresent()) {
-            throw illegalConfiguration(
-                    "Error: The method '%s' has multiple @UserMessage annotations. Please use only one.",
-                    method.getName());
-        }
-
-        if (templateFromMethodAnnotation.isPresent()) {
-            return templateFromMethodAnnotation.get();
-        }
-        if (templateFromParameterAnnotation.isPresent()) {
-            return templateFromParameterAnnotation.get();
-        }
-
-        Optional<String> templateFromTheOnlyArgument =
-                findUserMessageTemplateFromTheOnlyArgument(method.getParameters(), args);
-        if (templateFromTheOnlyArgument.isPresent()) {
-            return templateFromTheOnlyArgument.get();
-        }
-
-        throw illegalConfiguration("Error: The method '%s' does not have a user message defined.", method.getName());
-    }
-
-    private static Optional<String> findUserMessageTemplateFromMethodAnnotation(Method method) {
-        return Optional.ofNullable(method.getAnnotation(dev.langchain4j.service.UserMessage.class))
-                .map(a -> getTemplate(method, "User", a.fromResource(), a.value(), a.delimiter()));
-    }
-
-    private static Optional<String> findUserMessageTemplateFromAnnotatedParameter(
-            Parameter[] parameters, Object[] args) {
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(dev.langchain4j.service.UserMessage.class)) {
-                return Optional.of(toString(args[i]));
-            }
-        }
-        return Optional.empty();
-    }
-
-    private static Optional<String> findUserMessageTemplateFromTheOnlyArgument(Parameter[] parameters, Object[] args) {
-        if (parameters != null && parameters.length == 1 && parameters[0].getAnnotations().length == 0) {
-            return Optional.of(toString(args[0]));
+    /**
+     * Wraps a {@link ThreadPoolExecutor} that runs rejected tasks in the submitting thread
+     * (like the default executor on JDKs without virtual threads), so that its rejected tasks fail instead.
+     * This way, the invocations of asynchronous methods are never run in the invoking thread.
+     * Other executors are returned as is.
+     */
+    private static Executor failingWhenRunInSubmittingThread(Executor executor) {
+        if (!(executor instanceof ThreadPoolExecutor pool
+                && pool.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.CallerRunsPolicy)) {
+            return executor;
         }
-        return Optional.empty();
-    }
-
-    private static Optional<String> findUserName(Parameter[] parameters, Object[] args) {
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(UserName.class)) {
-                return Optional.of(args[i].toString());
-            }
-        }
-        return Optional.empty();
-    }
-
-    private static String getTemplate(Method method, String type, String resource, String[] value, String delimiter) {
-        String messageTemplate;
-        if (!resource.trim().isEmpty()) {
-            messageTemplate = getResourceText(method.getDeclaringClass(), resource);
-            if (messageTemplate == null) {
-                throw illegalConfiguration("@%sMessage's resource '%s' not found", type, resource);
+        return task -> {
+            Thread submittingThread = Thread.currentThread();
+            AtomicBoolean submitting = new AtomicBoolean(true);
+            try {
+                executor.execute(() -> {
+                    if (submitting.get() && Thread.currentThread() == submittingThread) {
+                        throw new RejectedExecutionException("The executor is saturated");
+                    }
+                    task.run();
+                });
+            } finally {
+                submitting.set(false);
             }
-        } else {
-            messageTemplate = String.join(delimiter, value);
-        }
-        if (messageTemplate.trim().isEmpty()) {
-            throw illegalConfiguration("@%sMessage's template cannot be empty", type);
-        }
-        return messageTemplate;
+        };
     }
 
-    private static String getResourceText(Class<?> clazz, String resource) {
-        InputStream inputStream = clazz.getResourceAsStream(resource);
-        if (inputStream == null) {
-            inputStream = clazz.getResourceAsStream("/" + resource);
-        }
-        return getText(inputStream);
+    private static <T> Timed<T> timed(Supplier<T> step) {
+        long start = System.nanoTime();
+        T value = step.get();
+        return new Timed<>(value, System.nanoTime() - start);
     }
 
-    private static String getText(InputStream inputStream) {
-        if (inputStream == null) {
-            return null;
-        }
-        try (Scanner scanner = new Scanner(inputStream);
-                Scanner s = scanner.useDelimiter("\\A")) {
-            return s.hasNext() ? s.next() : "";
-        }
-    }
-
-    private static Optional<Object> findMemoryId(Method method, Object[] args) {
-        Parameter[] parameters = method.getParameters();
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(MemoryId.class)) {
-                Object memoryId = args[i];
-                if (memoryId == null) {
-                    throw illegalArgument(
-                            "The value of parameter '%s' annotated with @MemoryId in method '%s' must not be null",
-                            parameters[i].getName(), method.getName());
-                }
-                return Optional.of(memoryId);
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw e;
         }
-        return Optional.empty();
     }
 
-    private static String toString(Object arg) {
-        if (arg.getClass().isArray()) {
-            return arrayToString(arg);
-        } else if (arg.getClass().isAnnotationPresent(StructuredPrompt.class)) {
-            return StructuredPromptProcessor.toPrompt(arg).text();
-        } else {
-            return arg.toString();
-        }
+    private record Timed<T>(T value, long nanos) {}
+
+    private record PendingInvocation(
+            Object memoryId,
+            UserMessage userMessage,
+            ChatMemory chatMemory,
+            long chatMemoryNanos,
+            Timed<Optional<SystemMessage>> systemMessage,
+            CompletableFuture<Timed<AugmentationResult>> augmentation) {}
+
+    private record PreparedInvocation(
+            Object memoryId,
+            ChatMemory chatMemory,
+            List<ChatMessage> messages,
+            AugmentationResult augmentationResult,
+            ResponseFormat responseFormat,
+            ToolExecutionContext toolExecutionContext,
+            CompletableFuture<Moderation> moderationFuture) {}
+
+    private AiServiceMethod createAiServiceMethod(Method method) {
+        Type returnType = method.getGenericReturnType();
+        boolean streaming = returnType == TokenStream.class || canAdaptTokenStreamTo(returnType);
+        return new AiServiceMethod(method, streaming, serviceOutputParser);
     }
 
-    private static String arrayToString(Object arg) {
-        StringBuilder sb = new StringBuilder("[");
-        int length = Array.getLength(arg);
-        for (int i = 0; i < length; i++) {
-            sb.append(toString(Array.get(arg, i)));
-            if (i < length - 1) {
-                sb.append(", ");
+    private boolean canAdaptTokenStreamTo(Type returnType) {
+        for (TokenStreamAdapter tokenStreamAdapter : tokenStreamAdapters) {
+            if (tokenStreamAdapter.canAdaptTokenStreamTo(returnType)) {
+                return true;
             }
         }
-        sb.append("]");
-        return sb.toString();
+        return false;
     }
 }
@@ -1,13 +1,17 @@
 package dev.langchain4j.service;
 
+import dev.langchain4j.internal.Json;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.rag.RetrievalAugmentor;
 import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.service.output.JsonArrayElementsParser;
 import dev.langchain4j.service.tool.ToolExecution;
 
 import java.util.List;
 import java.util.function.Consumer;
 
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
 /**
  * Represents a token stream from language model to which you can subscribe and receive updates
  * when a new partial response (usually a single token) is available,
@@ -25,6 +29,32 @@ public interface TokenStream {
      */
     TokenStream onPartialResponse(Consumer<String> partialResponseHandler);
 
+    /**
+     * The provided consumer will be invoked every time an element of the JSON array streamed by the language model
+     * is complete, with the element deserialized into the given type.
+     * This allows processing the elements of a large JSON array (e.g., extracted entities) as soon as they are generated,
+     * instead of waiting for the complete response.
+     * <p>
+     * The elements of the first JSON array in the response are handled, whether the array is the top-level value
+     * or the value of a property of the top-level object (e.g., {@code {"items": [...]}}).
+     * When this method is invoked, invoking {@link #onPartialResponse(Consumer)} is optional.
+     * <p>
+     * The default implementation parses the partial responses, so it subscribes via
+     * {@link #onPartialResponse(Consumer)} and can't be combined with it.
+     *
+     * @param elementType           the type of the elements of the JSON array
+     * @param partialElementHandler lambda that will be invoked when an element of the JSON array is complete
+     * @param <T>                   the type of the elements of the JSON array
+     * @return token stream instance used to configure or start stream processing
+     */
+    default <T> TokenStream onPartialElement(Class<T> elementType, Consumer<T> partialElementHandler) {
+        ensureNotNull(elementType, "elementType");
+        ensureNotNull(partialElementHandler, "partialElementHandler");
+        JsonArrayElementsParser parser =
+                new JsonArrayElementsParser(json -> partialElementHandler.accept(Json.fromJson(json, elementType)));
+        return onPartialResponse(parser::append);
+    }
+
     /**
      * The provided consumer will be invoked if any {@link Content}s are retrieved using {@link RetrievalAugmentor}.
      * <p>
@@ -3,7 +3,9 @@ package dev.langchain4j.service.output;
 import dev.langchain4j.model.output.structured.Description;
 
 import java.lang.reflect.Field;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
@@ -12,17 +14,28 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 class EnumOutputParser implements OutputParser<Enum> {
 
     private final Class<? extends Enum> enumClass;
+    private final Enum[] enumConstants;
+    private final Map<String, Enum> enumConstantsByUpperCaseName = new HashMap<>();
 
     EnumOutputParser(Class<? extends Enum> enumClass) {
         this.enumClass = ensureNotNull(enumClass, "enumClass");
+        this.enumConstants = enumClass.getEnumConstants();
+        for (Enum enumConstant : enumConstants) {
+            enumConstantsByUpperCaseName.putIfAbsent(enumConstant.name().toUpperCase(Locale.ROOT), enumConstant);
+        }
     }
 
     @Override
     public Enum parse(String string) {
         string = trimAndRemoveBracketsIfPresent(string);
-        for (Enum enumConstant : enumClass.getEnumConstants()) {
-            if (enumConstant.name().equalsIgnoreCase(string)) {
-                return enumConstant;
+        Enum enumConstant = enumConstantsByUpperCaseName.get(string.toUpperCase(Locale.ROOT));
+        if (enumConstant != null) {
+            return enumConstant;
+        }
+        // falls back to a case-insensitive comparison for the characters that are not upper-cased consistently
+        for (Enum constant : enumConstants) {
+            if (constant.name().equalsIgnoreCase(string)) {
+                return constant;
             }
         }
         throw new RuntimeException("Unknown enum value: " + string);
@@ -31,8 +44,6 @@ class EnumOutputParser implements OutputParser<Enum> {
     @Override
     public String formatInstructions() {
         try {
-            Enum[] enumConstants = enumClass.getEnumConstants();
-
             if (enumConstants.length == 0) {
                 throw new IllegalArgumentException("Should be at least one enum constant defined.");
             }
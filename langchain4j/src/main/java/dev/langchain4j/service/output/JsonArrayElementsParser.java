@@ -0,0 +1,170 @@
+package dev.langchain4j.service.output;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Incrementally parses a JSON array streamed in chunks (e.g., tokens from a language model)
+ * and emits the JSON text of each element of the array as soon as the element is complete,
+ * without waiting for the rest of the array.
+ * <br>
+ * The elements of the first JSON array found in the text are emitted, whether the array is the top-level value
+ * (e.g., {@code [{"name": "Klaus"}, {"name": "Francine"}]}) or the value of a property of the top-level object
+ * (e.g., {@code {"items": [{"name": "Klaus"}, {"name": "Francine"}]}}).
+ * The top-level JSON value is recognized only at the beginning of the text or after a markdown fence
+ * (e.g., {@code Sure! ```json\n[1, 2]```}), so that brackets in any prose before it
+ * (e.g., {@code Results [JSON]:}) are not mistaken for the array.
+ * <br>
+ * This parser is not thread-safe. It is not a validating parser: malformed JSON is not reported,
+ * but the elements emitted for it may fail to be deserialized.
+ */
+public class JsonArrayElementsParser {
+
+    private final Consumer<String> elementHandler;
+    private final StringBuilder element = new StringBuilder();
+
+    private boolean valueMayStart = true; // whether the top-level JSON value may start at the next character
+    private int backticks; // the number of consecutive backticks in the text before the top-level JSON value
+    private boolean inFence; // whether the opening line of a markdown fence is being read
+    private int depth; // the nesting depth of objects and arrays, until the array is found
+    private boolean inArray; // whether the array whose elements are emitted has been found
+    private int elementDepth; // the nesting depth of objects and arrays inside the current element
+    private boolean inString;
+    private boolean escaped;
+    private boolean done;
+
+    public JsonArrayElementsParser(Consumer<String> elementHandler) {
+        this.elementHandler = ensureNotNull(elementHandler, "elementHandler");
+    }
+
+    /**
+     * Parses the next chunk of the JSON text.
+     *
+     * @param chunk The next chunk of the JSON text.
+     */
+    public void append(String chunk) {
+        if (chunk == null) {
+            return;
+        }
+        for (int i = 0; i < chunk.length() && !done; i++) {
+            char c = chunk.charAt(i);
+            if (!inArray) {
+                findArray(c);
+            } else {
+                parseElement(c);
+            }
+        }
+    }
+
+    private void findArray(char c) {
+        if (inString) {
+            skipString(c);
+            return;
+        }
+        if (depth == 0 && !startsTopLevelValue(c)) {
+            return;
+        }
+        switch (c) {
+            case '"' -> inString = depth > 0;
+            case '{' -> depth++;
+            case '[' -> {
+                inArray = depth <= 1;
+                depth++;
+            }
+            case '}', ']' -> {
+                if (depth > 0 && --depth == 0) {
+                    // the top-level value does not contain an array
+                    done = true;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Skips the text before the top-level JSON value.
+     *
+     * @return whether the given character starts the top-level JSON value.
+     */
+    private boolean startsTopLevelValue(char c) {
+        if ((c == '{' || c == '[') && (valueMayStart || inFence)) {
+            return true;
+        }
+        if (c == '`') {
+            if (++backticks == 3) {
+                inFence = true;
+                valueMayStart = false;
+            }
+        } else {
+            backticks = 0;
+            if (inFence && c == '\n') {
+                // the value may start on the line following the opening fence, e.g., "```json"
+                inFence = false;
+                valueMayStart = true;
+            } else if (!inFence && !Character.isWhitespace(c)) {
+                valueMayStart = false;
+            }
+        }
+        return false;
+    }
+
+    private void parseElement(char c) {
+        if (inString) {
+            element.append(c);
+            skipString(c);
+            return;
+        }
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                element.append(c);
+            }
+            case '{', '[' -> {
+                elementDepth++;
+                element.append(c);
+            }
+            case '}', ']' -> {
+                if (elementDepth > 0) {
+                    elementDepth--;
+                    element.append(c);
+                } else {
+                    // the end of the array
+                    emitElement();
+                    done = true;
+                }
+            }
+            case ',' -> {
+                if (elementDepth > 0) {
+                    element.append(c);
+                } else {
+                    emitElement();
+                }
+            }
+            default -> {
+                if (elementDepth > 0 || !Character.isWhitespace(c)) {
+                    element.append(c);
+                }
+            }
+        }
+    }
+
+    private void skipString(char c) {
+        if (escaped) {
+            escaped = false;
+        } else if (c == '\\') {
+            escaped = true;
+        } else if (c == '"') {
+            inString = false;
+        }
+    }
+
+    private void emitElement() {
+        if (!element.isEmpty()) {
+            String json = element.toString();
+            element.setLength(0);
+            elementHandler.accept(json);
+        }
+    }
+}
@@ -9,11 +9,10 @@ import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.TypeUtils;
 
 import java.lang.reflect.Type;
-import java.util.LinkedHashMap;
 import java.util.Optional;
 
 import static dev.langchain4j.service.IllegalConfigurationException.illegalConfiguration;
-import static dev.langchain4j.model.chat.request.json.JsonSchemaElementHelper.jsonObjectOrReferenceSchemaFrom;
+import static dev.langchain4j.model.chat.request.json.JsonSchemaElementHelper.jsonObjectSchemaFrom;
 import static dev.langchain4j.service.TypeUtils.getRawClass;
 import static dev.langchain4j.service.TypeUtils.resolveFirstGenericParameterClass;
 import static dev.langchain4j.service.TypeUtils.typeHasRawClass;
@@ -21,6 +20,23 @@ import static dev.langchain4j.service.TypeUtils.typeHasRawClass;
 @Experimental
 public class JsonSchemas {
 
+    private static final ClassValue<JsonSchema> JSON_SCHEMAS = new ClassValue<>() {
+        @Override
+        protected JsonSchema computeValue(Class<?> rawClass) {
+            return JsonSchema.builder()
+                    .name(rawClass.getSimpleName())
+                    .rootElement(jsonObjectSchemaFrom(rawClass))
+                    .build();
+        }
+    };
+
+    /**
+     * Derives the {@link JsonSchema} of the given return type of an AI Service method, if it is a POJO.
+     * The {@link JsonSchema} is derived once per class and cached, so it must not be modified.
+     *
+     * @param returnType the return type.
+     * @return the {@link JsonSchema}, or an empty {@link Optional} if the return type is not a POJO.
+     */
     public static Optional<JsonSchema> jsonSchemaFrom(Type returnType) {
 
         if (typeHasRawClass(returnType, Result.class)) {
@@ -36,14 +52,7 @@ public class JsonSchemas {
             return Optional.empty();
         }
 
-        Class<?> rawClass = getRawClass(returnType);
-
-        JsonSchema jsonSchema = JsonSchema.builder()
-                .name(rawClass.getSimpleName())
-                .rootElement(jsonObjectOrReferenceSchemaFrom(rawClass, null, new LinkedHashMap<>(), true))
-                .build();
-
-        return Optional.of(jsonSchema);
+        return Optional.of(JSON_SCHEMAS.get(getRawClass(returnType)));
     }
 
     private static boolean isPojo(Type returnType) {
@@ -17,8 +17,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static dev.langchain4j.service.IllegalConfigurationException.illegalConfiguration;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
@@ -29,9 +29,18 @@ import static java.lang.String.format;
 
 public class ServiceOutputParser {
 
-    private static final Pattern JSON_BLOCK_PATTERN = Pattern.compile("(?s)\\{.*\\}|\\[.*\\]");
+    private static final String MARKDOWN_FENCE = "```";
+
+    // cached per class, without preventing the class (and its class loader) from being unloaded
+    private static final ClassValue<String> JSON_STRUCTURES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> rawClass) {
+            return jsonStructure(rawClass, new HashSet<>());
+        }
+    };
 
     private final OutputParserFactory outputParserFactory;
+    private final Map<Type, Function<Response<AiMessage>, Object>> parsers = new ConcurrentHashMap<>();
 
     public ServiceOutputParser() {
         this(new DefaultOutputParserFactory());
@@ -41,7 +50,19 @@ public class ServiceOutputParser {
         this.outputParserFactory = ensureNotNull(outputParserFactory, "outputParserFactory");
     }
 
+    /**
+     * Parses the response of the LLM into an object of the given return type.
+     * The parser for a return type is resolved once and reused for subsequent responses.
+     *
+     * @param response   the response of the LLM.
+     * @param returnType the return type of the AI Service method.
+     * @return the parsed response.
+     */
     public Object parse(Response<AiMessage> response, Type returnType) {
+        return parsers.computeIfAbsent(returnType, this::createParser).apply(response);
+    }
+
+    private Function<Response<AiMessage>, Object> createParser(Type returnType) {
 
         if (typeHasRawClass(returnType, Result.class)) {
             returnType = resolveFirstGenericParameterClass(returnType);
@@ -55,32 +76,70 @@ public class ServiceOutputParser {
         Class<?> typeArgumentClass = TypeUtils.resolveFirstGenericParameterClass(returnType);
 
         if (rawReturnClass == Response.class) {
-            return response;
+            return response -> response;
         }
 
-        AiMessage aiMessage = response.content();
         if (rawReturnClass == AiMessage.class) {
-            return aiMessage;
+            return Response::content;
         }
 
-        String text = aiMessage.text();
         if (rawReturnClass == String.class) {
-            return text;
+            return response -> response.content().text();
         }
 
         Optional<OutputParser<?>> optionalOutputParser = outputParserFactory.get(rawReturnClass, typeArgumentClass);
         if (optionalOutputParser.isPresent()) {
-            return optionalOutputParser.get().parse(text);
+            OutputParser<?> outputParser = optionalOutputParser.get();
+            return response -> outputParser.parse(response.content().text());
         }
 
+        Type jsonType = returnType;
+        return response -> parseJson(response.content().text(), jsonType);
+    }
+
+    private static Object parseJson(String text, Type type) {
+        if (startsWithJsonStructure(text)) {
+            try {
+                return Json.fromJson(text, type);
+            } catch (Exception e) {
+                return Json.fromJson(extractJsonBlock(text), type);
+            }
+        }
+
+        // the JSON is most likely surrounded by text (e.g., markdown fences), so it is extracted first
+        // instead of failing to parse the whole text
+        String jsonBlock = extractJsonBlock(text);
+        if (jsonBlock.equals(text)) {
+            return Json.fromJson(text, type);
+        }
         try {
-            return Json.fromJson(text, returnType);
-        } catch (Exception e) {
-            String jsonBlock = extractJsonBlock(text);
-            return Json.fromJson(jsonBlock, returnType);
+            return Json.fromJson(jsonBlock, type);
+        } catch (RuntimeException e) {
+            try {
+                return Json.fromJson(text, type);
+            } catch (RuntimeException ignored) {
+                throw e;
+            }
+        }
+    }
+
+    private static boolean startsWithJsonStructure(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{' || c == '[';
+            }
         }
+        return false;
     }
 
+    /**
+     * Returns the instructions describing the expected format of the response for the given return type.
+     * The JSON structure of POJOs is derived once per class and cached.
+     *
+     * @param returnType the return type of the AI Service method.
+     * @return the output format instructions, possibly empty.
+     */
     public String outputFormatInstructions(Type returnType) {
 
         if (typeHasRawClass(returnType, Result.class)) {
@@ -122,13 +181,13 @@ public class ServiceOutputParser {
             }
         }
 
-        String jsonStructure = jsonStructure((rawClass), new HashSet<>());
+        String jsonStructure = JSON_STRUCTURES.get(rawClass);
         validateJsonStructure(jsonStructure, returnType);
         return "\nYou must answer strictly in the following JSON format: " + jsonStructure;
     }
 
     private void validateJsonStructure(String jsonStructure, Type returnType) {
-        if (jsonStructure.replaceAll("\\s", "").equals("{}")) {
+        if (isEmptyJsonObject(jsonStructure)) {
             if (returnType.toString().contains("reactor.core.publisher.Flux")) {
                 throw illegalConfiguration("Please import langchain4j-reactor module " +
                         "if you wish to use Flux<String> as a method return type");
@@ -137,6 +196,19 @@ public class ServiceOutputParser {
         }
     }
 
+    private static boolean isEmptyJsonObject(String jsonStructure) {
+        int nonWhitespace = 0;
+        for (int i = 0; i < jsonStructure.length(); i++) {
+            char c = jsonStructure.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                if (++nonWhitespace > 2 || (nonWhitespace == 1 ? c != '{' : c != '}')) {
+                    return false;
+                }
+            }
+        }
+        return nonWhitespace == 2;
+    }
+
     private static String jsonStructure(Class<?> structured, Set<Class<?>> visited) {
         StringBuilder jsonSchema = new StringBuilder();
 
@@ -226,11 +298,76 @@ public class ServiceOutputParser {
         }
     }
 
-    private String extractJsonBlock(String text) {
-        Matcher matcher = JSON_BLOCK_PATTERN.matcher(text);
-        if (matcher.find()) {
-            return matcher.group();
+    /**
+     * Extracts the JSON object or array from the given text, e.g., from a markdown code block.
+     * The content of the first markdown code block is preferred if it contains a complete JSON object or array
+     * (it does not when, e.g., a JSON string contains a markdown fence, which then ends the code block too early).
+     * Otherwise, the text between the first opening and the last matching closing brace (or bracket) is returned.
+     * The text is scanned in linear time, without regular expressions.
+     *
+     * @param text the text.
+     * @return the JSON block, or the text itself if no JSON block is found.
+     */
+    static String extractJsonBlock(String text) {
+        int fenceStart = text.indexOf(MARKDOWN_FENCE);
+        if (fenceStart >= 0) {
+            int contentStart = fenceStart + MARKDOWN_FENCE.length();
+            int fenceEnd = text.indexOf(MARKDOWN_FENCE, contentStart);
+            if (fenceEnd >= 0) {
+                String jsonBlock = extractJsonBlock(text, contentStart, fenceEnd);
+                if (jsonBlock != null && isCompleteJsonStructure(jsonBlock)) {
+                    return jsonBlock;
+                }
+            }
+        }
+        String jsonBlock = extractJsonBlock(text, 0, text.length());
+        return jsonBlock != null ? jsonBlock : text;
+    }
+
+    private static String extractJsonBlock(String text, int from, int to) {
+        int lastBrace = text.lastIndexOf('}', to - 1);
+        int lastBracket = text.lastIndexOf(']', to - 1);
+        int end = Math.max(lastBrace, lastBracket);
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '{' && i < lastBrace) {
+                return text.substring(i, lastBrace + 1);
+            }
+            if (c == '[' && i < lastBracket) {
+                return text.substring(i, lastBracket + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks that the objects, arrays and strings of the given JSON block are all closed,
+     * and that the JSON block ends where its first object or array is closed.
+     */
+    private static boolean isCompleteJsonStructure(String jsonBlock) {
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        for (int i = 0; i < jsonBlock.length(); i++) {
+            char c = jsonBlock.charAt(i);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (--depth == 0) {
+                    return i == jsonBlock.length() - 1;
+                }
+            }
         }
-        return text;
+        return false;
     }
 }
@@ -25,6 +25,7 @@ import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static dev.langchain4j.internal.Utils.randomUUID;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
@@ -50,6 +51,12 @@ import static java.util.stream.Collectors.toList;
  */
 public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded> {
 
+    /**
+     * The number of stored embeddings scored against all queries at once in {@link #searchAll(List)}.
+     * 64 embeddings of 1536 dimensions take 384 KiB.
+     */
+    private static final int SEARCH_ALL_BLOCK_SIZE = 64;
+
     final CopyOnWriteArrayList<Entry<Embedded>> entries;
 
     public InMemoryEmbeddingStore() {
@@ -177,6 +184,98 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
         return new EmbeddingSearchResult<>(result);
     }
 
+    /**
+     * Performs multiple searches in a single scan over the stored embeddings.
+     * <br>
+     * The stored embeddings are processed in blocks that fit into the CPU cache,
+     * and each block is scored against all query embeddings before moving to the next block,
+     * so each stored embedding is loaded from memory only once regardless of the number of requests.
+     * The results are identical to calling {@link #search(EmbeddingSearchRequest)} for each request.
+     *
+     * @param requests The requests to search with.
+     * @return The {@link EmbeddingSearchResult}s, in the same order as the requests.
+     */
+    @Override
+    public List<EmbeddingSearchResult<Embedded>> searchAll(List<EmbeddingSearchRequest> requests) {
+        ensureNotNull(requests, "requests");
+        if (requests.size() <= 1) {
+            return requests.stream().map(this::search).collect(toList());
+        }
+
+        int queryCount = requests.size();
+        float[][] queryVectors = new float[queryCount][];
+        double[] queryNorms = new double[queryCount];
+        List<PriorityQueue<EmbeddingMatch<Embedded>>> matches = new ArrayList<>(queryCount);
+        Comparator<EmbeddingMatch<Embedded>> comparator = comparingDouble(EmbeddingMatch::score);
+        for (int q = 0; q < queryCount; q++) {
+            queryVectors[q] = requests.get(q).queryEmbedding().vector();
+            queryNorms[q] = Math.sqrt(squaredNorm(queryVectors[q]));
+            matches.add(new PriorityQueue<>(comparator));
+        }
+
+        List<Entry<Embedded>> snapshot = new ArrayList<>(entries);
+        double[] entryNorms = new double[SEARCH_ALL_BLOCK_SIZE];
+        for (int blockStart = 0; blockStart < snapshot.size(); blockStart += SEARCH_ALL_BLOCK_SIZE) {
+            int blockSize = Math.min(SEARCH_ALL_BLOCK_SIZE, snapshot.size() - blockStart);
+            for (int e = 0; e < blockSize; e++) {
+                entryNorms[e] = Math.sqrt(squaredNorm(snapshot.get(blockStart + e).embedding.vector()));
+            }
+
+            for (int q = 0; q < queryCount; q++) {
+                EmbeddingSearchRequest request = requests.get(q);
+                Filter filter = request.filter();
+                float[] queryVector = queryVectors[q];
+                PriorityQueue<EmbeddingMatch<Embedded>> queryMatches = matches.get(q);
+
+                for (int e = 0; e < blockSize; e++) {
+                    Entry<Embedded> entry = snapshot.get(blockStart + e);
+
+                    if (filter != null && entry.embedded instanceof TextSegment) {
+                        Metadata metadata = ((TextSegment) entry.embedded).metadata();
+                        if (!filter.test(metadata)) {
+                            continue;
+                        }
+                    }
+
+                    float[] entryVector = entry.embedding.vector();
+                    if (entryVector.length != queryVector.length) {
+                        throw illegalArgument("Length of vector a (%s) must be equal to the length of vector b (%s)",
+                                entryVector.length, queryVector.length);
+                    }
+                    double dotProduct = 0.0;
+                    for (int i = 0; i < queryVector.length; i++) {
+                        dotProduct += entryVector[i] * queryVector[i];
+                    }
+                    double cosineSimilarity = dotProduct / Math.max(entryNorms[e] * queryNorms[q], CosineSimilarity.EPSILON);
+                    double score = RelevanceScore.fromCosineSimilarity(cosineSimilarity);
+                    if (score >= request.minScore()) {
+                        queryMatches.add(new EmbeddingMatch<>(score, entry.id, entry.embedding, entry.embedded));
+                        if (queryMatches.size() > request.maxResults()) {
+                            queryMatches.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<EmbeddingSearchResult<Embedded>> results = new ArrayList<>(queryCount);
+        for (PriorityQueue<EmbeddingMatch<Embedded>> queryMatches : matches) {
+            List<EmbeddingMatch<Embedded>> result = new ArrayList<>(queryMatches);
+            result.sort(comparator);
+            Collections.reverse(result);
+            results.add(new EmbeddingSearchResult<>(result));
+        }
+        return results;
+    }
+
+    private static double squaredNorm(float[] vector) {
+        double norm = 0.0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        return norm;
+    }
+
     public String serializeToJson() {
         return loadCodec().toJson(this);
     }
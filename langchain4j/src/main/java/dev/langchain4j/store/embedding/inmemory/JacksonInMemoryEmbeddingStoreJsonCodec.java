@@ -1,5 +1,6 @@
 package dev.langchain4j.store.embedding.inmemory;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -10,7 +11,10 @@ import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 
+import java.util.Map;
+
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
 
 class JacksonInMemoryEmbeddingStoreJsonCodec implements InMemoryEmbeddingStoreJsonCodec {
@@ -20,6 +24,7 @@ class JacksonInMemoryEmbeddingStoreJsonCodec implements InMemoryEmbeddingStoreJs
             .addMixIn(InMemoryEmbeddingStore.Entry.class, EntryMixIn.class)
             .addMixIn(Embedding.class, EmbeddingMixIn.class)
             .addMixIn(TextSegment.class, TextSegmentMixin.class)
+            .addMixIn(Metadata.class, MetadataMixIn.class)
             .build();
 
     private static final TypeReference<InMemoryEmbeddingStore<TextSegment>> TYPE_REFERENCE = new TypeReference<>() {
@@ -68,4 +73,19 @@ class JacksonInMemoryEmbeddingStoreJsonCodec implements InMemoryEmbeddingStoreJs
 
         }
     }
+
+    /**
+     * Keeps the wire format independent of the internal representation of {@link Metadata}:
+     * it is always serialized as {@code {"metadata": {"key": value, ...}}}.
+     */
+    @JsonAutoDetect(fieldVisibility = NONE, getterVisibility = NONE, isGetterVisibility = NONE)
+    private abstract static class MetadataMixIn {
+
+        @JsonCreator
+        MetadataMixIn(@JsonProperty("metadata") Map<String, ?> metadata) {
+        }
+
+        @JsonProperty("metadata")
+        abstract Map<String, Object> toMap();
+    }
 }
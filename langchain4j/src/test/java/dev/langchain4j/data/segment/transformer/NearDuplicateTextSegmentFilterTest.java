@@ -0,0 +1,109 @@
+package dev.langchain4j.data.segment.transformer;
+
+import dev.langchain4j.data.segment.TextSegment;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class NearDuplicateTextSegmentFilterTest implements WithAssertions {
+
+    private static final String TEXT = "LangChain4j is a Java library that simplifies integrating large language models " +
+            "into Java applications. It offers a unified API over many model providers and embedding stores, " +
+            "and a toolbox of common patterns such as retrieval augmented generation, tools and chat memory.";
+
+    @Test
+    void should_filter_out_exact_duplicates() {
+
+        NearDuplicateTextSegmentFilter filter = new NearDuplicateTextSegmentFilter();
+
+        List<TextSegment> segments = filter.transformAll(List.of(
+                TextSegment.from(TEXT),
+                TextSegment.from(TEXT),
+                TextSegment.from("Something completely different.")
+        ));
+
+        assertThat(segments).extracting(TextSegment::text)
+                .containsExactly(TEXT, "Something completely different.");
+        assertThat(filter.processedSegments()).isEqualTo(3);
+        assertThat(filter.filteredSegments()).isEqualTo(1);
+        assertThat(filter.duplicateRatio()).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    @Test
+    void should_filter_out_near_duplicates_ignoring_case_punctuation_and_whitespace() {
+
+        NearDuplicateTextSegmentFilter filter = new NearDuplicateTextSegmentFilter();
+        String nearDuplicate = TEXT.toUpperCase().replace(",", "").replace(" ", "  ");
+
+        assertThat(filter.transform(TextSegment.from(TEXT))).isNotNull();
+        assertThat(filter.transform(TextSegment.from(nearDuplicate))).isNull();
+    }
+
+    @Test
+    void should_filter_out_segments_with_small_edits() {
+
+        NearDuplicateTextSegmentFilter filter = new NearDuplicateTextSegmentFilter(3, null, null, 0.5);
+        String edited = TEXT.replace("chat memory", "chat memories");
+
+        assertThat(filter.transform(TextSegment.from(TEXT))).isNotNull();
+        assertThat(filter.transform(TextSegment.from(edited))).isNull();
+    }
+
+    @Test
+    void should_keep_different_segments() {
+
+        NearDuplicateTextSegmentFilter filter = new NearDuplicateTextSegmentFilter();
+
+        List<TextSegment> input = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            input.add(TextSegment.from("Segment number " + i + " talks about topic " + (i * 7919) + " in detail"));
+        }
+
+        List<TextSegment> segments = filter.transformAll(input);
+
+        assertThat(segments).hasSize(1_000);
+        assertThat(filter.duplicateRatio()).isZero();
+    }
+
+    @Test
+    void should_deduplicate_across_invocations_until_reset() {
+
+        NearDuplicateTextSegmentFilter filter = new NearDuplicateTextSegmentFilter();
+
+        assertThat(filter.transformAll(List.of(TextSegment.from(TEXT)))).hasSize(1);
+        assertThat(filter.transformAll(List.of(TextSegment.from(TEXT)))).isEmpty();
+
+        filter.reset();
+
+        assertThat(filter.processedSegments()).isZero();
+        assertThat(filter.transformAll(List.of(TextSegment.from(TEXT)))).hasSize(1);
+    }
+
+    @Test
+    void should_handle_segments_shorter_than_shingle() {
+
+        NearDuplicateTextSegmentFilter filter = new NearDuplicateTextSegmentFilter();
+
+        assertThat(filter.transform(TextSegment.from("Page 1"))).isNotNull();
+        assertThat(filter.transform(TextSegment.from("page 1!"))).isNull();
+        assertThat(filter.transform(TextSegment.from("Page 2"))).isNotNull();
+    }
+
+    @Test
+    void should_keep_segments_without_words() {
+
+        NearDuplicateTextSegmentFilter filter = new NearDuplicateTextSegmentFilter();
+
+        List<TextSegment> segments = filter.transformAll(List.of(
+                TextSegment.from("---"),
+                TextSegment.from("***"),
+                TextSegment.from("..."),
+                TextSegment.from(TEXT)
+        ));
+
+        assertThat(segments).extracting(TextSegment::text).containsExactly("---", "***", "...", TEXT);
+        assertThat(filter.filteredSegments()).isZero();
+    }
+}
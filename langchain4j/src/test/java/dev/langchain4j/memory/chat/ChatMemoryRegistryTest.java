@@ -0,0 +1,147 @@
+package dev.langchain4j.memory.chat;
+
+import dev.langchain4j.memory.ChatMemory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class ChatMemoryRegistryTest {
+
+    ChatMemoryProvider chatMemoryProvider = memoryId -> MessageWindowChatMemory.builder()
+            .id(memoryId)
+            .maxMessages(10)
+            .build();
+
+    @Test
+    void should_provide_chat_memory_once_per_memory_id() {
+
+        // given
+        ChatMemoryRegistry registry = ChatMemoryRegistry.builder().build();
+
+        // when
+        ChatMemory first = registry.computeIfAbsent("user-1", chatMemoryProvider::get);
+        ChatMemory second = registry.computeIfAbsent("user-1", chatMemoryProvider::get);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(registry).hasSize(1).containsEntry("user-1", first);
+    }
+
+    @Test
+    void should_evict_least_recently_used_chat_memory() {
+
+        // given
+        AtomicLong nanoTime = new AtomicLong();
+        List<ChatMemory> evicted = new ArrayList<>();
+        ChatMemoryRegistry registry = new ChatMemoryRegistry(3, null, evicted::add, nanoTime::get);
+
+        registry.computeIfAbsent("user-1", chatMemoryProvider::get);
+        nanoTime.incrementAndGet();
+        registry.computeIfAbsent("user-2", chatMemoryProvider::get);
+        nanoTime.incrementAndGet();
+        registry.computeIfAbsent("user-3", chatMemoryProvider::get);
+        nanoTime.incrementAndGet();
+        registry.computeIfAbsent("user-1", chatMemoryProvider::get);
+        nanoTime.incrementAndGet();
+
+        // when
+        registry.computeIfAbsent("user-4", chatMemoryProvider::get);
+
+        // then
+        assertThat(registry.keySet()).containsExactlyInAnyOrder("user-1", "user-3", "user-4");
+        assertThat(evicted).extracting(ChatMemory::id).containsExactly("user-2");
+        assertThat(registry.evictionCount()).isEqualTo(1);
+        assertThat(registry.expirationCount()).isZero();
+    }
+
+    @Test
+    void should_evict_idle_chat_memory() {
+
+        // given
+        AtomicLong nanoTime = new AtomicLong();
+        List<ChatMemory> evicted = new ArrayList<>();
+        ChatMemoryRegistry registry = new ChatMemoryRegistry(null, Duration.ofNanos(10), evicted::add, nanoTime::get);
+
+        ChatMemory first = registry.computeIfAbsent("user-1", chatMemoryProvider::get);
+        registry.computeIfAbsent("user-2", chatMemoryProvider::get);
+        nanoTime.set(5);
+        registry.computeIfAbsent("user-2", chatMemoryProvider::get);
+
+        // when
+        nanoTime.set(12);
+        ChatMemory provided = registry.computeIfAbsent("user-1", chatMemoryProvider::get);
+
+        // then
+        assertThat(provided).isNotSameAs(first);
+        assertThat(registry.keySet()).containsExactlyInAnyOrder("user-1", "user-2");
+        assertThat(evicted).containsExactly(first);
+        assertThat(registry.expirationCount()).isEqualTo(1);
+
+        // when
+        nanoTime.set(20);
+        registry.computeIfAbsent("user-3", chatMemoryProvider::get);
+
+        // then
+        assertThat(registry.keySet()).containsExactlyInAnyOrder("user-1", "user-3");
+        assertThat(evicted).extracting(ChatMemory::id).containsExactly("user-1", "user-2");
+        assertThat(registry.expirationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_report_expired_chat_memory() {
+
+        // given
+        AtomicLong nanoTime = new AtomicLong();
+        List<ChatMemory> evicted = new ArrayList<>();
+        ChatMemoryRegistry registry = new ChatMemoryRegistry(null, Duration.ofNanos(10), evicted::add, nanoTime::get);
+
+        ChatMemory first = registry.computeIfAbsent("user-1", chatMemoryProvider::get);
+        nanoTime.set(5);
+        ChatMemory second = registry.computeIfAbsent("user-2", chatMemoryProvider::get);
+
+        // when
+        nanoTime.set(12);
+
+        // then
+        assertThat(registry.containsKey("user-1")).isFalse();
+        assertThat(registry.containsKey("user-2")).isTrue();
+        assertThat(registry).hasSize(1).containsOnly(entry("user-2", second));
+        assertThat(evicted).containsExactly(first);
+        assertThat(registry.expirationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_fail_when_eviction_listener_fails() {
+
+        // given
+        ChatMemoryRegistry registry = ChatMemoryRegistry.builder()
+                .maxChatMemories(1)
+                .evictionListener(chatMemory -> {
+                    throw new IllegalStateException("failed");
+                })
+                .build();
+        registry.computeIfAbsent("user-1", chatMemoryProvider::get);
+
+        // when
+        registry.computeIfAbsent("user-2", chatMemoryProvider::get);
+
+        // then
+        assertThat(registry.keySet()).containsExactly("user-2");
+        assertThat(registry.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_fail_when_max_chat_memories_is_not_positive() {
+
+        assertThatThrownBy(() -> ChatMemoryRegistry.builder().maxChatMemories(0).build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxChatMemories must be greater than zero, but is: 0");
+    }
+}
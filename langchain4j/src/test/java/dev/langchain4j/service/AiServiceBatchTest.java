@@ -0,0 +1,227 @@
+package dev.langchain4j.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.model.chat.BatchChatLanguageModel;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.rag.AugmentationRequest;
+import dev.langchain4j.rag.AugmentationResult;
+import dev.langchain4j.rag.RetrievalAugmentor;
+import dev.langchain4j.service.AiServiceBatch.ItemResult;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AiServiceBatchTest {
+
+    interface Echo {
+
+        @UserMessage("{{it}}")
+        String echo(String text);
+    }
+
+    /**
+     * Echoes the user message, fails for "fail" and tracks the maximum number of concurrent calls.
+     */
+    static class EchoModel implements ChatLanguageModel {
+
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+                String text = ((dev.langchain4j.data.message.UserMessage) chatRequest.messages().get(0)).singleText();
+                if (text.equals("fail")) {
+                    throw new IllegalStateException("failed");
+                }
+                return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                concurrentCalls.decrementAndGet();
+            }
+        }
+    }
+
+    EchoModel model = new EchoModel();
+
+    Echo echo = AiServices.builder(Echo.class).chatLanguageModel(model).build();
+
+    @Test
+    void should_return_results_in_order_with_per_item_errors() {
+
+        // when
+        List<ItemResult<String>> results =
+                AiServices.batch(echo).invokeAll(List.of("a", "b", "fail", "c"), Echo::echo);
+
+        // then
+        assertThat(results).extracting(ItemResult::index).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(ItemResult::result).containsExactly("a", "b", null, "c");
+        assertThat(results.get(2).isSuccess()).isFalse();
+        assertThat(results.get(2).error()).isExactlyInstanceOf(IllegalStateException.class).hasMessage("failed");
+    }
+
+    @Test
+    void should_invoke_method_reflectively() throws Exception {
+
+        // when
+        List<ItemResult<Object>> results = AiServices.batch(echo)
+                .invokeAll(Echo.class.getMethod("echo", String.class), List.of(new Object[] {"a"}, new Object[] {"b"}));
+
+        // then
+        assertThat(results).extracting(ItemResult::result).containsExactly("a", "b");
+    }
+
+    @Test
+    void should_limit_concurrency() {
+
+        // given
+        AiServiceBatch<Echo> batch =
+                AiServiceBatch.builder(echo).maxConcurrency(2).build();
+
+        // when
+        List<ItemResult<String>> results = batch.invokeAll(List.of("1", "2", "3", "4", "5", "6", "7", "8"), Echo::echo);
+
+        // then
+        assertThat(results).allMatch(ItemResult::isSuccess);
+        assertThat(model.maxConcurrentCalls).hasValueLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void should_limit_invocation_rate() {
+
+        // given
+        AiServiceBatch<Echo> batch =
+                AiServiceBatch.builder(echo).maxInvocationsPerSecond(50.0).build();
+
+        // when
+        long start = System.nanoTime();
+        batch.invokeAll(List.of("1", "2", "3", "4", "5", "6"), Echo::echo);
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        assertThat(durationMillis).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void should_not_deadlock_when_ai_service_waits_on_shared_executor() {
+
+        // given
+        RetrievalAugmentor retrievalAugmentor = new RetrievalAugmentor() {
+
+            @Override
+            public AugmentationResult augment(AugmentationRequest augmentationRequest) {
+                // retrieval waits for a task submitted to the shared executor
+                CompletableFuture.runAsync(() -> {}, DefaultExecutorProvider.getDefaultExecutorService())
+                        .join();
+                return AugmentationResult.builder()
+                        .chatMessage(augmentationRequest.chatMessage())
+                        .build();
+            }
+
+            @Override
+            public dev.langchain4j.data.message.UserMessage augment(
+                    dev.langchain4j.data.message.UserMessage userMessage, dev.langchain4j.rag.query.Metadata metadata) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        Echo echoWithRag = AiServices.builder(Echo.class)
+                .chatLanguageModel(model)
+                .retrievalAugmentor(retrievalAugmentor)
+                .build();
+
+        // more workers than threads of the shared executor on JDK 17
+        int maxConcurrency = 2 * DefaultExecutorProvider.DEFAULT_MAX_THREADS;
+        List<String> inputs =
+                IntStream.range(0, maxConcurrency).mapToObj(String::valueOf).toList();
+        AiServiceBatch<Echo> batch =
+                AiServiceBatch.builder(echoWithRag).maxConcurrency(maxConcurrency).build();
+
+        // when
+        List<ItemResult<String>> results =
+                assertTimeoutPreemptively(Duration.ofSeconds(30), () -> batch.invokeAll(inputs, Echo::echo));
+
+        // then
+        assertThat(results).extracting(ItemResult::result).containsExactlyElementsOf(inputs);
+    }
+
+    /**
+     * Stands in for a model backed by the batch API of an LLM provider: echoes the user messages
+     * and records the number of requests sent in each batch.
+     */
+    static class EchoBatchModel implements BatchChatLanguageModel {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<ChatResponse> chatAll(List<ChatRequest> chatRequests) {
+            batchSizes.add(chatRequests.size());
+            return chatRequests.stream().map(EchoBatchModel::echo).toList();
+        }
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            return echo(chatRequest);
+        }
+
+        private static ChatResponse echo(ChatRequest chatRequest) {
+            String text = ((dev.langchain4j.data.message.UserMessage) chatRequest.messages().get(0)).singleText();
+            return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+        }
+    }
+
+    @Test
+    void should_send_requests_together_when_model_supports_batches() {
+
+        // given
+        EchoBatchModel batchModel = new EchoBatchModel();
+        Echo batchEcho = AiServices.builder(Echo.class).chatLanguageModel(batchModel).build();
+        AiServiceBatch<Echo> batch = AiServiceBatch.builder(batchEcho).maxConcurrency(4).build();
+        List<String> inputs = List.of("1", "2", "3", "4", "5", "6", "7", "8");
+
+        // when
+        List<ItemResult<String>> results =
+                assertTimeoutPreemptively(Duration.ofSeconds(30), () -> batch.invokeAll(inputs, Echo::echo));
+
+        // then
+        assertThat(results).extracting(ItemResult::result).containsExactlyElementsOf(inputs);
+        assertThat(batchModel.batchSizes).containsExactly(4, 4);
+    }
+
+    @Test
+    void should_not_batch_requests_outside_of_batch() {
+
+        // given
+        EchoBatchModel batchModel = new EchoBatchModel();
+        Echo batchEcho = AiServices.builder(Echo.class).chatLanguageModel(batchModel).build();
+
+        // when
+        String result = batchEcho.echo("Hi");
+
+        // then
+        assertThat(result).isEqualTo("Hi");
+        assertThat(batchModel.batchSizes).isEmpty();
+    }
+
+    @Test
+    void should_fail_when_max_concurrency_is_not_positive() {
+
+        assertThatThrownBy(() -> AiServiceBatch.builder(echo).maxConcurrency(0).build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxConcurrency must be greater than zero, but is: 0");
+    }
+}
@@ -0,0 +1,85 @@
+package dev.langchain4j.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.service.output.ServiceOutputParser;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class AiServiceMethodTest {
+
+    record Person(String name) {}
+
+    interface AiService {
+
+        @dev.langchain4j.service.SystemMessage("You are {{role}}")
+        @dev.langchain4j.service.UserMessage("What is the capital of {{country}}?")
+        Result<Person> chat(@V("role") String role, @V("country") String country, @MemoryId int memoryId);
+
+        @dev.langchain4j.service.UserMessage("What is the capital of {{it}}?")
+        String chatWithIt(String country);
+
+        String chatWithoutUserMessage();
+
+        @dev.langchain4j.service.UserMessage(fromResource = "does-not-exist.txt")
+        String chatWithMissingResource(String country);
+    }
+
+    @Test
+    void should_bind_arguments_to_precompiled_templates() throws Exception {
+
+        // given
+        AiServiceMethod aiServiceMethod = aiServiceMethod("chat", String.class, String.class, int.class);
+        Object[] args = {"a geographer", "Germany", 42};
+
+        // when-then
+        aiServiceMethod.ensureValid();
+        assertThat(aiServiceMethod.findMemoryId(args)).contains(42);
+        assertThat(aiServiceMethod.systemMessage(42, args, memoryId -> Optional.empty()))
+                .contains(SystemMessage.from("You are a geographer"));
+        assertThat(aiServiceMethod.userMessage(args).singleText()).isEqualTo("What is the capital of Germany?");
+        assertThat(aiServiceMethod.returnsResult()).isTrue();
+        assertThat(aiServiceMethod.isStreaming()).isFalse();
+        assertThat(aiServiceMethod.responseFormat().jsonSchema().name()).isEqualTo("Person");
+        assertThat(aiServiceMethod.outputFormatInstructions()).contains("\"name\": (type: string)");
+    }
+
+    @Test
+    void should_resolve_variable_it() throws Exception {
+
+        // given
+        AiServiceMethod aiServiceMethod = aiServiceMethod("chatWithIt", String.class);
+        Object[] args = {"France"};
+
+        // when-then
+        assertThat(aiServiceMethod.userMessage(args).singleText()).isEqualTo("What is the capital of France?");
+        assertThat(aiServiceMethod.systemMessage("default", args, memoryId -> Optional.of("Talk about {{it}}")))
+                .contains(SystemMessage.from("Talk about France"));
+        assertThat(aiServiceMethod.responseFormat()).isNull();
+        assertThat(aiServiceMethod.outputFormatInstructions()).isEmpty();
+    }
+
+    @Test
+    void should_report_configuration_errors_on_invocation() throws Exception {
+
+        // given
+        AiServiceMethod withoutUserMessage = aiServiceMethod("chatWithoutUserMessage");
+        AiServiceMethod withMissingResource = aiServiceMethod("chatWithMissingResource", String.class);
+
+        // when-then
+        assertThatThrownBy(withoutUserMessage::ensureValid)
+                .isExactlyInstanceOf(IllegalConfigurationException.class)
+                .hasMessage("Error: The method 'chatWithoutUserMessage' does not have a user message defined.");
+        assertThatThrownBy(withMissingResource::ensureValid)
+                .isExactlyInstanceOf(IllegalConfigurationException.class)
+                .hasMessage("@UserMessage's resource 'does-not-exist.txt' not found");
+    }
+
+    private static AiServiceMethod aiServiceMethod(String name, Class<?>... parameterTypes) throws Exception {
+        Method method = AiService.class.getMethod(name, parameterTypes);
+        return new AiServiceMethod(method, false, new ServiceOutputParser());
+    }
+}
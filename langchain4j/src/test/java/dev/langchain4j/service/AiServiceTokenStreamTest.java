@@ -2,11 +2,13 @@ package dev.langchain4j.service;
 
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.chat.mock.StreamingChatModelMock;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.rag.content.Content;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -14,9 +16,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class AiServiceTokenStreamTest {
@@ -112,6 +117,71 @@ class AiServiceTokenStreamTest {
                 .hasMessage("onCompleteResponse can be invoked on TokenStream at most 1 time");
     }
 
+    @Test
+    void start_with_onPartialElement_shouldNotThrowException() {
+        tokenStream
+                .onPartialElement(String.class, element -> {})
+                .ignoreErrors();
+
+        assertThatNoException().isThrownBy(() -> tokenStream.start());
+    }
+
+    @Test
+    void start_onPartialElementInvokedMultipleTimes_shouldThrowException() {
+        tokenStream
+                .onPartialElement(String.class, element -> {})
+                .onPartialElement(String.class, element -> {})
+                .ignoreErrors();
+
+        assertThatThrownBy(() -> tokenStream.start())
+                .isExactlyInstanceOf(IllegalConfigurationException.class)
+                .hasMessage("onPartialElement can be invoked on TokenStream at most 1 time");
+    }
+
+    record Person(String name, int age) {}
+
+    @Test
+    void should_stream_deserialized_elements_of_json_array() {
+
+        // given
+        AiServiceContext context = new AiServiceContext(getClass());
+        context.streamingChatModel = StreamingChatModelMock.thatAlwaysStreams(
+                "```json\n{\"items\": [{\"name\": \"Kla", "us\", \"age\": 42}, ", "{\"name\": \"Francine\", ",
+                "\"age\": 47}]}\n```");
+        List<String> partialResponses = new ArrayList<>();
+        List<Person> elements = new ArrayList<>();
+
+        // when
+        new AiServiceTokenStream(messages, null, null, null, context, "default")
+                .onPartialResponse(partialResponses::add)
+                .onPartialElement(Person.class, elements::add)
+                .ignoreErrors()
+                .start();
+
+        // then
+        assertThat(partialResponses).hasSize(4);
+        assertThat(elements).containsExactly(new Person("Klaus", 42), new Person("Francine", 47));
+    }
+
+    @Test
+    void default_onPartialElement_should_parse_partial_responses() {
+
+        // given
+        TokenStream tokenStream = mock(TokenStream.class, CALLS_REAL_METHODS);
+        List<Person> elements = new ArrayList<>();
+
+        // when
+        tokenStream.onPartialElement(Person.class, elements::add);
+
+        // then
+        ArgumentCaptor<Consumer<String>> partialResponseHandler = ArgumentCaptor.captor();
+        verify(tokenStream).onPartialResponse(partialResponseHandler.capture());
+        partialResponseHandler.getValue().accept("[{\"name\": \"Klaus\", \"age\": 42}, {\"name\": \"Fra");
+        assertThat(elements).containsExactly(new Person("Klaus", 42));
+        partialResponseHandler.getValue().accept("ncine\", \"age\": 47}]");
+        assertThat(elements).containsExactly(new Person("Klaus", 42), new Person("Francine", 47));
+    }
+
     private AiServiceTokenStream setupAiServiceTokenStream() {
         StreamingChatLanguageModel model = mock(StreamingChatLanguageModel.class);
         AiServiceContext context = new AiServiceContext(getClass());
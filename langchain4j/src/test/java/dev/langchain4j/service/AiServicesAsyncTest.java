@@ -0,0 +1,310 @@
+package dev.langchain4j.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.internal.DefaultExecutorProvider;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.chat.mock.ChatModelMock;
+import dev.langchain4j.model.chat.mock.StreamingChatModelMock;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.rag.AugmentationRequest;
+import dev.langchain4j.rag.AugmentationResult;
+import dev.langchain4j.rag.RetrievalAugmentor;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AiServicesAsyncTest {
+
+    enum Sentiment {
+        POSITIVE,
+        NEGATIVE
+    }
+
+    interface Assistant {
+
+        CompletableFuture<String> chat(String userMessage);
+
+        @UserMessage("Analyze sentiment of {{it}}")
+        CompletionStage<Sentiment> analyzeSentimentOf(String text);
+
+        CompletableFuture<Result<String>> chatWithResult(String userMessage);
+    }
+
+    interface ModeratedAssistant {
+
+        @Moderate
+        CompletableFuture<String> chat(String userMessage);
+    }
+
+    interface RawAssistant {
+
+        @SuppressWarnings("rawtypes")
+        CompletableFuture chat(String userMessage);
+    }
+
+    @Test
+    void should_invoke_chat_model_on_configured_executor() throws Exception {
+
+        // given
+        AtomicInteger executedTasks = new AtomicInteger();
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(ChatModelMock.thatAlwaysResponds("Hello there!"))
+                .executor(task -> {
+                    executedTasks.incrementAndGet();
+                    task.run();
+                })
+                .build();
+
+        // when
+        String answer = assistant.chat("Hi").get();
+
+        // then
+        assertThat(answer).isEqualTo("Hello there!");
+        assertThat(executedTasks).hasValue(1);
+    }
+
+    @Test
+    void should_parse_response_into_result_type() throws Exception {
+
+        // given
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(ChatModelMock.thatAlwaysResponds("POSITIVE"))
+                .build();
+
+        // when
+        Sentiment sentiment = assistant.analyzeSentimentOf("I love you").toCompletableFuture().get();
+
+        // then
+        assertThat(sentiment).isEqualTo(Sentiment.POSITIVE);
+    }
+
+    @Test
+    void should_use_streaming_model_when_chat_model_is_not_configured() throws Exception {
+
+        // given
+        MessageWindowChatMemory chatMemory = MessageWindowChatMemory.withMaxMessages(10);
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .streamingChatLanguageModel(StreamingChatModelMock.thatAlwaysStreams("Hello", " there!"))
+                .chatMemory(chatMemory)
+                .build();
+
+        // when
+        Result<String> result = assistant.chatWithResult("Hi").get();
+
+        // then
+        assertThat(result.content()).isEqualTo("Hello there!");
+        assertThat(chatMemory.messages()).hasSize(2);
+    }
+
+    @Test
+    void should_complete_exceptionally_when_response_cannot_be_parsed() {
+
+        // given
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .streamingChatLanguageModel(StreamingChatModelMock.thatAlwaysStreams("I don't know"))
+                .build();
+
+        // when-then
+        assertThatThrownBy(() -> assistant.analyzeSentimentOf("I love you").toCompletableFuture().get())
+                .isExactlyInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("Unknown enum value: I don't know");
+    }
+
+    @Test
+    void should_fail_when_result_type_is_not_specified() {
+
+        assertThatThrownBy(() -> AiServices.builder(RawAssistant.class)
+                        .chatLanguageModel(ChatModelMock.thatAlwaysResponds("Hello there!"))
+                        .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must be parameterized with a concrete type");
+    }
+
+    @Test
+    void should_complete_many_concurrent_invocations() {
+
+        // given
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .streamingChatLanguageModel(StreamingChatModelMock.thatAlwaysStreams("Hello there!"))
+                .build();
+
+        // when
+        List<CompletableFuture<String>> futures = IntStream.range(0, 1_000)
+                .mapToObj(i -> assistant.chat("Hi " + i))
+                .toList();
+
+        // then
+        assertThat(futures).allSatisfy(future -> assertThat(future.join()).isEqualTo("Hello there!"));
+    }
+
+    @Test
+    void should_not_deadlock_on_single_thread_bounded_executor() throws Exception {
+
+        // given
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 10);
+
+        RetrievalAugmentor retrievalAugmentor = mock(RetrievalAugmentor.class);
+        when(retrievalAugmentor.augment(any(AugmentationRequest.class))).thenAnswer(invocation -> {
+            AugmentationRequest augmentationRequest = invocation.getArgument(0);
+            return AugmentationResult.builder()
+                    .chatMessage(augmentationRequest.chatMessage())
+                    .build();
+        });
+        ModerationModel moderationModel = mock(ModerationModel.class);
+        when(moderationModel.moderate(any(List.class))).thenReturn(Response.from(Moderation.notFlagged()));
+
+        ThreadLocal<String> systemMessage = ThreadLocal.withInitial(() -> "not resolved in caller thread");
+        systemMessage.set("You are a helpful assistant");
+        AtomicReference<String> resolvedSystemMessage = new AtomicReference<>();
+
+        ModeratedAssistant assistant = AiServices.builder(ModeratedAssistant.class)
+                .chatLanguageModel(ChatModelMock.thatAlwaysResponds("Hello there!"))
+                .moderationModel(moderationModel)
+                .retrievalAugmentor(retrievalAugmentor)
+                .systemMessageProvider(memoryId -> {
+                    resolvedSystemMessage.set(systemMessage.get());
+                    return systemMessage.get();
+                })
+                .executor(executor)
+                .build();
+
+        try {
+            // when
+            String answer = assistant.chat("Hi").get(10, TimeUnit.SECONDS);
+
+            // then
+            assertThat(answer).isEqualTo("Hello there!");
+            assertThat(resolvedSystemMessage).hasValue("You are a helpful assistant");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_fail_instead_of_calling_chat_model_in_caller_thread_when_executor_is_saturated() throws Exception {
+
+        // given
+        ThreadPoolExecutor executor = DefaultExecutorProvider.newBoundedExecutor("test", 1, 1);
+
+        CountDownLatch release = new CountDownLatch(1);
+        Set<Thread> modelThreads = ConcurrentHashMap.newKeySet();
+        ChatLanguageModel chatModel = new ChatLanguageModel() {
+
+            @Override
+            public ChatResponse doChat(ChatRequest chatRequest) {
+                modelThreads.add(Thread.currentThread());
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ChatResponse.builder().aiMessage(AiMessage.from("Hello there!")).build();
+            }
+        };
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(chatModel)
+                .executor(executor)
+                .build();
+
+        try {
+            // when
+            CompletableFuture<String> running = assistant.chat("Hi 1");
+            CompletableFuture<String> queued = assistant.chat("Hi 2");
+            CompletableFuture<String> rejected = assistant.chat("Hi 3");
+
+            // then
+            assertThatThrownBy(rejected::join).hasCauseExactlyInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("Hello there!");
+            assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("Hello there!");
+            assertThat(modelThreads).doesNotContain(Thread.currentThread());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static class Calculator {
+
+        final AtomicInteger executions = new AtomicInteger();
+
+        @Tool
+        int add(int a, int b) {
+            executions.incrementAndGet();
+            return a + b;
+        }
+    }
+
+    @Test
+    void should_not_execute_tools_nor_store_response_when_streamed_message_is_flagged() {
+
+        // given
+        AtomicInteger modelCalls = new AtomicInteger();
+        StreamingChatLanguageModel streamingChatModel = new StreamingChatLanguageModel() {
+
+            @Override
+            public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+                modelCalls.incrementAndGet();
+                ToolExecutionRequest toolExecutionRequest = ToolExecutionRequest.builder()
+                        .id("1")
+                        .name("add")
+                        .arguments("{\"arg0\": 1, \"arg1\": 2}")
+                        .build();
+                handler.onCompleteResponse(ChatResponse.builder()
+                        .aiMessage(AiMessage.from(toolExecutionRequest))
+                        .build());
+            }
+        };
+
+        ModerationModel moderationModel = mock(ModerationModel.class);
+        when(moderationModel.moderate(any(List.class)))
+                .thenReturn(Response.from(Moderation.flagged("Some violence")));
+
+        Calculator calculator = new Calculator();
+        MessageWindowChatMemory chatMemory = MessageWindowChatMemory.withMaxMessages(10);
+
+        ModeratedAssistant assistant = AiServices.builder(ModeratedAssistant.class)
+                .streamingChatLanguageModel(streamingChatModel)
+                .moderationModel(moderationModel)
+                .chatMemory(chatMemory)
+                .tools(calculator)
+                .build();
+
+        // when-then
+        assertThatThrownBy(() -> assistant.chat("Some violence").get(10, TimeUnit.SECONDS))
+                .isExactlyInstanceOf(ExecutionException.class)
+                .hasCauseExactlyInstanceOf(ModerationException.class);
+        assertThat(modelCalls).hasValue(0);
+        assertThat(calculator.executions).hasValue(0);
+        assertThat(chatMemory.messages()).noneMatch(message -> message instanceof AiMessage);
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.mock;
 
 import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.memory.chat.ChatMemoryRegistry;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.mock.ChatModelMock;
 import dev.langchain4j.model.output.Response;
@@ -127,4 +128,14 @@ class AiServicesBuilderTest {
                         .tools(HelloWorld.class)
                         .build());
     }
+
+    @Test
+    void should_raise_an_error_when_chat_memory_provider_with_registry_is_null() {
+        ChatMemoryRegistry chatMemoryRegistry = ChatMemoryRegistry.builder().build();
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> AiServices.builder(Assistant.class)
+                        .chatMemoryProvider(null, chatMemoryRegistry))
+                .withMessage("chatMemoryProvider cannot be null");
+    }
 }
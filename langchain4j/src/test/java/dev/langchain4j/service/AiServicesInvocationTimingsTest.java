@@ -0,0 +1,111 @@
+package dev.langchain4j.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.mock.ChatModelMock;
+import dev.langchain4j.rag.AugmentationRequest;
+import dev.langchain4j.rag.AugmentationResult;
+import dev.langchain4j.rag.RetrievalAugmentor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AiServicesInvocationTimingsTest {
+
+    interface Assistant {
+
+        String chat(String userMessage);
+    }
+
+    ChatLanguageModel chatLanguageModel = ChatModelMock.thatAlwaysResponds("Hello there!");
+
+    @Test
+    void should_resolve_system_message_concurrently_with_retrieval_augmentation() throws Exception {
+
+        // given
+        RetrievalAugmentor retrievalAugmentor = mock(RetrievalAugmentor.class);
+        when(retrievalAugmentor.augment(any(AugmentationRequest.class))).thenAnswer(invocation -> {
+            sleep(300);
+            AugmentationRequest augmentationRequest = invocation.getArgument(0);
+            return AugmentationResult.builder()
+                    .chatMessage(augmentationRequest.chatMessage())
+                    .build();
+        });
+
+        List<AiServiceInvocationTimings> invocationTimings = new ArrayList<>();
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(chatLanguageModel)
+                .chatMemory(MessageWindowChatMemory.withMaxMessages(10))
+                .systemMessageProvider(memoryId -> {
+                    sleep(300);
+                    return "You are a helpful assistant";
+                })
+                .retrievalAugmentor(retrievalAugmentor)
+                .invocationTimingsListener(invocationTimings::add)
+                .build();
+
+        // when
+        String answer = assistant.chat("Hi");
+
+        // then
+        assertThat(answer).isEqualTo("Hello there!");
+        assertThat(invocationTimings).hasSize(1);
+
+        AiServiceInvocationTimings timings = invocationTimings.get(0);
+        assertThat(timings.method()).isEqualTo(Assistant.class.getMethod("chat", String.class));
+        assertThat(timings.systemMessage()).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+        assertThat(timings.retrievalAugmentation()).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+        assertThat(timings.preModel()).isLessThan(Duration.ofMillis(550));
+    }
+
+    @Test
+    void should_report_zero_duration_for_steps_not_performed() {
+
+        // given
+        List<AiServiceInvocationTimings> invocationTimings = new ArrayList<>();
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(chatLanguageModel)
+                .invocationTimingsListener(invocationTimings::add)
+                .build();
+
+        // when
+        assistant.chat("Hi");
+
+        // then
+        AiServiceInvocationTimings timings = invocationTimings.get(0);
+        assertThat(timings.chatMemory()).isZero();
+        assertThat(timings.retrievalAugmentation()).isZero();
+        assertThat(timings.preModel()).isPositive();
+    }
+
+    @Test
+    void should_not_fail_invocation_when_listener_fails() {
+
+        // given
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(chatLanguageModel)
+                .invocationTimingsListener(timings -> {
+                    throw new IllegalStateException("failed");
+                })
+                .build();
+
+        // when-then
+        assertThat(assistant.chat("Hi")).isEqualTo("Hello there!");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
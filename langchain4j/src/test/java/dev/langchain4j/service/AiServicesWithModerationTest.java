@@ -0,0 +1,88 @@
+package dev.langchain4j.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.mock.ChatModelMock;
+import dev.langchain4j.model.moderation.Moderation;
+import dev.langchain4j.model.moderation.ModerationModel;
+import dev.langchain4j.model.output.Response;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AiServicesWithModerationTest {
+
+    interface Assistant {
+
+        @Moderate
+        String chat(String userMessage);
+    }
+
+    ChatLanguageModel chatLanguageModel = ChatModelMock.thatAlwaysResponds("Hello there!");
+
+    @Test
+    void should_moderate_on_configured_executor() {
+
+        // given
+        AtomicInteger executedTasks = new AtomicInteger();
+        Executor executor = task -> {
+            executedTasks.incrementAndGet();
+            task.run();
+        };
+
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(chatLanguageModel)
+                .moderationModel(new FlaggingModerationModel("violence"))
+                .executor(executor)
+                .build();
+
+        // when-then
+        assertThat(assistant.chat("Hi")).isEqualTo("Hello there!");
+        assertThat(executedTasks).hasValue(1);
+    }
+
+    @Test
+    void should_fail_when_user_message_is_flagged() {
+
+        // given
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatLanguageModel(chatLanguageModel)
+                .moderationModel(new FlaggingModerationModel("violence"))
+                .build();
+
+        // when-then
+        assertThatThrownBy(() -> assistant.chat("Some violence"))
+                .isExactlyInstanceOf(ModerationException.class)
+                .hasMessage("Text \"Some violence\" violates content policy");
+    }
+
+    static class FlaggingModerationModel implements ModerationModel {
+
+        private final String flaggedWord;
+
+        FlaggingModerationModel(String flaggedWord) {
+            this.flaggedWord = flaggedWord;
+        }
+
+        @Override
+        public Response<Moderation> moderate(String text) {
+            return Response.from(text.contains(flaggedWord) ? Moderation.flagged(text) : Moderation.notFlagged());
+        }
+
+        @Override
+        public Response<Moderation> moderate(List<ChatMessage> messages) {
+            for (ChatMessage message : messages) {
+                Response<Moderation> response = moderate(((UserMessage) message).singleText());
+                if (response.content().flagged()) {
+                    return response;
+                }
+            }
+            return Response.from(Moderation.notFlagged());
+        }
+    }
+}
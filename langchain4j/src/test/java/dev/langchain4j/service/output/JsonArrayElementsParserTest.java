@@ -0,0 +1,106 @@
+package dev.langchain4j.service.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JsonArrayElementsParserTest {
+
+    List<String> elements = new ArrayList<>();
+    JsonArrayElementsParser parser = new JsonArrayElementsParser(elements::add);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5, 1000})
+    void should_emit_elements_of_top_level_array_regardless_of_chunking(int chunkSize) {
+
+        // given
+        String json = "[{\"name\": \"Klaus\", \"tags\": [\"a\", \"b\"]}, {\"name\": \"Fran, \\\"cine\\\" ]}\"}]";
+
+        // when
+        for (int i = 0; i < json.length(); i += chunkSize) {
+            parser.append(json.substring(i, Math.min(json.length(), i + chunkSize)));
+        }
+
+        // then
+        assertThat(elements).containsExactly(
+                "{\"name\": \"Klaus\", \"tags\": [\"a\", \"b\"]}",
+                "{\"name\": \"Fran, \\\"cine\\\" ]}\"}");
+    }
+
+    @Test
+    void should_emit_element_as_soon_as_it_is_complete() {
+
+        // when
+        parser.append("[\"first\", \"sec");
+
+        // then
+        assertThat(elements).containsExactly("\"first\"");
+
+        // when
+        parser.append("ond\"]");
+
+        // then
+        assertThat(elements).containsExactly("\"first\"", "\"second\"");
+    }
+
+    @Test
+    void should_emit_elements_of_array_in_top_level_object() {
+
+        // when
+        parser.append("Sure! ```json\n{\"count\": 2, \"note\": \"[x]\", \"items\": [1, 2.5]} ```");
+
+        // then
+        assertThat(elements).containsExactly("1", "2.5");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 1000})
+    void should_ignore_brackets_in_text_before_fenced_array(int chunkSize) {
+
+        // given
+        String text = "Results [JSON]:\n```json\n[{\"name\": \"Klaus\"}, 2]\n```";
+
+        // when
+        for (int i = 0; i < text.length(); i += chunkSize) {
+            parser.append(text.substring(i, Math.min(text.length(), i + chunkSize)));
+        }
+
+        // then
+        assertThat(elements).containsExactly("{\"name\": \"Klaus\"}", "2");
+    }
+
+    @Test
+    void should_not_mistake_brackets_in_text_for_array() {
+
+        // when
+        parser.append("Results [JSON]: see below");
+
+        // then
+        assertThat(elements).isEmpty();
+    }
+
+    @Test
+    void should_ignore_arrays_nested_deeper_and_text_after_array() {
+
+        // when
+        parser.append("{\"a\": {\"b\": [1]}}");
+        parser.append("[2]");
+
+        // then
+        assertThat(elements).isEmpty();
+    }
+
+    @Test
+    void should_not_emit_empty_elements() {
+
+        // when
+        parser.append("[ ]");
+
+        // then
+        assertThat(elements).isEmpty();
+    }
+}
@@ -31,6 +31,13 @@ class JsonSchemasTest {
         }.getType())).isPresent();
     }
 
+    @Test
+    void should_derive_json_schema_once_per_class() {
+        assertThat(jsonSchemaFrom(Pojo.class).get()).isSameAs(jsonSchemaFrom(Pojo.class).get());
+        assertThat(jsonSchemaFrom(new TypeReference<Result<Pojo>>() {
+        }.getType()).get()).isSameAs(jsonSchemaFrom(Pojo.class).get());
+    }
+
     @Test
     void should_return_empty_for_not_pojos() {
         assertThat(jsonSchemaFrom(String.class)).isEmpty();
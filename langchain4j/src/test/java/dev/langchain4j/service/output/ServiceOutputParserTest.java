@@ -30,6 +30,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 class ServiceOutputParserTest {
 
@@ -177,6 +179,86 @@ class ServiceOutputParserTest {
                 .hasRootCauseInstanceOf(JsonProcessingException.class);
     }
 
+    @Test
+    void makeSureJsonBlockInMarkdownFenceIsPreferredOverSurroundingBraces() {
+        // Given
+        String text = "Sure, here is {your} JSON:\n```json\n{\"key\":\"value\"}\n```\nAnything else? {bye}";
+        Response<AiMessage> responseStub = Response.from(AiMessage.aiMessage(text));
+
+        // When
+        Object result = sut.parse(responseStub, KeyProperty.class);
+
+        // Then
+        assertThat(((KeyProperty) result).key).isEqualTo("value");
+    }
+
+    @Test
+    void makeSureJsonArrayBlockIsExtractedBeforeParse() {
+        // Given
+        Type listOfKeyPropertiesType = new TypeReference<List<KeyProperty>>() {
+        }.getType();
+        Response<AiMessage> responseStub =
+                Response.from(AiMessage.aiMessage("Here you go: [{\"key\":\"a\"}, {\"key\":\"b\"}]."));
+
+        // When
+        Object result = sut.parse(responseStub, listOfKeyPropertiesType);
+
+        // Then
+        assertThat((List<KeyProperty>) result).extracting(keyProperty -> keyProperty.key).containsExactly("a", "b");
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "no JSON here",
+                "} {",
+                "```\nno JSON here\n```",
+            })
+    void makeSureTextIsReturnedWhenNoJsonBlockIsFound(String text) {
+        assertThat(ServiceOutputParser.extractJsonBlock(text)).isEqualTo(text);
+    }
+
+    @Test
+    void makeSureJsonBlockIsExtractedFromPathologicalText() {
+        assertThat(ServiceOutputParser.extractJsonBlock("{".repeat(200_000))).isEqualTo("{".repeat(200_000));
+        assertThat(ServiceOutputParser.extractJsonBlock("```".repeat(100_000))).isEqualTo("```".repeat(100_000));
+        assertThat(ServiceOutputParser.extractJsonBlock("x" + "[".repeat(100_000) + "]"))
+                .isEqualTo("[".repeat(100_000) + "]");
+        assertThat(ServiceOutputParser.extractJsonBlock("```" + "{".repeat(100_000) + "}```"))
+                .isEqualTo("{".repeat(100_000) + "}");
+    }
+
+    @Test
+    void makeSureJsonBlockIsNotTruncatedByMarkdownFenceInJsonString() {
+        // Given
+        String json = "{\"key\":\"Use {braces} and ```java fences```\"}";
+        String text = "```json\n" + json + "\n```";
+        Response<AiMessage> responseStub = Response.from(AiMessage.aiMessage(text));
+
+        // When
+        Object result = sut.parse(responseStub, KeyProperty.class);
+
+        // Then
+        assertThat(ServiceOutputParser.extractJsonBlock(text)).isEqualTo(json);
+        assertThat(((KeyProperty) result).key).isEqualTo("Use {braces} and ```java fences```");
+    }
+
+    @Test
+    void makeSureOutputParserIsResolvedOncePerReturnType() {
+        // Given
+        OutputParserFactory outputParserFactory = spy(new DefaultOutputParserFactory());
+        sut = new ServiceOutputParser(outputParserFactory);
+
+        // When
+        Object first = sut.parse(Response.from(AiMessage.aiMessage("SUNNY")), Weather.class);
+        Object second = sut.parse(Response.from(AiMessage.aiMessage("[rainy]")), Weather.class);
+
+        // Then
+        assertThat(first).isEqualTo(Weather.SUNNY);
+        assertThat(second).isEqualTo(Weather.RAINY);
+        verify(outputParserFactory, times(1)).get(Weather.class, null);
+    }
+
     static class KeyPropertyWrapper {
         KeyProperty keyProperty;
     }
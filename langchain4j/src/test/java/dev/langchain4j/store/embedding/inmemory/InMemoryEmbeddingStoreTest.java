@@ -6,6 +6,8 @@ import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.embedding.onnx.allminilml6v2q.AllMiniLmL6V2QuantizedEmbeddingModel;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.EmbeddingStoreWithFilteringIT;
 import org.junit.jupiter.api.Test;
@@ -13,9 +15,12 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
@@ -41,6 +46,38 @@ class InMemoryEmbeddingStoreTest extends EmbeddingStoreWithFilteringIT {
                 .isInstanceOf(CopyOnWriteArrayList.class);
     }
 
+    @Test
+    void should_serialize_metadata_in_stable_format() {
+
+        InMemoryEmbeddingStore<TextSegment> embeddingStore = new InMemoryEmbeddingStore<>();
+        Metadata metadata = new Metadata().put("name", "Klaus").put("age", 42);
+        embeddingStore.add("1", Embedding.from(new float[]{1f, 2f}), TextSegment.from("hello", metadata));
+
+        String json = embeddingStore.serializeToJson();
+
+        assertThat(json)
+                .contains("\"embedded\":{\"text\":\"hello\",\"metadata\":{\"metadata\":{")
+                .contains("\"name\":\"Klaus\"")
+                .contains("\"age\":42")
+                .doesNotContain("shape", "values");
+        assertThat(InMemoryEmbeddingStore.fromJson(json).entries).isEqualTo(embeddingStore.entries);
+    }
+
+    @Test
+    void should_deserialize_json_written_by_previous_versions() {
+
+        String json = "{\"entries\":[{\"id\":\"1\",\"embedding\":{\"vector\":[1.0,2.0]}," +
+                "\"embedded\":{\"text\":\"hello\",\"metadata\":{\"metadata\":{\"name\":\"Klaus\",\"age\":42}}}}]}";
+
+        InMemoryEmbeddingStore<TextSegment> embeddingStore = InMemoryEmbeddingStore.fromJson(json);
+
+        assertThat(embeddingStore.entries).hasSize(1);
+        InMemoryEmbeddingStore.Entry<TextSegment> entry = embeddingStore.entries.get(0);
+        assertThat(entry.id).isEqualTo("1");
+        assertThat(entry.embedding).isEqualTo(Embedding.from(new float[]{1f, 2f}));
+        assertThat(entry.embedded).isEqualTo(TextSegment.from("hello", new Metadata().put("name", "Klaus").put("age", 42)));
+    }
+
     @Test
     void should_serialize_to_and_deserialize_from_file() {
         InMemoryEmbeddingStore<TextSegment> originalEmbeddingStore = createEmbeddingStore();
@@ -109,6 +146,45 @@ class InMemoryEmbeddingStoreTest extends EmbeddingStoreWithFilteringIT {
         assertThat(matches.get(1).embedded()).isEqualTo(segment2);
     }
 
+    @Test
+    void search_all_should_return_same_results_as_search() {
+
+        // given
+        Random random = new Random(42);
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+        for (int i = 0; i < 300; i++) {
+            TextSegment segment = TextSegment.from("segment " + i, new Metadata().put("group", i % 3));
+            store.add(randomEmbedding(random, 32), segment);
+        }
+
+        List<EmbeddingSearchRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding(random, 32))
+                    .maxResults(1 + i)
+                    .minScore(i % 2 == 0 ? 0.0 : 0.6)
+                    .filter(i % 3 == 0 ? metadataKey("group").isEqualTo(1) : null)
+                    .build());
+        }
+
+        // when
+        List<EmbeddingSearchResult<TextSegment>> results = store.searchAll(requests);
+
+        // then
+        assertThat(results).hasSize(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertThat(results.get(i).matches()).isEqualTo(store.search(requests.get(i)).matches());
+        }
+    }
+
+    private static Embedding randomEmbedding(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return Embedding.from(vector);
+    }
+
     private InMemoryEmbeddingStore<TextSegment> createEmbeddingStore() {
 
         InMemoryEmbeddingStore<TextSegment> embeddingStore = new InMemoryEmbeddingStore<>();